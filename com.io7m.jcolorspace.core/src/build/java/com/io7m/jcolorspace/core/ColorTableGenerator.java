@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>The generator of the precomputed table resources read by
+ * {@link ColorTables}.</p>
+ *
+ * <p>The generator lives in a build-only source directory and is executed
+ * by the build (via {@link ColorTableGeneratorMain}) once the classes of
+ * this module have been compiled. The generated files are written directly
+ * into the class output directory and packaged as resources; neither the
+ * generator nor its launcher is packaged.</p>
+ */
+
+final class ColorTableGenerator
+{
+  private ColorTableGenerator()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Generate all tables.
+   *
+   * @param directory The output directory
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static void generate(
+    final Path directory)
+    throws IOException
+  {
+    Files.createDirectories(directory);
+
+    writeUnsignedShorts(
+      directory.resolve(ColorTables.BLUE_NOISE_RANKS),
+      DitherMatrix.blueNoiseRanks()
+    );
+    writeDoubles(
+      directory.resolve(ColorTables.SRGB_ENCODE),
+      SRGBTransfer.makeEncodeTable()
+    );
+  }
+
+  private static ByteBuffer header(
+    final int count,
+    final int elementSize)
+  {
+    final var buffer =
+      ByteBuffer.allocate(ColorTables.HEADER_SIZE + count * elementSize);
+    buffer.putInt(ColorTables.MAGIC);
+    buffer.putInt(ColorTables.VERSION);
+    buffer.putInt(count);
+    return buffer;
+  }
+
+  private static void writeUnsignedShorts(
+    final Path file,
+    final int[] values)
+    throws IOException
+  {
+    final var buffer = header(values.length, 2);
+    for (final var value : values) {
+      buffer.putShort((short) value);
+    }
+    Files.write(file, buffer.array());
+  }
+
+  private static void writeDoubles(
+    final Path file,
+    final double[] values)
+    throws IOException
+  {
+    final var buffer = header(values.length, 8);
+    for (final var value : values) {
+      buffer.putDouble(value);
+    }
+    Files.write(file, buffer.array());
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrix3x3D;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Chromatic adaptation transforms between white points.</p>
+ *
+ * <p>Each matrix is derived at most once per combination of arguments and
+ * is then retained; repeated requests return the same matrix instance. The
+ * caches are safe to use from multiple threads.</p>
+ */
+
+public final class ChromaticAdaptation
+{
+  private static final ConcurrentHashMap<
+    Key,
+    PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagXYZType>> XYZ_MATRICES =
+    new ConcurrentHashMap<>();
+
+  private static final ConcurrentHashMap<
+    RGBKey,
+    PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType>> RGB_MATRICES =
+    new ConcurrentHashMap<>();
+
+  private ChromaticAdaptation()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Retrieve the matrix that adapts XYZ values viewed under the
+   * {@code source} white point to the {@code target} white point.
+   *
+   * @param source The source white point
+   * @param target The target white point
+   * @param method The adaptation method
+   *
+   * @return An XYZ to XYZ matrix
+   */
+
+  public static PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagXYZType> matrix(
+    final Chromaticity source,
+    final Chromaticity target,
+    final ChromaticAdaptationMethod method)
+  {
+    return XYZ_MATRICES.computeIfAbsent(
+      new Key(source, target, method),
+      ChromaticAdaptation::deriveXYZ
+    );
+  }
+
+  /**
+   * Retrieve the matrix that adapts linear RGB values in the color space
+   * {@code primaries}, viewed under the {@code source} white point, to the
+   * {@code target} white point. The result remains expressed in
+   * {@code primaries}; this is the matrix used to white balance an image.
+   *
+   * @param primaries The color space of the RGB values
+   * @param source    The source white point
+   * @param target    The target white point
+   * @param method    The adaptation method
+   *
+   * @return An RGB to RGB matrix
+   */
+
+  public static PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType>
+  rgbMatrix(
+    final RGBPrimaries primaries,
+    final Chromaticity source,
+    final Chromaticity target,
+    final ChromaticAdaptationMethod method)
+  {
+    return RGB_MATRICES.computeIfAbsent(
+      new RGBKey(primaries, new Key(source, target, method)),
+      key -> {
+        return PMatrices3x3D.multiply(
+          RGBConversionMatrices.fromXYZ(key.primaries),
+          PMatrices3x3D.multiply(
+            matrix(key.key.source, key.key.target, key.key.method),
+            RGBConversionMatrices.toXYZ(key.primaries)
+          )
+        );
+      });
+  }
+
+  /**
+   * Adapt {@code pixels} linear RGB pixels in the color space
+   * {@code primaries} from the {@code source} white point to the
+   * {@code target} white point.
+   *
+   * @param primaries    The color space of the RGB values
+   * @param from         The source white point
+   * @param to           The target white point
+   * @param method       The adaptation method
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void adapt(
+    final RGBPrimaries primaries,
+    final Chromaticity from,
+    final Chromaticity to,
+    final ChromaticAdaptationMethod method,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    RGBBulk.transform(
+      rgbMatrix(primaries, from, to, method),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Obtain a bulk conversion that adapts linear RGB pixels. The result may
+   * be passed to {@link ColorBulk} to adapt large buffers in parallel.
+   *
+   * @param primaries The color space of the RGB values
+   * @param from      The source white point
+   * @param to        The target white point
+   * @param method    The adaptation method
+   *
+   * @return A bulk conversion
+   *
+   * @see #adapt(RGBPrimaries, Chromaticity, Chromaticity, ChromaticAdaptationMethod, double[], int, double[], int, int)
+   */
+
+  public static ColorBulkConversionType<
+    ColorSpaceTagLinearRGBType,
+    ColorSpaceTagLinearRGBType> conversion(
+    final RGBPrimaries primaries,
+    final Chromaticity from,
+    final Chromaticity to,
+    final ChromaticAdaptationMethod method)
+  {
+    final var matrix = rgbMatrix(primaries, from, to, method);
+    return (source, sourceOffset, target, targetOffset, pixels) -> {
+      RGBBulk.transform(matrix, source, sourceOffset, target, targetOffset, pixels);
+    };
+  }
+
+  /**
+   * @return The number of matrices currently cached
+   */
+
+  public static int cachedMatrices()
+  {
+    return XYZ_MATRICES.size() + RGB_MATRICES.size();
+  }
+
+  private static PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagXYZType>
+  deriveXYZ(
+    final Key key)
+  {
+    if (key.source.equals(key.target)) {
+      return PMatrices3x3D.identity();
+    }
+
+    final var toCone = key.method.toCone();
+    final var s = PMatrices3x3D.multiplyVectorPost(toCone, key.source.toXYZ());
+    final var d = PMatrices3x3D.multiplyVectorPost(toCone, key.target.toXYZ());
+    final PMatrix3x3D<ColorSpaceTagType, ColorSpaceTagType> scale =
+      PMatrices3x3D.ofScale(d.x() / s.x(), d.y() / s.y(), d.z() / s.z());
+
+    return PMatrices3x3D.multiply(
+      key.method.fromCone(),
+      PMatrices3x3D.multiply(scale, toCone)
+    );
+  }
+
+  private record Key(
+    Chromaticity source,
+    Chromaticity target,
+    ChromaticAdaptationMethod method)
+  {
+    Key
+    {
+      Objects.requireNonNull(source, "source");
+      Objects.requireNonNull(target, "target");
+      Objects.requireNonNull(method, "method");
+    }
+  }
+
+  private record RGBKey(
+    RGBPrimaries primaries,
+    Key key)
+  {
+    RGBKey
+    {
+      Objects.requireNonNull(primaries, "primaries");
+    }
+  }
+}
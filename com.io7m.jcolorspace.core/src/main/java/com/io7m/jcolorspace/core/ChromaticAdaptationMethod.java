@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrix3x3D;
+
+/**
+ * The available chromatic adaptation methods. Each method is defined by a
+ * matrix that maps XYZ values to a cone response space in which adaptation
+ * is performed by independently scaling each response.
+ */
+
+public enum ChromaticAdaptationMethod
+{
+  /**
+   * Scale XYZ directly. This is generally the least accurate method.
+   */
+
+  XYZ_SCALING(PMatrices3x3D.identity()),
+
+  /**
+   * The von Kries method using the Hunt-Pointer-Estevez cone responses.
+   */
+
+  VON_KRIES(PMatrix3x3D.of(
+    0.40024, 0.70760, -0.08081,
+    -0.22630, 1.16532, 0.04570,
+    0.0, 0.0, 0.91822
+  )),
+
+  /**
+   * The Bradford method, as used by ICC profiles.
+   */
+
+  BRADFORD(PMatrix3x3D.of(
+    0.8951, 0.2664, -0.1614,
+    -0.7502, 1.7135, 0.0367,
+    0.0389, -0.0685, 1.0296
+  )),
+
+  /**
+   * The CAT02 method from the CIECAM02 color appearance model.
+   */
+
+  CAT02(PMatrix3x3D.of(
+    0.7328, 0.4296, -0.1624,
+    -0.7036, 1.6975, 0.0061,
+    0.0030, 0.0136, 0.9834
+  ));
+
+  private final PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagType> toCone;
+  private final PMatrix3x3D<ColorSpaceTagType, ColorSpaceTagXYZType> fromCone;
+
+  ChromaticAdaptationMethod(
+    final PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagType> inToCone)
+  {
+    this.toCone = inToCone;
+    this.fromCone = PMatrices3x3D.invert(inToCone).orElseThrow();
+  }
+
+  PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagType> toCone()
+  {
+    return this.toCone;
+  }
+
+  PMatrix3x3D<ColorSpaceTagType, ColorSpaceTagXYZType> fromCone()
+  {
+    return this.fromCone;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector3D;
+
+/**
+ * A CIE 1931 xy chromaticity coordinate.
+ *
+ * @param x The x coordinate
+ * @param y The y coordinate
+ */
+
+public record Chromaticity(
+  double x,
+  double y)
+{
+  /**
+   * A CIE 1931 xy chromaticity coordinate.
+   *
+   * @param x The x coordinate
+   * @param y The y coordinate
+   */
+
+  public Chromaticity
+  {
+    if (!(x >= 0.0 && x <= 1.0 && y > 0.0 && y <= 1.0)) {
+      throw new IllegalArgumentException(
+        "Chromaticity (%s, %s) must satisfy 0 <= x <= 1, 0 < y <= 1"
+          .formatted(Double.valueOf(x), Double.valueOf(y))
+      );
+    }
+  }
+
+  /**
+   * Create a chromaticity coordinate.
+   *
+   * @param x The x coordinate
+   * @param y The y coordinate
+   *
+   * @return A chromaticity coordinate
+   */
+
+  public static Chromaticity of(
+    final double x,
+    final double y)
+  {
+    return new Chromaticity(x, y);
+  }
+
+  /**
+   * @return The XYZ color with this chromaticity and luminance {@code Y = 1}
+   */
+
+  public PVector3D<ColorSpaceTagXYZType> toXYZ()
+  {
+    return PVector3D.of(
+      this.x / this.y,
+      1.0,
+      (1.0 - this.x - this.y) / this.y
+    );
+  }
+}
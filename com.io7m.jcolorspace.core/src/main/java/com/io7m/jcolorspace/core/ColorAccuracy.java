@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * <p>The accuracy with which conversions are performed.</p>
+ *
+ * <p>Each mode states the maximum absolute error of any output component
+ * relative to {@link #EXACT}, for inputs in the range {@code [0, 1]}. The
+ * bounds are measured by the test suite; hue errors are measured around
+ * the hue circle, so that hues of {@code 0.0} and {@code 1.0} are
+ * considered equal.</p>
+ */
+
+public enum ColorAccuracy
+{
+  /**
+   * The reference implementation. Every quotient is computed with a true
+   * division, and every result is clamped.
+   */
+
+  EXACT(0.0),
+
+  /**
+   * An approximation that is accurate to a few units in the last place.
+   * HSV conversion derives both of the reciprocals it needs from a single
+   * division and multiplies instead of dividing, and skips output clamps
+   * that cannot change the result for clamped inputs. The conversion from
+   * HSV avoids the floating point remainder operation entirely.
+   */
+
+  FAST(1.0e-15);
+
+  private final double maximumError;
+
+  ColorAccuracy(
+    final double inMaximumError)
+  {
+    this.maximumError = inMaximumError;
+  }
+
+  /**
+   * @return The maximum absolute error of any output component relative to
+   * {@link #EXACT}
+   */
+
+  public double maximumError()
+  {
+    return this.maximumError;
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * <p>The interpretation of the alpha component of RGBA pixels.</p>
+ *
+ * <p>HSV components are always straight; the mode describes only the RGB
+ * side of a conversion.</p>
+ */
+
+public enum ColorAlphaMode
+{
+  /**
+   * The color components are independent of alpha. Alpha is ignored by
+   * conversions, and is copied unchanged.
+   */
+
+  STRAIGHT,
+
+  /**
+   * The color components have been multiplied by alpha. A pixel with an
+   * alpha of zero (or less, or NaN) has no recoverable color, and is
+   * converted to a pixel whose color components are all zero, with the
+   * alpha component copied unchanged.
+   */
+
+  PREMULTIPLIED
+}
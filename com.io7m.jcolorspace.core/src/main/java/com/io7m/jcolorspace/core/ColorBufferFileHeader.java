@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+
+/**
+ * The header of a color buffer file.
+ *
+ * @param tag    The color space of the pixels
+ * @param layout The layout of the pixels
+ * @param width  The width in pixels
+ * @param height The height in pixels; palettes have a height of {@code 1}
+ *
+ * @see ColorBufferFiles
+ */
+
+public record ColorBufferFileHeader(
+  ColorSpaceTagId tag,
+  PixelLayout layout,
+  int width,
+  int height)
+{
+  /**
+   * The header of a color buffer file.
+   *
+   * @param tag    The color space of the pixels
+   * @param layout The layout of the pixels
+   * @param width  The width in pixels
+   * @param height The height in pixels
+   */
+
+  public ColorBufferFileHeader
+  {
+    Objects.requireNonNull(tag, "tag");
+    Objects.requireNonNull(layout, "layout");
+
+    if (width < 0 || height < 0) {
+      throw new IllegalArgumentException(
+        "Dimensions %dx%d must be non-negative"
+          .formatted(Integer.valueOf(width), Integer.valueOf(height)));
+    }
+
+    final var pixels = Math.multiplyExact(width, height);
+    final var plane = Math.multiplyExact(pixels, layout.type().size());
+    if (layout.isPlanar() && layout.planeStride() < plane) {
+      throw new IllegalArgumentException(
+        "Plane stride %d is smaller than a plane of %d bytes"
+          .formatted(
+            Integer.valueOf(layout.planeStride()),
+            Integer.valueOf(plane)));
+    }
+  }
+
+  /**
+   * @return The number of pixels
+   */
+
+  public int pixels()
+  {
+    return this.width * this.height;
+  }
+
+  /**
+   * @return The size of the payload in bytes
+   */
+
+  public int payloadSize()
+  {
+    return this.layout.extent(this.pixels());
+  }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>Functions to read and write color buffer files.</p>
+ *
+ * <p>A color buffer file holds a single buffer of typed pixels, such as an
+ * image, an intermediate conversion result, or a palette. The file
+ * consists of a fixed {@value #HEADER_SIZE} byte header followed directly
+ * by the payload, so the payload is aligned to {@value #HEADER_SIZE} bytes
+ * within the file. The payload is stored exactly as described by the
+ * header's {@link PixelLayout}, and so files are mapped into memory and
+ * used in place, for example as the source of a
+ * {@link ConversionKernelType}, without any deserialization.</p>
+ *
+ * <p>The header is big-endian, and holds the magic number {@code JCSB},
+ * a format version, the header size, the {@link ColorSpaceTagId color space
+ * identifier}, the component type, order, and byte order, the plane
+ * stride, the dimensions, the payload offset and size, and a CRC32 of the
+ * preceding header bytes. Headers are validated in full before any
+ * payload is mapped.</p>
+ */
+
+public final class ColorBufferFiles
+{
+  /**
+   * The size of the header, and the alignment of the payload, in bytes.
+   */
+
+  public static final int HEADER_SIZE = 64;
+
+  static final int MAGIC = 0x4a435342;
+  static final int VERSION = 1;
+
+  private static final int CRC_OFFSET = HEADER_SIZE - 4;
+
+  private static final PixelLayout DOUBLES =
+    PixelLayout.interleaved(
+      PixelComponentOrder.RGBA,
+      PixelComponentType.FLOAT64,
+      ByteOrder.nativeOrder()
+    );
+
+  private ColorBufferFiles()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static int typeId(
+    final PixelComponentType type)
+  {
+    return switch (type) {
+      case UNORM8 -> 1;
+      case UNORM16 -> 2;
+      case FLOAT16 -> 3;
+      case FLOAT32 -> 4;
+      case FLOAT64 -> 5;
+    };
+  }
+
+  private static int orderId(
+    final PixelComponentOrder order)
+  {
+    return switch (order) {
+      case RGBA -> 1;
+      case BGRA -> 2;
+      case ARGB -> 3;
+      case ABGR -> 4;
+    };
+  }
+
+  private static PixelComponentType typeOf(
+    final Path file,
+    final int id)
+    throws ColorBufferFileException
+  {
+    for (final var type : PixelComponentType.values()) {
+      if (typeId(type) == id) {
+        return type;
+      }
+    }
+    throw new ColorBufferFileException(
+      "%s: Unrecognized component type %d"
+        .formatted(file, Integer.valueOf(id)));
+  }
+
+  private static PixelComponentOrder orderOf(
+    final Path file,
+    final int id)
+    throws ColorBufferFileException
+  {
+    for (final var order : PixelComponentOrder.values()) {
+      if (orderId(order) == id) {
+        return order;
+      }
+    }
+    throw new ColorBufferFileException(
+      "%s: Unrecognized component order %d"
+        .formatted(file, Integer.valueOf(id)));
+  }
+
+  private static int crc(
+    final ByteBuffer header)
+  {
+    final var crc = new CRC32();
+    crc.update(header.duplicate().position(0).limit(CRC_OFFSET));
+    return (int) crc.getValue();
+  }
+
+  private static ByteBuffer encode(
+    final ColorBufferFileHeader header)
+  {
+    final var layout = header.layout();
+    final var buffer = ByteBuffer.allocate(HEADER_SIZE);
+    buffer.putInt(0, MAGIC);
+    buffer.putShort(4, (short) VERSION);
+    buffer.putShort(6, (short) HEADER_SIZE);
+    buffer.put(8, (byte) header.tag().id());
+    buffer.put(9, (byte) typeId(layout.type()));
+    buffer.put(10, (byte) orderId(layout.order()));
+    buffer.put(11, (byte) (layout.byteOrder() == ByteOrder.BIG_ENDIAN ? 0 : 1));
+    buffer.putInt(12, layout.planeStride());
+    buffer.putInt(16, header.width());
+    buffer.putInt(20, header.height());
+    buffer.putLong(24, HEADER_SIZE);
+    buffer.putLong(32, header.payloadSize());
+    buffer.putInt(CRC_OFFSET, crc(buffer));
+    return buffer;
+  }
+
+  private static ColorBufferFileHeader decode(
+    final Path file,
+    final ByteBuffer buffer,
+    final long fileSize)
+    throws ColorBufferFileException
+  {
+    if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new ColorBufferFileException(
+        "%s: Not a color buffer file".formatted(file));
+    }
+    if (buffer.getShort(4) != VERSION || buffer.getShort(6) != HEADER_SIZE) {
+      throw new ColorBufferFileException(
+        "%s: Unsupported version %d".formatted(
+          file, Integer.valueOf(buffer.getShort(4))));
+    }
+    if (buffer.getInt(CRC_OFFSET) != crc(buffer)) {
+      throw new ColorBufferFileException(
+        "%s: Header checksum mismatch".formatted(file));
+    }
+
+    final var header = decodeFields(file, buffer);
+    final var payloadSize = buffer.getLong(32);
+    if (buffer.getLong(24) != HEADER_SIZE
+      || payloadSize != header.payloadSize()
+      || fileSize < HEADER_SIZE + payloadSize) {
+      throw new ColorBufferFileException(
+        "%s: Payload of %d bytes does not match the header (file size %d)"
+          .formatted(
+            file,
+            Long.valueOf(payloadSize),
+            Long.valueOf(fileSize)));
+    }
+    return header;
+  }
+
+  private static ColorBufferFileHeader decodeFields(
+    final Path file,
+    final ByteBuffer buffer)
+    throws ColorBufferFileException
+  {
+    final var type = typeOf(file, buffer.get(9));
+    final var order = orderOf(file, buffer.get(10));
+    final var byteOrder =
+      buffer.get(11) == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+
+    try {
+      return new ColorBufferFileHeader(
+        ColorSpaceTagId.ofId(buffer.get(8)),
+        new PixelLayout(order, type, byteOrder, buffer.getInt(12)),
+        buffer.getInt(16),
+        buffer.getInt(20)
+      );
+    } catch (final IllegalArgumentException | ArithmeticException e) {
+      throw new ColorBufferFileException(
+        "%s: %s".formatted(file, e.getMessage()));
+    }
+  }
+
+  /**
+   * Write a color buffer file. The payload must contain exactly
+   * {@link ColorBufferFileHeader#payloadSize()} bytes between its position
+   * and its limit; the position of the payload is not changed.
+   *
+   * @param file    The output file
+   * @param header  The header
+   * @param payload The payload
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void write(
+    final Path file,
+    final ColorBufferFileHeader header,
+    final ByteBuffer payload)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(header, "header");
+    Objects.requireNonNull(payload, "payload");
+
+    if (payload.remaining() != header.payloadSize()) {
+      throw new IllegalArgumentException(
+        "Payload size %d does not match the header size %d"
+          .formatted(
+            Integer.valueOf(payload.remaining()),
+            Integer.valueOf(header.payloadSize())));
+    }
+
+    try (var channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE)) {
+      final var headerBytes = encode(header);
+      while (headerBytes.hasRemaining()) {
+        channel.write(headerBytes);
+      }
+      final var data = payload.duplicate();
+      while (data.hasRemaining()) {
+        channel.write(data);
+      }
+    }
+  }
+
+  /**
+   * Write a color buffer file, converting the given interleaved
+   * four-component pixels to the layout described by the header.
+   *
+   * @param file         The output file
+   * @param header       The header
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void write(
+    final Path file,
+    final ColorBufferFileHeader header,
+    final double[] source,
+    final int sourceOffset)
+    throws IOException
+  {
+    Objects.requireNonNull(header, "header");
+
+    final var pixels = header.pixels();
+    Objects.checkFromIndexSize(
+      sourceOffset, Math.multiplyExact(pixels, 4), source.length);
+
+    final var input =
+      ByteBuffer.allocate(DOUBLES.extent(pixels)).order(ByteOrder.nativeOrder());
+    input.asDoubleBuffer().put(source, sourceOffset, pixels * 4);
+
+    final var output = ByteBuffer.allocate(header.payloadSize());
+    ConversionKernels.kernel(DOUBLES, header.layout())
+      .convert(input, 0, output, 0, pixels);
+    write(file, header, output);
+  }
+
+  /**
+   * Read and validate the header of a color buffer file.
+   *
+   * @param file The file
+   *
+   * @return The header
+   *
+   * @throws IOException On I/O errors, or malformed files
+   */
+
+  public static ColorBufferFileHeader readHeader(
+    final Path file)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+    try (var channel = FileChannel.open(file, READ)) {
+      return readHeader(file, channel);
+    }
+  }
+
+  private static ColorBufferFileHeader readHeader(
+    final Path file,
+    final FileChannel channel)
+    throws IOException
+  {
+    final var buffer = ByteBuffer.allocate(HEADER_SIZE);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, buffer.position()) < 0) {
+        break;
+      }
+    }
+    return decode(file, buffer.flip(), channel.size());
+  }
+
+  /**
+   * Map a color buffer file into memory. The header is validated, and the
+   * file must contain pixels in the color space {@code tag}. The mapping
+   * remains valid until the returned buffer is garbage collected; closing
+   * or deleting the file does not invalidate it.
+   *
+   * @param file The file
+   * @param tag  The expected color space
+   * @param <T>  The color space
+   *
+   * @return The mapped buffer
+   *
+   * @throws IOException On I/O errors, malformed files, or files containing
+   *                     a different color space
+   */
+
+  public static <T extends ColorSpaceTagType> ColorBufferMapped<T> map(
+    final Path file,
+    final Class<T> tag)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(tag, "tag");
+
+    final var expected = ColorSpaceTagId.ofTag(tag);
+    try (var channel = FileChannel.open(file, READ)) {
+      final var header = readHeader(file, channel);
+      if (header.tag() != expected) {
+        throw new ColorBufferFileException(
+          "%s: Expected color space %s but the file contains %s"
+            .formatted(file, expected, header.tag()));
+      }
+
+      final var payload =
+        channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, header.payloadSize());
+      return new ColorBufferMapped<>(header, payload);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>A lease of a buffer from a {@link ColorBufferPool}.</p>
+ *
+ * <p>The buffer may be used freely until the lease is closed, after which it
+ * must not be accessed. Buffers are at least as large as was requested, but
+ * are frequently larger.</p>
+ *
+ * @param <B> The type of buffer
+ */
+
+public final class ColorBufferLease<B> implements AutoCloseable
+{
+  private final ColorBufferPool pool;
+  private final ColorBufferPool.Kind kind;
+  private final int sizeClass;
+  private final B buffer;
+  private final State state;
+  private volatile Cleaner.Cleanable cleanable;
+
+  ColorBufferLease(
+    final ColorBufferPool inPool,
+    final ColorBufferPool.Kind inKind,
+    final int inSizeClass,
+    final B inBuffer,
+    final State inState)
+  {
+    this.pool = inPool;
+    this.kind = inKind;
+    this.sizeClass = inSizeClass;
+    this.buffer = inBuffer;
+    this.state = inState;
+  }
+
+  void setCleanable(
+    final Cleaner.Cleanable inCleanable)
+  {
+    this.cleanable = inCleanable;
+  }
+
+  /**
+   * @return The leased buffer
+   */
+
+  public B buffer()
+  {
+    return this.buffer;
+  }
+
+  /**
+   * @return {@code true} if the lease has been closed
+   */
+
+  public boolean isClosed()
+  {
+    return this.state.closed.get();
+  }
+
+  /**
+   * Close the lease, returning the buffer to the pool. Closing a lease more
+   * than once has no effect.
+   */
+
+  @Override
+  public void close()
+  {
+    if (this.state.closed.compareAndSet(false, true)) {
+      final var c = this.cleanable;
+      if (c != null) {
+        c.clean();
+      }
+      this.pool.release(this.kind, this.sizeClass, this.buffer);
+    }
+  }
+
+  /**
+   * The state shared between a lease and its leak detector. This must not
+   * refer to the lease itself, or the lease could never become unreachable.
+   */
+
+  static final class State
+  {
+    private final AtomicBoolean closed;
+    private final Throwable origin;
+
+    State(
+      final Throwable inOrigin)
+    {
+      this.closed = new AtomicBoolean(false);
+      this.origin = inOrigin;
+    }
+
+    AtomicBoolean closed()
+    {
+      return this.closed;
+    }
+
+    Throwable origin()
+    {
+      return this.origin;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * <p>A color buffer file mapped into memory.</p>
+ *
+ * <p>The payload is exposed as a read-only buffer in the byte order of the
+ * file's layout, and may be passed directly to any API that accepts a
+ * buffer in that layout.</p>
+ *
+ * @param <T> The color space of the pixels
+ *
+ * @see ColorBufferFiles#map(java.nio.file.Path, Class)
+ */
+
+public final class ColorBufferMapped<T extends ColorSpaceTagType>
+{
+  private static final PixelLayout DOUBLES =
+    PixelLayout.interleaved(
+      PixelComponentOrder.RGBA,
+      PixelComponentType.FLOAT64,
+      ByteOrder.nativeOrder()
+    );
+
+  private final ColorBufferFileHeader header;
+  private final ByteBuffer payload;
+
+  ColorBufferMapped(
+    final ColorBufferFileHeader inHeader,
+    final ByteBuffer inPayload)
+  {
+    this.header =
+      Objects.requireNonNull(inHeader, "header");
+    this.payload =
+      Objects.requireNonNull(inPayload, "payload")
+        .asReadOnlyBuffer()
+        .order(inHeader.layout().byteOrder());
+  }
+
+  /**
+   * @return The file header
+   */
+
+  public ColorBufferFileHeader header()
+  {
+    return this.header;
+  }
+
+  /**
+   * @return A read-only view of the payload, in the byte order of the
+   * file's layout
+   */
+
+  public ByteBuffer payload()
+  {
+    return this.payload.duplicate().order(this.payload.order());
+  }
+
+  /**
+   * Convert the pixels in place with {@code kernel}, whose source layout
+   * must be the layout of this file.
+   *
+   * @param kernel       The kernel
+   * @param target       The target buffer
+   * @param targetOffset The offset in bytes of the first target pixel
+   */
+
+  public void convert(
+    final ConversionKernelType kernel,
+    final ByteBuffer target,
+    final int targetOffset)
+  {
+    Objects.requireNonNull(kernel, "kernel");
+    if (!kernel.sourceLayout().equals(this.header.layout())) {
+      throw new IllegalArgumentException(
+        "Kernel source layout %s does not match the file layout %s"
+          .formatted(kernel.sourceLayout(), this.header.layout()));
+    }
+    kernel.convert(this.payload, 0, target, targetOffset, this.header.pixels());
+  }
+
+  /**
+   * Copy the pixels to interleaved four-component doubles.
+   *
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   */
+
+  public void toDoubles(
+    final double[] target,
+    final int targetOffset)
+  {
+    final var pixels = this.header.pixels();
+    Objects.checkFromIndexSize(
+      targetOffset, Math.multiplyExact(pixels, 4), target.length);
+
+    final var output =
+      ByteBuffer.allocate(DOUBLES.extent(pixels)).order(ByteOrder.nativeOrder());
+    this.convert(ConversionKernels.kernel(this.header.layout(), DOUBLES), output, 0);
+    output.asDoubleBuffer().get(target, targetOffset, pixels * 4);
+  }
+}
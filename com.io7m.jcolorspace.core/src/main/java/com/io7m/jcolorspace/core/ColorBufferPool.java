@@ -0,0 +1,474 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A pool of reusable buffers for bulk conversions.</p>
+ *
+ * <p>Buffers are grouped into power-of-two size classes, and are retained in
+ * a number of independent stripes. Each thread is mapped to a stripe by its
+ * thread ID, so threads rarely contend on the same stripe. On-heap
+ * {@code double[]} and {@code float[]} arrays, and off-heap direct
+ * {@link ByteBuffer} values in native byte order, are pooled separately.</p>
+ *
+ * <p>In debug mode, each lease is tracked, and a lease that becomes
+ * unreachable without having been closed is counted as a leak and logged
+ * along with the stack trace of the code that created it.</p>
+ */
+
+public final class ColorBufferPool
+{
+  private static final System.Logger LOG =
+    System.getLogger(ColorBufferPool.class.getCanonicalName());
+
+  /**
+   * The smallest size class holds buffers of {@code 2^MIN_CLASS_BITS}
+   * elements.
+   */
+
+  private static final int MIN_CLASS_BITS = 6;
+
+  /**
+   * The largest size class holds buffers of {@code 2^MAX_CLASS_BITS}
+   * elements. Larger requests are allocated exactly and are never retained.
+   */
+
+  private static final int MAX_CLASS_BITS = 30;
+
+  private static final int CLASS_COUNT =
+    MAX_CLASS_BITS - MIN_CLASS_BITS + 1;
+
+  private static final int UNPOOLED = -1;
+
+  private final ColorBufferPoolConfiguration configuration;
+  private final Stripe[] stripes;
+  private final int stripeMask;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder releases;
+  private final LongAdder discards;
+  private final LongAdder leaks;
+  private final LongAdder leased;
+  private final AtomicLong bytesRetained;
+
+  enum Kind
+  {
+    DOUBLES(Double.BYTES),
+    FLOATS(Float.BYTES),
+    DIRECT(1);
+
+    private final int elementSize;
+
+    Kind(
+      final int inElementSize)
+    {
+      this.elementSize = inElementSize;
+    }
+
+    long bytesOf(
+      final int sizeClass)
+    {
+      return (1L << (sizeClass + MIN_CLASS_BITS)) * this.elementSize;
+    }
+  }
+
+  private ColorBufferPool(
+    final ColorBufferPoolConfiguration inConfiguration)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+
+    final var count =
+      Integer.highestOneBit(Math.max(1, inConfiguration.stripes() * 2 - 1));
+    this.stripes = new Stripe[count];
+    for (int index = 0; index < count; ++index) {
+      this.stripes[index] = new Stripe(inConfiguration.buffersPerClass());
+    }
+    this.stripeMask = count - 1;
+
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.releases = new LongAdder();
+    this.discards = new LongAdder();
+    this.leaks = new LongAdder();
+    this.leased = new LongAdder();
+    this.bytesRetained = new AtomicLong(0L);
+  }
+
+  /**
+   * Create a new pool.
+   *
+   * @param configuration The pool configuration
+   *
+   * @return A new pool
+   */
+
+  public static ColorBufferPool create(
+    final ColorBufferPoolConfiguration configuration)
+  {
+    return new ColorBufferPool(configuration);
+  }
+
+  /**
+   * @return The pool configuration
+   */
+
+  public ColorBufferPoolConfiguration configuration()
+  {
+    return this.configuration;
+  }
+
+  static int sizeClassOf(
+    final int length)
+  {
+    if (length <= (1 << MIN_CLASS_BITS)) {
+      return 0;
+    }
+    final var bits = 32 - Integer.numberOfLeadingZeros(length - 1);
+    if (bits > MAX_CLASS_BITS) {
+      return UNPOOLED;
+    }
+    return bits - MIN_CLASS_BITS;
+  }
+
+  private static int lengthOf(
+    final int sizeClass,
+    final int requested)
+  {
+    if (sizeClass == UNPOOLED) {
+      return requested;
+    }
+    return 1 << (sizeClass + MIN_CLASS_BITS);
+  }
+
+  /**
+   * Lease an array of at least {@code length} elements. The contents of the
+   * array are unspecified.
+   *
+   * @param length The minimum length
+   *
+   * @return A lease
+   */
+
+  public ColorBufferLease<double[]> leaseDoubles(
+    final int length)
+  {
+    return this.lease(Kind.DOUBLES, length);
+  }
+
+  /**
+   * Lease an array of at least {@code length} elements. The contents of the
+   * array are unspecified.
+   *
+   * @param length The minimum length
+   *
+   * @return A lease
+   */
+
+  public ColorBufferLease<float[]> leaseFloats(
+    final int length)
+  {
+    return this.lease(Kind.FLOATS, length);
+  }
+
+  /**
+   * Lease a direct buffer of at least {@code bytes} bytes, in native byte
+   * order. The position of the buffer is zero, the limit is {@code bytes},
+   * and the contents are unspecified.
+   *
+   * @param bytes The minimum size in bytes
+   *
+   * @return A lease
+   */
+
+  public ColorBufferLease<ByteBuffer> leaseDirect(
+    final int bytes)
+  {
+    final ColorBufferLease<ByteBuffer> lease = this.lease(Kind.DIRECT, bytes);
+    lease.buffer()
+      .clear()
+      .limit(bytes);
+    return lease;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <B> ColorBufferLease<B> lease(
+    final Kind kind,
+    final int length)
+  {
+    if (length < 0) {
+      throw new IllegalArgumentException(
+        "Length %d must be non-negative".formatted(Integer.valueOf(length)));
+    }
+
+    final var sizeClass = sizeClassOf(length);
+    Object buffer = null;
+    if (sizeClass != UNPOOLED) {
+      buffer = this.stripe().take(kind, sizeClass);
+    }
+
+    if (buffer != null) {
+      this.hits.increment();
+      this.bytesRetained.addAndGet(-kind.bytesOf(sizeClass));
+    } else {
+      this.misses.increment();
+      buffer = allocate(kind, lengthOf(sizeClass, length));
+    }
+
+    this.leased.increment();
+
+    final ColorBufferLease.State state;
+    if (this.configuration.debug()) {
+      state = new ColorBufferLease.State(
+        new Throwable("Buffer leased here."));
+    } else {
+      state = new ColorBufferLease.State(null);
+    }
+
+    final var lease =
+      new ColorBufferLease<>(this, kind, sizeClass, (B) buffer, state);
+
+    if (this.configuration.debug()) {
+      lease.setCleanable(Cleaners.CLEANER.register(lease, new LeakCheck(this, state)));
+    }
+    return lease;
+  }
+
+  private static Object allocate(
+    final Kind kind,
+    final int length)
+  {
+    return switch (kind) {
+      case DOUBLES -> new double[length];
+      case FLOATS -> new float[length];
+      case DIRECT -> ByteBuffer.allocateDirect(length)
+        .order(ByteOrder.nativeOrder());
+    };
+  }
+
+  private Stripe stripe()
+  {
+    final var id = Thread.currentThread().threadId();
+    final var hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+    return this.stripes[(hash >>> 16) & this.stripeMask];
+  }
+
+  void release(
+    final Kind kind,
+    final int sizeClass,
+    final Object buffer)
+  {
+    this.releases.increment();
+    this.leased.decrement();
+
+    if (sizeClass == UNPOOLED) {
+      this.discards.increment();
+      return;
+    }
+
+    final var bytes = kind.bytesOf(sizeClass);
+    final var max = this.configuration.maxRetainedBytes();
+    while (true) {
+      final var current = this.bytesRetained.get();
+      if (current + bytes > max) {
+        this.discards.increment();
+        return;
+      }
+      if (this.bytesRetained.compareAndSet(current, current + bytes)) {
+        break;
+      }
+    }
+
+    if (!this.stripe().give(kind, sizeClass, buffer)) {
+      this.bytesRetained.addAndGet(-bytes);
+      this.discards.increment();
+    }
+  }
+
+  private void onLeak(
+    final ColorBufferLease.State state)
+  {
+    this.leaks.increment();
+    this.leased.decrement();
+    LOG.log(
+      System.Logger.Level.WARNING,
+      "A buffer lease was never closed.",
+      state.origin()
+    );
+  }
+
+  /**
+   * @return A snapshot of the current pool statistics
+   */
+
+  public ColorBufferPoolStatistics statistics()
+  {
+    return new ColorBufferPoolStatistics(
+      this.hits.sum(),
+      this.misses.sum(),
+      this.releases.sum(),
+      this.discards.sum(),
+      this.leaks.sum(),
+      this.leased.sum(),
+      this.bytesRetained.get()
+    );
+  }
+
+  /**
+   * Discard all retained buffers.
+   */
+
+  public void clear()
+  {
+    for (final var stripe : this.stripes) {
+      this.bytesRetained.addAndGet(-stripe.clear());
+    }
+  }
+
+  /**
+   * A holder class, so that the cleaner thread is only started if a pool is
+   * actually used in debug mode.
+   */
+
+  private static final class Cleaners
+  {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private Cleaners()
+    {
+
+    }
+  }
+
+  private static final class LeakCheck implements Runnable
+  {
+    private final ColorBufferPool pool;
+    private final ColorBufferLease.State state;
+
+    LeakCheck(
+      final ColorBufferPool inPool,
+      final ColorBufferLease.State inState)
+    {
+      this.pool = inPool;
+      this.state = inState;
+    }
+
+    @Override
+    public void run()
+    {
+      if (this.state.closed().compareAndSet(false, true)) {
+        this.pool.onLeak(this.state);
+      }
+    }
+  }
+
+  private static final class Stripe
+  {
+    private final ReentrantLock lock;
+    private final Object[][][] buffers;
+    private final int[][] counts;
+
+    Stripe(
+      final int buffersPerClass)
+    {
+      final var kinds = Kind.values().length;
+      this.lock = new ReentrantLock();
+      this.buffers = new Object[kinds][CLASS_COUNT][buffersPerClass];
+      this.counts = new int[kinds][CLASS_COUNT];
+    }
+
+    Object take(
+      final Kind kind,
+      final int sizeClass)
+    {
+      this.lock.lock();
+      try {
+        final var k = kind.ordinal();
+        final var count = this.counts[k][sizeClass];
+        if (count == 0) {
+          return null;
+        }
+        final var slots = this.buffers[k][sizeClass];
+        final var buffer = slots[count - 1];
+        slots[count - 1] = null;
+        this.counts[k][sizeClass] = count - 1;
+        return buffer;
+      } finally {
+        this.lock.unlock();
+      }
+    }
+
+    boolean give(
+      final Kind kind,
+      final int sizeClass,
+      final Object buffer)
+    {
+      this.lock.lock();
+      try {
+        final var k = kind.ordinal();
+        final var count = this.counts[k][sizeClass];
+        final var slots = this.buffers[k][sizeClass];
+        if (count == slots.length) {
+          return false;
+        }
+        slots[count] = buffer;
+        this.counts[k][sizeClass] = count + 1;
+        return true;
+      } finally {
+        this.lock.unlock();
+      }
+    }
+
+    long clear()
+    {
+      this.lock.lock();
+      try {
+        long bytes = 0L;
+        for (final var kind : Kind.values()) {
+          bytes += this.clearKind(kind);
+        }
+        return bytes;
+      } finally {
+        this.lock.unlock();
+      }
+    }
+
+    private long clearKind(
+      final Kind kind)
+    {
+      final var k = kind.ordinal();
+      long bytes = 0L;
+      for (int sizeClass = 0; sizeClass < CLASS_COUNT; ++sizeClass) {
+        final var count = this.counts[k][sizeClass];
+        bytes += count * kind.bytesOf(sizeClass);
+        Arrays.fill(this.buffers[k][sizeClass], null);
+        this.counts[k][sizeClass] = 0;
+      }
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The configuration for a buffer pool.
+ *
+ * @param stripes          The number of independent stripes; rounded up to a
+ *                         power of two
+ * @param buffersPerClass  The maximum number of buffers of each size class
+ *                         retained by each stripe
+ * @param maxRetainedBytes The maximum number of bytes retained by the pool
+ *                         as a whole
+ * @param debug            {@code true} if leased buffers should be tracked
+ *                         so that leases that are never closed can be
+ *                         detected
+ */
+
+public record ColorBufferPoolConfiguration(
+  int stripes,
+  int buffersPerClass,
+  long maxRetainedBytes,
+  boolean debug)
+{
+  /**
+   * The configuration for a buffer pool.
+   *
+   * @param stripes          The number of independent stripes; rounded up to
+   *                         a power of two
+   * @param buffersPerClass  The maximum number of buffers of each size class
+   *                         retained by each stripe
+   * @param maxRetainedBytes The maximum number of bytes retained by the pool
+   *                         as a whole
+   * @param debug            {@code true} if leased buffers should be tracked
+   *                         so that leases that are never closed can be
+   *                         detected
+   */
+
+  public ColorBufferPoolConfiguration
+  {
+    if (stripes < 1) {
+      throw new IllegalArgumentException(
+        "Stripes %d must be >= 1".formatted(Integer.valueOf(stripes)));
+    }
+    if (buffersPerClass < 1) {
+      throw new IllegalArgumentException(
+        "Buffers per class %d must be >= 1"
+          .formatted(Integer.valueOf(buffersPerClass)));
+    }
+    if (maxRetainedBytes < 0L) {
+      throw new IllegalArgumentException(
+        "Maximum retained bytes %d must be >= 0"
+          .formatted(Long.valueOf(maxRetainedBytes)));
+    }
+  }
+
+  /**
+   * Create a configuration with one stripe per available processor, four
+   * buffers per size class per stripe, and at most 256MiB retained.
+   *
+   * @return A configuration
+   */
+
+  public static ColorBufferPoolConfiguration defaults()
+  {
+    return new ColorBufferPoolConfiguration(
+      Runtime.getRuntime().availableProcessors(),
+      4,
+      256L * 1024L * 1024L,
+      false
+    );
+  }
+
+  /**
+   * @param newDebug The debug setting
+   *
+   * @return This configuration with the given debug setting
+   */
+
+  public ColorBufferPoolConfiguration withDebug(
+    final boolean newDebug)
+  {
+    return new ColorBufferPoolConfiguration(
+      this.stripes,
+      this.buffersPerClass,
+      this.maxRetainedBytes,
+      newDebug
+    );
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * A snapshot of the statistics of a buffer pool.
+ *
+ * @param hits          The number of leases satisfied from retained buffers
+ * @param misses        The number of leases that required a new allocation
+ * @param releases      The number of leases that have been closed
+ * @param discards      The number of closed leases whose buffers were not
+ *                      retained because the pool was full
+ * @param leaks         The number of leases detected as having become
+ *                      unreachable without being closed (debug mode only)
+ * @param leased        The number of leases currently open
+ * @param bytesRetained The number of bytes currently held by the pool
+ */
+
+public record ColorBufferPoolStatistics(
+  long hits,
+  long misses,
+  long releases,
+  long discards,
+  long leaks,
+  long leased,
+  long bytesRetained)
+{
+  /**
+   * @return The fraction of leases that were satisfied without allocating
+   */
+
+  public double hitRate()
+  {
+    final var total = this.hits + this.misses;
+    if (total == 0L) {
+      return 0.0;
+    }
+    return (double) this.hits / (double) total;
+  }
+}
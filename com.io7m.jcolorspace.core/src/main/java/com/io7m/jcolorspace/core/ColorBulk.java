@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Functions for executing bulk conversions.
+ */
+
+public final class ColorBulk
+{
+  /**
+   * The number of pixels below which parallel conversions will not split
+   * work any further.
+   */
+
+  public static final int PARALLEL_GRAIN_DEFAULT = 16384;
+
+  private ColorBulk()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  static void checkBounds(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var components = Math.multiplyExact(pixels, 4);
+    Objects.checkFromIndexSize(sourceOffset, components, source.length);
+    Objects.checkFromIndexSize(targetOffset, components, target.length);
+  }
+
+  /**
+   * Execute {@code conversion} over {@code pixels} pixels, splitting the work
+   * across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param conversion   The conversion
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   * @param <S>          The source color space
+   * @param <T>          The target color space
+   */
+
+  public static <S extends ColorSpaceTagType, T extends ColorSpaceTagType>
+  void convertParallel(
+    final ForkJoinPool pool,
+    final ColorBulkConversionType<S, T> conversion,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    Objects.requireNonNull(pool, "pool");
+    Objects.requireNonNull(conversion, "conversion");
+    checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    if (pixels <= PARALLEL_GRAIN_DEFAULT) {
+      conversion.convert(source, sourceOffset, target, targetOffset, pixels);
+      return;
+    }
+
+    pool.invoke(new Split<>(
+      conversion,
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels,
+      PARALLEL_GRAIN_DEFAULT
+    ));
+  }
+
+  /**
+   * Execute {@code action} over the range {@code [0, count)}, splitting the
+   * range into subranges of at most {@code grain} elements that are executed
+   * on the threads of {@code pool}.
+   *
+   * @param pool   The pool
+   * @param count  The size of the range
+   * @param grain  The maximum size of a subrange
+   * @param action The action
+   */
+
+  static void parallelRanges(
+    final ForkJoinPool pool,
+    final int count,
+    final int grain,
+    final RangeActionType action)
+  {
+    Objects.requireNonNull(pool, "pool");
+    Objects.requireNonNull(action, "action");
+
+    if (count <= grain) {
+      action.execute(0, count);
+      return;
+    }
+    pool.invoke(new RangeSplit(action, 0, count, Math.max(1, grain)));
+  }
+
+  /**
+   * An action executed over a range of elements.
+   */
+
+  @FunctionalInterface
+  interface RangeActionType
+  {
+    /**
+     * Execute the action over the range {@code [start, end)}.
+     *
+     * @param start The inclusive start of the range
+     * @param end   The exclusive end of the range
+     */
+
+    void execute(
+      int start,
+      int end);
+  }
+
+  private static final class RangeSplit extends RecursiveAction
+  {
+    private final RangeActionType action;
+    private final int start;
+    private final int end;
+    private final int grain;
+
+    RangeSplit(
+      final RangeActionType inAction,
+      final int inStart,
+      final int inEnd,
+      final int inGrain)
+    {
+      this.action = inAction;
+      this.start = inStart;
+      this.end = inEnd;
+      this.grain = inGrain;
+    }
+
+    @Override
+    protected void compute()
+    {
+      final var size = this.end - this.start;
+      if (size <= this.grain) {
+        this.action.execute(this.start, this.end);
+        return;
+      }
+
+      final var middle = this.start + (size >>> 1);
+      invokeAll(
+        new RangeSplit(this.action, this.start, middle, this.grain),
+        new RangeSplit(this.action, middle, this.end, this.grain)
+      );
+    }
+  }
+
+  private static final class Split<
+    S extends ColorSpaceTagType,
+    T extends ColorSpaceTagType>
+    extends RecursiveAction
+  {
+    private final ColorBulkConversionType<S, T> conversion;
+    private final double[] source;
+    private final int sourceOffset;
+    private final double[] target;
+    private final int targetOffset;
+    private final int pixels;
+    private final int grain;
+
+    Split(
+      final ColorBulkConversionType<S, T> inConversion,
+      final double[] inSource,
+      final int inSourceOffset,
+      final double[] inTarget,
+      final int inTargetOffset,
+      final int inPixels,
+      final int inGrain)
+    {
+      this.conversion = inConversion;
+      this.source = inSource;
+      this.sourceOffset = inSourceOffset;
+      this.target = inTarget;
+      this.targetOffset = inTargetOffset;
+      this.pixels = inPixels;
+      this.grain = inGrain;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (this.pixels <= this.grain) {
+        this.conversion.convert(
+          this.source,
+          this.sourceOffset,
+          this.target,
+          this.targetOffset,
+          this.pixels
+        );
+        return;
+      }
+
+      final var half = this.pixels >>> 1;
+      final var components = half * 4;
+      invokeAll(
+        new Split<>(
+          this.conversion,
+          this.source,
+          this.sourceOffset,
+          this.target,
+          this.targetOffset,
+          half,
+          this.grain),
+        new Split<>(
+          this.conversion,
+          this.source,
+          this.sourceOffset + components,
+          this.target,
+          this.targetOffset + components,
+          this.pixels - half,
+          this.grain)
+      );
+    }
+  }
+}
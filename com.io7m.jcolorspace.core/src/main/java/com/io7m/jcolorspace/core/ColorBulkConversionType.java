@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * A conversion of buffers of interleaved four-component pixels from the
+ * color space {@code S} to the color space {@code T}.
+ *
+ * @param <S> The source color space
+ * @param <T> The target color space
+ */
+
+@FunctionalInterface
+public interface ColorBulkConversionType<
+  S extends ColorSpaceTagType,
+  T extends ColorSpaceTagType>
+{
+  /**
+   * Convert {@code pixels} pixels.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  void convert(
+    double[] source,
+    int sourceOffset,
+    double[] target,
+    int targetOffset,
+    int pixels);
+}
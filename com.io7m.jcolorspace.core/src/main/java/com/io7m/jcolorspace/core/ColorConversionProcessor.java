@@ -0,0 +1,468 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>A processor that converts a stream of frames from the color space
+ * {@code S} to the color space {@code T}.</p>
+ *
+ * <p>Converted frames are taken from a {@link ColorFramePool} with a
+ * capacity of {@link ColorConversionProcessorConfiguration#maxInFlight()}
+ * frames. The processor only requests a new frame from upstream when a
+ * converted frame has been released by the downstream subscriber, and so the
+ * number of frames held by the processor and its subscriber never exceeds
+ * the configured limit. Each source frame is released by the processor as
+ * soon as it has been converted, allowing upstream stages to recycle it.</p>
+ *
+ * <p>Each frame is split into
+ * {@link ColorConversionProcessorConfiguration#parallelism()} parts that are
+ * converted concurrently on the configured pool. Frames are delivered in the
+ * order in which they were received. At most one downstream subscriber is
+ * supported.</p>
+ *
+ * @param <S> The source color space
+ * @param <T> The target color space
+ */
+
+public final class ColorConversionProcessor<
+  S extends ColorSpaceTagType,
+  T extends ColorSpaceTagType>
+  implements Flow.Processor<ColorFrame<S>, ColorFrame<T>>
+{
+  private final ColorConversionProcessorConfiguration<S, T> configuration;
+  private final ColorFramePool<T> frames;
+  private final ArrayBlockingQueue<ColorFrame<S>> pending;
+  private final ArrayBlockingQueue<ColorFrame<T>> ready;
+  private final AtomicReference<Flow.Subscription> upstream;
+  private final AtomicReference<Flow.Subscriber<? super ColorFrame<T>>> downstream;
+  private final AtomicLong demand;
+  private final AtomicInteger work;
+  private final Stripe<S, T>[] stripes;
+  private final Runnable drainTask;
+  private volatile boolean upstreamDone;
+  private volatile boolean cancelled;
+  private volatile boolean terminated;
+  private volatile Throwable error;
+
+  @SuppressWarnings("unchecked")
+  private ColorConversionProcessor(
+    final ColorConversionProcessorConfiguration<S, T> inConfiguration)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+
+    final var maxInFlight = inConfiguration.maxInFlight();
+    this.frames = ColorFramePool.create(maxInFlight);
+    this.frames.setOnRelease(this::onFrameReleased);
+    this.pending = new ArrayBlockingQueue<>(maxInFlight);
+    this.ready = new ArrayBlockingQueue<>(maxInFlight);
+    this.upstream = new AtomicReference<>();
+    this.downstream = new AtomicReference<>();
+    this.demand = new AtomicLong(0L);
+    this.work = new AtomicInteger(0);
+    this.drainTask = this::drain;
+
+    this.stripes = new Stripe[inConfiguration.parallelism()];
+    for (int index = 0; index < this.stripes.length; ++index) {
+      this.stripes[index] = new Stripe<>(inConfiguration.conversion());
+    }
+  }
+
+  /**
+   * Create a new processor.
+   *
+   * @param configuration The configuration
+   * @param <S>           The source color space
+   * @param <T>           The target color space
+   *
+   * @return A new processor
+   */
+
+  public static <S extends ColorSpaceTagType, T extends ColorSpaceTagType>
+  ColorConversionProcessor<S, T> create(
+    final ColorConversionProcessorConfiguration<S, T> configuration)
+  {
+    return new ColorConversionProcessor<>(configuration);
+  }
+
+  /**
+   * @return The configuration of the processor
+   */
+
+  public ColorConversionProcessorConfiguration<S, T> configuration()
+  {
+    return this.configuration;
+  }
+
+  @Override
+  public void subscribe(
+    final Flow.Subscriber<? super ColorFrame<T>> subscriber)
+  {
+    Objects.requireNonNull(subscriber, "subscriber");
+
+    if (!this.downstream.compareAndSet(null, subscriber)) {
+      subscriber.onSubscribe(new RejectedSubscription());
+      subscriber.onError(new IllegalStateException(
+        "This processor already has a subscriber."));
+      return;
+    }
+
+    subscriber.onSubscribe(new DownstreamSubscription());
+    this.schedule();
+  }
+
+  @Override
+  public void onSubscribe(
+    final Flow.Subscription subscription)
+  {
+    Objects.requireNonNull(subscription, "subscription");
+
+    if (!this.upstream.compareAndSet(null, subscription)) {
+      subscription.cancel();
+      return;
+    }
+    subscription.request(this.configuration.maxInFlight());
+  }
+
+  @Override
+  public void onNext(
+    final ColorFrame<S> item)
+  {
+    Objects.requireNonNull(item, "item");
+
+    if (!this.pending.offer(item)) {
+      item.release();
+      this.fail(new IllegalStateException(
+        "Upstream delivered more frames than were requested."));
+      return;
+    }
+    this.schedule();
+  }
+
+  @Override
+  public void onError(
+    final Throwable throwable)
+  {
+    Objects.requireNonNull(throwable, "throwable");
+    this.error = throwable;
+    this.upstreamDone = true;
+    this.schedule();
+  }
+
+  @Override
+  public void onComplete()
+  {
+    this.upstreamDone = true;
+    this.schedule();
+  }
+
+  private void fail(
+    final Throwable throwable)
+  {
+    this.error = throwable;
+    this.upstreamDone = true;
+    this.cancelUpstream();
+    this.schedule();
+  }
+
+  private void cancelUpstream()
+  {
+    final var subscription = this.upstream.get();
+    if (subscription != null) {
+      subscription.cancel();
+    }
+  }
+
+  private void onFrameReleased()
+  {
+    if (this.terminated || this.cancelled) {
+      return;
+    }
+
+    final var subscription = this.upstream.get();
+    if (subscription != null && !this.upstreamDone) {
+      subscription.request(1L);
+    }
+    this.schedule();
+  }
+
+  private void schedule()
+  {
+    if (this.work.getAndIncrement() == 0) {
+      this.configuration.pool().execute(this.drainTask);
+    }
+  }
+
+  private void drain()
+  {
+    int missed = 1;
+    while (true) {
+      this.drainOnce();
+      missed = this.work.addAndGet(-missed);
+      if (missed == 0) {
+        return;
+      }
+    }
+  }
+
+  private void drainOnce()
+  {
+    if (this.terminated) {
+      this.releaseQueued();
+      return;
+    }
+
+    if (this.cancelled) {
+      this.terminated = true;
+      this.releaseQueued();
+      return;
+    }
+
+    this.convertPending();
+
+    final var subscriber = this.downstream.get();
+    if (subscriber == null) {
+      return;
+    }
+
+    final var failure = this.error;
+    if (failure != null) {
+      this.terminated = true;
+      this.releaseQueued();
+      subscriber.onError(failure);
+      return;
+    }
+
+    this.deliverReady(subscriber);
+
+    if (this.upstreamDone && this.pending.isEmpty() && this.ready.isEmpty()) {
+      this.terminated = true;
+      subscriber.onComplete();
+    }
+  }
+
+  private void deliverReady(
+    final Flow.Subscriber<? super ColorFrame<T>> subscriber)
+  {
+    while (!this.cancelled && this.demand.get() > 0L) {
+      final var frame = this.ready.poll();
+      if (frame == null) {
+        return;
+      }
+      if (this.demand.get() != Long.MAX_VALUE) {
+        this.demand.decrementAndGet();
+      }
+      subscriber.onNext(frame);
+    }
+  }
+
+  private void convertPending()
+  {
+    while (this.error == null) {
+      final var input = this.pending.peek();
+      if (input == null) {
+        return;
+      }
+
+      final var output =
+        this.frames.acquireOrNull(input.width(), input.height());
+      if (output == null) {
+        return;
+      }
+
+      this.pending.poll();
+      try {
+        this.convert(input, output);
+        this.ready.offer(output);
+      } catch (final RuntimeException e) {
+        this.error = e;
+        this.upstreamDone = true;
+        this.cancelUpstream();
+        output.release();
+      } finally {
+        input.release();
+      }
+    }
+  }
+
+  private void convert(
+    final ColorFrame<S> input,
+    final ColorFrame<T> output)
+  {
+    final var pixels = input.pixels();
+    final var parts = Math.min(this.stripes.length, pixels);
+    if (parts <= 1) {
+      this.configuration.conversion()
+        .convert(input.data(), 0, output.data(), 0, pixels);
+      return;
+    }
+
+    final var base = pixels / parts;
+    final var extra = pixels % parts;
+    int start = 0;
+    for (int index = 0; index < this.stripes.length; ++index) {
+      final var stripe = this.stripes[index];
+      stripe.reinitialize();
+      int count = 0;
+      if (index < parts) {
+        count = base;
+        if (index < extra) {
+          count += 1;
+        }
+      }
+      stripe.set(input.data(), output.data(), start, count);
+      start += count;
+    }
+
+    ForkJoinTask.invokeAll(this.stripes);
+  }
+
+  private void releaseQueued()
+  {
+    while (true) {
+      final var input = this.pending.poll();
+      if (input == null) {
+        break;
+      }
+      input.release();
+    }
+    while (true) {
+      final var output = this.ready.poll();
+      if (output == null) {
+        break;
+      }
+      output.release();
+    }
+  }
+
+  private static final class Stripe<
+    S extends ColorSpaceTagType,
+    T extends ColorSpaceTagType>
+    extends RecursiveAction
+  {
+    private final ColorBulkConversionType<S, T> conversion;
+    private double[] source;
+    private double[] target;
+    private int start;
+    private int count;
+
+    Stripe(
+      final ColorBulkConversionType<S, T> inConversion)
+    {
+      this.conversion = inConversion;
+    }
+
+    void set(
+      final double[] inSource,
+      final double[] inTarget,
+      final int inStart,
+      final int inCount)
+    {
+      this.source = inSource;
+      this.target = inTarget;
+      this.start = inStart;
+      this.count = inCount;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (this.count > 0) {
+        final var offset = this.start * 4;
+        this.conversion.convert(
+          this.source, offset, this.target, offset, this.count);
+      }
+      this.source = null;
+      this.target = null;
+    }
+  }
+
+  private static final class RejectedSubscription
+    implements Flow.Subscription
+  {
+    RejectedSubscription()
+    {
+
+    }
+
+    @Override
+    public void request(
+      final long n)
+    {
+
+    }
+
+    @Override
+    public void cancel()
+    {
+
+    }
+  }
+
+  private final class DownstreamSubscription implements Flow.Subscription
+  {
+    DownstreamSubscription()
+    {
+
+    }
+
+    @Override
+    public void request(
+      final long n)
+    {
+      if (n <= 0L) {
+        ColorConversionProcessor.this.fail(new IllegalArgumentException(
+          "Requested %d items; requests must be positive"
+            .formatted(Long.valueOf(n))));
+        return;
+      }
+
+      ColorConversionProcessor.this.demand.getAndAccumulate(
+        n, ColorConversionProcessor::addCapped);
+      ColorConversionProcessor.this.schedule();
+    }
+
+    @Override
+    public void cancel()
+    {
+      ColorConversionProcessor.this.cancelled = true;
+      ColorConversionProcessor.this.cancelUpstream();
+      ColorConversionProcessor.this.schedule();
+    }
+  }
+
+  private static long addCapped(
+    final long x,
+    final long y)
+  {
+    final var r = x + y;
+    if (r < 0L) {
+      return Long.MAX_VALUE;
+    }
+    return r;
+  }
+}
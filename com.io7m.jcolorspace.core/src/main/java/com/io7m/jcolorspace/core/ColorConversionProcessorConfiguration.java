@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The configuration for a conversion processor.
+ *
+ * @param conversion  The conversion applied to each frame
+ * @param pool        The pool on which conversions are executed
+ * @param parallelism The number of parts into which each frame is split for
+ *                    parallel conversion
+ * @param maxInFlight The maximum number of frames that may be held by the
+ *                    processor and its downstream subscriber at any one time
+ * @param <S>         The source color space
+ * @param <T>         The target color space
+ */
+
+public record ColorConversionProcessorConfiguration<
+  S extends ColorSpaceTagType,
+  T extends ColorSpaceTagType>(
+  ColorBulkConversionType<S, T> conversion,
+  ForkJoinPool pool,
+  int parallelism,
+  int maxInFlight)
+{
+  /**
+   * The configuration for a conversion processor.
+   *
+   * @param conversion  The conversion applied to each frame
+   * @param pool        The pool on which conversions are executed
+   * @param parallelism The number of parts into which each frame is split for
+   *                    parallel conversion
+   * @param maxInFlight The maximum number of frames that may be held by the
+   *                    processor and its downstream subscriber at any one
+   *                    time
+   */
+
+  public ColorConversionProcessorConfiguration
+  {
+    Objects.requireNonNull(conversion, "conversion");
+    Objects.requireNonNull(pool, "pool");
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException(
+        "Parallelism %d must be >= 1".formatted(Integer.valueOf(parallelism))
+      );
+    }
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException(
+        "Maximum in-flight frames %d must be >= 1"
+          .formatted(Integer.valueOf(maxInFlight))
+      );
+    }
+  }
+
+  /**
+   * Create a configuration that executes on the common pool, splitting each
+   * frame across the available processors, and allowing up to four frames
+   * in flight.
+   *
+   * @param conversion The conversion applied to each frame
+   * @param <S>        The source color space
+   * @param <T>        The target color space
+   *
+   * @return A configuration
+   */
+
+  public static <S extends ColorSpaceTagType, T extends ColorSpaceTagType>
+  ColorConversionProcessorConfiguration<S, T> of(
+    final ColorBulkConversionType<S, T> conversion)
+  {
+    final var pool = ForkJoinPool.commonPool();
+    return new ColorConversionProcessorConfiguration<>(
+      conversion,
+      pool,
+      Math.max(1, pool.getParallelism()),
+      4
+    );
+  }
+}
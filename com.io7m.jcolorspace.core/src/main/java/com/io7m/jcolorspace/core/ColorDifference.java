@@ -0,0 +1,853 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>A bulk color difference operator.</p>
+ *
+ * <p>An operator compares pairs of linear RGB images pixel by pixel using a
+ * {@link ColorDifferenceMetric}. Images are arrays of interleaved RGBA
+ * components, four components per pixel; alpha is ignored. The CIELAB
+ * metrics use CIELAB relative to the white point of the color space of the
+ * images, without chromatic adaptation.</p>
+ *
+ * <p>Differences may be written to a map holding one difference per pixel,
+ * aggregated into {@link ColorDifferenceStatistics}, or tested against a
+ * threshold with early exit. Percentiles are estimated from a histogram of
+ * {@link #HISTOGRAM_BINS} bins, and so are reported to within one bin width
+ * (one 64th of a CIELAB unit for the CIE94 and CIEDE2000 metrics); reported
+ * percentiles never lie below the true percentile and never exceed the
+ * maximum.</p>
+ *
+ * <p>Operators are immutable and are safe to use from multiple threads.</p>
+ */
+
+public final class ColorDifference
+{
+  /**
+   * The number of histogram bins used to estimate percentiles.
+   */
+
+  public static final int HISTOGRAM_BINS = 8192;
+
+  private static final int EXIT_CHECK_PIXELS = 256;
+  private static final int STATISTICS_PARTS_PER_THREAD = 4;
+  private static final double POW_25_7 = Math.pow(25.0, 7.0);
+  private static final double LAB_EPSILON = 216.0 / 24389.0;
+  private static final double LAB_KAPPA = 24389.0 / 27.0;
+
+  private final ColorDifferenceMetric metric;
+  private final RGBPrimaries primaries;
+  private final double[] toXYZ;
+  private final OklabTransform oklab;
+
+  private ColorDifference(
+    final ColorDifferenceMetric inMetric,
+    final RGBPrimaries inPrimaries)
+  {
+    this.metric = inMetric;
+    this.primaries = inPrimaries;
+
+    /*
+     * Fold the division by the white point into the RGB to XYZ matrix.
+     */
+
+    final var m = RGBConversionMatrices.toXYZ(inPrimaries);
+    final var white = inPrimaries.white().toXYZ();
+    final var xn = white.x();
+    final var yn = white.y();
+    final var zn = white.z();
+    this.toXYZ = new double[]{
+      m.r0c0() / xn, m.r0c1() / xn, m.r0c2() / xn,
+      m.r1c0() / yn, m.r1c1() / yn, m.r1c2() / yn,
+      m.r2c0() / zn, m.r2c1() / zn, m.r2c2() / zn,
+    };
+
+    if (inMetric == ColorDifferenceMetric.OKLAB) {
+      this.oklab = new OklabTransform(inPrimaries);
+    } else {
+      this.oklab = null;
+    }
+  }
+
+  /**
+   * Create an operator for images in the sRGB color space.
+   *
+   * @param metric The metric
+   *
+   * @return An operator
+   */
+
+  public static ColorDifference create(
+    final ColorDifferenceMetric metric)
+  {
+    return create(metric, RGBPrimaries.SRGB);
+  }
+
+  /**
+   * Create an operator for images in the given color space.
+   *
+   * @param metric    The metric
+   * @param primaries The color space of the compared images
+   *
+   * @return An operator
+   */
+
+  public static ColorDifference create(
+    final ColorDifferenceMetric metric,
+    final RGBPrimaries primaries)
+  {
+    return new ColorDifference(
+      Objects.requireNonNull(metric, "metric"),
+      Objects.requireNonNull(primaries, "primaries")
+    );
+  }
+
+  /**
+   * @return The metric
+   */
+
+  public ColorDifferenceMetric metric()
+  {
+    return this.metric;
+  }
+
+  /**
+   * @return The color space of the compared images
+   */
+
+  public RGBPrimaries primaries()
+  {
+    return this.primaries;
+  }
+
+  /**
+   * Calculate the CIE 1976 difference between two CIELAB colors.
+   *
+   * @param l1 The lightness of the reference color
+   * @param a1 The a component of the reference color
+   * @param b1 The b component of the reference color
+   * @param l2 The lightness of the sample color
+   * @param a2 The a component of the sample color
+   * @param b2 The b component of the sample color
+   *
+   * @return The difference
+   */
+
+  public static double deltaE76(
+    final double l1,
+    final double a1,
+    final double b1,
+    final double l2,
+    final double a2,
+    final double b2)
+  {
+    final var dl = l1 - l2;
+    final var da = a1 - a2;
+    final var db = b1 - b2;
+    return Math.sqrt(dl * dl + da * da + db * db);
+  }
+
+  /**
+   * Calculate the CIE 1994 difference between two CIELAB colors, using the
+   * graphic arts weighting factors.
+   *
+   * @param l1 The lightness of the reference color
+   * @param a1 The a component of the reference color
+   * @param b1 The b component of the reference color
+   * @param l2 The lightness of the sample color
+   * @param a2 The a component of the sample color
+   * @param b2 The b component of the sample color
+   *
+   * @return The difference
+   */
+
+  public static double deltaE94(
+    final double l1,
+    final double a1,
+    final double b1,
+    final double l2,
+    final double a2,
+    final double b2)
+  {
+    final var c1 = Math.sqrt(a1 * a1 + b1 * b1);
+    final var c2 = Math.sqrt(a2 * a2 + b2 * b2);
+    final var dl = l1 - l2;
+    final var dc = c1 - c2;
+    final var da = a1 - a2;
+    final var db = b1 - b2;
+    final var dh2 = Math.max(0.0, da * da + db * db - dc * dc);
+
+    final var sc = 1.0 + 0.045 * c1;
+    final var sh = 1.0 + 0.015 * c1;
+    final var tc = dc / sc;
+    return Math.sqrt(dl * dl + tc * tc + dh2 / (sh * sh));
+  }
+
+  /**
+   * Calculate the CIEDE2000 difference between two CIELAB colors, with unit
+   * parametric weighting factors.
+   *
+   * @param l1 The lightness of the reference color
+   * @param a1 The a component of the reference color
+   * @param b1 The b component of the reference color
+   * @param l2 The lightness of the sample color
+   * @param a2 The a component of the sample color
+   * @param b2 The b component of the sample color
+   *
+   * @return The difference
+   */
+
+  public static double deltaE2000(
+    final double l1,
+    final double a1,
+    final double b1,
+    final double l2,
+    final double a2,
+    final double b2)
+  {
+    /*
+     * G. Sharma, W. Wu, E. N. Dalal, "The CIEDE2000 color-difference
+     * formula: Implementation notes, supplementary test data, and
+     * mathematical observations", 2005.
+     */
+
+    final var cMean = (Math.sqrt(a1 * a1 + b1 * b1) + Math.sqrt(a2 * a2 + b2 * b2)) * 0.5;
+    final var cMean7 = Math.pow(cMean, 7.0);
+    final var g = 0.5 * (1.0 - Math.sqrt(cMean7 / (cMean7 + POW_25_7)));
+
+    final var a1p = (1.0 + g) * a1;
+    final var a2p = (1.0 + g) * a2;
+    final var c1p = Math.sqrt(a1p * a1p + b1 * b1);
+    final var c2p = Math.sqrt(a2p * a2p + b2 * b2);
+    final var h1p = hueAngle(a1p, b1);
+    final var h2p = hueAngle(a2p, b2);
+    final var chromaProduct = c1p * c2p;
+
+    final var dlp = l2 - l1;
+    final var dcp = c2p - c1p;
+    final var dhp = hueDifference(h1p, h2p, chromaProduct);
+    final var dHp =
+      2.0 * Math.sqrt(chromaProduct) * Math.sin(Math.toRadians(dhp * 0.5));
+
+    final var lMeanP = (l1 + l2) * 0.5;
+    final var cMeanP = (c1p + c2p) * 0.5;
+    final var hMeanP = hueMean(h1p, h2p, chromaProduct);
+
+    final var t = 1.0
+      - 0.17 * Math.cos(Math.toRadians(hMeanP - 30.0))
+      + 0.24 * Math.cos(Math.toRadians(2.0 * hMeanP))
+      + 0.32 * Math.cos(Math.toRadians(3.0 * hMeanP + 6.0))
+      - 0.20 * Math.cos(Math.toRadians(4.0 * hMeanP - 63.0));
+
+    final var hueOffset = (hMeanP - 275.0) / 25.0;
+    final var dTheta = 30.0 * Math.exp(-(hueOffset * hueOffset));
+    final var cMeanP7 = Math.pow(cMeanP, 7.0);
+    final var rc = 2.0 * Math.sqrt(cMeanP7 / (cMeanP7 + POW_25_7));
+    final var lOffset = (lMeanP - 50.0) * (lMeanP - 50.0);
+    final var sl = 1.0 + (0.015 * lOffset) / Math.sqrt(20.0 + lOffset);
+    final var sc = 1.0 + 0.045 * cMeanP;
+    final var sh = 1.0 + 0.015 * cMeanP * t;
+    final var rt = -Math.sin(Math.toRadians(2.0 * dTheta)) * rc;
+
+    final var tl = dlp / sl;
+    final var tc = dcp / sc;
+    final var th = dHp / sh;
+    return Math.sqrt(tl * tl + tc * tc + th * th + rt * tc * th);
+  }
+
+  private static double hueAngle(
+    final double a,
+    final double b)
+  {
+    if (a == 0.0 && b == 0.0) {
+      return 0.0;
+    }
+    final var h = Math.toDegrees(Math.atan2(b, a));
+    return h < 0.0 ? h + 360.0 : h;
+  }
+
+  private static double hueDifference(
+    final double h1,
+    final double h2,
+    final double chromaProduct)
+  {
+    if (chromaProduct == 0.0) {
+      return 0.0;
+    }
+    final var d = h2 - h1;
+    if (d > 180.0) {
+      return d - 360.0;
+    }
+    if (d < -180.0) {
+      return d + 360.0;
+    }
+    return d;
+  }
+
+  private static double hueMean(
+    final double h1,
+    final double h2,
+    final double chromaProduct)
+  {
+    final var sum = h1 + h2;
+    if (chromaProduct == 0.0) {
+      return sum;
+    }
+    if (Math.abs(h1 - h2) <= 180.0) {
+      return sum * 0.5;
+    }
+    if (sum < 360.0) {
+      return (sum + 360.0) * 0.5;
+    }
+    return (sum - 360.0) * 0.5;
+  }
+
+  private static double labF(
+    final double t)
+  {
+    if (t > LAB_EPSILON) {
+      return Math.cbrt(t);
+    }
+    return (LAB_KAPPA * t + 16.0) / 116.0;
+  }
+
+  private void toLab(
+    final double[] data,
+    final int offset,
+    final double[] out)
+  {
+    final var r = data[offset];
+    final var g = data[offset + 1];
+    final var b = data[offset + 2];
+
+    if (this.oklab != null) {
+      this.oklab.toLab(r, g, b, out);
+      return;
+    }
+
+    final var m = this.toXYZ;
+    final var fx = labF(m[0] * r + m[1] * g + m[2] * b);
+    final var fy = labF(m[3] * r + m[4] * g + m[5] * b);
+    final var fz = labF(m[6] * r + m[7] * g + m[8] * b);
+    out[0] = 116.0 * fy - 16.0;
+    out[1] = 500.0 * (fx - fy);
+    out[2] = 200.0 * (fy - fz);
+  }
+
+  private double pixel(
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final double[] lab0,
+    final double[] lab1)
+  {
+    this.toLab(reference, referenceOffset, lab0);
+    this.toLab(sample, sampleOffset, lab1);
+    final var l1 = lab0[0];
+    final var a1 = lab0[1];
+    final var b1 = lab0[2];
+    final var l2 = lab1[0];
+    final var a2 = lab1[1];
+    final var b2 = lab1[2];
+    return switch (this.metric) {
+      case CIE76, OKLAB -> deltaE76(l1, a1, b1, l2, a2, b2);
+      case CIE94 -> deltaE94(l1, a1, b1, l2, a2, b2);
+      case CIEDE2000 -> deltaE2000(l1, a1, b1, l2, a2, b2);
+    };
+  }
+
+  /**
+   * Calculate the difference between a pair of linear RGB colors.
+   *
+   * @param r1 The red component of the reference color
+   * @param g1 The green component of the reference color
+   * @param b1 The blue component of the reference color
+   * @param r2 The red component of the sample color
+   * @param g2 The green component of the sample color
+   * @param b2 The blue component of the sample color
+   *
+   * @return The difference
+   */
+
+  public double difference(
+    final double r1,
+    final double g1,
+    final double b1,
+    final double r2,
+    final double g2,
+    final double b2)
+  {
+    return this.pixel(
+      new double[]{r1, g1, b1},
+      0,
+      new double[]{r2, g2, b2},
+      0,
+      new double[3],
+      new double[3]
+    );
+  }
+
+  private static void checkBounds(
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final int pixels)
+  {
+    final var components = Math.multiplyExact(pixels, 4);
+    Objects.checkFromIndexSize(referenceOffset, components, reference.length);
+    Objects.checkFromIndexSize(sampleOffset, components, sample.length);
+  }
+
+  /**
+   * Calculate the differences between {@code pixels} pairs of pixels,
+   * writing one difference per pixel to {@code target}.
+   *
+   * @param reference       The reference components
+   * @param referenceOffset The offset of the first reference component
+   * @param sample          The sample components
+   * @param sampleOffset    The offset of the first sample component
+   * @param target          The differences
+   * @param targetOffset    The offset of the first difference
+   * @param pixels          The number of pixels
+   */
+
+  public void map(
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(reference, referenceOffset, sample, sampleOffset, pixels);
+    Objects.checkFromIndexSize(targetOffset, pixels, target.length);
+    this.mapUnchecked(
+      reference, referenceOffset, sample, sampleOffset, target, targetOffset, 0, pixels);
+  }
+
+  /**
+   * Calculate the differences between {@code pixels} pairs of pixels,
+   * writing one difference per pixel to {@code target}, splitting the work
+   * across the threads of {@code pool}.
+   *
+   * @param pool            The pool
+   * @param reference       The reference components
+   * @param referenceOffset The offset of the first reference component
+   * @param sample          The sample components
+   * @param sampleOffset    The offset of the first sample component
+   * @param target          The differences
+   * @param targetOffset    The offset of the first difference
+   * @param pixels          The number of pixels
+   */
+
+  public void mapParallel(
+    final ForkJoinPool pool,
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(reference, referenceOffset, sample, sampleOffset, pixels);
+    Objects.checkFromIndexSize(targetOffset, pixels, target.length);
+
+    ColorBulk.parallelRanges(
+      pool,
+      pixels,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT,
+      (start, end) -> {
+        this.mapUnchecked(
+          reference, referenceOffset, sample, sampleOffset, target, targetOffset, start, end);
+      });
+  }
+
+  private void mapUnchecked(
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final double[] target,
+    final int targetOffset,
+    final int start,
+    final int end)
+  {
+    final var lab0 = new double[3];
+    final var lab1 = new double[3];
+    for (int index = start; index < end; ++index) {
+      target[targetOffset + index] = this.pixel(
+        reference,
+        referenceOffset + index * 4,
+        sample,
+        sampleOffset + index * 4,
+        lab0,
+        lab1
+      );
+    }
+  }
+
+  /**
+   * Calculate aggregate statistics of the differences between
+   * {@code pixels} pairs of pixels.
+   *
+   * @param reference       The reference components
+   * @param referenceOffset The offset of the first reference component
+   * @param sample          The sample components
+   * @param sampleOffset    The offset of the first sample component
+   * @param pixels          The number of pixels
+   *
+   * @return The statistics
+   */
+
+  public ColorDifferenceStatistics statistics(
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final int pixels)
+  {
+    checkBounds(reference, referenceOffset, sample, sampleOffset, pixels);
+
+    final var accumulator = new Accumulator(this.metric);
+    this.accumulate(
+      reference, referenceOffset, sample, sampleOffset, accumulator, 0, pixels);
+    return accumulator.finish();
+  }
+
+  /**
+   * Calculate aggregate statistics of the differences between
+   * {@code pixels} pairs of pixels, splitting the work across the threads
+   * of {@code pool}. The result is identical to that of
+   * {@link #statistics(double[], int, double[], int, int)} apart from
+   * rounding in the mean.
+   *
+   * @param pool            The pool
+   * @param reference       The reference components
+   * @param referenceOffset The offset of the first reference component
+   * @param sample          The sample components
+   * @param sampleOffset    The offset of the first sample component
+   * @param pixels          The number of pixels
+   *
+   * @return The statistics
+   */
+
+  public ColorDifferenceStatistics statisticsParallel(
+    final ForkJoinPool pool,
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final int pixels)
+  {
+    checkBounds(reference, referenceOffset, sample, sampleOffset, pixels);
+
+    /*
+     * Each accumulator holds a full histogram, so rather than allocating one
+     * per grain of pixels, divide the pixels into a small number of parts
+     * per thread. Each part fills its own accumulator without any
+     * synchronization, and the parts are merged once, in order, after all
+     * of them have completed.
+     */
+
+    final var grain = ColorBulk.PARALLEL_GRAIN_DEFAULT;
+    final var parts = Math.max(1, Math.min(
+      (pixels + grain - 1) / grain,
+      Math.max(1, pool.getParallelism()) * STATISTICS_PARTS_PER_THREAD
+    ));
+
+    final var accumulators = new Accumulator[parts];
+    ColorBulk.parallelRanges(pool, parts, 1, (partStart, partEnd) -> {
+      for (int part = partStart; part < partEnd; ++part) {
+        final var local = new Accumulator(this.metric);
+        this.accumulate(
+          reference,
+          referenceOffset,
+          sample,
+          sampleOffset,
+          local,
+          partStart(pixels, parts, part),
+          partStart(pixels, parts, part + 1)
+        );
+        accumulators[part] = local;
+      }
+    });
+
+    final var total = accumulators[0];
+    for (int part = 1; part < parts; ++part) {
+      total.merge(accumulators[part]);
+    }
+    return total.finish();
+  }
+
+  private static int partStart(
+    final int pixels,
+    final int parts,
+    final int part)
+  {
+    return (int) ((long) pixels * part / parts);
+  }
+
+  private void accumulate(
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final Accumulator accumulator,
+    final int start,
+    final int end)
+  {
+    final var lab0 = new double[3];
+    final var lab1 = new double[3];
+    for (int index = start; index < end; ++index) {
+      accumulator.add(
+        this.pixel(
+          reference,
+          referenceOffset + index * 4,
+          sample,
+          sampleOffset + index * 4,
+          lab0,
+          lab1
+        ),
+        index
+      );
+    }
+  }
+
+  /**
+   * Find the first of {@code pixels} pairs of pixels whose difference
+   * exceeds {@code threshold}. Comparison stops at the first such pixel.
+   *
+   * @param reference       The reference components
+   * @param referenceOffset The offset of the first reference component
+   * @param sample          The sample components
+   * @param sampleOffset    The offset of the first sample component
+   * @param pixels          The number of pixels
+   * @param threshold       The threshold
+   *
+   * @return The index of the first pixel whose difference exceeds the
+   * threshold, or {@code -1} if there is no such pixel
+   */
+
+  public int firstExceeding(
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final int pixels,
+    final double threshold)
+  {
+    checkBounds(reference, referenceOffset, sample, sampleOffset, pixels);
+
+    final var lab0 = new double[3];
+    final var lab1 = new double[3];
+    for (int index = 0; index < pixels; ++index) {
+      final var d = this.pixel(
+        reference,
+        referenceOffset + index * 4,
+        sample,
+        sampleOffset + index * 4,
+        lab0,
+        lab1
+      );
+      if (d > threshold) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Determine whether the difference of any of {@code pixels} pairs of
+   * pixels exceeds {@code threshold}. Comparison stops at the first such
+   * pixel.
+   *
+   * @param reference       The reference components
+   * @param referenceOffset The offset of the first reference component
+   * @param sample          The sample components
+   * @param sampleOffset    The offset of the first sample component
+   * @param pixels          The number of pixels
+   * @param threshold       The threshold
+   *
+   * @return {@code true} if any difference exceeds the threshold
+   */
+
+  public boolean exceeds(
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final int pixels,
+    final double threshold)
+  {
+    return this.firstExceeding(
+      reference, referenceOffset, sample, sampleOffset, pixels, threshold) >= 0;
+  }
+
+  /**
+   * Determine whether the difference of any of {@code pixels} pairs of
+   * pixels exceeds {@code threshold}, splitting the work across the threads
+   * of {@code pool}. Once any thread finds such a pixel, all threads stop
+   * comparing.
+   *
+   * @param pool            The pool
+   * @param reference       The reference components
+   * @param referenceOffset The offset of the first reference component
+   * @param sample          The sample components
+   * @param sampleOffset    The offset of the first sample component
+   * @param pixels          The number of pixels
+   * @param threshold       The threshold
+   *
+   * @return {@code true} if any difference exceeds the threshold
+   */
+
+  public boolean exceedsParallel(
+    final ForkJoinPool pool,
+    final double[] reference,
+    final int referenceOffset,
+    final double[] sample,
+    final int sampleOffset,
+    final int pixels,
+    final double threshold)
+  {
+    checkBounds(reference, referenceOffset, sample, sampleOffset, pixels);
+
+    final var found = new AtomicBoolean();
+    ColorBulk.parallelRanges(
+      pool,
+      pixels,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT,
+      (start, end) -> {
+        final var lab0 = new double[3];
+        final var lab1 = new double[3];
+        for (int index = start; index < end; ++index) {
+          if ((index - start) % EXIT_CHECK_PIXELS == 0 && found.get()) {
+            return;
+          }
+          final var d = this.pixel(
+            reference,
+            referenceOffset + index * 4,
+            sample,
+            sampleOffset + index * 4,
+            lab0,
+            lab1
+          );
+          if (d > threshold) {
+            found.set(true);
+            return;
+          }
+        }
+      });
+    return found.get();
+  }
+
+  private static final class Accumulator
+  {
+    private final ColorDifferenceMetric metric;
+    private final long[] histogram;
+    private final double binScale;
+    private long count;
+    private double sum;
+    private double max;
+    private int maxIndex;
+
+    Accumulator(
+      final ColorDifferenceMetric inMetric)
+    {
+      this.metric = inMetric;
+      this.histogram = new long[HISTOGRAM_BINS + 1];
+      this.binScale = HISTOGRAM_BINS / inMetric.histogramLimit();
+      this.max = 0.0;
+      this.maxIndex = -1;
+    }
+
+    void add(
+      final double value,
+      final int index)
+    {
+      final var bin = (int) Math.min(value * this.binScale, HISTOGRAM_BINS);
+      ++this.histogram[Math.max(bin, 0)];
+      ++this.count;
+      this.sum += value;
+      if (this.maxIndex < 0 || value > this.max) {
+        this.max = value;
+        this.maxIndex = index;
+      }
+    }
+
+    void merge(
+      final Accumulator other)
+    {
+      for (int index = 0; index < this.histogram.length; ++index) {
+        this.histogram[index] += other.histogram[index];
+      }
+      this.count += other.count;
+      this.sum += other.sum;
+
+      if (other.maxIndex < 0) {
+        return;
+      }
+      if (this.maxIndex < 0
+        || other.max > this.max
+        || (other.max == this.max && other.maxIndex < this.maxIndex)) {
+        this.max = other.max;
+        this.maxIndex = other.maxIndex;
+      }
+    }
+
+    private double percentile(
+      final double p)
+    {
+      if (this.count == 0L) {
+        return 0.0;
+      }
+
+      final var rank = Math.max(1L, (long) Math.ceil(p * this.count));
+      long seen = 0L;
+      for (int bin = 0; bin < HISTOGRAM_BINS; ++bin) {
+        seen += this.histogram[bin];
+        if (seen >= rank) {
+          return Math.min(this.max, (bin + 1) / this.binScale);
+        }
+      }
+      return this.max;
+    }
+
+    ColorDifferenceStatistics finish()
+    {
+      return new ColorDifferenceStatistics(
+        this.metric,
+        this.count,
+        this.count == 0L ? 0.0 : this.sum / this.count,
+        this.max,
+        this.maxIndex,
+        this.percentile(0.50),
+        this.percentile(0.95),
+        this.percentile(0.99)
+      );
+    }
+  }
+}
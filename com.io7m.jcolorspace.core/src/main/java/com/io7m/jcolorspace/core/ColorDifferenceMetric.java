@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The available color difference metrics.
+ *
+ * @see ColorDifference
+ */
+
+public enum ColorDifferenceMetric
+{
+  /**
+   * The CIE 1976 difference: The Euclidean distance in CIELAB. This is the
+   * cheapest of the CIELAB metrics, but overstates differences between
+   * saturated colors.
+   */
+
+  CIE76(256.0),
+
+  /**
+   * The CIE 1994 difference with the graphic arts weighting factors. The
+   * metric is not symmetric: The chroma of the reference color determines
+   * the weighting.
+   */
+
+  CIE94(128.0),
+
+  /**
+   * The CIEDE2000 difference. This is the most perceptually accurate of the
+   * CIELAB metrics, and the most expensive.
+   */
+
+  CIEDE2000(128.0),
+
+  /**
+   * The Euclidean distance in Oklab. Oklab lightness lies in {@code [0, 1]},
+   * so differences are roughly one hundredth of the CIELAB metrics.
+   */
+
+  OKLAB(1.0);
+
+  private final double histogramLimit;
+
+  ColorDifferenceMetric(
+    final double inHistogramLimit)
+  {
+    this.histogramLimit = inHistogramLimit;
+  }
+
+  /**
+   * @return The upper limit of the histogram used to estimate percentiles
+   */
+
+  double histogramLimit()
+  {
+    return this.histogramLimit;
+  }
+}
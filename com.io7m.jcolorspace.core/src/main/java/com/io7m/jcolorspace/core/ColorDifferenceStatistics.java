@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+
+/**
+ * Aggregated color differences over a pair of images.
+ *
+ * @param metric       The metric
+ * @param pixels       The number of pixels compared
+ * @param mean         The mean difference
+ * @param max          The maximum difference
+ * @param maxIndex     The index of the first pixel with the maximum
+ *                     difference, or {@code -1} if no pixels were compared
+ * @param percentile50 The median difference
+ * @param percentile95 The 95th percentile difference
+ * @param percentile99 The 99th percentile difference
+ *
+ * @see ColorDifference#statistics(double[], int, double[], int, int)
+ */
+
+public record ColorDifferenceStatistics(
+  ColorDifferenceMetric metric,
+  long pixels,
+  double mean,
+  double max,
+  int maxIndex,
+  double percentile50,
+  double percentile95,
+  double percentile99)
+{
+  /**
+   * Aggregated color differences over a pair of images.
+   *
+   * @param metric       The metric
+   * @param pixels       The number of pixels compared
+   * @param mean         The mean difference
+   * @param max          The maximum difference
+   * @param maxIndex     The index of the first pixel with the maximum
+   *                     difference, or {@code -1} if no pixels were compared
+   * @param percentile50 The median difference
+   * @param percentile95 The 95th percentile difference
+   * @param percentile99 The 99th percentile difference
+   */
+
+  public ColorDifferenceStatistics
+  {
+    Objects.requireNonNull(metric, "metric");
+  }
+}
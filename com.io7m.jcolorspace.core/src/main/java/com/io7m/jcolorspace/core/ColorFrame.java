@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>A frame of pixels in the color space {@code T}, stored as interleaved
+ * four-component pixels.</p>
+ *
+ * <p>Frames are either unpooled (created with
+ * {@link #wrap(int, int, double[])}), or belong to a {@link ColorFramePool}.
+ * The consumer of a frame must call {@link #release()} when it has finished
+ * with the frame so that pooled frames can be recycled; releasing an unpooled
+ * frame has no effect. A frame must not be accessed after it has been
+ * released.</p>
+ *
+ * @param <T> The color space
+ */
+
+public final class ColorFrame<T extends ColorSpaceTagType>
+{
+  private final ColorFramePool<T> owner;
+  private final AtomicBoolean leased;
+  private double[] data;
+  private int width;
+  private int height;
+
+  ColorFrame(
+    final ColorFramePool<T> inOwner,
+    final int inWidth,
+    final int inHeight,
+    final double[] inData)
+  {
+    this.owner = inOwner;
+    this.width = inWidth;
+    this.height = inHeight;
+    this.data = inData;
+    this.leased = new AtomicBoolean(true);
+  }
+
+  /**
+   * Wrap an existing array as an unpooled frame.
+   *
+   * @param width  The frame width
+   * @param height The frame height
+   * @param data   The frame data
+   * @param <T>    The color space
+   *
+   * @return A frame
+   */
+
+  public static <T extends ColorSpaceTagType> ColorFrame<T> wrap(
+    final int width,
+    final int height,
+    final double[] data)
+  {
+    Objects.requireNonNull(data, "data");
+    checkSize(width, height);
+    Objects.checkFromIndexSize(
+      0, componentsFor(width, height), data.length);
+    return new ColorFrame<>(null, width, height, data);
+  }
+
+  static void checkSize(
+    final int width,
+    final int height)
+  {
+    if (width < 0 || height < 0) {
+      throw new IllegalArgumentException(
+        "Frame dimensions %d x %d must be non-negative"
+          .formatted(Integer.valueOf(width), Integer.valueOf(height))
+      );
+    }
+  }
+
+  static int componentsFor(
+    final int width,
+    final int height)
+  {
+    return Math.multiplyExact(Math.multiplyExact(width, height), 4);
+  }
+
+  /**
+   * @return The frame width
+   */
+
+  public int width()
+  {
+    return this.width;
+  }
+
+  /**
+   * @return The frame height
+   */
+
+  public int height()
+  {
+    return this.height;
+  }
+
+  /**
+   * @return The number of pixels in the frame
+   */
+
+  public int pixels()
+  {
+    return this.width * this.height;
+  }
+
+  /**
+   * The frame data. The array may be larger than is required to hold
+   * {@link #pixels()} pixels, in which case the components beyond
+   * {@code pixels() * 4} are unspecified.
+   *
+   * @return The frame data
+   */
+
+  public double[] data()
+  {
+    return this.data;
+  }
+
+  /**
+   * Release the frame.
+   *
+   * @throws IllegalStateException If the frame has already been released
+   */
+
+  public void release()
+    throws IllegalStateException
+  {
+    if (this.owner == null) {
+      return;
+    }
+    if (!this.leased.compareAndSet(true, false)) {
+      throw new IllegalStateException("Frame has already been released.");
+    }
+    this.owner.release(this);
+  }
+
+  void lease(
+    final int inWidth,
+    final int inHeight)
+  {
+    final var required = componentsFor(inWidth, inHeight);
+    if (this.data.length < required) {
+      this.data = new double[required];
+    }
+    this.width = inWidth;
+    this.height = inHeight;
+    this.leased.set(true);
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A bounded pool of frames.</p>
+ *
+ * <p>The pool creates at most {@link #capacity()} frames. Frames are created
+ * lazily, and released frames are reused by subsequent acquisitions. The
+ * data array of a reused frame is only reallocated if the requested frame
+ * dimensions need more space than the array provides, so a stream of frames
+ * of constant size does not allocate once the pool is warm.</p>
+ *
+ * @param <T> The color space
+ */
+
+public final class ColorFramePool<T extends ColorSpaceTagType>
+{
+  private final int capacity;
+  private final ArrayBlockingQueue<ColorFrame<T>> free;
+  private final AtomicInteger created;
+  private volatile Runnable onRelease;
+
+  private ColorFramePool(
+    final int inCapacity)
+  {
+    this.capacity = inCapacity;
+    this.free = new ArrayBlockingQueue<>(inCapacity);
+    this.created = new AtomicInteger(0);
+    this.onRelease = () -> {
+
+    };
+  }
+
+  /**
+   * Create a new pool.
+   *
+   * @param capacity The maximum number of frames
+   * @param <T>      The color space
+   *
+   * @return A new pool
+   */
+
+  public static <T extends ColorSpaceTagType> ColorFramePool<T> create(
+    final int capacity)
+  {
+    if (capacity < 1) {
+      throw new IllegalArgumentException(
+        "Capacity %d must be >= 1".formatted(Integer.valueOf(capacity))
+      );
+    }
+    return new ColorFramePool<>(capacity);
+  }
+
+  /**
+   * @return The maximum number of frames the pool will create
+   */
+
+  public int capacity()
+  {
+    return this.capacity;
+  }
+
+  /**
+   * @return The number of frames that could currently be acquired
+   */
+
+  public int available()
+  {
+    return this.free.size() + (this.capacity - this.created.get());
+  }
+
+  /**
+   * Try to acquire a frame of the given size.
+   *
+   * @param width  The frame width
+   * @param height The frame height
+   *
+   * @return A frame, or nothing if every frame in the pool is in use
+   */
+
+  public Optional<ColorFrame<T>> tryAcquire(
+    final int width,
+    final int height)
+  {
+    return Optional.ofNullable(this.acquireOrNull(width, height));
+  }
+
+  ColorFrame<T> acquireOrNull(
+    final int width,
+    final int height)
+  {
+    ColorFrame.checkSize(width, height);
+
+    final var frame = this.free.poll();
+    if (frame != null) {
+      frame.lease(width, height);
+      return frame;
+    }
+
+    while (true) {
+      final var count = this.created.get();
+      if (count >= this.capacity) {
+        return null;
+      }
+      if (this.created.compareAndSet(count, count + 1)) {
+        return new ColorFrame<>(
+          this,
+          width,
+          height,
+          new double[ColorFrame.componentsFor(width, height)]
+        );
+      }
+    }
+  }
+
+  void setOnRelease(
+    final Runnable runnable)
+  {
+    this.onRelease = Objects.requireNonNull(runnable, "runnable");
+  }
+
+  void release(
+    final ColorFrame<T> frame)
+  {
+    this.free.offer(frame);
+    this.onRelease.run();
+  }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>A color gradient backed by a precomputed sample table.</p>
+ *
+ * <p>Gradients are constructed from a list of stops in a given color space,
+ * and interpolation between stops occurs in that color space. The gradient is
+ * sampled once at construction time into a dense table of linear RGB values
+ * containing {@link #resolution()} entries, and all subsequent lookups are
+ * simple table indexing operations. Gradients are immutable and are safe to
+ * use from multiple threads.</p>
+ *
+ * <p>Table entries are stored as interleaved RGBA components, and the bulk
+ * fill methods produce output in the same layout: Four consecutive
+ * components per input value.</p>
+ */
+
+public final class ColorGradient
+{
+  /**
+   * The smallest permitted table resolution.
+   */
+
+  public static final int RESOLUTION_MINIMUM = 2;
+
+  /**
+   * The default table resolution.
+   */
+
+  public static final int RESOLUTION_DEFAULT = 4096;
+
+  private final double[] table;
+  private final float[] tableFloat;
+  private final int resolution;
+  private final double scale;
+
+  private ColorGradient(
+    final double[] inTable,
+    final int inResolution)
+  {
+    this.table = inTable;
+    this.resolution = inResolution;
+    this.scale = inResolution - 1;
+    this.tableFloat = new float[inTable.length];
+    for (int index = 0; index < inTable.length; ++index) {
+      this.tableFloat[index] = (float) inTable[index];
+    }
+  }
+
+  private static double clamp(
+    final double x,
+    final double min,
+    final double max)
+  {
+    return Math.min(Math.max(x, min), max);
+  }
+
+  /**
+   * Create a gradient that interpolates linearly between the given linear
+   * RGB stops.
+   *
+   * @param stops      The gradient stops
+   * @param resolution The number of entries in the sample table
+   *
+   * @return A gradient
+   *
+   * @see #RESOLUTION_DEFAULT
+   */
+
+  public static ColorGradient linearRGB(
+    final List<ColorGradientStop<ColorSpaceTagLinearRGBType>> stops,
+    final int resolution)
+  {
+    return new ColorGradient(
+      sampleTable(stops, resolution, ColorGradient::interpolateRGB),
+      resolution
+    );
+  }
+
+  /**
+   * Create a gradient that interpolates between the given HSV stops. The hue
+   * component is interpolated along the shortest arc around the hue circle;
+   * the hue of a fully desaturated stop is undefined, and so the hue of the
+   * opposite stop is used for the whole segment.
+   *
+   * @param stops      The gradient stops
+   * @param resolution The number of entries in the sample table
+   *
+   * @return A gradient
+   *
+   * @see #RESOLUTION_DEFAULT
+   */
+
+  public static ColorGradient hsv(
+    final List<ColorGradientStop<ColorSpaceTagHSVType>> stops,
+    final int resolution)
+  {
+    return new ColorGradient(
+      sampleTable(stops, resolution, ColorGradient::interpolateHSV),
+      resolution
+    );
+  }
+
+  private static <T extends ColorSpaceTagType> double[] sampleTable(
+    final List<ColorGradientStop<T>> stops,
+    final int resolution,
+    final InterpolatorType<T> interpolator)
+  {
+    Objects.requireNonNull(stops, "stops");
+    Objects.requireNonNull(interpolator, "interpolator");
+
+    if (stops.isEmpty()) {
+      throw new IllegalArgumentException(
+        "At least one gradient stop is required.");
+    }
+    if (resolution < RESOLUTION_MINIMUM) {
+      throw new IllegalArgumentException(
+        "Resolution %d must be >= %d"
+          .formatted(
+            Integer.valueOf(resolution),
+            Integer.valueOf(RESOLUTION_MINIMUM))
+      );
+    }
+
+    final var sorted = new ArrayList<>(stops);
+    sorted.sort(Comparator.comparingDouble(ColorGradientStop::position));
+
+    final var output = new double[Math.multiplyExact(resolution, 4)];
+    final var last = sorted.size() - 1;
+    final var divisor = (double) (resolution - 1);
+
+    int segment = 0;
+    for (int index = 0; index < resolution; ++index) {
+      final var t = index / divisor;
+      while (segment < last && sorted.get(segment + 1).position() <= t) {
+        ++segment;
+      }
+
+      final var stop0 = sorted.get(segment);
+      final var stop1 = sorted.get(Math.min(segment + 1, last));
+      final var p0 = stop0.position();
+      final var p1 = stop1.position();
+
+      final double f;
+      if (p1 > p0) {
+        f = clamp((t - p0) / (p1 - p0), 0.0, 1.0);
+      } else {
+        f = 0.0;
+      }
+
+      interpolator.interpolate(
+        stop0.color(),
+        stop1.color(),
+        f,
+        output,
+        index * 4
+      );
+    }
+    return output;
+  }
+
+  private static void interpolateRGB(
+    final PVector4D<ColorSpaceTagLinearRGBType> c0,
+    final PVector4D<ColorSpaceTagLinearRGBType> c1,
+    final double f,
+    final double[] output,
+    final int offset)
+  {
+    output[offset] = lerp(RGB.red(c0), RGB.red(c1), f);
+    output[offset + 1] = lerp(RGB.green(c0), RGB.green(c1), f);
+    output[offset + 2] = lerp(RGB.blue(c0), RGB.blue(c1), f);
+    output[offset + 3] = lerp(c0.w(), c1.w(), f);
+  }
+
+  private static void interpolateHSV(
+    final PVector4D<ColorSpaceTagHSVType> c0,
+    final PVector4D<ColorSpaceTagHSVType> c1,
+    final double f,
+    final double[] output,
+    final int offset)
+  {
+    final var s0 = HSV.saturation(c0);
+    final var s1 = HSV.saturation(c1);
+
+    double h0 = HSV.hue(c0);
+    double h1 = HSV.hue(c1);
+    if (s0 == 0.0) {
+      h0 = h1;
+    } else if (s1 == 0.0) {
+      h1 = h0;
+    }
+
+    /*
+     * Take the shortest path around the hue circle.
+     */
+
+    double delta = h1 - h0;
+    if (delta > 0.5) {
+      delta -= 1.0;
+    } else if (delta < -0.5) {
+      delta += 1.0;
+    }
+
+    double hue = h0 + delta * f;
+    if (hue < 0.0) {
+      hue += 1.0;
+    } else if (hue >= 1.0) {
+      hue -= 1.0;
+    }
+
+    final var rgb = HSV.toRGB(PVector4D.of(
+      hue,
+      lerp(s0, s1, f),
+      lerp(HSV.value(c0), HSV.value(c1), f),
+      lerp(c0.w(), c1.w(), f)
+    ));
+
+    output[offset] = rgb.x();
+    output[offset + 1] = rgb.y();
+    output[offset + 2] = rgb.z();
+    output[offset + 3] = rgb.w();
+  }
+
+  private static double lerp(
+    final double x,
+    final double y,
+    final double f)
+  {
+    return x + (y - x) * f;
+  }
+
+  /**
+   * @return The number of entries in the sample table
+   */
+
+  public int resolution()
+  {
+    return this.resolution;
+  }
+
+  private int indexOf(
+    final double t)
+  {
+    return (int) (clamp(t, 0.0, 1.0) * this.scale + 0.5) << 2;
+  }
+
+  /**
+   * Sample the gradient. Values outside of the range {@code [0, 1]} are
+   * clamped to that range.
+   *
+   * @param t The position in the range {@code [0, 1]}
+   *
+   * @return The color at the given position
+   */
+
+  public PVector4D<ColorSpaceTagLinearRGBType> sample(
+    final double t)
+  {
+    final var index = this.indexOf(t);
+    return PVector4D.of(
+      this.table[index],
+      this.table[index + 1],
+      this.table[index + 2],
+      this.table[index + 3]
+    );
+  }
+
+  /**
+   * Sample the gradient, writing the RGBA components of the resulting color
+   * to {@code output} starting at {@code outputOffset}. Values outside of the
+   * range {@code [0, 1]} are clamped to that range.
+   *
+   * @param t            The position in the range {@code [0, 1]}
+   * @param output       The output array
+   * @param outputOffset The offset of the first output component
+   */
+
+  public void sampleInto(
+    final double t,
+    final double[] output,
+    final int outputOffset)
+  {
+    System.arraycopy(this.table, this.indexOf(t), output, outputOffset, 4);
+  }
+
+  /**
+   * Sample the gradient for {@code count} consecutive input values, writing
+   * four RGBA components per input value to {@code output}.
+   *
+   * @param input        The input positions
+   * @param inputOffset  The offset of the first input position
+   * @param output       The output array
+   * @param outputOffset The offset of the first output component
+   * @param count        The number of input values
+   */
+
+  public void fill(
+    final double[] input,
+    final int inputOffset,
+    final double[] output,
+    final int outputOffset,
+    final int count)
+  {
+    Objects.checkFromIndexSize(inputOffset, count, input.length);
+    Objects.checkFromIndexSize(
+      outputOffset, Math.multiplyExact(count, 4), output.length);
+
+    final var t = this.table;
+    int outputIndex = outputOffset;
+    for (int index = 0; index < count; ++index) {
+      final var tableIndex = this.indexOf(input[inputOffset + index]);
+      output[outputIndex] = t[tableIndex];
+      output[outputIndex + 1] = t[tableIndex + 1];
+      output[outputIndex + 2] = t[tableIndex + 2];
+      output[outputIndex + 3] = t[tableIndex + 3];
+      outputIndex += 4;
+    }
+  }
+
+  /**
+   * Sample the gradient for {@code count} consecutive input values, writing
+   * four RGBA components per input value to {@code output}.
+   *
+   * @param input        The input positions
+   * @param inputOffset  The offset of the first input position
+   * @param output       The output array
+   * @param outputOffset The offset of the first output component
+   * @param count        The number of input values
+   */
+
+  public void fill(
+    final float[] input,
+    final int inputOffset,
+    final float[] output,
+    final int outputOffset,
+    final int count)
+  {
+    Objects.checkFromIndexSize(inputOffset, count, input.length);
+    Objects.checkFromIndexSize(
+      outputOffset, Math.multiplyExact(count, 4), output.length);
+
+    final var t = this.tableFloat;
+    int outputIndex = outputOffset;
+    for (int index = 0; index < count; ++index) {
+      final var tableIndex = this.indexOf(input[inputOffset + index]);
+      output[outputIndex] = t[tableIndex];
+      output[outputIndex + 1] = t[tableIndex + 1];
+      output[outputIndex + 2] = t[tableIndex + 2];
+      output[outputIndex + 3] = t[tableIndex + 3];
+      outputIndex += 4;
+    }
+  }
+
+  private interface InterpolatorType<T extends ColorSpaceTagType>
+  {
+    void interpolate(
+      PVector4D<T> c0,
+      PVector4D<T> c1,
+      double f,
+      double[] output,
+      int offset);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+
+import java.util.Objects;
+
+/**
+ * A single stop in a color gradient. The color of the stop is expressed in
+ * the color space {@code T}, and gradients interpolate between stops in that
+ * same color space.
+ *
+ * @param position The position of the stop in the range {@code [0, 1]}
+ * @param color    The color at the stop
+ * @param <T>      The color space of the stop
+ */
+
+public record ColorGradientStop<T extends ColorSpaceTagType>(
+  double position,
+  PVector4D<T> color)
+{
+  /**
+   * A single stop in a color gradient.
+   *
+   * @param position The position of the stop in the range {@code [0, 1]}
+   * @param color    The color at the stop
+   */
+
+  public ColorGradientStop
+  {
+    Objects.requireNonNull(color, "color");
+
+    if (!(position >= 0.0 && position <= 1.0)) {
+      throw new IllegalArgumentException(
+        "Stop position %s must be in the range [0, 1]".formatted(position)
+      );
+    }
+  }
+
+  /**
+   * Create a stop.
+   *
+   * @param position The position of the stop in the range {@code [0, 1]}
+   * @param color    The color at the stop
+   * @param <T>      The color space of the stop
+   *
+   * @return A gradient stop
+   */
+
+  public static <T extends ColorSpaceTagType> ColorGradientStop<T> of(
+    final double position,
+    final PVector4D<T> color)
+  {
+    return new ColorGradientStop<>(position, color);
+  }
+}
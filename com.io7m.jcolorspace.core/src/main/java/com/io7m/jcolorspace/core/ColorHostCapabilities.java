@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The capabilities of the host relevant to the selection of conversion
+ * strategies.
+ *
+ * @param processors      The number of processors available
+ * @param vectorAvailable {@code true} if the incubating vector API module
+ *                        is present in the boot layer
+ *
+ * @see ColorStrategySelector
+ */
+
+public record ColorHostCapabilities(
+  int processors,
+  boolean vectorAvailable)
+{
+  /**
+   * The capabilities of the host.
+   *
+   * @param processors      The number of processors available
+   * @param vectorAvailable {@code true} if the incubating vector API module
+   *                        is present in the boot layer
+   */
+
+  public ColorHostCapabilities
+  {
+    if (processors < 1) {
+      throw new IllegalArgumentException(
+        "Processors %d must be >= 1".formatted(Integer.valueOf(processors))
+      );
+    }
+  }
+
+  /**
+   * Probe the capabilities of the current host.
+   *
+   * @return The capabilities
+   */
+
+  public static ColorHostCapabilities probe()
+  {
+    return new ColorHostCapabilities(
+      Runtime.getRuntime().availableProcessors(),
+      ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+    );
+  }
+}
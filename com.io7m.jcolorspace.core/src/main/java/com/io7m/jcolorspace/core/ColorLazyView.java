@@ -0,0 +1,421 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A lazily evaluated view of a frame in the color space {@code S} as a
+ * frame in the color space {@code T}.</p>
+ *
+ * <p>Pixels are only converted when they are read. An unmemoized view
+ * converts each pixel every time it is read. A memoized view divides the
+ * frame into square tiles; the first read of any pixel in a tile converts the
+ * whole tile into a cache, and a bitmap records which tiles have been
+ * converted so that later reads are simple copies.</p>
+ *
+ * <p>Views may be read from multiple threads. Two threads that touch the
+ * same unconverted tile at the same time may both convert it; they write
+ * identical values, and the tile is only marked as converted once a
+ * conversion has completed. If the source frame is modified, the view must
+ * be {@link #invalidate() invalidated}.</p>
+ *
+ * @param <S> The source color space
+ * @param <T> The target color space
+ */
+
+public final class ColorLazyView<
+  S extends ColorSpaceTagType,
+  T extends ColorSpaceTagType>
+{
+  private final ColorBulkConversionType<S, T> conversion;
+  private final ColorFrame<S> source;
+  private final int width;
+  private final int height;
+  private final int tileSize;
+  private final int tilesX;
+  private final AtomicLongArray converted;
+  private final LongAdder pixelsConverted;
+  private volatile double[] cache;
+
+  private ColorLazyView(
+    final ColorBulkConversionType<S, T> inConversion,
+    final ColorFrame<S> inSource,
+    final int inTileSize)
+  {
+    this.conversion = Objects.requireNonNull(inConversion, "conversion");
+    this.source = Objects.requireNonNull(inSource, "source");
+    this.width = inSource.width();
+    this.height = inSource.height();
+    this.tileSize = inTileSize;
+    this.pixelsConverted = new LongAdder();
+
+    if (inTileSize > 0) {
+      this.tilesX = (this.width + inTileSize - 1) / inTileSize;
+      final var tilesY = (this.height + inTileSize - 1) / inTileSize;
+      final var tiles = Math.multiplyExact(this.tilesX, tilesY);
+      this.converted = new AtomicLongArray((tiles + 63) >>> 6);
+    } else {
+      this.tilesX = 0;
+      this.converted = null;
+    }
+  }
+
+  /**
+   * Create a view that converts pixels each time they are read.
+   *
+   * @param conversion The conversion
+   * @param source     The source frame
+   * @param <S>        The source color space
+   * @param <T>        The target color space
+   *
+   * @return A view
+   */
+
+  public static <S extends ColorSpaceTagType, T extends ColorSpaceTagType>
+  ColorLazyView<S, T> unmemoized(
+    final ColorBulkConversionType<S, T> conversion,
+    final ColorFrame<S> source)
+  {
+    return new ColorLazyView<>(conversion, source, 0);
+  }
+
+  /**
+   * Create a view that converts and caches whole tiles of
+   * {@code tileSize * tileSize} pixels on first access.
+   *
+   * @param conversion The conversion
+   * @param source     The source frame
+   * @param tileSize   The tile size
+   * @param <S>        The source color space
+   * @param <T>        The target color space
+   *
+   * @return A view
+   */
+
+  public static <S extends ColorSpaceTagType, T extends ColorSpaceTagType>
+  ColorLazyView<S, T> memoized(
+    final ColorBulkConversionType<S, T> conversion,
+    final ColorFrame<S> source,
+    final int tileSize)
+  {
+    if (tileSize < 1) {
+      throw new IllegalArgumentException(
+        "Tile size %d must be >= 1".formatted(Integer.valueOf(tileSize)));
+    }
+    return new ColorLazyView<>(conversion, source, tileSize);
+  }
+
+  /**
+   * Present a linear RGB frame as HSV.
+   *
+   * @param source   The source frame
+   * @param tileSize The tile size, or {@code 0} for an unmemoized view
+   *
+   * @return A view
+   */
+
+  public static ColorLazyView<ColorSpaceTagLinearRGBType, ColorSpaceTagHSVType>
+  ofHSV(
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final int tileSize)
+  {
+    if (tileSize == 0) {
+      return unmemoized(HSVBulk.toHSVConversion(), source);
+    }
+    return memoized(HSVBulk.toHSVConversion(), source, tileSize);
+  }
+
+  /**
+   * Present an HSV frame as linear RGB.
+   *
+   * @param source   The source frame
+   * @param tileSize The tile size, or {@code 0} for an unmemoized view
+   *
+   * @return A view
+   */
+
+  public static ColorLazyView<ColorSpaceTagHSVType, ColorSpaceTagLinearRGBType>
+  ofRGB(
+    final ColorFrame<ColorSpaceTagHSVType> source,
+    final int tileSize)
+  {
+    if (tileSize == 0) {
+      return unmemoized(HSVBulk.toRGBConversion(), source);
+    }
+    return memoized(HSVBulk.toRGBConversion(), source, tileSize);
+  }
+
+  /**
+   * @return The width of the view
+   */
+
+  public int width()
+  {
+    return this.width;
+  }
+
+  /**
+   * @return The height of the view
+   */
+
+  public int height()
+  {
+    return this.height;
+  }
+
+  /**
+   * @return {@code true} if the view memoizes converted tiles
+   */
+
+  public boolean isMemoized()
+  {
+    return this.converted != null;
+  }
+
+  /**
+   * @return The total number of pixels that have been converted so far
+   */
+
+  public long pixelsConverted()
+  {
+    return this.pixelsConverted.sum();
+  }
+
+  /**
+   * Discard all memoized tiles.
+   */
+
+  public void invalidate()
+  {
+    if (this.converted != null) {
+      for (int index = 0; index < this.converted.length(); ++index) {
+        this.converted.set(index, 0L);
+      }
+    }
+  }
+
+  /**
+   * Read a single pixel.
+   *
+   * @param x The x coordinate
+   * @param y The y coordinate
+   *
+   * @return The pixel value
+   */
+
+  public PVector4D<T> get(
+    final int x,
+    final int y)
+  {
+    final var out = new double[4];
+    this.getInto(x, y, out, 0);
+    return PVector4D.of(out[0], out[1], out[2], out[3]);
+  }
+
+  /**
+   * Read a single pixel, writing its four components to {@code output}.
+   *
+   * @param x            The x coordinate
+   * @param y            The y coordinate
+   * @param output       The output array
+   * @param outputOffset The offset of the first output component
+   */
+
+  public void getInto(
+    final int x,
+    final int y,
+    final double[] output,
+    final int outputOffset)
+  {
+    this.getRegion(x, y, 1, 1, output, outputOffset);
+  }
+
+  /**
+   * Read a rectangular region of pixels, writing them row by row to
+   * {@code output} as interleaved four-component pixels.
+   *
+   * @param x            The x coordinate of the top-left corner
+   * @param y            The y coordinate of the top-left corner
+   * @param regionWidth  The region width
+   * @param regionHeight The region height
+   * @param output       The output array
+   * @param outputOffset The offset of the first output component
+   */
+
+  public void getRegion(
+    final int x,
+    final int y,
+    final int regionWidth,
+    final int regionHeight,
+    final double[] output,
+    final int outputOffset)
+  {
+    Objects.checkFromIndexSize(x, regionWidth, this.width);
+    Objects.checkFromIndexSize(y, regionHeight, this.height);
+    Objects.checkFromIndexSize(
+      outputOffset,
+      ColorFrame.componentsFor(regionWidth, regionHeight),
+      output.length);
+
+    if (this.converted == null) {
+      this.convertRegionDirect(
+        x, y, regionWidth, regionHeight, output, outputOffset);
+      return;
+    }
+
+    final var cached = this.cacheArray();
+    int outputRow = outputOffset;
+    for (int row = y; row < y + regionHeight; ++row) {
+      this.readCachedRow(cached, x, row, regionWidth, output, outputRow);
+      outputRow += regionWidth * 4;
+    }
+  }
+
+  private void readCachedRow(
+    final double[] cached,
+    final int x,
+    final int row,
+    final int count,
+    final double[] output,
+    final int outputOffset)
+  {
+    final var size = this.tileSize;
+    final var tileY = row / size;
+    int column = x;
+    int out = outputOffset;
+    while (column < x + count) {
+      final var tileX = column / size;
+      this.ensureTile(cached, tileX, tileY);
+      final var end = Math.min(x + count, (tileX + 1) * size);
+      final var span = end - column;
+      System.arraycopy(
+        cached, (row * this.width + column) * 4, output, out, span * 4);
+      out += span * 4;
+      column = end;
+    }
+  }
+
+  private void ensureTile(
+    final double[] cached,
+    final int tileX,
+    final int tileY)
+  {
+    final var tile = tileY * this.tilesX + tileX;
+    final var word = tile >>> 6;
+    final var bit = 1L << (tile & 63);
+    if ((this.converted.get(word) & bit) != 0L) {
+      return;
+    }
+
+    final var size = this.tileSize;
+    final var x0 = tileX * size;
+    final var y0 = tileY * size;
+    final var x1 = Math.min(x0 + size, this.width);
+    final var y1 = Math.min(y0 + size, this.height);
+    final var data = this.source.data();
+    for (int row = y0; row < y1; ++row) {
+      final var offset = (row * this.width + x0) * 4;
+      this.conversion.convert(data, offset, cached, offset, x1 - x0);
+    }
+    this.pixelsConverted.add((long) (x1 - x0) * (long) (y1 - y0));
+    this.converted.getAndUpdate(word, w -> w | bit);
+  }
+
+  private void convertRegionDirect(
+    final int x,
+    final int y,
+    final int regionWidth,
+    final int regionHeight,
+    final double[] output,
+    final int outputOffset)
+  {
+    final var data = this.source.data();
+    if (x == 0 && regionWidth == this.width) {
+      this.conversion.convert(
+        data,
+        y * this.width * 4,
+        output,
+        outputOffset,
+        regionWidth * regionHeight);
+    } else {
+      int out = outputOffset;
+      for (int row = y; row < y + regionHeight; ++row) {
+        this.conversion.convert(
+          data, (row * this.width + x) * 4, output, out, regionWidth);
+        out += regionWidth * 4;
+      }
+    }
+    this.pixelsConverted.add((long) regionWidth * (long) regionHeight);
+  }
+
+  private double[] cacheArray()
+  {
+    var c = this.cache;
+    if (c == null) {
+      synchronized (this) {
+        c = this.cache;
+        if (c == null) {
+          c = new double[ColorFrame.componentsFor(this.width, this.height)];
+          this.cache = c;
+        }
+      }
+    }
+    return c;
+  }
+
+  /**
+   * Read every pixel in the view, writing them to {@code output}. For
+   * unmemoized views, and memoized views in which no tiles have yet been
+   * converted, this is a single bulk conversion. Otherwise, memoized tiles
+   * are copied and the remaining tiles are converted and memoized.
+   *
+   * @param output       The output array
+   * @param outputOffset The offset of the first output component
+   */
+
+  public void materialize(
+    final double[] output,
+    final int outputOffset)
+  {
+    if (this.converted == null || this.noTilesConverted()) {
+      Objects.checkFromIndexSize(
+        outputOffset,
+        ColorFrame.componentsFor(this.width, this.height),
+        output.length);
+      this.convertRegionDirect(
+        0, 0, this.width, this.height, output, outputOffset);
+      return;
+    }
+    this.getRegion(0, 0, this.width, this.height, output, outputOffset);
+  }
+
+  private boolean noTilesConverted()
+  {
+    for (int index = 0; index < this.converted.length(); ++index) {
+      if (this.converted.get(index) != 0L) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
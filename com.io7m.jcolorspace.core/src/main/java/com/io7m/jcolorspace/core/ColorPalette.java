@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A palette extracted from an image.
+ *
+ * @param entries    The colors of the palette, in descending order of weight
+ * @param samples    The number of pixels sampled
+ * @param iterations The number of iterations performed
+ *
+ * @see ColorPaletteExtractor
+ */
+
+public record ColorPalette(
+  List<ColorPaletteEntry> entries,
+  int samples,
+  int iterations)
+{
+  /**
+   * A palette extracted from an image.
+   *
+   * @param entries    The colors of the palette, in descending order of
+   *                   weight
+   * @param samples    The number of pixels sampled
+   * @param iterations The number of iterations performed
+   */
+
+  public ColorPalette
+  {
+    entries = List.copyOf(Objects.requireNonNull(entries, "entries"));
+
+    if (samples < 0) {
+      throw new IllegalArgumentException(
+        "Samples %d must be >= 0".formatted(Integer.valueOf(samples))
+      );
+    }
+    if (iterations < 0) {
+      throw new IllegalArgumentException(
+        "Iterations %d must be >= 0".formatted(Integer.valueOf(iterations))
+      );
+    }
+  }
+
+  /**
+   * @return The colors of the palette, in descending order of weight
+   */
+
+  public List<PVector4D<ColorSpaceTagLinearRGBType>> colors()
+  {
+    return this.entries.stream()
+      .map(ColorPaletteEntry::color)
+      .toList();
+  }
+}
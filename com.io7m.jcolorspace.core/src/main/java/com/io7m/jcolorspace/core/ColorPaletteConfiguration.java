@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+
+/**
+ * The configuration for palette extraction.
+ *
+ * @param method            The extraction method
+ * @param space             The color space in which colors are compared
+ * @param colors            The maximum number of colors in the palette
+ * @param maximumIterations The maximum number of k-means iterations
+ * @param tolerance         The distance below which k-means centers are
+ *                          considered to have converged
+ * @param maximumSamples    The maximum number of pixels sampled; larger
+ *                          images are sampled at a uniform stride
+ * @param seed              The seed for k-means++ initialization
+ * @param primaries         The color space of the source pixels
+ */
+
+public record ColorPaletteConfiguration(
+  ColorPaletteMethod method,
+  ColorPaletteSpace space,
+  int colors,
+  int maximumIterations,
+  double tolerance,
+  int maximumSamples,
+  long seed,
+  RGBPrimaries primaries)
+{
+  /**
+   * The largest permitted number of colors.
+   */
+
+  public static final int COLORS_MAXIMUM = 256;
+
+  /**
+   * The default maximum number of k-means iterations.
+   */
+
+  public static final int ITERATIONS_DEFAULT = 32;
+
+  /**
+   * The default convergence tolerance.
+   */
+
+  public static final double TOLERANCE_DEFAULT = 1.0e-4;
+
+  /**
+   * The default maximum number of pixels sampled.
+   */
+
+  public static final int SAMPLES_DEFAULT = 1 << 18;
+
+  /**
+   * The configuration for palette extraction.
+   *
+   * @param method            The extraction method
+   * @param space             The color space in which colors are compared
+   * @param colors            The maximum number of colors in the palette
+   * @param maximumIterations The maximum number of k-means iterations
+   * @param tolerance         The distance below which k-means centers are
+   *                          considered to have converged
+   * @param maximumSamples    The maximum number of pixels sampled
+   * @param seed              The seed for k-means++ initialization
+   * @param primaries         The color space of the source pixels
+   */
+
+  public ColorPaletteConfiguration
+  {
+    Objects.requireNonNull(method, "method");
+    Objects.requireNonNull(space, "space");
+    Objects.requireNonNull(primaries, "primaries");
+
+    if (colors < 1 || colors > COLORS_MAXIMUM) {
+      throw new IllegalArgumentException(
+        "Colors %d must be in the range [1, %d]"
+          .formatted(Integer.valueOf(colors), Integer.valueOf(COLORS_MAXIMUM))
+      );
+    }
+    if (maximumIterations < 1) {
+      throw new IllegalArgumentException(
+        "Maximum iterations %d must be >= 1"
+          .formatted(Integer.valueOf(maximumIterations))
+      );
+    }
+    if (!(tolerance >= 0.0 && Double.isFinite(tolerance))) {
+      throw new IllegalArgumentException(
+        "Tolerance %s must be finite and non-negative"
+          .formatted(Double.valueOf(tolerance))
+      );
+    }
+    if (maximumSamples < 1) {
+      throw new IllegalArgumentException(
+        "Maximum samples %d must be >= 1"
+          .formatted(Integer.valueOf(maximumSamples))
+      );
+    }
+  }
+
+  /**
+   * Create a configuration that extracts up to {@code colors} colors from
+   * sRGB pixels in Oklab, with default limits.
+   *
+   * @param method The extraction method
+   * @param colors The maximum number of colors in the palette
+   *
+   * @return A configuration
+   */
+
+  public static ColorPaletteConfiguration of(
+    final ColorPaletteMethod method,
+    final int colors)
+  {
+    return new ColorPaletteConfiguration(
+      method,
+      ColorPaletteSpace.OKLAB,
+      colors,
+      ITERATIONS_DEFAULT,
+      TOLERANCE_DEFAULT,
+      SAMPLES_DEFAULT,
+      0L,
+      RGBPrimaries.SRGB
+    );
+  }
+
+  /**
+   * Create a configuration that is identical to this configuration, but
+   * compares colors in the given space.
+   *
+   * @param newSpace The color space in which colors are compared
+   *
+   * @return A configuration
+   */
+
+  public ColorPaletteConfiguration withSpace(
+    final ColorPaletteSpace newSpace)
+  {
+    return new ColorPaletteConfiguration(
+      this.method,
+      newSpace,
+      this.colors,
+      this.maximumIterations,
+      this.tolerance,
+      this.maximumSamples,
+      this.seed,
+      this.primaries
+    );
+  }
+
+  /**
+   * Create a configuration that is identical to this configuration, but
+   * samples at most the given number of pixels.
+   *
+   * @param newMaximumSamples The maximum number of pixels sampled
+   *
+   * @return A configuration
+   */
+
+  public ColorPaletteConfiguration withMaximumSamples(
+    final int newMaximumSamples)
+  {
+    return new ColorPaletteConfiguration(
+      this.method,
+      this.space,
+      this.colors,
+      this.maximumIterations,
+      this.tolerance,
+      newMaximumSamples,
+      this.seed,
+      this.primaries
+    );
+  }
+}
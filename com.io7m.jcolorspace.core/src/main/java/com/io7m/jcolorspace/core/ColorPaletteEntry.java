@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+
+import java.util.Objects;
+
+/**
+ * A single color in a palette.
+ *
+ * @param color  The color, with an alpha of {@code 1}
+ * @param weight The fraction of the sampled pixels represented by the color
+ */
+
+public record ColorPaletteEntry(
+  PVector4D<ColorSpaceTagLinearRGBType> color,
+  double weight)
+{
+  /**
+   * A single color in a palette.
+   *
+   * @param color  The color, with an alpha of {@code 1}
+   * @param weight The fraction of the sampled pixels represented by the color
+   */
+
+  public ColorPaletteEntry
+  {
+    Objects.requireNonNull(color, "color");
+
+    if (!(weight >= 0.0 && weight <= 1.0)) {
+      throw new IllegalArgumentException(
+        "Weight %s must be in the range [0, 1]"
+          .formatted(Double.valueOf(weight))
+      );
+    }
+  }
+}
@@ -0,0 +1,781 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>A palette extractor.</p>
+ *
+ * <p>An extractor computes the dominant colors of linear RGB images. Images
+ * are arrays of interleaved RGBA components, four components per pixel,
+ * clamped to {@code [0, 1]}; alpha is ignored. Images larger than
+ * {@link ColorPaletteConfiguration#maximumSamples()} pixels are sampled at a
+ * uniform stride. Sampled pixels are converted once into the configured
+ * {@link ColorPaletteSpace}, and the palette is then extracted with the
+ * configured {@link ColorPaletteMethod}.</p>
+ *
+ * <p>Samples are processed in fixed blocks of {@link #BLOCK_SAMPLES}
+ * samples. Each block accumulates its own partial sums, and the partial sums
+ * are merged in block order, so the parallel methods produce results that
+ * are identical to the serial methods. A palette may contain fewer colors
+ * than requested if the image contains fewer distinct colors.</p>
+ *
+ * <p>Extractors are immutable and are safe to use from multiple
+ * threads.</p>
+ */
+
+public final class ColorPaletteExtractor
+{
+  /**
+   * The number of samples in each block of work.
+   */
+
+  public static final int BLOCK_SAMPLES = 4096;
+
+  private static final double TAU = 2.0 * Math.PI;
+
+  private final ColorPaletteConfiguration configuration;
+  private final OklabTransform oklab;
+
+  private ColorPaletteExtractor(
+    final ColorPaletteConfiguration inConfiguration)
+  {
+    this.configuration = inConfiguration;
+    this.oklab = new OklabTransform(inConfiguration.primaries());
+  }
+
+  /**
+   * Create an extractor.
+   *
+   * @param configuration The configuration
+   *
+   * @return An extractor
+   */
+
+  public static ColorPaletteExtractor create(
+    final ColorPaletteConfiguration configuration)
+  {
+    return new ColorPaletteExtractor(
+      Objects.requireNonNull(configuration, "configuration")
+    );
+  }
+
+  /**
+   * @return The configuration
+   */
+
+  public ColorPaletteConfiguration configuration()
+  {
+    return this.configuration;
+  }
+
+  /**
+   * Extract a palette from {@code pixels} pixels.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param pixels       The number of pixels
+   *
+   * @return A palette
+   */
+
+  public ColorPalette extract(
+    final double[] source,
+    final int sourceOffset,
+    final int pixels)
+  {
+    return this.run(null, source, sourceOffset, pixels);
+  }
+
+  /**
+   * Extract a palette from {@code pixels} pixels, splitting the work across
+   * the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param pixels       The number of pixels
+   *
+   * @return A palette
+   */
+
+  public ColorPalette extractParallel(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final int pixels)
+  {
+    return this.run(
+      Objects.requireNonNull(pool, "pool"), source, sourceOffset, pixels);
+  }
+
+  private ColorPalette run(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final int pixels)
+  {
+    Objects.checkFromIndexSize(
+      sourceOffset, Math.multiplyExact(pixels, 4), source.length);
+
+    if (pixels == 0) {
+      return new ColorPalette(new ArrayList<>(), 0, 0);
+    }
+
+    final var maximum = this.configuration.maximumSamples();
+    final var stride = (pixels - 1) / maximum + 1;
+    final var samples = (pixels - 1) / stride + 1;
+    final var features = new double[Math.multiplyExact(samples, 3)];
+
+    forBlocks(pool, samples, block -> {
+      final var hsv = new double[4];
+      final var end = blockEnd(block, samples);
+      for (int index = block * BLOCK_SAMPLES; index < end; ++index) {
+        final var s = sourceOffset + index * stride * 4;
+        this.toFeature(
+          clamp(source[s], 0.0, 1.0),
+          clamp(source[s + 1], 0.0, 1.0),
+          clamp(source[s + 2], 0.0, 1.0),
+          features,
+          index * 3,
+          hsv
+        );
+      }
+    });
+
+    final var clusters =
+      switch (this.configuration.method()) {
+        case MEDIAN_CUT -> this.medianCut(features, samples);
+        case K_MEANS -> this.kMeans(pool, features, samples);
+      };
+
+    return this.palette(clusters, samples);
+  }
+
+  private static int blockCount(
+    final int samples)
+  {
+    return (samples - 1) / BLOCK_SAMPLES + 1;
+  }
+
+  private static int blockEnd(
+    final int block,
+    final int samples)
+  {
+    return Math.min(samples, (block + 1) * BLOCK_SAMPLES);
+  }
+
+  private static void forBlocks(
+    final ForkJoinPool pool,
+    final int samples,
+    final IntConsumer action)
+  {
+    final var blocks = blockCount(samples);
+    if (pool == null) {
+      for (int block = 0; block < blocks; ++block) {
+        action.accept(block);
+      }
+      return;
+    }
+
+    ColorBulk.parallelRanges(pool, blocks, 1, (start, end) -> {
+      for (int block = start; block < end; ++block) {
+        action.accept(block);
+      }
+    });
+  }
+
+  private void toFeature(
+    final double r,
+    final double g,
+    final double b,
+    final double[] out,
+    final int offset,
+    final double[] hsv)
+  {
+    switch (this.configuration.space()) {
+      case OKLAB -> {
+        this.oklab.toLab(r, g, b, hsv);
+        out[offset] = hsv[0];
+        out[offset + 1] = hsv[1];
+        out[offset + 2] = hsv[2];
+      }
+      case HSV -> {
+        HSV.toHSVComponents(r, g, b, 1.0, hsv, 0);
+        final var angle = hsv[0] * TAU;
+        final var chroma = hsv[1] * hsv[2];
+        out[offset] = chroma * Math.cos(angle);
+        out[offset + 1] = chroma * Math.sin(angle);
+        out[offset + 2] = hsv[2];
+      }
+    }
+  }
+
+  private PVector4D<ColorSpaceTagLinearRGBType> fromFeature(
+    final double x,
+    final double y,
+    final double z)
+  {
+    final var out = new double[4];
+    switch (this.configuration.space()) {
+      case OKLAB -> this.oklab.toRGB(x, y, z, out);
+      case HSV -> {
+        final var value = clamp(z, 0.0, 1.0);
+        double saturation = 0.0;
+        if (value > 0.0) {
+          saturation = Math.min(Math.hypot(x, y) / value, 1.0);
+        }
+        double hue = Math.atan2(y, x) / TAU;
+        if (hue < 0.0) {
+          hue += 1.0;
+        }
+        HSV.toRGBComponents(
+          clamp(hue, 0.0, 1.0), saturation, value, 1.0, out, 0);
+      }
+    }
+    return PVector4D.of(
+      clamp(out[0], 0.0, 1.0),
+      clamp(out[1], 0.0, 1.0),
+      clamp(out[2], 0.0, 1.0),
+      1.0
+    );
+  }
+
+  private ColorPalette palette(
+    final Clusters clusters,
+    final int samples)
+  {
+    final var entries = new ArrayList<ColorPaletteEntry>(clusters.count);
+    for (int index = 0; index < clusters.count; ++index) {
+      final var count = clusters.counts[index];
+      if (count == 0L) {
+        continue;
+      }
+      final var c = index * 3;
+      entries.add(new ColorPaletteEntry(
+        this.fromFeature(
+          clusters.centers[c],
+          clusters.centers[c + 1],
+          clusters.centers[c + 2]
+        ),
+        Math.min(1.0, (double) count / (double) samples)
+      ));
+    }
+
+    entries.sort(
+      Comparator.comparingDouble(ColorPaletteEntry::weight).reversed());
+    return new ColorPalette(entries, samples, clusters.iterations);
+  }
+
+  /*
+   * Median cut.
+   */
+
+  private Clusters medianCut(
+    final double[] features,
+    final int samples)
+  {
+    final var indices = new int[samples];
+    for (int index = 0; index < samples; ++index) {
+      indices[index] = index;
+    }
+
+    final var boxes = new ArrayList<Box>();
+    boxes.add(Box.of(features, indices, 0, samples));
+
+    while (boxes.size() < this.configuration.colors()) {
+      Box best = null;
+      for (final var box : boxes) {
+        if (box.splittable() && (best == null || box.score() > best.score())) {
+          best = box;
+        }
+      }
+      if (best == null) {
+        break;
+      }
+
+      final var middle = split(features, indices, best);
+      boxes.remove(best);
+      boxes.add(Box.of(features, indices, best.start, middle));
+      boxes.add(Box.of(features, indices, middle, best.end));
+    }
+
+    final var count = boxes.size();
+    final var centers = new double[count * 3];
+    final var counts = new long[count];
+    for (int index = 0; index < count; ++index) {
+      final var box = boxes.get(index);
+      double x = 0.0;
+      double y = 0.0;
+      double z = 0.0;
+      for (int member = box.start; member < box.end; ++member) {
+        final var f = indices[member] * 3;
+        x += features[f];
+        y += features[f + 1];
+        z += features[f + 2];
+      }
+      final var n = (double) (box.end - box.start);
+      centers[index * 3] = x / n;
+      centers[index * 3 + 1] = y / n;
+      centers[index * 3 + 2] = z / n;
+      counts[index] = box.end - box.start;
+    }
+    return new Clusters(centers, counts, count, 0);
+  }
+
+  /**
+   * Find the index at which to split the given box. The split is made at
+   * the median of the longest axis, and is then moved to the nearest
+   * boundary between distinct values, so that samples with equal values
+   * along the axis always end up in the same box.
+   */
+
+  private static int split(
+    final double[] features,
+    final int[] indices,
+    final Box box)
+  {
+    final var axis = box.longestAxis();
+    final var middle = box.start + (box.end - box.start) / 2;
+    select(features, indices, axis, box.start, box.end - 1, middle);
+    final var median = features[indices[middle] * 3 + axis];
+
+    /*
+     * Partition the box into the samples below, equal to, and above the
+     * median.
+     */
+
+    int lower = box.start;
+    int upper = box.end;
+    int index = box.start;
+    while (index < upper) {
+      final var x = features[indices[index] * 3 + axis];
+      if (x < median) {
+        swap(indices, index, lower);
+        ++lower;
+        ++index;
+      } else if (x > median) {
+        --upper;
+        swap(indices, index, upper);
+      } else {
+        ++index;
+      }
+    }
+
+    /*
+     * The box has a nonzero extent along the axis, so at least one of the
+     * two boundaries leaves samples on both sides.
+     */
+
+    if (lower == box.start) {
+      return upper;
+    }
+    if (upper == box.end) {
+      return lower;
+    }
+    if (middle - lower <= upper - middle) {
+      return lower;
+    }
+    return upper;
+  }
+
+  private static void swap(
+    final int[] indices,
+    final int i,
+    final int j)
+  {
+    final var t = indices[i];
+    indices[i] = indices[j];
+    indices[j] = t;
+  }
+
+  /**
+   * Partially sort {@code indices[low..high]} by the given axis so that the
+   * element at {@code k} is in its sorted position, with no greater element
+   * before it and no smaller element after it.
+   */
+
+  private static void select(
+    final double[] features,
+    final int[] indices,
+    final int axis,
+    final int lowStart,
+    final int highStart,
+    final int k)
+  {
+    int low = lowStart;
+    int high = highStart;
+    while (low < high) {
+      final var pivot = features[indices[(low + high) >>> 1] * 3 + axis];
+      int i = low;
+      int j = high;
+      while (i <= j) {
+        while (features[indices[i] * 3 + axis] < pivot) {
+          ++i;
+        }
+        while (features[indices[j] * 3 + axis] > pivot) {
+          --j;
+        }
+        if (i <= j) {
+          swap(indices, i, j);
+          ++i;
+          --j;
+        }
+      }
+      if (k <= j) {
+        high = j;
+      } else if (k >= i) {
+        low = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  private static final class Box
+  {
+    private final int start;
+    private final int end;
+    private final double[] extent;
+
+    private Box(
+      final int inStart,
+      final int inEnd,
+      final double[] inExtent)
+    {
+      this.start = inStart;
+      this.end = inEnd;
+      this.extent = inExtent;
+    }
+
+    static Box of(
+      final double[] features,
+      final int[] indices,
+      final int start,
+      final int end)
+    {
+      final var min = new double[]{
+        Double.POSITIVE_INFINITY,
+        Double.POSITIVE_INFINITY,
+        Double.POSITIVE_INFINITY,
+      };
+      final var max = new double[]{
+        Double.NEGATIVE_INFINITY,
+        Double.NEGATIVE_INFINITY,
+        Double.NEGATIVE_INFINITY,
+      };
+      for (int index = start; index < end; ++index) {
+        final var f = indices[index] * 3;
+        for (int axis = 0; axis < 3; ++axis) {
+          min[axis] = Math.min(min[axis], features[f + axis]);
+          max[axis] = Math.max(max[axis], features[f + axis]);
+        }
+      }
+      for (int axis = 0; axis < 3; ++axis) {
+        max[axis] -= min[axis];
+      }
+      return new Box(start, end, max);
+    }
+
+    int longestAxis()
+    {
+      int axis = 0;
+      if (this.extent[1] > this.extent[axis]) {
+        axis = 1;
+      }
+      if (this.extent[2] > this.extent[axis]) {
+        axis = 2;
+      }
+      return axis;
+    }
+
+    boolean splittable()
+    {
+      return this.end - this.start >= 2 && this.extent[this.longestAxis()] > 0.0;
+    }
+
+    double score()
+    {
+      return (this.end - this.start) * this.extent[this.longestAxis()];
+    }
+  }
+
+  /*
+   * k-means.
+   */
+
+  private Clusters kMeans(
+    final ForkJoinPool pool,
+    final double[] features,
+    final int samples)
+  {
+    final var k = this.configuration.colors();
+    final var centers = new double[k * 3];
+    final var count = seedCenters(
+      pool, features, samples, centers, k, this.configuration.seed());
+
+    final var blocks = blockCount(samples);
+    final var parts = new Accumulator[blocks];
+    final var tolerance2 =
+      this.configuration.tolerance() * this.configuration.tolerance();
+
+    Accumulator total = null;
+    int iterations = 0;
+    while (iterations < this.configuration.maximumIterations()) {
+      ++iterations;
+
+      forBlocks(pool, samples, block -> {
+        final var part = new Accumulator(count);
+        final var end = blockEnd(block, samples);
+        for (int index = block * BLOCK_SAMPLES; index < end; ++index) {
+          part.add(features, index * 3, nearest(centers, count, features, index * 3));
+        }
+        parts[block] = part;
+      });
+
+      total = new Accumulator(count);
+      for (final var part : parts) {
+        total.merge(part);
+      }
+
+      if (total.moveCenters(centers) <= tolerance2) {
+        break;
+      }
+    }
+
+    return new Clusters(centers, total.counts, count, iterations);
+  }
+
+  /**
+   * Choose up to {@code k} initial centers with k-means++: Each center after
+   * the first is a sample chosen with probability proportional to its
+   * squared distance from the nearest existing center.
+   *
+   * @return The number of centers chosen
+   */
+
+  private static int seedCenters(
+    final ForkJoinPool pool,
+    final double[] features,
+    final int samples,
+    final double[] centers,
+    final int k,
+    final long seed)
+  {
+    final var random = new SplittableRandom(seed);
+    final var distances = new double[samples];
+    final var blockSums = new double[blockCount(samples)];
+
+    System.arraycopy(features, random.nextInt(samples) * 3, centers, 0, 3);
+
+    int count = 1;
+    while (true) {
+      final var center = count - 1;
+      forBlocks(pool, samples, block -> {
+        final var end = blockEnd(block, samples);
+        double sum = 0.0;
+        for (int index = block * BLOCK_SAMPLES; index < end; ++index) {
+          final var d = distance2(centers, center * 3, features, index * 3);
+          if (center == 0 || d < distances[index]) {
+            distances[index] = d;
+          }
+          sum += distances[index];
+        }
+        blockSums[block] = sum;
+      });
+
+      if (count == k) {
+        return count;
+      }
+
+      double total = 0.0;
+      for (final var sum : blockSums) {
+        total += sum;
+      }
+      if (!(total > 0.0)) {
+        return count;
+      }
+
+      final var chosen =
+        choose(distances, blockSums, samples, random.nextDouble() * total);
+      System.arraycopy(features, chosen * 3, centers, count * 3, 3);
+      ++count;
+    }
+  }
+
+  private static int choose(
+    final double[] distances,
+    final double[] blockSums,
+    final int samples,
+    final double target)
+  {
+    double remaining = target;
+    int block = 0;
+    while (block < blockSums.length - 1 && remaining >= blockSums[block]) {
+      remaining -= blockSums[block];
+      ++block;
+    }
+
+    /*
+     * Rounding may leave the target just beyond the last positive
+     * distance; fall back to the last sample with a positive distance.
+     */
+
+    int last = -1;
+    final var end = blockEnd(block, samples);
+    for (int index = block * BLOCK_SAMPLES; index < end; ++index) {
+      if (distances[index] > 0.0) {
+        last = index;
+        remaining -= distances[index];
+        if (remaining < 0.0) {
+          return index;
+        }
+      }
+    }
+    if (last >= 0) {
+      return last;
+    }
+    for (int index = samples - 1; index > 0; --index) {
+      if (distances[index] > 0.0) {
+        return index;
+      }
+    }
+    return 0;
+  }
+
+  private static double distance2(
+    final double[] a,
+    final int aOffset,
+    final double[] b,
+    final int bOffset)
+  {
+    final var dx = a[aOffset] - b[bOffset];
+    final var dy = a[aOffset + 1] - b[bOffset + 1];
+    final var dz = a[aOffset + 2] - b[bOffset + 2];
+    return dx * dx + dy * dy + dz * dz;
+  }
+
+  private static int nearest(
+    final double[] centers,
+    final int count,
+    final double[] features,
+    final int offset)
+  {
+    int best = 0;
+    double bestDistance = Double.POSITIVE_INFINITY;
+    for (int center = 0; center < count; ++center) {
+      final var d = distance2(centers, center * 3, features, offset);
+      if (d < bestDistance) {
+        bestDistance = d;
+        best = center;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * The per-block sums of the samples assigned to each center. Accumulators
+   * are merged to produce the sums for the whole image.
+   */
+
+  private static final class Accumulator
+  {
+    private final double[] sums;
+    private final long[] counts;
+
+    Accumulator(
+      final int centers)
+    {
+      this.sums = new double[centers * 3];
+      this.counts = new long[centers];
+    }
+
+    void add(
+      final double[] features,
+      final int offset,
+      final int center)
+    {
+      final var c = center * 3;
+      this.sums[c] += features[offset];
+      this.sums[c + 1] += features[offset + 1];
+      this.sums[c + 2] += features[offset + 2];
+      ++this.counts[center];
+    }
+
+    void merge(
+      final Accumulator other)
+    {
+      for (int index = 0; index < this.sums.length; ++index) {
+        this.sums[index] += other.sums[index];
+      }
+      for (int index = 0; index < this.counts.length; ++index) {
+        this.counts[index] += other.counts[index];
+      }
+    }
+
+    /**
+     * Move each center with at least one sample to the mean of its samples.
+     * Centers with no samples are left in place.
+     *
+     * @return The largest squared distance moved by any center
+     */
+
+    double moveCenters(
+      final double[] centers)
+    {
+      double moved = 0.0;
+      for (int center = 0; center < this.counts.length; ++center) {
+        final var n = this.counts[center];
+        if (n == 0L) {
+          continue;
+        }
+        final var c = center * 3;
+        final var x = this.sums[c] / n;
+        final var y = this.sums[c + 1] / n;
+        final var z = this.sums[c + 2] / n;
+        final var dx = x - centers[c];
+        final var dy = y - centers[c + 1];
+        final var dz = z - centers[c + 2];
+        moved = Math.max(moved, dx * dx + dy * dy + dz * dz);
+        centers[c] = x;
+        centers[c + 1] = y;
+        centers[c + 2] = z;
+      }
+      return moved;
+    }
+  }
+
+  private record Clusters(
+    double[] centers,
+    long[] counts,
+    int count,
+    int iterations)
+  {
+
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The available palette extraction methods.
+ *
+ * @see ColorPaletteExtractor
+ */
+
+public enum ColorPaletteMethod
+{
+  /**
+   * Median cut: The box containing the samples is repeatedly split at the
+   * median of its longest side, always splitting the box with the largest
+   * product of sample count and side length, and the palette consists of
+   * the means of the final boxes. The result does not depend on the seed,
+   * and no iteration takes place.
+   */
+
+  MEDIAN_CUT,
+
+  /**
+   * k-means clustering, seeded with k-means++: Samples are repeatedly
+   * assigned to their nearest center, and the centers are moved to the
+   * means of their samples, until no center moves further than the
+   * configured tolerance or the iteration limit is reached.
+   */
+
+  K_MEANS
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The color spaces in which palettes are extracted. Distances between
+ * colors are Euclidean distances in the given space.
+ *
+ * @see ColorPaletteExtractor
+ */
+
+public enum ColorPaletteSpace
+{
+  /**
+   * Oklab: Distances approximate perceived color differences.
+   */
+
+  OKLAB,
+
+  /**
+   * The HSV cone: A color with hue {@code h}, saturation {@code s}, and value
+   * {@code v} is placed at {@code (s v cos 2πh, s v sin 2πh, v)}. Distances
+   * are therefore aware of the circularity of hue, and the hue of dark or
+   * desaturated colors contributes little to the distance.
+   */
+
+  HSV
+}
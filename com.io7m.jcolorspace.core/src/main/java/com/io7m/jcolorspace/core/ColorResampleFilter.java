@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The available resampling filters. Filters are expressed in units of
+ * target pixels when downscaling, and in units of source pixels when
+ * upscaling.
+ *
+ * @see ColorResampler
+ */
+
+public enum ColorResampleFilter
+{
+  /**
+   * The box filter. Downscaling by an integer factor averages each block of
+   * source pixels exactly; upscaling replicates the nearest source pixel.
+   */
+
+  BOX(0.5) {
+    @Override
+    double weight(
+      final double x)
+    {
+      if (x >= -0.5 && x < 0.5) {
+        return 1.0;
+      }
+      return 0.0;
+    }
+  },
+
+  /**
+   * The triangle filter: Bilinear interpolation when upscaling.
+   */
+
+  BILINEAR(1.0) {
+    @Override
+    double weight(
+      final double x)
+    {
+      return Math.max(0.0, 1.0 - Math.abs(x));
+    }
+  },
+
+  /**
+   * The three-lobed Lanczos filter. This is the sharpest of the filters, but
+   * its negative lobes may produce components slightly outside of the range
+   * of the source image near hard edges.
+   */
+
+  LANCZOS3(3.0) {
+    @Override
+    double weight(
+      final double x)
+    {
+      if (x == 0.0) {
+        return 1.0;
+      }
+      if (Math.abs(x) >= 3.0) {
+        return 0.0;
+      }
+      final var px = Math.PI * x;
+      return 3.0 * Math.sin(px) * Math.sin(px / 3.0) / (px * px);
+    }
+  };
+
+  private final double support;
+
+  ColorResampleFilter(
+    final double inSupport)
+  {
+    this.support = inSupport;
+  }
+
+  /**
+   * @return The radius beyond which the filter is zero
+   */
+
+  public double support()
+  {
+    return this.support;
+  }
+
+  abstract double weight(double x);
+}
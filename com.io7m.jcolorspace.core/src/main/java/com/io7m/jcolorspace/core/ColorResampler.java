@@ -0,0 +1,578 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>A resampler for linear RGB images.</p>
+ *
+ * <p>Resampling is separable, and happens entirely in linear light: Source
+ * frames must hold linear RGB pixels, and so sRGB images should be decoded
+ * (for example with {@link SRGBDecoder}) before resampling. The target image
+ * is produced in bands of {@link #BAND_ROWS} rows. For each band, the source
+ * rows that contribute to the band are filtered horizontally into a
+ * temporary buffer, the buffer is filtered vertically, and the resulting
+ * linear rows are immediately passed through a conversion (such as
+ * {@link HSVBulk#toHSVConversion()}) or quantized to eight bit sRGB, so that
+ * no full-size intermediate image is produced. Bands are independent, and
+ * the parallel methods produce output identical to the serial methods.</p>
+ *
+ * <p>All four components are filtered independently. For images with
+ * varying alpha, resample premultiplied pixels and convert with a
+ * {@link ColorAlphaMode#PREMULTIPLIED} conversion.</p>
+ *
+ * <p>Resamplers are immutable and are safe to use from multiple
+ * threads.</p>
+ */
+
+public final class ColorResampler
+{
+  /**
+   * The number of target rows in each band.
+   */
+
+  public static final int BAND_ROWS = 16;
+
+  private final ColorResampleFilter filter;
+
+  private ColorResampler(
+    final ColorResampleFilter inFilter)
+  {
+    this.filter = inFilter;
+  }
+
+  /**
+   * Create a resampler.
+   *
+   * @param filter The filter
+   *
+   * @return A resampler
+   */
+
+  public static ColorResampler create(
+    final ColorResampleFilter filter)
+  {
+    return new ColorResampler(Objects.requireNonNull(filter, "filter"));
+  }
+
+  /**
+   * @return The filter
+   */
+
+  public ColorResampleFilter filter()
+  {
+    return this.filter;
+  }
+
+  /**
+   * Resample {@code source} to the size of {@code target}.
+   *
+   * @param source The source frame
+   * @param target The target frame
+   */
+
+  public void resample(
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final ColorFrame<ColorSpaceTagLinearRGBType> target)
+  {
+    this.resample(source, ColorResampler::copy, target);
+  }
+
+  /**
+   * Resample {@code source} to the size of {@code target}, converting the
+   * resampled pixels with {@code conversion}.
+   *
+   * @param source     The source frame
+   * @param conversion The conversion applied to the resampled pixels
+   * @param target     The target frame
+   * @param <T>        The target color space
+   */
+
+  public <T extends ColorSpaceTagType> void resample(
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final ColorBulkConversionType<ColorSpaceTagLinearRGBType, T> conversion,
+    final ColorFrame<T> target)
+  {
+    this.run(null, source, target.width(), target.height(), sink(conversion, target));
+  }
+
+  /**
+   * Resample {@code source} to the size of {@code target}, splitting the
+   * work across the threads of {@code pool}.
+   *
+   * @param pool   The pool
+   * @param source The source frame
+   * @param target The target frame
+   */
+
+  public void resampleParallel(
+    final ForkJoinPool pool,
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final ColorFrame<ColorSpaceTagLinearRGBType> target)
+  {
+    this.resampleParallel(pool, source, ColorResampler::copy, target);
+  }
+
+  /**
+   * Resample {@code source} to the size of {@code target}, converting the
+   * resampled pixels with {@code conversion}, and splitting the work across
+   * the threads of {@code pool}.
+   *
+   * @param pool       The pool
+   * @param source     The source frame
+   * @param conversion The conversion applied to the resampled pixels
+   * @param target     The target frame
+   * @param <T>        The target color space
+   */
+
+  public <T extends ColorSpaceTagType> void resampleParallel(
+    final ForkJoinPool pool,
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final ColorBulkConversionType<ColorSpaceTagLinearRGBType, T> conversion,
+    final ColorFrame<T> target)
+  {
+    this.run(
+      Objects.requireNonNull(pool, "pool"),
+      source,
+      target.width(),
+      target.height(),
+      sink(conversion, target)
+    );
+  }
+
+  /**
+   * Resample {@code source} to a {@code width} by {@code height} image,
+   * quantizing the resampled pixels to eight bit sRGB. The target bytes are
+   * identical to those produced by resampling to a linear frame and then
+   * calling
+   * {@link SRGBQuantizer#quantizeRGB(DitherMethod, double[], int, int, int, byte[], int)}.
+   *
+   * @param source       The source frame
+   * @param method       The dither method
+   * @param width        The target width
+   * @param height       The target height
+   * @param target       The target bytes
+   * @param targetOffset The offset of the first target byte
+   *
+   * @throws IllegalArgumentException If {@code method} is
+   *                                  {@link DitherMethod#FLOYD_STEINBERG},
+   *                                  which cannot be applied to independent
+   *                                  bands
+   */
+
+  public void resampleQuantized(
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final DitherMethod method,
+    final int width,
+    final int height,
+    final byte[] target,
+    final int targetOffset)
+    throws IllegalArgumentException
+  {
+    this.run(
+      null,
+      source,
+      width,
+      height,
+      quantizedSink(method, width, height, target, targetOffset)
+    );
+  }
+
+  /**
+   * Resample {@code source} to a {@code width} by {@code height} image,
+   * quantizing the resampled pixels to eight bit sRGB, and splitting the
+   * work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source frame
+   * @param method       The dither method
+   * @param width        The target width
+   * @param height       The target height
+   * @param target       The target bytes
+   * @param targetOffset The offset of the first target byte
+   *
+   * @throws IllegalArgumentException If {@code method} is
+   *                                  {@link DitherMethod#FLOYD_STEINBERG}
+   * @see #resampleQuantized(ColorFrame, DitherMethod, int, int, byte[], int)
+   */
+
+  public void resampleQuantizedParallel(
+    final ForkJoinPool pool,
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final DitherMethod method,
+    final int width,
+    final int height,
+    final byte[] target,
+    final int targetOffset)
+    throws IllegalArgumentException
+  {
+    this.run(
+      Objects.requireNonNull(pool, "pool"),
+      source,
+      width,
+      height,
+      quantizedSink(method, width, height, target, targetOffset)
+    );
+  }
+
+  /**
+   * Generate the mip chain of {@code source}. Each level is half the size of
+   * the level above it, rounded down, and no smaller than one pixel; the
+   * chain ends with a {@code 1} by {@code 1} level. Each level is resampled
+   * from the linear pixels of the level above it, and the returned levels
+   * are converted with {@code conversion} in the same pass. The source
+   * itself is not included in the chain.
+   *
+   * @param source     The source frame
+   * @param conversion The conversion applied to each level
+   * @param <T>        The target color space
+   *
+   * @return The levels of the chain, largest first
+   */
+
+  public <T extends ColorSpaceTagType> List<ColorFrame<T>> mipChain(
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final ColorBulkConversionType<ColorSpaceTagLinearRGBType, T> conversion)
+  {
+    return this.mipChainOn(null, source, conversion);
+  }
+
+  /**
+   * Generate the mip chain of {@code source}, splitting the work for each
+   * level across the threads of {@code pool}.
+   *
+   * @param pool       The pool
+   * @param source     The source frame
+   * @param conversion The conversion applied to each level
+   * @param <T>        The target color space
+   *
+   * @return The levels of the chain, largest first
+   *
+   * @see #mipChain(ColorFrame, ColorBulkConversionType)
+   */
+
+  public <T extends ColorSpaceTagType> List<ColorFrame<T>> mipChainParallel(
+    final ForkJoinPool pool,
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final ColorBulkConversionType<ColorSpaceTagLinearRGBType, T> conversion)
+  {
+    return this.mipChainOn(
+      Objects.requireNonNull(pool, "pool"), source, conversion);
+  }
+
+  private <T extends ColorSpaceTagType> List<ColorFrame<T>> mipChainOn(
+    final ForkJoinPool pool,
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final ColorBulkConversionType<ColorSpaceTagLinearRGBType, T> conversion)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(conversion, "conversion");
+
+    final var levels = new ArrayList<ColorFrame<T>>();
+    var current = source;
+    while (current.width() > 1 || current.height() > 1) {
+      if (current.pixels() == 0) {
+        break;
+      }
+
+      final var width = Math.max(1, current.width() / 2);
+      final var height = Math.max(1, current.height() / 2);
+      final var components = ColorFrame.componentsFor(width, height);
+      final ColorFrame<ColorSpaceTagLinearRGBType> linear =
+        ColorFrame.wrap(width, height, new double[components]);
+      final ColorFrame<T> level =
+        ColorFrame.wrap(width, height, new double[components]);
+
+      final BandSinkType convert = sink(conversion, level);
+      this.run(pool, current, width, height, (band, rowStart, rows) -> {
+        final var pixels = rows * width;
+        System.arraycopy(
+          band, 0, linear.data(), rowStart * width * 4, pixels * 4);
+        convert.accept(band, rowStart, rows);
+      });
+
+      levels.add(level);
+      current = linear;
+    }
+    return levels;
+  }
+
+  private static void copy(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    System.arraycopy(
+      source, sourceOffset, target, targetOffset, Math.multiplyExact(pixels, 4));
+  }
+
+  private static <T extends ColorSpaceTagType> BandSinkType sink(
+    final ColorBulkConversionType<ColorSpaceTagLinearRGBType, T> conversion,
+    final ColorFrame<T> target)
+  {
+    Objects.requireNonNull(conversion, "conversion");
+    Objects.requireNonNull(target, "target");
+
+    final var width = target.width();
+    final var data = target.data();
+    return (band, rowStart, rows) -> {
+      conversion.convert(band, 0, data, rowStart * width * 4, rows * width);
+    };
+  }
+
+  private static BandSinkType quantizedSink(
+    final DitherMethod method,
+    final int width,
+    final int height,
+    final byte[] target,
+    final int targetOffset)
+  {
+    Objects.requireNonNull(method, "method");
+    Objects.requireNonNull(target, "target");
+
+    if (method == DitherMethod.FLOYD_STEINBERG) {
+      throw new IllegalArgumentException(
+        "Error diffusion cannot be fused with resampling; resample to a linear frame and quantize it instead."
+      );
+    }
+    ColorFrame.checkSize(width, height);
+    Objects.checkFromIndexSize(
+      targetOffset, ColorFrame.componentsFor(width, height), target.length);
+
+    return (band, rowStart, rows) -> {
+      SRGBQuantizer.quantizeBandRGB(
+        method, band, width, rowStart, rows, target, targetOffset);
+    };
+  }
+
+  private void run(
+    final ForkJoinPool pool,
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final int width,
+    final int height,
+    final BandSinkType sink)
+  {
+    Objects.requireNonNull(source, "source");
+    ColorFrame.checkSize(width, height);
+
+    if (width == 0 || height == 0) {
+      return;
+    }
+    if (source.pixels() == 0) {
+      throw new IllegalArgumentException(
+        "An empty %d x %d frame cannot be resampled to %d x %d"
+          .formatted(
+            Integer.valueOf(source.width()),
+            Integer.valueOf(source.height()),
+            Integer.valueOf(width),
+            Integer.valueOf(height))
+      );
+    }
+
+    final var horizontal =
+      Weights.of(this.filter, source.width(), width);
+    final var vertical =
+      Weights.of(this.filter, source.height(), height);
+    final var bands = (height - 1) / BAND_ROWS + 1;
+
+    final ColorBulk.RangeActionType action = (start, end) -> {
+      for (int band = start; band < end; ++band) {
+        final var rowStart = band * BAND_ROWS;
+        final var rows = Math.min(BAND_ROWS, height - rowStart);
+        sink.accept(
+          filterBand(source, horizontal, vertical, rowStart, rows),
+          rowStart,
+          rows
+        );
+      }
+    };
+
+    if (pool == null) {
+      action.execute(0, bands);
+    } else {
+      ColorBulk.parallelRanges(pool, bands, 1, action);
+    }
+  }
+
+  private static double[] filterBand(
+    final ColorFrame<ColorSpaceTagLinearRGBType> source,
+    final Weights horizontal,
+    final Weights vertical,
+    final int rowStart,
+    final int rows)
+  {
+    final var rowEnd = rowStart + rows;
+    int sourceStart = Integer.MAX_VALUE;
+    int sourceEnd = 0;
+    for (int y = rowStart; y < rowEnd; ++y) {
+      sourceStart = Math.min(sourceStart, vertical.first[y]);
+      sourceEnd = Math.max(sourceEnd, vertical.first[y] + vertical.count[y]);
+    }
+
+    /*
+     * Filter the contributing source rows horizontally.
+     */
+
+    final var width = horizontal.count.length;
+    final var sourceWidth = source.width();
+    final var data = source.data();
+    final var temporary = new double[(sourceEnd - sourceStart) * width * 4];
+    for (int y = sourceStart; y < sourceEnd; ++y) {
+      final var sourceRow = y * sourceWidth;
+      int t = (y - sourceStart) * width * 4;
+      for (int x = 0; x < width; ++x) {
+        final var first = horizontal.first[x];
+        final var count = horizontal.count[x];
+        final var w = x * horizontal.taps;
+        double r = 0.0;
+        double g = 0.0;
+        double b = 0.0;
+        double a = 0.0;
+        for (int tap = 0; tap < count; ++tap) {
+          final var k = horizontal.weights[w + tap];
+          final var s = (sourceRow + first + tap) * 4;
+          r += data[s] * k;
+          g += data[s + 1] * k;
+          b += data[s + 2] * k;
+          a += data[s + 3] * k;
+        }
+        temporary[t] = r;
+        temporary[t + 1] = g;
+        temporary[t + 2] = b;
+        temporary[t + 3] = a;
+        t += 4;
+      }
+    }
+
+    /*
+     * Filter the temporary rows vertically.
+     */
+
+    final var band = new double[rows * width * 4];
+    final var rowComponents = width * 4;
+    for (int y = rowStart; y < rowEnd; ++y) {
+      final var first = vertical.first[y] - sourceStart;
+      final var count = vertical.count[y];
+      final var w = y * vertical.taps;
+      final var o = (y - rowStart) * rowComponents;
+      for (int tap = 0; tap < count; ++tap) {
+        final var k = vertical.weights[w + tap];
+        final var s = (first + tap) * rowComponents;
+        for (int c = 0; c < rowComponents; ++c) {
+          band[o + c] += temporary[s + c] * k;
+        }
+      }
+    }
+    return band;
+  }
+
+  @FunctionalInterface
+  private interface BandSinkType
+  {
+    void accept(
+      double[] band,
+      int rowStart,
+      int rows);
+  }
+
+  /**
+   * The normalized filter weights for each target coordinate along one
+   * axis. Target coordinate {@code i} is the weighted sum of the
+   * {@code count[i]} source coordinates starting at {@code first[i]}, with
+   * weights starting at {@code weights[i * taps]}.
+   */
+
+  private static final class Weights
+  {
+    private final int[] first;
+    private final int[] count;
+    private final double[] weights;
+    private final int taps;
+
+    private Weights(
+      final int[] inFirst,
+      final int[] inCount,
+      final double[] inWeights,
+      final int inTaps)
+    {
+      this.first = inFirst;
+      this.count = inCount;
+      this.weights = inWeights;
+      this.taps = inTaps;
+    }
+
+    static Weights of(
+      final ColorResampleFilter filter,
+      final int sourceSize,
+      final int targetSize)
+    {
+      final var scale = (double) sourceSize / (double) targetSize;
+      final var filterScale = Math.max(scale, 1.0);
+      final var radius = filter.support() * filterScale;
+      final var taps = (int) Math.ceil(radius * 2.0) + 2;
+
+      final var first = new int[targetSize];
+      final var count = new int[targetSize];
+      final var weights = new double[Math.multiplyExact(targetSize, taps)];
+
+      for (int index = 0; index < targetSize; ++index) {
+        final var center = (index + 0.5) * scale;
+        final var low = Math.max(0, (int) Math.floor(center - radius));
+        final var high =
+          Math.min(sourceSize - 1, (int) Math.ceil(center + radius));
+        final var base = index * taps;
+
+        double sum = 0.0;
+        int n = 0;
+        for (int s = low; s <= high && n < taps; ++s) {
+          final var k = filter.weight((s + 0.5 - center) / filterScale);
+          weights[base + n] = k;
+          sum += k;
+          ++n;
+        }
+
+        first[index] = low;
+        count[index] = n;
+
+        /*
+         * Normalize the weights so that the filter preserves flat areas
+         * at the edges of the image. A filter with no weight falls back
+         * to the nearest source pixel.
+         */
+
+        if (sum == 0.0) {
+          first[index] =
+            Math.min(sourceSize - 1, Math.max(0, (int) Math.floor(center)));
+          count[index] = 1;
+          weights[base] = 1.0;
+        } else {
+          for (int tap = 0; tap < n; ++tap) {
+            weights[base + tap] /= sum;
+          }
+        }
+      }
+      return new Weights(first, count, weights, taps);
+    }
+  }
+}
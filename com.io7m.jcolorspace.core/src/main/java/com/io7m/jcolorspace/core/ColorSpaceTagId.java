@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+
+/**
+ * <p>Stable numeric identifiers for the color space tags.</p>
+ *
+ * <p>Color spaces are expressed as type parameters throughout the API, and
+ * so have no runtime representation of their own. Identifiers are used
+ * where a color space must be recorded as data, such as in the header of
+ * a {@link ColorBufferFiles color buffer file}. Identifiers are never
+ * reused or renumbered.</p>
+ */
+
+public enum ColorSpaceTagId
+{
+  /**
+   * The linear RGB color space.
+   */
+
+  LINEAR_RGB(1, ColorSpaceTagLinearRGBType.class),
+
+  /**
+   * The HSV color space.
+   */
+
+  HSV(2, ColorSpaceTagHSVType.class),
+
+  /**
+   * The CIE XYZ color space.
+   */
+
+  XYZ(3, ColorSpaceTagXYZType.class),
+
+  /**
+   * The YCbCr color space.
+   */
+
+  YCBCR(4, ColorSpaceTagYCbCrType.class),
+
+  /**
+   * The gamma-encoded R'G'B' color space.
+   */
+
+  ENCODED_RGB(5, ColorSpaceTagEncodedRGBType.class);
+
+  private final int id;
+  private final Class<? extends ColorSpaceTagType> tag;
+
+  ColorSpaceTagId(
+    final int inId,
+    final Class<? extends ColorSpaceTagType> inTag)
+  {
+    this.id = inId;
+    this.tag = inTag;
+  }
+
+  /**
+   * @return The numeric identifier
+   */
+
+  public int id()
+  {
+    return this.id;
+  }
+
+  /**
+   * @return The tag interface
+   */
+
+  public Class<? extends ColorSpaceTagType> tag()
+  {
+    return this.tag;
+  }
+
+  /**
+   * @param id The numeric identifier
+   *
+   * @return The tag with the given identifier
+   *
+   * @throws IllegalArgumentException If no tag has the given identifier
+   */
+
+  public static ColorSpaceTagId ofId(
+    final int id)
+  {
+    for (final var value : values()) {
+      if (value.id == id) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException(
+      "Unrecognized color space tag identifier: %d"
+        .formatted(Integer.valueOf(id)));
+  }
+
+  /**
+   * @param tag The tag interface
+   *
+   * @return The identifier of the given tag interface
+   *
+   * @throws IllegalArgumentException If the tag has no identifier
+   */
+
+  public static ColorSpaceTagId ofTag(
+    final Class<? extends ColorSpaceTagType> tag)
+  {
+    Objects.requireNonNull(tag, "tag");
+    for (final var value : values()) {
+      if (value.tag == tag) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException(
+      "Color space tag %s has no identifier".formatted(tag.getName()));
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+
+/**
+ * The implementation selected for an operation.
+ *
+ * @param operation         The operation
+ * @param accuracy          The accuracy of the selected implementation
+ * @param parallelThreshold The smallest number of pixels for which the
+ *                          work is split across threads, or
+ *                          {@link #PARALLEL_NEVER}
+ * @param nanosPerPixel     The measured serial cost per pixel, or
+ *                          {@code NaN} if no measurement was taken
+ * @param origin            The origin of the strategy
+ *
+ * @see ColorStrategySelector
+ */
+
+public record ColorStrategy(
+  ColorStrategyOperation operation,
+  ColorAccuracy accuracy,
+  int parallelThreshold,
+  double nanosPerPixel,
+  ColorStrategyOrigin origin)
+{
+  /**
+   * The parallel threshold of strategies that never split work across
+   * threads.
+   */
+
+  public static final int PARALLEL_NEVER = Integer.MAX_VALUE;
+
+  /**
+   * The implementation selected for an operation.
+   *
+   * @param operation         The operation
+   * @param accuracy          The accuracy of the selected implementation
+   * @param parallelThreshold The smallest number of pixels for which the
+   *                          work is split across threads
+   * @param nanosPerPixel     The measured serial cost per pixel
+   * @param origin            The origin of the strategy
+   */
+
+  public ColorStrategy
+  {
+    Objects.requireNonNull(operation, "operation");
+    Objects.requireNonNull(accuracy, "accuracy");
+    Objects.requireNonNull(origin, "origin");
+
+    if (parallelThreshold < 1) {
+      throw new IllegalArgumentException(
+        "Parallel threshold %d must be >= 1"
+          .formatted(Integer.valueOf(parallelThreshold))
+      );
+    }
+  }
+
+  /**
+   * @param pixels The number of pixels
+   *
+   * @return {@code true} if work of the given size is split across threads
+   */
+
+  public boolean isParallel(
+    final int pixels)
+  {
+    return pixels >= this.parallelThreshold;
+  }
+}
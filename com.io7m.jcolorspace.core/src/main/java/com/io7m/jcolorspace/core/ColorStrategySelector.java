@@ -0,0 +1,465 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>A selector of conversion strategies.</p>
+ *
+ * <p>A selector holds one {@link ColorStrategy} per
+ * {@link ColorStrategyOperation}: The accuracy of the implementation to use,
+ * and the smallest buffer for which the work is split across the threads of
+ * the selector's pool. Selectors are created either from the host
+ * capabilities alone with {@link #create(ForkJoinPool, ColorHostCapabilities)},
+ * or by measuring each candidate implementation on the host with
+ * {@link #calibrate(ForkJoinPool, ColorHostCapabilities, ColorAccuracy)}.
+ * The decisions are exposed with {@link #strategies()} so that they can be
+ * logged, and individual decisions can be replaced with
+ * {@link #withStrategy(ColorStrategyOperation, ColorAccuracy, int)}.</p>
+ *
+ * <p>Calibration takes a few hundred milliseconds, and should be performed
+ * once at startup. Every candidate is executed untimed before any
+ * measurement is taken, so that no candidate pays for compilation on
+ * behalf of the others, and the timed rounds of the candidates being
+ * compared are interleaved so that they see the same conditions.
+ * Measurements are noisy, and so an implementation that is
+ * less accurate is only chosen if it is at least {@link #FAST_MARGIN} faster
+ * than the more accurate implementation, and work is only split across
+ * threads at sizes where doing so is at least {@link #PARALLEL_MARGIN}
+ * faster than converting serially.</p>
+ *
+ * <p>Selectors are immutable and are safe to use from multiple threads.</p>
+ */
+
+public final class ColorStrategySelector
+{
+  /**
+   * The factor by which a less accurate implementation must be faster to be
+   * chosen.
+   */
+
+  public static final double FAST_MARGIN = 1.05;
+
+  /**
+   * The factor by which parallel conversion must be faster to be chosen.
+   */
+
+  public static final double PARALLEL_MARGIN = 1.2;
+
+  private static final System.Logger LOG =
+    System.getLogger(ColorStrategySelector.class.getCanonicalName());
+
+  private static final int CALIBRATION_PIXELS =
+    ColorBulk.PARALLEL_GRAIN_DEFAULT;
+  private static final int CALIBRATION_PIXELS_MAXIMUM =
+    ColorBulk.PARALLEL_GRAIN_DEFAULT << 4;
+  private static final int CALIBRATION_ROUNDS = 5;
+  private static final long CALIBRATION_ROUND_NANOS = 1_000_000L;
+  private static final long CALIBRATION_WARMUP_NANOS = 10_000_000L;
+
+  private final ForkJoinPool pool;
+  private final ColorHostCapabilities capabilities;
+  private final Map<ColorStrategyOperation, ColorStrategy> strategies;
+
+  private ColorStrategySelector(
+    final ForkJoinPool inPool,
+    final ColorHostCapabilities inCapabilities,
+    final Map<ColorStrategyOperation, ColorStrategy> inStrategies)
+  {
+    this.pool = inPool;
+    this.capabilities = inCapabilities;
+    this.strategies = inStrategies;
+  }
+
+  private static int parallelism(
+    final ForkJoinPool pool,
+    final ColorHostCapabilities capabilities)
+  {
+    return Math.min(pool.getParallelism(), capabilities.processors());
+  }
+
+  /**
+   * Create a selector from the host capabilities alone. Every operation uses
+   * {@link ColorAccuracy#EXACT}, and work is split across threads for
+   * buffers of at least four times {@link ColorBulk#PARALLEL_GRAIN_DEFAULT}
+   * pixels if more than one thread is available.
+   *
+   * @param pool         The pool used for parallel conversions
+   * @param capabilities The host capabilities
+   *
+   * @return A selector
+   */
+
+  public static ColorStrategySelector create(
+    final ForkJoinPool pool,
+    final ColorHostCapabilities capabilities)
+  {
+    Objects.requireNonNull(pool, "pool");
+    Objects.requireNonNull(capabilities, "capabilities");
+
+    final int threshold;
+    if (parallelism(pool, capabilities) > 1) {
+      threshold = ColorBulk.PARALLEL_GRAIN_DEFAULT * 4;
+    } else {
+      threshold = ColorStrategy.PARALLEL_NEVER;
+    }
+
+    final var strategies =
+      new EnumMap<ColorStrategyOperation, ColorStrategy>(
+        ColorStrategyOperation.class);
+    for (final var operation : ColorStrategyOperation.values()) {
+      strategies.put(operation, new ColorStrategy(
+        operation,
+        ColorAccuracy.EXACT,
+        threshold,
+        Double.NaN,
+        ColorStrategyOrigin.DEFAULT
+      ));
+    }
+    return new ColorStrategySelector(pool, capabilities, strategies);
+  }
+
+  /**
+   * Create a selector by measuring each candidate implementation on the
+   * host. The candidates are the implementations whose maximum error does
+   * not exceed that of {@code permitted}; the parallel threshold is the
+   * smallest measured buffer size at which parallel conversion is
+   * sufficiently faster than serial conversion.
+   *
+   * @param pool         The pool used for parallel conversions
+   * @param capabilities The host capabilities
+   * @param permitted    The least accurate accuracy permitted
+   *
+   * @return A selector
+   */
+
+  public static ColorStrategySelector calibrate(
+    final ForkJoinPool pool,
+    final ColorHostCapabilities capabilities,
+    final ColorAccuracy permitted)
+  {
+    Objects.requireNonNull(pool, "pool");
+    Objects.requireNonNull(capabilities, "capabilities");
+    Objects.requireNonNull(permitted, "permitted");
+
+    final var random = new SplittableRandom(0x5eedL);
+    final var source = new double[CALIBRATION_PIXELS_MAXIMUM * 4];
+    for (int index = 0; index < source.length; ++index) {
+      source[index] = random.nextDouble();
+    }
+    final var target = new double[source.length];
+
+    final var strategies =
+      new EnumMap<ColorStrategyOperation, ColorStrategy>(
+        ColorStrategyOperation.class);
+    for (final var operation : ColorStrategyOperation.values()) {
+      final var strategy = calibrateOperation(
+        pool, capabilities, permitted, operation, source, target);
+      LOG.log(
+        System.Logger.Level.DEBUG,
+        () -> "Calibrated: %s".formatted(strategy)
+      );
+      strategies.put(operation, strategy);
+    }
+    return new ColorStrategySelector(pool, capabilities, strategies);
+  }
+
+  private static ColorStrategy calibrateOperation(
+    final ForkJoinPool pool,
+    final ColorHostCapabilities capabilities,
+    final ColorAccuracy permitted,
+    final ColorStrategyOperation operation,
+    final double[] source,
+    final double[] target)
+  {
+    /*
+     * Choose the fastest candidate, preferring the more accurate
+     * implementations unless a less accurate one is clearly faster.
+     */
+
+    final var candidates = new ArrayList<ColorAccuracy>();
+    final var actions = new ArrayList<Runnable>();
+    for (final var candidate : ColorAccuracy.values()) {
+      if (candidate.maximumError() > permitted.maximumError()) {
+        continue;
+      }
+      final var conversion = operation.conversion(candidate);
+      candidates.add(candidate);
+      actions.add(() -> {
+        conversion.convert(source, 0, target, 0, CALIBRATION_PIXELS);
+      });
+    }
+
+    final var times = measure(actions);
+    var accuracy = ColorAccuracy.EXACT;
+    var best = Double.POSITIVE_INFINITY;
+    for (int index = 0; index < candidates.size(); ++index) {
+      final var nanos = times[index] / CALIBRATION_PIXELS;
+      if (nanos * FAST_MARGIN < best) {
+        best = nanos;
+        accuracy = candidates.get(index);
+      }
+    }
+
+    /*
+     * Find the smallest size at which parallel conversion pays off.
+     */
+
+    int threshold = ColorStrategy.PARALLEL_NEVER;
+    if (parallelism(pool, capabilities) > 1) {
+      final var conversion = operation.conversion(accuracy);
+      for (int pixels = CALIBRATION_PIXELS * 2;
+           pixels <= CALIBRATION_PIXELS_MAXIMUM;
+           pixels *= 2) {
+        final var size = pixels;
+        final var split = measure(List.of(
+          () -> conversion.convert(source, 0, target, 0, size),
+          () -> ColorBulk.convertParallel(
+            pool, conversion, source, 0, target, 0, size)
+        ));
+        if (split[1] * PARALLEL_MARGIN < split[0]) {
+          threshold = size;
+          break;
+        }
+      }
+    }
+
+    return new ColorStrategy(
+      operation,
+      accuracy,
+      threshold,
+      best,
+      ColorStrategyOrigin.CALIBRATED
+    );
+  }
+
+  /**
+   * Measure a set of actions that are to be compared. Every action is first
+   * executed untimed for a fixed time budget. The actions are then measured
+   * in a number of rounds, with the rounds of the different actions
+   * interleaved, and each round executing its action repeatedly for a fixed
+   * time budget.
+   *
+   * @param actions The actions
+   *
+   * @return The shortest time taken by a single execution of each action,
+   * in nanoseconds
+   */
+
+  private static double[] measure(
+    final List<Runnable> actions)
+  {
+    for (final var action : actions) {
+      run(action, CALIBRATION_WARMUP_NANOS);
+    }
+
+    final var best = new double[actions.size()];
+    Arrays.fill(best, Double.POSITIVE_INFINITY);
+    for (int round = 0; round < CALIBRATION_ROUNDS; ++round) {
+      for (int index = 0; index < best.length; ++index) {
+        best[index] = Math.min(
+          best[index],
+          run(actions.get(index), CALIBRATION_ROUND_NANOS)
+        );
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Execute an action repeatedly until at least {@code budget} nanoseconds
+   * have elapsed.
+   *
+   * @param action The action
+   * @param budget The time budget in nanoseconds
+   *
+   * @return The mean time taken by a single execution in nanoseconds
+   */
+
+  private static double run(
+    final Runnable action,
+    final long budget)
+  {
+    long executions = 0L;
+    final var start = System.nanoTime();
+    long elapsed;
+    do {
+      action.run();
+      ++executions;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < budget);
+    return (double) elapsed / (double) executions;
+  }
+
+  /**
+   * Create a selector that is identical to this selector, but with the
+   * strategy for {@code operation} replaced.
+   *
+   * @param operation         The operation
+   * @param accuracy          The accuracy to use
+   * @param parallelThreshold The smallest number of pixels for which the
+   *                          work is split across threads, or
+   *                          {@link ColorStrategy#PARALLEL_NEVER}
+   *
+   * @return A selector
+   */
+
+  public ColorStrategySelector withStrategy(
+    final ColorStrategyOperation operation,
+    final ColorAccuracy accuracy,
+    final int parallelThreshold)
+  {
+    final var replaced = new EnumMap<>(this.strategies);
+    replaced.put(operation, new ColorStrategy(
+      operation,
+      accuracy,
+      parallelThreshold,
+      Double.NaN,
+      ColorStrategyOrigin.OVERRIDDEN
+    ));
+    return new ColorStrategySelector(this.pool, this.capabilities, replaced);
+  }
+
+  /**
+   * @return The host capabilities
+   */
+
+  public ColorHostCapabilities capabilities()
+  {
+    return this.capabilities;
+  }
+
+  /**
+   * @param operation The operation
+   *
+   * @return The strategy for the given operation
+   */
+
+  public ColorStrategy strategy(
+    final ColorStrategyOperation operation)
+  {
+    return this.strategies.get(Objects.requireNonNull(operation, "operation"));
+  }
+
+  /**
+   * @return The strategies for all operations
+   */
+
+  public List<ColorStrategy> strategies()
+  {
+    return List.copyOf(this.strategies.values());
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels to HSV with the selected
+   * strategy.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public void toHSV(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var strategy = this.strategies.get(ColorStrategyOperation.TO_HSV);
+    if (strategy.isParallel(pixels)) {
+      HSVBulk.toHSVParallel(
+        this.pool,
+        strategy.accuracy(),
+        source,
+        sourceOffset,
+        target,
+        targetOffset,
+        pixels
+      );
+    } else {
+      HSVBulk.toHSV(
+        strategy.accuracy(), source, sourceOffset, target, targetOffset, pixels);
+    }
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB with the selected
+   * strategy.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public void toRGB(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var strategy = this.strategies.get(ColorStrategyOperation.TO_RGB);
+    if (strategy.isParallel(pixels)) {
+      HSVBulk.toRGBParallel(
+        this.pool,
+        strategy.accuracy(),
+        source,
+        sourceOffset,
+        target,
+        targetOffset,
+        pixels
+      );
+    } else {
+      HSVBulk.toRGB(
+        strategy.accuracy(), source, sourceOffset, target, targetOffset, pixels);
+    }
+  }
+
+  /**
+   * @return A bulk conversion from linear RGB to HSV with the selected
+   * strategy
+   */
+
+  public ColorBulkConversionType<ColorSpaceTagLinearRGBType, ColorSpaceTagHSVType> toHSVConversion()
+  {
+    return this::toHSV;
+  }
+
+  /**
+   * @return A bulk conversion from HSV to linear RGB with the selected
+   * strategy
+   */
+
+  public ColorBulkConversionType<ColorSpaceTagHSVType, ColorSpaceTagLinearRGBType> toRGBConversion()
+  {
+    return this::toRGB;
+  }
+}
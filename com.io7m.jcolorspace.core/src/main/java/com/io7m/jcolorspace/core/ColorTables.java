@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+/**
+ * <p>Access to precomputed tables stored as resources.</p>
+ *
+ * <p>Tables that are expensive to compute are generated at build time by
+ * the build-only {@code ColorTableGenerator} and packaged as resources alongside the
+ * classes of this package. Each table is held in a holder class owned by the code
+ * that uses it, so a table is read with a single bulk read on first use,
+ * and tables that are never used are never read. If a resource is missing
+ * (for example, when running from an IDE without resources on the class
+ * path), the table is computed instead.</p>
+ *
+ * <p>Each resource consists of a big-endian header of the magic number
+ * {@code JCST}, a format version, and an element count, followed by the
+ * big-endian elements.</p>
+ */
+
+final class ColorTables
+{
+  /**
+   * The resource holding the ranks of the blue noise dither matrix as
+   * unsigned 16-bit integers.
+   */
+
+  static final String BLUE_NOISE_RANKS = "blue-noise-64.bin";
+
+  /**
+   * The resource holding the sRGB encoding table as 64-bit floats.
+   */
+
+  static final String SRGB_ENCODE = "srgb-encode.bin";
+
+  static final int MAGIC = 0x4a435354;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 12;
+
+  private ColorTables()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static ByteBuffer open(
+    final String name,
+    final int count,
+    final int elementSize)
+  {
+    final byte[] data;
+    try (var stream = ColorTables.class.getResourceAsStream(name)) {
+      if (stream == null) {
+        return null;
+      }
+      data = stream.readAllBytes();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    final var buffer = ByteBuffer.wrap(data);
+    final var expected = HEADER_SIZE + count * elementSize;
+    if (data.length != expected
+      || buffer.getInt(0) != MAGIC
+      || buffer.getInt(4) != VERSION
+      || buffer.getInt(8) != count) {
+      throw new IllegalStateException(
+        "Table resource %s is malformed (size %d, expected %d)"
+          .formatted(
+            name,
+            Integer.valueOf(data.length),
+            Integer.valueOf(expected))
+      );
+    }
+    return buffer.position(HEADER_SIZE).slice();
+  }
+
+  /**
+   * Read a table of unsigned 16-bit integers.
+   *
+   * @param name     The resource name
+   * @param count    The number of elements
+   * @param fallback A function that computes the table if the resource is
+   *                 missing
+   *
+   * @return The table
+   */
+
+  static int[] unsignedShorts(
+    final String name,
+    final int count,
+    final Supplier<int[]> fallback)
+  {
+    final var buffer = open(name, count, 2);
+    if (buffer == null) {
+      return fallback.get();
+    }
+
+    final var shorts = new short[count];
+    buffer.asShortBuffer().get(shorts);
+    final var values = new int[count];
+    for (int index = 0; index < count; ++index) {
+      values[index] = shorts[index] & 0xffff;
+    }
+    return values;
+  }
+
+  /**
+   * Read a table of 64-bit floats.
+   *
+   * @param name     The resource name
+   * @param count    The number of elements
+   * @param fallback A function that computes the table if the resource is
+   *                 missing
+   *
+   * @return The table
+   */
+
+  static double[] doubles(
+    final String name,
+    final int count,
+    final Supplier<double[]> fallback)
+  {
+    final var buffer = open(name, count, 8);
+    if (buffer == null) {
+      return fallback.get();
+    }
+
+    final var values = new double[count];
+    buffer.asDoubleBuffer().get(values);
+    return values;
+  }
+}
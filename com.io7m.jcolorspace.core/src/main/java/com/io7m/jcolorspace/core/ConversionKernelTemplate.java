@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * <p>The template from which specialized conversion kernels are cloned.</p>
+ *
+ * <p>This class is never loaded directly. {@link ConversionKernels} defines
+ * a fresh hidden class from the bytes of this class for each distinct
+ * combination of layouts and conversion classes, passing the layouts as
+ * class data. Because every clone has its own static final fields, the JIT
+ * treats the component types, offsets and strides of each clone as
+ * constants, and each clone's loop has its own type profile. The conversion
+ * instances themselves are passed to the constructor, so a clone is shared
+ * by every kernel whose conversions have the same classes.</p>
+ */
+
+final class ConversionKernelTemplate implements ConversionKernelType
+{
+  private static final int BLOCK_PIXELS = 256;
+
+  private static final PixelLayout SOURCE_LAYOUT;
+  private static final PixelLayout TARGET_LAYOUT;
+  private static final PixelComponentType SOURCE_TYPE;
+  private static final PixelComponentType TARGET_TYPE;
+  private static final int SOURCE_STRIDE;
+  private static final int SOURCE_C0;
+  private static final int SOURCE_C1;
+  private static final int SOURCE_C2;
+  private static final int SOURCE_C3;
+  private static final int TARGET_STRIDE;
+  private static final int TARGET_C0;
+  private static final int TARGET_C1;
+  private static final int TARGET_C2;
+  private static final int TARGET_C3;
+
+  static {
+    final Object[] data;
+    try {
+      data = MethodHandles.classData(
+        MethodHandles.lookup(),
+        ConstantDescs.DEFAULT_NAME,
+        Object[].class
+      );
+    } catch (final IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+
+    Objects.requireNonNull(data, "Template kernels cannot be loaded directly");
+
+    SOURCE_LAYOUT = (PixelLayout) data[0];
+    TARGET_LAYOUT = (PixelLayout) data[1];
+
+    SOURCE_TYPE = SOURCE_LAYOUT.type();
+    SOURCE_STRIDE = SOURCE_LAYOUT.pixelStride();
+    SOURCE_C0 = SOURCE_LAYOUT.channelOffset(0);
+    SOURCE_C1 = SOURCE_LAYOUT.channelOffset(1);
+    SOURCE_C2 = SOURCE_LAYOUT.channelOffset(2);
+    SOURCE_C3 = SOURCE_LAYOUT.channelOffset(3);
+
+    TARGET_TYPE = TARGET_LAYOUT.type();
+    TARGET_STRIDE = TARGET_LAYOUT.pixelStride();
+    TARGET_C0 = TARGET_LAYOUT.channelOffset(0);
+    TARGET_C1 = TARGET_LAYOUT.channelOffset(1);
+    TARGET_C2 = TARGET_LAYOUT.channelOffset(2);
+    TARGET_C3 = TARGET_LAYOUT.channelOffset(3);
+  }
+
+  private final ColorBulkConversionType<?, ?>[] stages;
+
+  ConversionKernelTemplate(
+    final ColorBulkConversionType<?, ?>[] inStages)
+  {
+    this.stages = Objects.requireNonNull(inStages, "stages");
+  }
+
+  @Override
+  public PixelLayout sourceLayout()
+  {
+    return SOURCE_LAYOUT;
+  }
+
+  @Override
+  public PixelLayout targetLayout()
+  {
+    return TARGET_LAYOUT;
+  }
+
+  @Override
+  public void convert(
+    final ByteBuffer source,
+    final int sourceOffset,
+    final ByteBuffer target,
+    final int targetOffset,
+    final int pixels)
+  {
+    Objects.checkFromIndexSize(
+      sourceOffset, SOURCE_LAYOUT.extent(pixels), source.limit());
+    Objects.checkFromIndexSize(
+      targetOffset, TARGET_LAYOUT.extent(pixels), target.limit());
+
+    final var input = source.duplicate().order(SOURCE_LAYOUT.byteOrder());
+    final var output = target.duplicate().order(TARGET_LAYOUT.byteOrder());
+    final var block = new double[BLOCK_PIXELS * 4];
+
+    for (int done = 0; done < pixels; done += BLOCK_PIXELS) {
+      final var count = Math.min(BLOCK_PIXELS, pixels - done);
+      read(input, sourceOffset + done * SOURCE_STRIDE, block, count);
+      for (final var stage : this.stages) {
+        stage.convert(block, 0, block, 0, count);
+      }
+      write(block, output, targetOffset + done * TARGET_STRIDE, count);
+    }
+  }
+
+  private static void read(
+    final ByteBuffer input,
+    final int offset,
+    final double[] block,
+    final int count)
+  {
+    int s = offset;
+    int b = 0;
+    for (int index = 0; index < count; ++index) {
+      block[b] = SOURCE_TYPE.read(input, s + SOURCE_C0);
+      block[b + 1] = SOURCE_TYPE.read(input, s + SOURCE_C1);
+      block[b + 2] = SOURCE_TYPE.read(input, s + SOURCE_C2);
+      block[b + 3] = SOURCE_TYPE.read(input, s + SOURCE_C3);
+      s += SOURCE_STRIDE;
+      b += 4;
+    }
+  }
+
+  private static void write(
+    final double[] block,
+    final ByteBuffer output,
+    final int offset,
+    final int count)
+  {
+    int t = offset;
+    int b = 0;
+    for (int index = 0; index < count; ++index) {
+      TARGET_TYPE.write(output, t + TARGET_C0, block[b]);
+      TARGET_TYPE.write(output, t + TARGET_C1, block[b + 1]);
+      TARGET_TYPE.write(output, t + TARGET_C2, block[b + 2]);
+      TARGET_TYPE.write(output, t + TARGET_C3, block[b + 3]);
+      t += TARGET_STRIDE;
+      b += 4;
+    }
+  }
+}
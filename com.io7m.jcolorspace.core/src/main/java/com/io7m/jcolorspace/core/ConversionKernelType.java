@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A conversion kernel specialized for a source layout, a chain of
+ * conversions, and a target layout.
+ *
+ * @see ConversionKernels
+ */
+
+public interface ConversionKernelType
+{
+  /**
+   * @return The layout of source pixels
+   */
+
+  PixelLayout sourceLayout();
+
+  /**
+   * @return The layout of target pixels
+   */
+
+  PixelLayout targetLayout();
+
+  /**
+   * Convert {@code pixels} pixels. Offsets are absolute byte indices into
+   * the buffers, and all accessed bytes must lie below the limits of the
+   * buffers. The positions and byte orders of the buffers are neither used
+   * nor changed.
+   *
+   * @param source       The source buffer
+   * @param sourceOffset The byte offset of the first source pixel
+   * @param target       The target buffer
+   * @param targetOffset The byte offset of the first target pixel
+   * @param pixels       The number of pixels
+   */
+
+  void convert(
+    ByteBuffer source,
+    int sourceOffset,
+    ByteBuffer target,
+    int targetOffset,
+    int pixels);
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>A factory and cache of specialized conversion kernels.</p>
+ *
+ * <p>A kernel reads pixels in one {@link PixelLayout}, applies a chain of
+ * bulk conversions, and writes pixels in another layout. Rather than
+ * interpreting the layouts in a generic loop, each distinct combination of
+ * layouts and conversion classes is given its own class, cloned at runtime
+ * as a hidden class, in which the layouts are constants. Every kernel
+ * therefore has a loop as tight as a hand-written loop for its exact
+ * formats, and kernels for different formats do not pollute each other's
+ * type profiles. Pixels are converted in blocks small enough to remain in
+ * cache.</p>
+ *
+ * <p>Conversions in a chain must accept the same array as source and target,
+ * as the conversions in this package do, and the target color space of each
+ * conversion must be the source color space of the next. Kernel classes are
+ * cached by their layouts and by the <i>classes</i> of their conversions,
+ * never by the conversion instances. Conversions created by evaluating the
+ * same lambda expression repeatedly, for example, share a single kernel
+ * class, and the number of cached classes is bounded by the number of
+ * distinct layouts and conversion implementations in the program rather
+ * than by the number of calls. Creating a kernel for an already cached
+ * class is a single allocation. The cache and the kernels are safe to use
+ * from multiple threads.</p>
+ */
+
+public final class ConversionKernels
+{
+  private static final ConcurrentHashMap<Key, MethodHandle> KERNELS =
+    new ConcurrentHashMap<>();
+
+  private static final byte[] TEMPLATE = loadTemplate();
+
+  private ConversionKernels()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static byte[] loadTemplate()
+  {
+    final var name = ConversionKernelTemplate.class.getSimpleName() + ".class";
+    try (var stream = ConversionKernelTemplate.class.getResourceAsStream(name)) {
+      if (stream == null) {
+        throw new IllegalStateException("Missing kernel template " + name);
+      }
+      return stream.readAllBytes();
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Create a kernel, defining a new kernel class only if no kernel with the
+   * same layouts and conversion classes has been created before.
+   *
+   * @param source      The source layout
+   * @param conversions The conversions applied in order
+   * @param target      The target layout
+   *
+   * @return A kernel
+   */
+
+  public static ConversionKernelType kernel(
+    final PixelLayout source,
+    final List<? extends ColorBulkConversionType<?, ?>> conversions,
+    final PixelLayout target)
+  {
+    final var stages =
+      List.copyOf(conversions).toArray(new ColorBulkConversionType<?, ?>[0]);
+    final var classes = new ArrayList<Class<?>>(stages.length);
+    for (final var stage : stages) {
+      classes.add(stage.getClass());
+    }
+
+    final var key = new Key(
+      Objects.requireNonNull(source, "source"),
+      List.copyOf(classes),
+      Objects.requireNonNull(target, "target")
+    );
+
+    final var constructor = KERNELS.computeIfAbsent(key, ConversionKernels::define);
+    try {
+      return (ConversionKernelType) constructor.invoke(stages);
+    } catch (final RuntimeException | Error e) {
+      throw e;
+    } catch (final Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Create a kernel that converts between layouts without changing color
+   * space.
+   *
+   * @param source The source layout
+   * @param target The target layout
+   *
+   * @return A kernel
+   */
+
+  public static ConversionKernelType kernel(
+    final PixelLayout source,
+    final PixelLayout target)
+  {
+    return kernel(source, List.of(), target);
+  }
+
+  private static MethodHandle define(
+    final Key key)
+  {
+    final var data = new Object[]{
+      key.source,
+      key.target,
+    };
+
+    try {
+      final var lookup =
+        MethodHandles.lookup()
+          .defineHiddenClassWithClassData(TEMPLATE, data, true);
+      return lookup.findConstructor(
+        lookup.lookupClass(),
+        MethodType.methodType(void.class, ColorBulkConversionType[].class)
+      );
+    } catch (final IllegalAccessException | NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Execute {@code kernel} over {@code pixels} pixels, splitting the work
+   * across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param kernel       The kernel
+   * @param source       The source buffer
+   * @param sourceOffset The byte offset of the first source pixel
+   * @param target       The target buffer
+   * @param targetOffset The byte offset of the first target pixel
+   * @param pixels       The number of pixels
+   */
+
+  public static void convertParallel(
+    final ForkJoinPool pool,
+    final ConversionKernelType kernel,
+    final ByteBuffer source,
+    final int sourceOffset,
+    final ByteBuffer target,
+    final int targetOffset,
+    final int pixels)
+  {
+    Objects.requireNonNull(kernel, "kernel");
+
+    final var sourceLayout = kernel.sourceLayout();
+    final var targetLayout = kernel.targetLayout();
+    Objects.checkFromIndexSize(
+      sourceOffset, sourceLayout.extent(pixels), source.limit());
+    Objects.checkFromIndexSize(
+      targetOffset, targetLayout.extent(pixels), target.limit());
+
+    final var sourceStride = sourceLayout.pixelStride();
+    final var targetStride = targetLayout.pixelStride();
+    ColorBulk.parallelRanges(
+      pool,
+      pixels,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT,
+      (start, end) -> {
+        kernel.convert(
+          source,
+          sourceOffset + start * sourceStride,
+          target,
+          targetOffset + start * targetStride,
+          end - start
+        );
+      });
+  }
+
+  /**
+   * @return The number of kernel classes currently cached
+   */
+
+  public static int cachedKernels()
+  {
+    return KERNELS.size();
+  }
+
+  /**
+   * Discard all cached kernel classes. Kernel classes that are no longer
+   * referenced by any kernel are unloaded.
+   */
+
+  public static void clear()
+  {
+    KERNELS.clear();
+  }
+
+  private record Key(
+    PixelLayout source,
+    List<Class<?>> conversions,
+    PixelLayout target)
+  {
+
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Random;
+
+/**
+ * A square threshold matrix for ordered dithering. The matrix holds
+ * {@code size * size} thresholds in the range {@code (0, 1)}, stored in row
+ * major order, and is tiled across the image.
+ *
+ * @param size       The width and height of the matrix; a power of two
+ * @param thresholds The thresholds
+ */
+
+record DitherMatrix(
+  int size,
+  double[] thresholds)
+{
+  private static final DitherMatrix ROUND =
+    new DitherMatrix(1, new double[]{0.5});
+  private static final DitherMatrix BAYER =
+    ofRanks(8, bayerRanks(8));
+
+  private static final int BLUE_NOISE_SIZE = 64;
+  private static final double BLUE_NOISE_SIGMA = 1.5;
+  private static final long BLUE_NOISE_SEED = 0x6a09e667f3bcc908L;
+
+  /**
+   * @param method The dither method
+   *
+   * @return The threshold matrix used by the given ordered dither method
+   */
+
+  static DitherMatrix forMethod(
+    final DitherMethod method)
+  {
+    return switch (method) {
+      case NONE, FLOYD_STEINBERG -> ROUND;
+      case BAYER -> BAYER;
+      case BLUE_NOISE -> BlueNoiseHolder.BLUE_NOISE;
+    };
+  }
+
+  /**
+   * @param x The x coordinate of the pixel
+   * @param y The y coordinate of the pixel
+   *
+   * @return The threshold for the given pixel
+   */
+
+  double threshold(
+    final int x,
+    final int y)
+  {
+    final var mask = this.size - 1;
+    return this.thresholds[(y & mask) * this.size + (x & mask)];
+  }
+
+  private static DitherMatrix ofRanks(
+    final int size,
+    final int[] ranks)
+  {
+    final var count = (double) ranks.length;
+    final var thresholds = new double[ranks.length];
+    for (int index = 0; index < ranks.length; ++index) {
+      thresholds[index] = (ranks[index] + 0.5) / count;
+    }
+    return new DitherMatrix(size, thresholds);
+  }
+
+  /*
+   * The Bayer matrix of size 2n is built from the matrix of size n by
+   * placing four scaled copies in the order 0, 2, 3, 1.
+   */
+
+  private static int[] bayerRanks(
+    final int size)
+  {
+    if (size == 1) {
+      return new int[]{0};
+    }
+
+    final var half = size / 2;
+    final var inner = bayerRanks(half);
+    final var ranks = new int[size * size];
+    final var offsets = new int[]{0, 2, 3, 1};
+    for (int y = 0; y < size; ++y) {
+      for (int x = 0; x < size; ++x) {
+        final var quadrant = (y / half) * 2 + (x / half);
+        final var rank = inner[(y % half) * half + (x % half)];
+        ranks[y * size + x] = rank * 4 + offsets[quadrant];
+      }
+    }
+    return ranks;
+  }
+
+  /*
+   * The void-and-cluster method (Ulichney, 1993). The "energy" of each cell
+   * is the sum of toroidal Gaussian weights of every set cell; the tightest
+   * cluster is the set cell with the highest energy, and the largest void is
+   * the unset cell with the lowest energy. Ranking the cells of a relaxed
+   * initial pattern by repeatedly removing clusters and filling voids yields
+   * a matrix with blue noise characteristics.
+   */
+
+  static int[] blueNoiseRanks()
+  {
+    final var size = BLUE_NOISE_SIZE;
+    final var count = size * size;
+    final var weights = gaussianWeights(size);
+
+    final var random = new Random(BLUE_NOISE_SEED);
+    final var initial = new boolean[count];
+    final var initialEnergy = new double[count];
+    int ones = 0;
+    while (ones < count / 10) {
+      final var cell = random.nextInt(count);
+      if (!initial[cell]) {
+        initial[cell] = true;
+        updateEnergy(initialEnergy, weights, size, cell, 1.0);
+        ++ones;
+      }
+    }
+
+    for (int iteration = 0; iteration < count; ++iteration) {
+      final var cluster = find(initial, initialEnergy, true);
+      initial[cluster] = false;
+      updateEnergy(initialEnergy, weights, size, cluster, -1.0);
+      final var voidCell = find(initial, initialEnergy, false);
+      initial[voidCell] = true;
+      updateEnergy(initialEnergy, weights, size, voidCell, 1.0);
+      if (voidCell == cluster) {
+        break;
+      }
+    }
+
+    final var ranks = new int[count];
+
+    final var pattern = initial.clone();
+    final var energy = initialEnergy.clone();
+    for (int rank = ones - 1; rank >= 0; --rank) {
+      final var cluster = find(pattern, energy, true);
+      pattern[cluster] = false;
+      updateEnergy(energy, weights, size, cluster, -1.0);
+      ranks[cluster] = rank;
+    }
+
+    for (int rank = ones; rank < count; ++rank) {
+      final var voidCell = find(initial, initialEnergy, false);
+      initial[voidCell] = true;
+      updateEnergy(initialEnergy, weights, size, voidCell, 1.0);
+      ranks[voidCell] = rank;
+    }
+    return ranks;
+  }
+
+  private static double[] gaussianWeights(
+    final int size)
+  {
+    final var weights = new double[size * size];
+    final var scale = 2.0 * BLUE_NOISE_SIGMA * BLUE_NOISE_SIGMA;
+    for (int dy = 0; dy < size; ++dy) {
+      for (int dx = 0; dx < size; ++dx) {
+        final var wx = Math.min(dx, size - dx);
+        final var wy = Math.min(dy, size - dy);
+        weights[dy * size + dx] = Math.exp(-(wx * wx + wy * wy) / scale);
+      }
+    }
+    return weights;
+  }
+
+  private static void updateEnergy(
+    final double[] energy,
+    final double[] weights,
+    final int size,
+    final int cell,
+    final double sign)
+  {
+    final var cx = cell % size;
+    final var cy = cell / size;
+    for (int y = 0; y < size; ++y) {
+      final var row = ((y - cy + size) % size) * size;
+      for (int x = 0; x < size; ++x) {
+        energy[y * size + x] += sign * weights[row + (x - cx + size) % size];
+      }
+    }
+  }
+
+  private static int find(
+    final boolean[] pattern,
+    final double[] energy,
+    final boolean cluster)
+  {
+    int best = -1;
+    for (int index = 0; index < pattern.length; ++index) {
+      if (pattern[index] != cluster) {
+        continue;
+      }
+      if (best < 0) {
+        best = index;
+      } else if (cluster ? energy[index] > energy[best] : energy[index] < energy[best]) {
+        best = index;
+      }
+    }
+    return best;
+  }
+
+  private static final class BlueNoiseHolder
+  {
+    private static final DitherMatrix BLUE_NOISE =
+      ofRanks(
+        BLUE_NOISE_SIZE,
+        ColorTables.unsignedShorts(
+          ColorTables.BLUE_NOISE_RANKS,
+          BLUE_NOISE_SIZE * BLUE_NOISE_SIZE,
+          DitherMatrix::blueNoiseRanks
+        )
+      );
+
+    private BlueNoiseHolder()
+    {
+      throw new UnreachableCodeException();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The available methods for distributing quantization error when reducing
+ * colors to eight bits per component.
+ *
+ * @see SRGBQuantizer
+ */
+
+public enum DitherMethod
+{
+  /**
+   * Round each component to the nearest representable value. This is the
+   * cheapest method, but produces visible banding in smooth gradients.
+   */
+
+  NONE,
+
+  /**
+   * Ordered dithering using an 8x8 Bayer threshold matrix. Each pixel is
+   * quantized independently of every other pixel, and so images are
+   * trivially processed in parallel. The matrix produces a characteristic
+   * cross-hatched pattern.
+   */
+
+  BAYER,
+
+  /**
+   * Ordered dithering using a 64x64 blue noise threshold matrix generated
+   * with the void-and-cluster method. As with {@link #BAYER}, each pixel is
+   * quantized independently, but the resulting noise has no visible
+   * structure.
+   */
+
+  BLUE_NOISE,
+
+  /**
+   * Floyd-Steinberg error diffusion. The error of each pixel is propagated
+   * to its unprocessed neighbours, and so rows must be processed in order.
+   * Parallel quantization processes rows as a wavefront: Each row trails the
+   * row above it by a small number of pixels.
+   */
+
+  FLOYD_STEINBERG
+}
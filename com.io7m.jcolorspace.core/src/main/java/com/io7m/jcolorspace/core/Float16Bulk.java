@@ -0,0 +1,514 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.nio.ShortBuffer;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>Functions to convert whole buffers of IEEE 754 half-precision
+ * (binary16) pixels.</p>
+ *
+ * <p>Buffers are interleaved RGBA (or HSVA) components, four components per
+ * pixel, with each component stored as the raw bits of a half-precision
+ * value. The {@code widen} and {@code narrow} functions convert between
+ * half-precision buffers and the {@code double} buffers accepted by the other
+ * bulk conversion functions, and the {@code toHSV} and {@code toRGB} functions
+ * feed half-precision pixels directly through the {@link HSV} conversions
+ * without an intermediate buffer.</p>
+ *
+ * <p>Narrowing rounds to the nearest representable half-precision value,
+ * with ties to even, in a single rounding step from double precision.
+ * Values too large to be represented become infinities, and NaN values are
+ * preserved. The HSV conversions clamp their inputs exactly as
+ * {@link HSVBulk} does.</p>
+ *
+ * <p>The {@link ShortBuffer} functions use absolute indexing: The offsets
+ * are indices into the buffers, and the buffer positions are not changed.
+ * Direct buffers obtained via {@link java.nio.ByteBuffer#asShortBuffer()}
+ * may be used to process pixels held in off-heap memory.</p>
+ */
+
+public final class Float16Bulk
+{
+  private Float16Bulk()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static void checkBounds(
+    final int sourceOffset,
+    final int sourceLength,
+    final int targetOffset,
+    final int targetLength,
+    final int pixels)
+  {
+    final var components = Math.multiplyExact(pixels, 4);
+    Objects.checkFromIndexSize(sourceOffset, components, sourceLength);
+    Objects.checkFromIndexSize(targetOffset, components, targetLength);
+  }
+
+  private static double decode(
+    final short bits)
+  {
+    return Float.float16ToFloat(bits);
+  }
+
+  /**
+   * Round a double precision value to the nearest half-precision value,
+   * with ties to even. Rounding is performed once, directly from the bits
+   * of the double; narrowing to {@code float} first would round twice, and
+   * values just above or below a half-precision tie would be rounded to
+   * the tie and then (possibly) in the wrong direction.
+   *
+   * @param x The value
+   *
+   * @return The half-precision bits
+   */
+
+  static short encode(
+    final double x)
+  {
+    final var bits = Double.doubleToRawLongBits(x);
+    final var sign = (int) (bits >>> 48) & 0x8000;
+    final var exponent = (int) (bits >>> 52) & 0x7ff;
+    final var mantissa = bits & 0xf_ffff_ffff_ffffL;
+
+    if (exponent == 0x7ff) {
+      if (mantissa == 0L) {
+        return (short) (sign | 0x7c00);
+      }
+      return (short) (sign | 0x7e00 | (int) (mantissa >>> 42) & 0x3ff);
+    }
+
+    final var e = exponent - 1023;
+    if (e > 15) {
+      return (short) (sign | 0x7c00);
+    }
+
+    /*
+     * Values below half the smallest subnormal (or exactly half, which
+     * ties to the even zero) round to zero. This also covers double
+     * subnormals and zeroes.
+     */
+
+    if (e < -25) {
+      return (short) sign;
+    }
+
+    final var significand = mantissa | (1L << 52);
+    if (e >= -14) {
+      final var rounded = roundShift(significand, 42);
+      return (short) (sign | (((e + 14) << 10) + rounded));
+    }
+    return (short) (sign | roundShift(significand, 28 - e));
+  }
+
+  /**
+   * Shift {@code value} right by {@code shift} bits, rounding to nearest
+   * with ties to even. For normal results, the returned value includes the
+   * implicit leading bit; a carry out of the mantissa therefore correctly
+   * increments the exponent (and overflows to infinity) when added to the
+   * biased exponent field.
+   *
+   * @param value The value
+   * @param shift The shift, in the range {@code [1, 63]}
+   *
+   * @return The rounded value
+   */
+
+  private static int roundShift(
+    final long value,
+    final int shift)
+  {
+    final var truncated = value >>> shift;
+    final var remainder = value & ((1L << shift) - 1L);
+    final var half = 1L << (shift - 1);
+
+    if (remainder > half || (remainder == half && (truncated & 1L) != 0L)) {
+      return (int) truncated + 1;
+    }
+    return (int) truncated;
+  }
+
+  /**
+   * Widen {@code pixels} half-precision pixels to double precision.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void widen(
+    final short[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.length, targetOffset, target.length, pixels);
+
+    final var count = pixels * 4;
+    for (int index = 0; index < count; ++index) {
+      target[targetOffset + index] = decode(source[sourceOffset + index]);
+    }
+  }
+
+  /**
+   * Widen {@code pixels} half-precision pixels to double precision.
+   *
+   * @param source       The source components
+   * @param sourceOffset The index of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void widen(
+    final ShortBuffer source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.limit(), targetOffset, target.length, pixels);
+
+    final var count = pixels * 4;
+    for (int index = 0; index < count; ++index) {
+      target[targetOffset + index] = decode(source.get(sourceOffset + index));
+    }
+  }
+
+  /**
+   * Narrow {@code pixels} double precision pixels to half-precision.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void narrow(
+    final double[] source,
+    final int sourceOffset,
+    final short[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.length, targetOffset, target.length, pixels);
+
+    final var count = pixels * 4;
+    for (int index = 0; index < count; ++index) {
+      target[targetOffset + index] = encode(source[sourceOffset + index]);
+    }
+  }
+
+  /**
+   * Narrow {@code pixels} double precision pixels to half-precision.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The index of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void narrow(
+    final double[] source,
+    final int sourceOffset,
+    final ShortBuffer target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.length, targetOffset, target.limit(), pixels);
+
+    final var count = pixels * 4;
+    for (int index = 0; index < count; ++index) {
+      target.put(targetOffset + index, encode(source[sourceOffset + index]));
+    }
+  }
+
+  private static void apply(
+    final PixelKernelType kernel,
+    final short[] source,
+    final int sourceOffset,
+    final short[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var out = new double[4];
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      kernel.apply(
+        clamp(decode(source[s]), 0.0, 1.0),
+        clamp(decode(source[s + 1]), 0.0, 1.0),
+        clamp(decode(source[s + 2]), 0.0, 1.0),
+        decode(source[s + 3]),
+        out,
+        0
+      );
+      target[t] = encode(out[0]);
+      target[t + 1] = encode(out[1]);
+      target[t + 2] = encode(out[2]);
+      target[t + 3] = encode(out[3]);
+      s += 4;
+      t += 4;
+    }
+  }
+
+  private static void apply(
+    final PixelKernelType kernel,
+    final ShortBuffer source,
+    final int sourceOffset,
+    final ShortBuffer target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var out = new double[4];
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      kernel.apply(
+        clamp(decode(source.get(s)), 0.0, 1.0),
+        clamp(decode(source.get(s + 1)), 0.0, 1.0),
+        clamp(decode(source.get(s + 2)), 0.0, 1.0),
+        decode(source.get(s + 3)),
+        out,
+        0
+      );
+      target.put(t, encode(out[0]));
+      target.put(t + 1, encode(out[1]));
+      target.put(t + 2, encode(out[2]));
+      target.put(t + 3, encode(out[3]));
+      s += 4;
+      t += 4;
+    }
+  }
+
+  private static void applyParallel(
+    final ForkJoinPool pool,
+    final PixelKernelType kernel,
+    final short[] source,
+    final int sourceOffset,
+    final short[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.length, targetOffset, target.length, pixels);
+
+    ColorBulk.parallelRanges(
+      pool,
+      pixels,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT,
+      (start, end) -> {
+        apply(
+          kernel,
+          source,
+          sourceOffset + start * 4,
+          target,
+          targetOffset + start * 4,
+          end - start
+        );
+      }
+    );
+  }
+
+  /**
+   * Convert {@code pixels} half-precision linear RGB pixels to half-precision
+   * HSV pixels. The source and target may be the same array.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSV(
+    final short[] source,
+    final int sourceOffset,
+    final short[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.length, targetOffset, target.length, pixels);
+    apply(
+      HSV::toHSVComponents, source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  /**
+   * Convert {@code pixels} half-precision HSV pixels to half-precision linear
+   * RGB pixels. The source and target may be the same array.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGB(
+    final short[] source,
+    final int sourceOffset,
+    final short[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.length, targetOffset, target.length, pixels);
+    apply(
+      HSV::toRGBComponents, source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  /**
+   * Convert {@code pixels} half-precision linear RGB pixels to half-precision
+   * HSV pixels. The source and target may be the same buffer.
+   *
+   * @param source       The source components
+   * @param sourceOffset The index of the first source component
+   * @param target       The target components
+   * @param targetOffset The index of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSV(
+    final ShortBuffer source,
+    final int sourceOffset,
+    final ShortBuffer target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.limit(), targetOffset, target.limit(), pixels);
+    apply(
+      HSV::toHSVComponents, source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  /**
+   * Convert {@code pixels} half-precision HSV pixels to half-precision linear
+   * RGB pixels. The source and target may be the same buffer.
+   *
+   * @param source       The source components
+   * @param sourceOffset The index of the first source component
+   * @param target       The target components
+   * @param targetOffset The index of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGB(
+    final ShortBuffer source,
+    final int sourceOffset,
+    final ShortBuffer target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkBounds(
+      sourceOffset, source.limit(), targetOffset, target.limit(), pixels);
+    apply(
+      HSV::toRGBComponents, source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  /**
+   * Convert {@code pixels} half-precision linear RGB pixels to half-precision
+   * HSV pixels, splitting the work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSVParallel(
+    final ForkJoinPool pool,
+    final short[] source,
+    final int sourceOffset,
+    final short[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    applyParallel(
+      pool,
+      HSV::toHSVComponents,
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} half-precision HSV pixels to half-precision linear
+   * RGB pixels, splitting the work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGBParallel(
+    final ForkJoinPool pool,
+    final short[] source,
+    final int sourceOffset,
+    final short[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    applyParallel(
+      pool,
+      HSV::toRGBComponents,
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  @FunctionalInterface
+  private interface PixelKernelType
+  {
+    void apply(
+      double c0,
+      double c1,
+      double c2,
+      double c3,
+      double[] out,
+      int offset);
+  }
+}
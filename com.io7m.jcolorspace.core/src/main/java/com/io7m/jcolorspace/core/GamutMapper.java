@@ -0,0 +1,497 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>A bulk gamut mapping operator.</p>
+ *
+ * <p>A mapper brings linear RGB colors that lie outside of the RGB unit cube
+ * back into it using a {@link GamutMappingStrategy}, and counts the pixels
+ * that were out of gamut. Buffers are arrays of interleaved RGBA components,
+ * four components per pixel; alpha is copied unchanged. Components within a
+ * small tolerance of the unit cube (such as those produced by rounding in a
+ * matrix conversion of white) are clamped without being counted.</p>
+ *
+ * <p>Mappers are immutable apart from their running out-of-gamut total, and
+ * are safe to use from multiple threads.</p>
+ */
+
+public final class GamutMapper
+{
+  /**
+   * The fraction of the maximum in-gamut chroma above which the
+   * {@link GamutMappingStrategy#SOFT_KNEE} strategy begins compressing.
+   */
+
+  public static final double SOFT_KNEE_THRESHOLD = 0.8;
+
+  private static final double TOLERANCE = 1.0e-9;
+  private static final int FUSED_BLOCK_PIXELS = 1024;
+  private static final int BISECTION_STEPS = 24;
+
+  private final GamutMappingStrategy strategy;
+  private final RGBPrimaries primaries;
+  private final LongAdder total;
+  private final double lumaR;
+  private final double lumaG;
+  private final double lumaB;
+  private final OklabTransform oklab;
+
+  private GamutMapper(
+    final GamutMappingStrategy inStrategy,
+    final RGBPrimaries inPrimaries)
+  {
+    this.strategy = inStrategy;
+    this.primaries = inPrimaries;
+    this.total = new LongAdder();
+
+    final var toXYZ = RGBConversionMatrices.toXYZ(inPrimaries);
+    this.lumaR = toXYZ.r1c0();
+    this.lumaG = toXYZ.r1c1();
+    this.lumaB = toXYZ.r1c2();
+
+    if (inStrategy == GamutMappingStrategy.SOFT_KNEE) {
+      this.oklab = new OklabTransform(inPrimaries);
+    } else {
+      this.oklab = null;
+    }
+  }
+
+  /**
+   * Create a mapper for colors in the sRGB color space.
+   *
+   * @param strategy The strategy
+   *
+   * @return A mapper
+   */
+
+  public static GamutMapper create(
+    final GamutMappingStrategy strategy)
+  {
+    return create(strategy, RGBPrimaries.SRGB);
+  }
+
+  /**
+   * Create a mapper for colors in the given color space. The color space
+   * determines the luminance weights used by
+   * {@link GamutMappingStrategy#CHROMA_REDUCTION} and the Oklab transform
+   * used by {@link GamutMappingStrategy#SOFT_KNEE}.
+   *
+   * @param strategy  The strategy
+   * @param primaries The color space of the mapped colors
+   *
+   * @return A mapper
+   */
+
+  public static GamutMapper create(
+    final GamutMappingStrategy strategy,
+    final RGBPrimaries primaries)
+  {
+    return new GamutMapper(
+      Objects.requireNonNull(strategy, "strategy"),
+      Objects.requireNonNull(primaries, "primaries")
+    );
+  }
+
+  /**
+   * @return The strategy
+   */
+
+  public GamutMappingStrategy strategy()
+  {
+    return this.strategy;
+  }
+
+  /**
+   * @return The color space of the mapped colors
+   */
+
+  public RGBPrimaries primaries()
+  {
+    return this.primaries;
+  }
+
+  /**
+   * @return The total number of out-of-gamut pixels seen by this mapper
+   * since creation or the last call to {@link #resetTotal()}
+   */
+
+  public long outOfGamutTotal()
+  {
+    return this.total.sum();
+  }
+
+  /**
+   * Reset the running out-of-gamut total.
+   */
+
+  public void resetTotal()
+  {
+    this.total.reset();
+  }
+
+  /**
+   * Map {@code pixels} pixels into gamut. The source and target may be the
+   * same array, in which case mapping happens in place.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   *
+   * @return The number of pixels that were out of gamut
+   */
+
+  public long map(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+    final var count =
+      this.mapUnchecked(source, sourceOffset, target, targetOffset, pixels);
+    this.total.add(count);
+    return count;
+  }
+
+  /**
+   * Map {@code pixels} pixels into gamut, splitting the work across the
+   * threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   *
+   * @return The number of pixels that were out of gamut
+   */
+
+  public long mapParallel(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    final var count = new LongAdder();
+    ColorBulk.parallelRanges(
+      pool,
+      pixels,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT,
+      (start, end) -> {
+        count.add(this.mapUnchecked(
+          source,
+          sourceOffset + start * 4,
+          target,
+          targetOffset + start * 4,
+          end - start
+        ));
+      });
+
+    final var sum = count.sum();
+    this.total.add(sum);
+    return sum;
+  }
+
+  /**
+   * Fuse this mapper onto the end of {@code conversion}. The resulting
+   * conversion converts pixels in blocks small enough to remain in cache,
+   * and maps each block into gamut immediately after it is converted.
+   * Out-of-gamut pixels are counted in {@link #outOfGamutTotal()}. The
+   * result may be passed to
+   * {@link ColorBulk#convertParallel(ForkJoinPool, ColorBulkConversionType, double[], int, double[], int, int)}.
+   *
+   * @param conversion The conversion
+   * @param <S>        The source color space
+   *
+   * @return A fused conversion
+   */
+
+  public <S extends ColorSpaceTagType>
+  ColorBulkConversionType<S, ColorSpaceTagLinearRGBType> fuse(
+    final ColorBulkConversionType<S, ColorSpaceTagLinearRGBType> conversion)
+  {
+    Objects.requireNonNull(conversion, "conversion");
+
+    return (source, sourceOffset, target, targetOffset, pixels) -> {
+      ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+      long count = 0L;
+      for (int done = 0; done < pixels; done += FUSED_BLOCK_PIXELS) {
+        final var size = Math.min(FUSED_BLOCK_PIXELS, pixels - done);
+        final var s = sourceOffset + done * 4;
+        final var t = targetOffset + done * 4;
+        conversion.convert(source, s, target, t, size);
+        count += this.mapUnchecked(target, t, target, t, size);
+      }
+      this.total.add(count);
+    };
+  }
+
+  private long mapUnchecked(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    return switch (this.strategy) {
+      case CLIP ->
+        mapClip(source, sourceOffset, target, targetOffset, pixels);
+      case CHROMA_REDUCTION ->
+        this.mapChroma(source, sourceOffset, target, targetOffset, pixels);
+      case SOFT_KNEE ->
+        this.mapSoftKnee(source, sourceOffset, target, targetOffset, pixels);
+    };
+  }
+
+  private static boolean isInGamut(
+    final double r,
+    final double g,
+    final double b)
+  {
+    final var min = -TOLERANCE;
+    final var max = 1.0 + TOLERANCE;
+    return isInRange(r, min, max)
+      && isInRange(g, min, max)
+      && isInRange(b, min, max);
+  }
+
+  private static boolean isInRange(
+    final double x,
+    final double min,
+    final double max)
+  {
+    return x >= min && x <= max;
+  }
+
+  private static void write(
+    final double[] target,
+    final int t,
+    final double r,
+    final double g,
+    final double b,
+    final double a)
+  {
+    target[t] = clamp(r, 0.0, 1.0);
+    target[t + 1] = clamp(g, 0.0, 1.0);
+    target[t + 2] = clamp(b, 0.0, 1.0);
+    target[t + 3] = a;
+  }
+
+  private static long mapClip(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    long count = 0L;
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var r = source[s];
+      final var g = source[s + 1];
+      final var b = source[s + 2];
+      if (!isInGamut(r, g, b)) {
+        ++count;
+      }
+      write(target, t, r, g, b, source[s + 3]);
+      s += 4;
+      t += 4;
+    }
+    return count;
+  }
+
+  private long mapChroma(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    long count = 0L;
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var r = source[s];
+      final var g = source[s + 1];
+      final var b = source[s + 2];
+      final var a = source[s + 3];
+
+      if (isInGamut(r, g, b)) {
+        write(target, t, r, g, b, a);
+      } else {
+        ++count;
+        final var y = clamp(
+          this.lumaR * r + this.lumaG * g + this.lumaB * b, 0.0, 1.0);
+        final var f =
+          Math.min(scaleLimit(r, y), Math.min(scaleLimit(g, y), scaleLimit(b, y)));
+        write(target, t, y + (r - y) * f, y + (g - y) * f, y + (b - y) * f, a);
+      }
+      s += 4;
+      t += 4;
+    }
+    return count;
+  }
+
+  /**
+   * @return The largest {@code f} in {@code [0, 1]} such that
+   * {@code y + (c - y) * f} lies in {@code [0, 1]}
+   */
+
+  private static double scaleLimit(
+    final double c,
+    final double y)
+  {
+    if (c > 1.0) {
+      return (1.0 - y) / (c - y);
+    }
+    if (c < 0.0) {
+      return y / (y - c);
+    }
+    return 1.0;
+  }
+
+  private long mapSoftKnee(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var lab = new double[3];
+    final var rgb = new double[3];
+
+    long count = 0L;
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var r = source[s];
+      final var g = source[s + 1];
+      final var b = source[s + 2];
+      final var a = source[s + 3];
+      final var inGamut = isInGamut(r, g, b);
+      if (!inGamut) {
+        ++count;
+      }
+
+      this.oklab.toLab(r, g, b, lab);
+      this.softKnee(lab[0], lab[1], lab[2], inGamut, rgb);
+      if (Double.isNaN(rgb[0])) {
+        write(target, t, r, g, b, a);
+      } else {
+        write(target, t, rgb[0], rgb[1], rgb[2], a);
+      }
+      s += 4;
+      t += 4;
+    }
+    return count;
+  }
+
+  /**
+   * Compress the chroma of the given Oklab color, writing the resulting RGB
+   * color to {@code out}, or writing NaN to {@code out[0]} if the color is
+   * to be left unchanged.
+   */
+
+  private void softKnee(
+    final double l,
+    final double a,
+    final double b,
+    final boolean inGamut,
+    final double[] out)
+  {
+    if (l <= 0.0 || l >= 1.0) {
+      final var gray = clamp(l, 0.0, 1.0);
+      out[0] = gray;
+      out[1] = gray;
+      out[2] = gray;
+      return;
+    }
+
+    final var chroma = Math.hypot(a, b);
+    if (chroma == 0.0) {
+      out[0] = Double.NaN;
+      return;
+    }
+
+    final var ua = a / chroma;
+    final var ub = b / chroma;
+
+    /*
+     * An in-gamut color is untouched if the color with the same lightness
+     * and hue at 1/threshold times its chroma is also in gamut: The knee
+     * lies beyond it.
+     */
+
+    double low = 0.0;
+    double high = chroma;
+    if (inGamut) {
+      high = chroma / SOFT_KNEE_THRESHOLD;
+      if (this.isLabInGamut(l, ua * high, ub * high, out)) {
+        out[0] = Double.NaN;
+        return;
+      }
+      low = chroma;
+    }
+
+    for (int step = 0; step < BISECTION_STEPS; ++step) {
+      final var mid = (low + high) * 0.5;
+      if (this.isLabInGamut(l, ua * mid, ub * mid, out)) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+
+    final var maxChroma = low;
+    final var x = chroma / maxChroma;
+    final var k = SOFT_KNEE_THRESHOLD;
+    final var compressed =
+      x <= k ? x : k + (1.0 - k) * Math.tanh((x - k) / (1.0 - k));
+    final var c = compressed * maxChroma;
+    this.oklab.toRGB(l, ua * c, ub * c, out);
+  }
+
+  private boolean isLabInGamut(
+    final double l,
+    final double a,
+    final double b,
+    final double[] scratch)
+  {
+    this.oklab.toRGB(l, a, b, scratch);
+    return isInRange(scratch[0], 0.0, 1.0)
+      && isInRange(scratch[1], 0.0, 1.0)
+      && isInRange(scratch[2], 0.0, 1.0);
+  }
+}
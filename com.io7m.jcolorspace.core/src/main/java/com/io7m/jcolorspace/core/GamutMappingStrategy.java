@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The available strategies for bringing out-of-gamut linear RGB colors back
+ * into the RGB unit cube.
+ */
+
+public enum GamutMappingStrategy
+{
+  /**
+   * Clamp each component independently to {@code [0, 1]}. This is the
+   * cheapest strategy, and is the behaviour of the scalar accessors in
+   * {@link RGB} and {@link HSV}, but it shifts the hue of colors that exceed
+   * the gamut in more than one component.
+   */
+
+  CLIP,
+
+  /**
+   * Move the color along a straight line towards the gray of equal
+   * luminance until it enters the gamut. The HSV hue of the color is
+   * preserved exactly; only saturation is reduced. Colors whose luminance
+   * itself lies outside {@code [0, 1]} are first moved to black or white.
+   */
+
+  CHROMA_REDUCTION,
+
+  /**
+   * Compress chroma in the Oklab perceptual space using a soft knee: Colors
+   * whose chroma is below a fixed fraction of the maximum in-gamut chroma
+   * for their lightness and hue are untouched, and chroma above that
+   * threshold is smoothly compressed so that the most saturated colors land
+   * on the gamut boundary. Oklab lightness and hue are preserved. This is
+   * the most expensive strategy, and unlike the others, it may slightly
+   * alter colors that are already in gamut.
+   */
+
+  SOFT_KNEE
+}
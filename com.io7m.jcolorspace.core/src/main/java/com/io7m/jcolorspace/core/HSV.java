@@ -37,7 +37,7 @@ public final class HSV
     throw new UnreachableCodeException();
   }
 
-  private static double clamp(
+  static double clamp(
     final double x,
     final double min,
     final double max)
@@ -120,126 +120,576 @@ public final class HSV
   public static PVector4D<ColorSpaceTagHSVType> toHSV(
     final PVector4D<ColorSpaceTagLinearRGBType> rgb)
   {
-    final double r = red(rgb);
-    final double g = green(rgb);
-    final double b = blue(rgb);
+    return toHSVExact(red(rgb), green(rgb), blue(rgb), rgb.w());
+  }
+
+  /**
+   * Convert an HSV value to a linear RGB value.
+   *
+   * @param hsv An HSV value
+   *
+   * @return An RGB value
+   */
+
+  public static PVector4D<ColorSpaceTagLinearRGBType> toRGB(
+    final PVector4D<ColorSpaceTagHSVType> hsv)
+  {
+    return toRGBExact(hue(hsv), saturation(hsv), value(hsv), hsv.w());
+  }
 
+  /**
+   * Convert a linear RGB color value to HSV with the given accuracy.
+   *
+   * @param rgb      A linear RGB value
+   * @param accuracy The accuracy
+   *
+   * @return An HSV value
+   */
+
+  public static PVector4D<ColorSpaceTagHSVType> toHSV(
+    final PVector4D<ColorSpaceTagLinearRGBType> rgb,
+    final ColorAccuracy accuracy)
+  {
+    return switch (accuracy) {
+      case EXACT -> toHSVExact(red(rgb), green(rgb), blue(rgb), rgb.w());
+      case FAST -> toHSVFast(red(rgb), green(rgb), blue(rgb), rgb.w());
+    };
+  }
+
+  /**
+   * Convert an HSV value to a linear RGB value with the given accuracy.
+   *
+   * @param hsv      An HSV value
+   * @param accuracy The accuracy
+   *
+   * @return An RGB value
+   */
+
+  public static PVector4D<ColorSpaceTagLinearRGBType> toRGB(
+    final PVector4D<ColorSpaceTagHSVType> hsv,
+    final ColorAccuracy accuracy)
+  {
+    final var h = hue(hsv);
+    final var s = saturation(hsv);
+    final var v = value(hsv);
+    return switch (accuracy) {
+      case EXACT -> toRGBExact(h, s, v, hsv.w());
+      case FAST -> toRGBFast(h, s, v, hsv.w());
+    };
+  }
+
+  /*
+   * The scalar kernels below and the array kernels used by the bulk API
+   * perform the same sequence of calls to the helpers that follow, which
+   * hold all of the arithmetic, so that both produce identical results. The
+   * scalar kernels return vectors directly rather than writing to a
+   * temporary array.
+   */
+
+  private static PVector4D<ColorSpaceTagHSVType> toHSVExact(
+    final double r,
+    final double g,
+    final double b,
+    final double a)
+  {
+    final var maxC = maximum(r, g, b);
+    final var delta = maxC - minimum(r, g, b);
+    final var saturation = saturationOf(maxC, delta);
+
+    return PVector4D.of(
+      hueExact(r, g, b, maxC, delta, saturation),
+      clamp(saturation, 0.0, 1.0),
+      clamp(maxC, 0.0, 1.0),
+      a);
+  }
+
+  private static PVector4D<ColorSpaceTagHSVType> toHSVFast(
+    final double r,
+    final double g,
+    final double b,
+    final double a)
+  {
+    final var maxC = Math.max(Math.max(r, g), b);
+    final var delta = maxC - Math.min(Math.min(r, g), b);
+    final var product = delta * maxC;
+
+    if (product == 0.0) {
+      if (delta == 0.0) {
+        return PVector4D.of(0.0, 0.0, maxC, a);
+      }
+      return toHSVExact(r, g, b, a);
+    }
+
+    final var reciprocal = 1.0 / product;
+    return PVector4D.of(
+      hueFast(r, g, b, maxC, reciprocal),
+      saturationFast(delta, reciprocal),
+      maxC,
+      a);
+  }
+
+  private static PVector4D<ColorSpaceTagLinearRGBType> toRGBExact(
+    final double hue,
+    final double saturation,
+    final double value,
+    final double a)
+  {
+    if (saturation == 0.0) {
+      return PVector4D.of(value, value, value, a);
+    }
+
+    final var chroma = saturation * value;
+    final var sector = hue * 6.0;
+    final var x = sectorX(chroma, sector);
+    final var m = value - chroma;
+
+    return PVector4D.of(
+      redExact(sector, chroma, x) + m,
+      greenExact(sector, chroma, x) + m,
+      blueExact(sector, chroma, x) + m,
+      a);
+  }
+
+  private static PVector4D<ColorSpaceTagLinearRGBType> toRGBFast(
+    final double hue,
+    final double saturation,
+    final double value,
+    final double a)
+  {
+    final var sector = hue * 6.0;
+    final var index = (int) sector;
+    final var f = sector - index;
+
+    final var p = fastP(value, saturation);
+    final var q = fastQ(value, saturation, f);
+    final var t = fastT(p, value, saturation, f);
+
+    return PVector4D.of(
+      redFast(index, value, p, q, t),
+      greenFast(index, value, p, q, t),
+      blueFast(index, value, p, q, t),
+      a);
+  }
+
+  private static double maximum(
+    final double r,
+    final double g,
+    final double b)
+  {
     double maxC = Math.max(r, g);
     if (b > maxC) {
       maxC = b;
     }
+    return maxC;
+  }
 
+  private static double minimum(
+    final double r,
+    final double g,
+    final double b)
+  {
     double minC = Math.min(r, g);
     if (b < minC) {
       minC = b;
     }
+    return minC;
+  }
 
-    final double value = maxC;
-    final double saturation;
-    final var delta = maxC - minC;
-
+  private static double saturationOf(
+    final double maxC,
+    final double delta)
+  {
     if (maxC != 0.0) {
-      saturation = delta / maxC;
-    } else {
-      saturation = 0.0;
+      return delta / maxC;
     }
+    return 0.0;
+  }
 
-    double hue;
+  private static double hueExact(
+    final double r,
+    final double g,
+    final double b,
+    final double maxC,
+    final double delta,
+    final double saturation)
+  {
     if (saturation == 0.0) {
-      hue = 0.0;
-    } else {
-      final double redc = (maxC - r) / delta;
-      final double greenc = (maxC - g) / delta;
-      final double bluec = (maxC - b) / delta;
-
-      if (r == maxC) {
-        hue = bluec - greenc;
-      } else if (g == maxC) {
-        hue = 2.0 + redc - bluec;
-      } else {
-        hue = 4.0 + greenc - redc;
-      }
+      return 0.0;
+    }
+    return clamp(hueOf(r, g, b, maxC, delta), 0.0, 1.0);
+  }
 
-      hue = hue / 6.0;
-      if (hue < 0.0) {
-        hue = hue + 1.0;
-      }
+  private static double sectorX(
+    final double chroma,
+    final double sector)
+  {
+    return chroma * (1.0 - Math.abs((sector % 2.0) - 1.0));
+  }
+
+  /*
+   * The offset-free RGB components in each of the six hue sectors.
+   * https://en.wikipedia.org/wiki/HSL_and_HSV#HSV_to_RGB
+   */
+
+  private static double redExact(
+    final double sector,
+    final double chroma,
+    final double x)
+  {
+    if (sector < 1.0) {
+      return chroma;
+    }
+    if (sector < 2.0) {
+      return x;
+    }
+    if (sector < 4.0) {
+      return 0.0;
     }
+    if (sector < 5.0) {
+      return x;
+    }
+    return chroma;
+  }
 
-    return PVector4D.of(
-      clamp(hue, 0.0, 1.0),
-      clamp(saturation, 0.0, 1.0),
-      clamp(value, 0.0, 1.0),
-      rgb.w()
-    );
+  private static double greenExact(
+    final double sector,
+    final double chroma,
+    final double x)
+  {
+    if (sector < 1.0) {
+      return x;
+    }
+    if (sector < 3.0) {
+      return chroma;
+    }
+    if (sector < 4.0) {
+      return x;
+    }
+    return 0.0;
+  }
+
+  private static double blueExact(
+    final double sector,
+    final double chroma,
+    final double x)
+  {
+    if (sector < 2.0) {
+      return 0.0;
+    }
+    if (sector < 3.0) {
+      return x;
+    }
+    if (sector < 5.0) {
+      return chroma;
+    }
+    return x;
+  }
+
+  private static double hueFast(
+    final double r,
+    final double g,
+    final double b,
+    final double maxC,
+    final double reciprocal)
+  {
+    final var scale = maxC * reciprocal * (1.0 / 6.0);
+
+    double hue;
+    if (r == maxC) {
+      hue = (g - b) * scale;
+    } else if (g == maxC) {
+      hue = (b - r) * scale + 1.0 / 3.0;
+    } else {
+      hue = (r - g) * scale + 2.0 / 3.0;
+    }
+    if (hue < 0.0) {
+      hue = hue + 1.0;
+    }
+    return hue;
+  }
+
+  private static double saturationFast(
+    final double delta,
+    final double reciprocal)
+  {
+    return Math.min(delta * delta * reciprocal, 1.0);
+  }
+
+  /*
+   * The lowest, falling, and rising components of the sector-and-fraction
+   * formulation of HSV to RGB, and their arrangement in each sector.
+   */
+
+  private static double fastP(
+    final double value,
+    final double saturation)
+  {
+    return value - value * saturation;
+  }
+
+  private static double fastQ(
+    final double value,
+    final double saturation,
+    final double f)
+  {
+    return value - value * saturation * f;
+  }
+
+  private static double fastT(
+    final double p,
+    final double value,
+    final double saturation,
+    final double f)
+  {
+    return p + value * saturation * f;
+  }
+
+  private static double redFast(
+    final int index,
+    final double value,
+    final double p,
+    final double q,
+    final double t)
+  {
+    return switch (index) {
+      case 1 -> q;
+      case 2, 3 -> p;
+      case 4 -> t;
+      default -> value;
+    };
+  }
+
+  private static double greenFast(
+    final int index,
+    final double value,
+    final double p,
+    final double q,
+    final double t)
+  {
+    return switch (index) {
+      case 1, 2 -> value;
+      case 3 -> q;
+      case 4, 5 -> p;
+      default -> t;
+    };
+  }
+
+  private static double blueFast(
+    final int index,
+    final double value,
+    final double p,
+    final double q,
+    final double t)
+  {
+    return switch (index) {
+      case 2 -> t;
+      case 3, 4 -> value;
+      case 5 -> q;
+      default -> p;
+    };
   }
 
   /**
-   * Convert an HSV value to a linear RGB value.
+   * Convert linear RGB components that have already been clamped to the
+   * range {@code [0, 1]} to HSV, writing the results to {@code out}. This is
+   * the reference implementation shared by the scalar and bulk APIs.
    *
-   * @param hsv An HSV value
+   * @param r      The red component
+   * @param g      The green component
+   * @param b      The blue component
+   * @param a      The alpha component
+   * @param out    The output array
+   * @param offset The offset of the first output component
+   */
+
+  static void toHSVComponents(
+    final double r,
+    final double g,
+    final double b,
+    final double a,
+    final double[] out,
+    final int offset)
+  {
+    final var maxC = maximum(r, g, b);
+    final var delta = maxC - minimum(r, g, b);
+    final var saturation = saturationOf(maxC, delta);
+
+    out[offset] = hueExact(r, g, b, maxC, delta, saturation);
+    out[offset + 1] = clamp(saturation, 0.0, 1.0);
+    out[offset + 2] = clamp(maxC, 0.0, 1.0);
+    out[offset + 3] = a;
+  }
+
+  /**
+   * Calculate the unclamped hue of linear RGB components that have already
+   * been clamped to the range {@code [0, 1]}. The components must not all be
+   * equal.
    *
-   * @return An RGB value
+   * @param r     The red component
+   * @param g     The green component
+   * @param b     The blue component
+   * @param maxC  The largest component
+   * @param delta The difference between the largest and smallest components
+   *
+   * @return The hue
    */
 
-  public static PVector4D<ColorSpaceTagLinearRGBType> toRGB(
-    final PVector4D<ColorSpaceTagHSVType> hsv)
+  static double hueOf(
+    final double r,
+    final double g,
+    final double b,
+    final double maxC,
+    final double delta)
+  {
+    final double redc = (maxC - r) / delta;
+    final double greenc = (maxC - g) / delta;
+    final double bluec = (maxC - b) / delta;
+
+    double hue;
+    if (r == maxC) {
+      hue = bluec - greenc;
+    } else if (g == maxC) {
+      hue = 2.0 + redc - bluec;
+    } else {
+      hue = 4.0 + greenc - redc;
+    }
+
+    hue = hue / 6.0;
+    if (hue < 0.0) {
+      hue = hue + 1.0;
+    }
+    return hue;
+  }
+
+  /**
+   * Convert HSV components that have already been clamped to the range
+   * {@code [0, 1]} to linear RGB, writing the results to {@code out}. This is
+   * the reference implementation shared by the scalar and bulk APIs.
+   *
+   * @param hue        The hue component
+   * @param saturation The saturation component
+   * @param value      The value component
+   * @param a          The alpha component
+   * @param out        The output array
+   * @param offset     The offset of the first output component
+   */
+
+  static void toRGBComponents(
+    final double hue,
+    final double saturation,
+    final double value,
+    final double a,
+    final double[] out,
+    final int offset)
   {
-    final double hue = hue(hsv);
-    final double saturation = saturation(hsv);
-    final double value = value(hsv);
+    out[offset + 3] = a;
 
     /*
      * No saturation indicates a shade of grey.
      */
 
     if (saturation == 0.0) {
-      return PVector4D.of(value, value, value, hsv.w());
+      out[offset] = value;
+      out[offset + 1] = value;
+      out[offset + 2] = value;
+      return;
     }
 
-    /*
-     * https://en.wikipedia.org/wiki/HSL_and_HSV#HSV_to_RGB
-     */
-
     final var chroma = saturation * value;
     final var sector = hue * 6.0;
-    final var x = chroma * (1.0 - Math.abs((sector % 2.0) - 1.0));
+    final var x = sectorX(chroma, sector);
     final var m = value - chroma;
 
-    if (sector < 1.0) {
-      final var r = chroma + m;
-      final var g = x + m;
-      final var b = 0.0 + m;
-      return PVector4D.of(r, g, b, hsv.w());
-    }
-    if (sector < 2.0) {
-      final var r = x + m;
-      final var g = chroma + m;
-      final var b = 0.0 + m;
-      return PVector4D.of(r, g, b, hsv.w());
-    }
-    if (sector < 3.0) {
-      final var r = 0.0 + m;
-      final var g = chroma + m;
-      final var b = x + m;
-      return PVector4D.of(r, g, b, hsv.w());
-    }
-    if (sector < 4.0) {
-      final var r = 0.0 + m;
-      final var g = x + m;
-      final var b = chroma + m;
-      return PVector4D.of(r, g, b, hsv.w());
-    }
-    if (sector < 5.0) {
-      final var r = x + m;
-      final var g = 0.0 + m;
-      final var b = chroma + m;
-      return PVector4D.of(r, g, b, hsv.w());
+    out[offset] = redExact(sector, chroma, x) + m;
+    out[offset + 1] = greenExact(sector, chroma, x) + m;
+    out[offset + 2] = blueExact(sector, chroma, x) + m;
+  }
+
+  /**
+   * Convert linear RGB components that have already been clamped to the
+   * range {@code [0, 1]} to HSV with {@link ColorAccuracy#FAST} accuracy.
+   * The reciprocals of the chroma and the maximum component are both
+   * derived from the reciprocal of their product, so only one division is
+   * performed. Hue and value cannot leave the range {@code [0, 1]} for
+   * clamped inputs, and so are not clamped; saturation may round to just
+   * above {@code 1} and so has only an upper bound.
+   *
+   * @param r      The red component
+   * @param g      The green component
+   * @param b      The blue component
+   * @param a      The alpha component
+   * @param out    The output array
+   * @param offset The offset of the first output component
+   */
+
+  static void toHSVComponentsFast(
+    final double r,
+    final double g,
+    final double b,
+    final double a,
+    final double[] out,
+    final int offset)
+  {
+    final var maxC = Math.max(Math.max(r, g), b);
+    final var delta = maxC - Math.min(Math.min(r, g), b);
+    final var product = delta * maxC;
+
+    out[offset + 2] = maxC;
+    out[offset + 3] = a;
+
+    /*
+     * A zero product means the color is a shade of grey, or that the
+     * product underflowed; the exact path handles the latter.
+     */
+
+    if (product == 0.0) {
+      if (delta == 0.0) {
+        out[offset] = 0.0;
+        out[offset + 1] = 0.0;
+      } else {
+        toHSVComponents(r, g, b, a, out, offset);
+      }
+      return;
     }
 
-    final var r = chroma + m;
-    final var g = 0.0 + m;
-    final var b = x + m;
-    return PVector4D.of(r, g, b, hsv.w());
+    final var reciprocal = 1.0 / product;
+    out[offset] = hueFast(r, g, b, maxC, reciprocal);
+    out[offset + 1] = saturationFast(delta, reciprocal);
+  }
+
+  /**
+   * Convert HSV components that have already been clamped to the range
+   * {@code [0, 1]} to linear RGB with {@link ColorAccuracy#FAST} accuracy.
+   * The sector and the position within it are derived by truncation rather
+   * than the floating point remainder operation.
+   *
+   * @param hue        The hue component
+   * @param saturation The saturation component
+   * @param value      The value component
+   * @param a          The alpha component
+   * @param out        The output array
+   * @param offset     The offset of the first output component
+   */
+
+  static void toRGBComponentsFast(
+    final double hue,
+    final double saturation,
+    final double value,
+    final double a,
+    final double[] out,
+    final int offset)
+  {
+    final var sector = hue * 6.0;
+    final var index = (int) sector;
+    final var f = sector - index;
+
+    final var p = fastP(value, saturation);
+    final var q = fastQ(value, saturation, f);
+    final var t = fastT(p, value, saturation, f);
+
+    out[offset] = redFast(index, value, p, q, t);
+    out[offset + 1] = greenFast(index, value, p, q, t);
+    out[offset + 2] = blueFast(index, value, p, q, t);
+    out[offset + 3] = a;
   }
 }
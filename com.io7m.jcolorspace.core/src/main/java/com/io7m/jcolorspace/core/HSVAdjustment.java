@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>An adjustment of HSV pixels: A rotation of hue, and scaling of
+ * saturation and value.</p>
+ *
+ * <p>Buffers are arrays of interleaved HSVA components, four components per
+ * pixel. The hue is rotated around the hue circle and wrapped into
+ * {@code [0, 1)}; saturation and value are scaled and clamped to
+ * {@code [0, 1]}; alpha is copied unchanged. The source and target may be
+ * the same array, in which case adjustment happens in place.</p>
+ *
+ * @param hueShift        The rotation of hue, in turns
+ * @param saturationScale The factor by which saturation is scaled
+ * @param valueScale      The factor by which value is scaled
+ */
+
+public record HSVAdjustment(
+  double hueShift,
+  double saturationScale,
+  double valueScale)
+{
+  /**
+   * The adjustment that leaves pixels unchanged.
+   */
+
+  public static final HSVAdjustment IDENTITY =
+    new HSVAdjustment(0.0, 1.0, 1.0);
+
+  /**
+   * An adjustment of HSV pixels.
+   *
+   * @param hueShift        The rotation of hue, in turns
+   * @param saturationScale The factor by which saturation is scaled
+   * @param valueScale      The factor by which value is scaled
+   */
+
+  public HSVAdjustment
+  {
+    if (!Double.isFinite(hueShift)) {
+      throw new IllegalArgumentException(
+        "Hue shift %s must be finite".formatted(Double.valueOf(hueShift)));
+    }
+    if (!(saturationScale >= 0.0 && Double.isFinite(saturationScale))) {
+      throw new IllegalArgumentException(
+        "Saturation scale %s must be finite and non-negative"
+          .formatted(Double.valueOf(saturationScale)));
+    }
+    if (!(valueScale >= 0.0 && Double.isFinite(valueScale))) {
+      throw new IllegalArgumentException(
+        "Value scale %s must be finite and non-negative"
+          .formatted(Double.valueOf(valueScale)));
+    }
+  }
+
+  /**
+   * Create an adjustment that rotates hue by the given number of degrees.
+   *
+   * @param degrees The rotation of hue in degrees
+   *
+   * @return An adjustment
+   */
+
+  public static HSVAdjustment ofHueDegrees(
+    final double degrees)
+  {
+    return new HSVAdjustment(degrees / 360.0, 1.0, 1.0);
+  }
+
+  /**
+   * Adjust {@code pixels} pixels.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public void apply(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    final var shift = this.hueShift - Math.floor(this.hueShift);
+    final var sScale = this.saturationScale;
+    final var vScale = this.valueScale;
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      double hue = clamp(source[s], 0.0, 1.0) + shift;
+      if (hue >= 1.0) {
+        hue -= 1.0;
+      }
+      target[t] = hue;
+      target[t + 1] = clamp(source[s + 1] * sScale, 0.0, 1.0);
+      target[t + 2] = clamp(source[s + 2] * vScale, 0.0, 1.0);
+      target[t + 3] = source[s + 3];
+      s += 4;
+      t += 4;
+    }
+  }
+
+  /**
+   * Adjust {@code pixels} pixels, splitting the work across the threads of
+   * {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public void applyParallel(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool, this.conversion(), source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  /**
+   * @return This adjustment as a bulk conversion
+   */
+
+  public ColorBulkConversionType<ColorSpaceTagHSVType, ColorSpaceTagHSVType> conversion()
+  {
+    return this::apply;
+  }
+
+  /**
+   * Compose this adjustment with {@code next}. The result rotates hue by
+   * the sum of the rotations, and scales saturation and value by the
+   * products of the scales. The composition is exact apart from clamping:
+   * Applying the adjustments in sequence clamps the intermediate result.
+   *
+   * @param next The adjustment applied after this one
+   *
+   * @return The composed adjustment
+   */
+
+  public HSVAdjustment andThen(
+    final HSVAdjustment next)
+  {
+    Objects.requireNonNull(next, "next");
+    return new HSVAdjustment(
+      this.hueShift + next.hueShift,
+      this.saturationScale * next.saturationScale,
+      this.valueScale * next.valueScale
+    );
+  }
+}
@@ -0,0 +1,900 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>Functions to convert whole buffers of values to and from the HSV color
+ * space.</p>
+ *
+ * <p>Buffers are arrays of interleaved RGBA (or HSVA) components, four
+ * components per pixel. The results are identical to those produced by
+ * calling {@link HSV#toHSV(PVector4D)} and {@link HSV#toRGB(PVector4D)} for
+ * each pixel, but no intermediate objects are allocated. The source and
+ * target may be the same array, in which case conversion happens in place.</p>
+ */
+
+public final class HSVBulk
+{
+  private HSVBulk()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels to HSV.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSV(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      HSV.toHSVComponents(
+        clamp(source[s], 0.0, 1.0),
+        clamp(source[s + 1], 0.0, 1.0),
+        clamp(source[s + 2], 0.0, 1.0),
+        source[s + 3],
+        target,
+        t
+      );
+      s += 4;
+      t += 4;
+    }
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGB(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      HSV.toRGBComponents(
+        clamp(source[s], 0.0, 1.0),
+        clamp(source[s + 1], 0.0, 1.0),
+        clamp(source[s + 2], 0.0, 1.0),
+        source[s + 3],
+        target,
+        t
+      );
+      s += 4;
+      t += 4;
+    }
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels to HSV with the given accuracy.
+   *
+   * @param accuracy     The accuracy
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSV(
+    final ColorAccuracy accuracy,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    switch (accuracy) {
+      case EXACT -> toHSV(source, sourceOffset, target, targetOffset, pixels);
+      case FAST -> toHSVFast(source, sourceOffset, target, targetOffset, pixels);
+    }
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB with the given accuracy.
+   *
+   * @param accuracy     The accuracy
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGB(
+    final ColorAccuracy accuracy,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    switch (accuracy) {
+      case EXACT -> toRGB(source, sourceOffset, target, targetOffset, pixels);
+      case FAST -> toRGBFast(source, sourceOffset, target, targetOffset, pixels);
+    }
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels with the given alpha mode to
+   * HSV. Premultiplied pixels are multiplied by the reciprocal of alpha and
+   * converted in the same loop, so the result is identical to
+   * un-premultiplying the pixels in that manner and then calling
+   * {@link #toHSV(double[], int, double[], int, int)}.
+   *
+   * @param alpha        The alpha mode of the source pixels
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   *
+   * @see ColorAlphaMode
+   */
+
+  public static void toHSV(
+    final ColorAlphaMode alpha,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    toHSV(
+      ColorAccuracy.EXACT,
+      alpha,
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB with the given alpha
+   * mode. When producing premultiplied pixels, the color components are
+   * multiplied by alpha in the same loop as the conversion.
+   *
+   * @param alpha        The alpha mode of the target pixels
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   *
+   * @see ColorAlphaMode
+   */
+
+  public static void toRGB(
+    final ColorAlphaMode alpha,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    toRGB(
+      ColorAccuracy.EXACT,
+      alpha,
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels with the given alpha mode to
+   * HSV with the given accuracy. The result is identical to un-premultiplying
+   * the pixels (if necessary) as described in
+   * {@link #toHSV(ColorAlphaMode, double[], int, double[], int, int)} and
+   * then calling
+   * {@link #toHSV(ColorAccuracy, double[], int, double[], int, int)}.
+   *
+   * @param accuracy     The accuracy
+   * @param alpha        The alpha mode of the source pixels
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   *
+   * @see ColorAlphaMode
+   */
+
+  public static void toHSV(
+    final ColorAccuracy accuracy,
+    final ColorAlphaMode alpha,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    toHSVConversion(accuracy, alpha)
+      .convert(source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB with the given accuracy
+   * and alpha mode. When producing premultiplied pixels, the color
+   * components are multiplied by alpha in the same loop as the conversion.
+   *
+   * @param accuracy     The accuracy
+   * @param alpha        The alpha mode of the target pixels
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   *
+   * @see ColorAlphaMode
+   */
+
+  public static void toRGB(
+    final ColorAccuracy accuracy,
+    final ColorAlphaMode alpha,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    toRGBConversion(accuracy, alpha)
+      .convert(source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  private static void toHSVPremultiplied(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    toHSVPremultiplied(
+      false, source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  private static void toHSVPremultipliedFast(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    toHSVPremultiplied(
+      true, source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  private static void toHSVPremultiplied(
+    final boolean fast,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var a = source[s + 3];
+      if (a > 0.0) {
+        final var r = 1.0 / a;
+        final var cr = clamp(source[s] * r, 0.0, 1.0);
+        final var cg = clamp(source[s + 1] * r, 0.0, 1.0);
+        final var cb = clamp(source[s + 2] * r, 0.0, 1.0);
+        if (fast) {
+          HSV.toHSVComponentsFast(cr, cg, cb, a, target, t);
+        } else {
+          HSV.toHSVComponents(cr, cg, cb, a, target, t);
+        }
+      } else {
+        target[t] = 0.0;
+        target[t + 1] = 0.0;
+        target[t + 2] = 0.0;
+        target[t + 3] = a;
+      }
+      s += 4;
+      t += 4;
+    }
+  }
+
+  private static void toRGBPremultiplied(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    toRGBPremultiplied(
+      false, source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  private static void toRGBPremultipliedFast(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    toRGBPremultiplied(
+      true, source, sourceOffset, target, targetOffset, pixels);
+  }
+
+  private static void toRGBPremultiplied(
+    final boolean fast,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var a = source[s + 3];
+      final var h = clamp(source[s], 0.0, 1.0);
+      final var sat = clamp(source[s + 1], 0.0, 1.0);
+      final var v = clamp(source[s + 2], 0.0, 1.0);
+      if (fast) {
+        HSV.toRGBComponentsFast(h, sat, v, a, target, t);
+      } else {
+        HSV.toRGBComponents(h, sat, v, a, target, t);
+      }
+
+      if (a > 0.0) {
+        target[t] *= a;
+        target[t + 1] *= a;
+        target[t + 2] *= a;
+      } else {
+        target[t] = 0.0;
+        target[t + 1] = 0.0;
+        target[t + 2] = 0.0;
+      }
+      s += 4;
+      t += 4;
+    }
+  }
+
+  private static void toHSVFast(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      HSV.toHSVComponentsFast(
+        clamp(source[s], 0.0, 1.0),
+        clamp(source[s + 1], 0.0, 1.0),
+        clamp(source[s + 2], 0.0, 1.0),
+        source[s + 3],
+        target,
+        t
+      );
+      s += 4;
+      t += 4;
+    }
+  }
+
+  private static void toRGBFast(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      HSV.toRGBComponentsFast(
+        clamp(source[s], 0.0, 1.0),
+        clamp(source[s + 1], 0.0, 1.0),
+        clamp(source[s + 2], 0.0, 1.0),
+        source[s + 3],
+        target,
+        t
+      );
+      s += 4;
+      t += 4;
+    }
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels to HSV with the given accuracy,
+   * splitting the work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param accuracy     The accuracy
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSVParallel(
+    final ForkJoinPool pool,
+    final ColorAccuracy accuracy,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      toHSVConversion(accuracy),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB with the given accuracy,
+   * splitting the work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param accuracy     The accuracy
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGBParallel(
+    final ForkJoinPool pool,
+    final ColorAccuracy accuracy,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      toRGBConversion(accuracy),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels with the given alpha mode to
+   * HSV, splitting the work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param alpha        The alpha mode of the source pixels
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSVParallel(
+    final ForkJoinPool pool,
+    final ColorAlphaMode alpha,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      toHSVConversion(alpha),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB with the given alpha
+   * mode, splitting the work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param alpha        The alpha mode of the target pixels
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGBParallel(
+    final ForkJoinPool pool,
+    final ColorAlphaMode alpha,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      toRGBConversion(alpha),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels with the given alpha mode to
+   * HSV with the given accuracy, splitting the work across the threads of
+   * {@code pool}.
+   *
+   * @param pool         The pool
+   * @param accuracy     The accuracy
+   * @param alpha        The alpha mode of the source pixels
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSVParallel(
+    final ForkJoinPool pool,
+    final ColorAccuracy accuracy,
+    final ColorAlphaMode alpha,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      toHSVConversion(accuracy, alpha),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB with the given accuracy
+   * and alpha mode, splitting the work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param accuracy     The accuracy
+   * @param alpha        The alpha mode of the target pixels
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGBParallel(
+    final ForkJoinPool pool,
+    final ColorAccuracy accuracy,
+    final ColorAlphaMode alpha,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      toRGBConversion(accuracy, alpha),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels to HSV, splitting the work
+   * across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toHSVParallel(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      HSVBulk::toHSV,
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB, splitting the work
+   * across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void toRGBParallel(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      HSVBulk::toRGB,
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} linear RGB pixels to HSV, writing the results to
+   * an array leased from {@code pool}. The converted pixels start at offset
+   * zero in the leased array.
+   *
+   * @param pool         The buffer pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param pixels       The number of pixels
+   *
+   * @return A lease of the converted pixels
+   */
+
+  public static ColorBufferLease<double[]> toHSVPooled(
+    final ColorBufferPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final int pixels)
+  {
+    final var lease = pool.leaseDoubles(Math.multiplyExact(pixels, 4));
+    try {
+      toHSV(source, sourceOffset, lease.buffer(), 0, pixels);
+      return lease;
+    } catch (final RuntimeException e) {
+      lease.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Convert {@code pixels} HSV pixels to linear RGB, writing the results to
+   * an array leased from {@code pool}. The converted pixels start at offset
+   * zero in the leased array.
+   *
+   * @param pool         The buffer pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param pixels       The number of pixels
+   *
+   * @return A lease of the converted pixels
+   */
+
+  public static ColorBufferLease<double[]> toRGBPooled(
+    final ColorBufferPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final int pixels)
+  {
+    final var lease = pool.leaseDoubles(Math.multiplyExact(pixels, 4));
+    try {
+      toRGB(source, sourceOffset, lease.buffer(), 0, pixels);
+      return lease;
+    } catch (final RuntimeException e) {
+      lease.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return A bulk conversion from linear RGB to HSV
+   */
+
+  public static ColorBulkConversionType<ColorSpaceTagLinearRGBType, ColorSpaceTagHSVType> toHSVConversion()
+  {
+    return HSVBulk::toHSV;
+  }
+
+  /**
+   * @return A bulk conversion from HSV to linear RGB
+   */
+
+  public static ColorBulkConversionType<ColorSpaceTagHSVType, ColorSpaceTagLinearRGBType> toRGBConversion()
+  {
+    return HSVBulk::toRGB;
+  }
+
+  /**
+   * @param accuracy The accuracy
+   *
+   * @return A bulk conversion from linear RGB to HSV with the given accuracy
+   */
+
+  public static ColorBulkConversionType<ColorSpaceTagLinearRGBType, ColorSpaceTagHSVType> toHSVConversion(
+    final ColorAccuracy accuracy)
+  {
+    return toHSVConversion(accuracy, ColorAlphaMode.STRAIGHT);
+  }
+
+  /**
+   * @param accuracy The accuracy
+   *
+   * @return A bulk conversion from HSV to linear RGB with the given accuracy
+   */
+
+  public static ColorBulkConversionType<ColorSpaceTagHSVType, ColorSpaceTagLinearRGBType> toRGBConversion(
+    final ColorAccuracy accuracy)
+  {
+    return toRGBConversion(accuracy, ColorAlphaMode.STRAIGHT);
+  }
+
+  /**
+   * @param alpha The alpha mode of the source pixels
+   *
+   * @return A bulk conversion from linear RGB to HSV with the given alpha
+   * mode
+   */
+
+  public static ColorBulkConversionType<ColorSpaceTagLinearRGBType, ColorSpaceTagHSVType> toHSVConversion(
+    final ColorAlphaMode alpha)
+  {
+    return toHSVConversion(ColorAccuracy.EXACT, alpha);
+  }
+
+  /**
+   * @param alpha The alpha mode of the target pixels
+   *
+   * @return A bulk conversion from HSV to linear RGB with the given alpha
+   * mode
+   */
+
+  public static ColorBulkConversionType<ColorSpaceTagHSVType, ColorSpaceTagLinearRGBType> toRGBConversion(
+    final ColorAlphaMode alpha)
+  {
+    return toRGBConversion(ColorAccuracy.EXACT, alpha);
+  }
+
+  /**
+   * @param accuracy The accuracy
+   * @param alpha    The alpha mode of the source pixels
+   *
+   * @return A bulk conversion from linear RGB to HSV with the given accuracy
+   * and alpha mode
+   */
+
+  public static ColorBulkConversionType<ColorSpaceTagLinearRGBType, ColorSpaceTagHSVType> toHSVConversion(
+    final ColorAccuracy accuracy,
+    final ColorAlphaMode alpha)
+  {
+    return switch (alpha) {
+      case STRAIGHT -> switch (accuracy) {
+        case EXACT -> HSVBulk::toHSV;
+        case FAST -> HSVBulk::toHSVFast;
+      };
+      case PREMULTIPLIED -> switch (accuracy) {
+        case EXACT -> HSVBulk::toHSVPremultiplied;
+        case FAST -> HSVBulk::toHSVPremultipliedFast;
+      };
+    };
+  }
+
+  /**
+   * @param accuracy The accuracy
+   * @param alpha    The alpha mode of the target pixels
+   *
+   * @return A bulk conversion from HSV to linear RGB with the given accuracy
+   * and alpha mode
+   */
+
+  public static ColorBulkConversionType<ColorSpaceTagHSVType, ColorSpaceTagLinearRGBType> toRGBConversion(
+    final ColorAccuracy accuracy,
+    final ColorAlphaMode alpha)
+  {
+    return switch (alpha) {
+      case STRAIGHT -> switch (accuracy) {
+        case EXACT -> HSVBulk::toRGB;
+        case FAST -> HSVBulk::toRGBFast;
+      };
+      case PREMULTIPLIED -> switch (accuracy) {
+        case EXACT -> HSVBulk::toRGBPremultiplied;
+        case FAST -> HSVBulk::toRGBPremultipliedFast;
+      };
+    };
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>Summary statistics of a buffer of HSV pixels.</p>
+ *
+ * <p>Statistics are held as sums so that the statistics of separate
+ * buffers can be combined exactly with {@link #combine(HSVStatistics)}.
+ * Hue is a circular quantity, so the mean hue is the direction of the sum
+ * of the unit hue vectors of all pixels, each weighted by its saturation;
+ * achromatic pixels therefore do not contribute to the mean hue.</p>
+ *
+ * @param pixels        The number of pixels
+ * @param hueX          The sum of the saturation-weighted hue cosines
+ * @param hueY          The sum of the saturation-weighted hue sines
+ * @param saturationSum The sum of the saturations
+ * @param valueSum      The sum of the values
+ * @param valueMin      The minimum value, or {@code +Infinity} if there are
+ *                      no pixels
+ * @param valueMax      The maximum value, or {@code -Infinity} if there are
+ *                      no pixels
+ */
+
+public record HSVStatistics(
+  long pixels,
+  double hueX,
+  double hueY,
+  double saturationSum,
+  double valueSum,
+  double valueMin,
+  double valueMax)
+{
+  /**
+   * The statistics of an empty buffer.
+   */
+
+  public static final HSVStatistics EMPTY =
+    new HSVStatistics(
+      0L,
+      0.0,
+      0.0,
+      0.0,
+      0.0,
+      Double.POSITIVE_INFINITY,
+      Double.NEGATIVE_INFINITY
+    );
+
+  /**
+   * Summary statistics of a buffer of HSV pixels.
+   *
+   * @param pixels        The number of pixels
+   * @param hueX          The sum of the saturation-weighted hue cosines
+   * @param hueY          The sum of the saturation-weighted hue sines
+   * @param saturationSum The sum of the saturations
+   * @param valueSum      The sum of the values
+   * @param valueMin      The minimum value
+   * @param valueMax      The maximum value
+   */
+
+  public HSVStatistics
+  {
+    if (pixels < 0L) {
+      throw new IllegalArgumentException(
+        "Pixel count %d must be non-negative".formatted(Long.valueOf(pixels)));
+    }
+  }
+
+  /**
+   * Calculate the statistics of {@code pixels} HSV pixels. Components are
+   * clamped to {@code [0, 1]}.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param pixels       The number of pixels
+   *
+   * @return The statistics
+   */
+
+  public static HSVStatistics of(
+    final double[] source,
+    final int sourceOffset,
+    final int pixels)
+  {
+    Objects.checkFromIndexSize(
+      sourceOffset, Math.multiplyExact(pixels, 4), source.length);
+
+    double hueX = 0.0;
+    double hueY = 0.0;
+    double saturationSum = 0.0;
+    double valueSum = 0.0;
+    double valueMin = Double.POSITIVE_INFINITY;
+    double valueMax = Double.NEGATIVE_INFINITY;
+
+    int s = sourceOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var angle = HSV.clamp(source[s], 0.0, 1.0) * (2.0 * Math.PI);
+      final var saturation = HSV.clamp(source[s + 1], 0.0, 1.0);
+      final var value = HSV.clamp(source[s + 2], 0.0, 1.0);
+      hueX += Math.cos(angle) * saturation;
+      hueY += Math.sin(angle) * saturation;
+      saturationSum += saturation;
+      valueSum += value;
+      valueMin = Math.min(valueMin, value);
+      valueMax = Math.max(valueMax, value);
+      s += 4;
+    }
+
+    return new HSVStatistics(
+      pixels, hueX, hueY, saturationSum, valueSum, valueMin, valueMax);
+  }
+
+  /**
+   * Calculate the statistics of {@code pixels} HSV pixels, splitting the
+   * work across the threads of {@code pool}. The result is identical to
+   * that of {@link #of(double[], int, int)} apart from rounding in the sums.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param pixels       The number of pixels
+   *
+   * @return The statistics
+   */
+
+  public static HSVStatistics ofParallel(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final int pixels)
+  {
+    Objects.checkFromIndexSize(
+      sourceOffset, Math.multiplyExact(pixels, 4), source.length);
+
+    final var result = new HSVStatistics[]{EMPTY};
+    ColorBulk.parallelRanges(
+      pool,
+      pixels,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT,
+      (start, end) -> {
+        final var part = of(source, sourceOffset + start * 4, end - start);
+        synchronized (result) {
+          result[0] = result[0].combine(part);
+        }
+      });
+
+    synchronized (result) {
+      return result[0];
+    }
+  }
+
+  /**
+   * Combine these statistics with {@code other}.
+   *
+   * @param other The other statistics
+   *
+   * @return The statistics of the union of both buffers
+   */
+
+  public HSVStatistics combine(
+    final HSVStatistics other)
+  {
+    Objects.requireNonNull(other, "other");
+    return new HSVStatistics(
+      this.pixels + other.pixels,
+      this.hueX + other.hueX,
+      this.hueY + other.hueY,
+      this.saturationSum + other.saturationSum,
+      this.valueSum + other.valueSum,
+      Math.min(this.valueMin, other.valueMin),
+      Math.max(this.valueMax, other.valueMax)
+    );
+  }
+
+  /**
+   * @return The mean hue in {@code [0, 1)}, or {@code 0} if no pixel has
+   * any saturation
+   */
+
+  public double meanHue()
+  {
+    if (this.hueX == 0.0 && this.hueY == 0.0) {
+      return 0.0;
+    }
+    final var turns = Math.atan2(this.hueY, this.hueX) / (2.0 * Math.PI);
+    return turns < 0.0 ? turns + 1.0 : turns;
+  }
+
+  /**
+   * @return The length of the mean saturation-weighted hue vector relative
+   * to the mean saturation; {@code 1} when all chromatic pixels share a
+   * single hue, and near {@code 0} when hues are spread evenly
+   */
+
+  public double hueConcentration()
+  {
+    if (this.saturationSum == 0.0) {
+      return 0.0;
+    }
+    return Math.hypot(this.hueX, this.hueY) / this.saturationSum;
+  }
+
+  /**
+   * @return The mean saturation, or {@code 0} if there are no pixels
+   */
+
+  public double meanSaturation()
+  {
+    if (this.pixels == 0L) {
+      return 0.0;
+    }
+    return this.saturationSum / this.pixels;
+  }
+
+  /**
+   * @return The mean value, or {@code 0} if there are no pixels
+   */
+
+  public double meanValue()
+  {
+    if (this.pixels == 0L) {
+      return 0.0;
+    }
+    return this.valueSum / this.pixels;
+  }
+}
@@ -0,0 +1,557 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>A threshold over HSV ranges, evaluated directly on linear RGB
+ * pixels.</p>
+ *
+ * <p>A pixel is inside the threshold if its hue, saturation, and value all
+ * lie within the respective ranges. Hue is measured in turns; if
+ * {@code hueMin} is greater than {@code hueMax}, the hue range wraps around
+ * the hue circle and contains the hues at or above {@code hueMin} together
+ * with the hues at or below {@code hueMax}. As in {@link HSV}, the hue of a
+ * fully desaturated pixel is {@code 0}.</p>
+ *
+ * <p>Source buffers are arrays of interleaved linear RGBA components, four
+ * components per pixel, clamped to {@code [0, 1]} as with
+ * {@link HSVBulk}. The HSV representation of each pixel is computed and
+ * tested in the same pass, and is never stored; value and saturation are
+ * tested before hue is computed, so pixels rejected on value or saturation
+ * cost no division for hue. Source alpha is ignored.</p>
+ *
+ * <p>Masks are written as packed bitsets in the layout of
+ * {@link java.util.BitSet#toLongArray()}: Pixel {@code i} corresponds to bit
+ * {@code (bitOffset + i) % 64} of word {@code (bitOffset + i) / 64}. Bits
+ * outside of the written range are preserved. Mattes are written as one
+ * unsigned byte per pixel, and have soft edges: A pixel that lies outside of
+ * a range by a distance {@code d} has a weight of {@code 1 - d / feather} in
+ * that dimension, clamped to {@code [0, 1]}, and the matte is the product of
+ * the three weights scaled to {@code [0, 255]}. Masks ignore the feathers.</p>
+ *
+ * @param hueMin            The lower bound of the hue range
+ * @param hueMax            The upper bound of the hue range
+ * @param saturationMin     The lower bound of the saturation range
+ * @param saturationMax     The upper bound of the saturation range
+ * @param valueMin          The lower bound of the value range
+ * @param valueMax          The upper bound of the value range
+ * @param hueFeather        The width of the soft edge of the hue range
+ * @param saturationFeather The width of the soft edge of the saturation range
+ * @param valueFeather      The width of the soft edge of the value range
+ */
+
+public record HSVThreshold(
+  double hueMin,
+  double hueMax,
+  double saturationMin,
+  double saturationMax,
+  double valueMin,
+  double valueMax,
+  double hueFeather,
+  double saturationFeather,
+  double valueFeather)
+{
+  /**
+   * A threshold over HSV ranges.
+   *
+   * @param hueMin            The lower bound of the hue range
+   * @param hueMax            The upper bound of the hue range
+   * @param saturationMin     The lower bound of the saturation range
+   * @param saturationMax     The upper bound of the saturation range
+   * @param valueMin          The lower bound of the value range
+   * @param valueMax          The upper bound of the value range
+   * @param hueFeather        The width of the soft edge of the hue range
+   * @param saturationFeather The width of the soft edge of the saturation range
+   * @param valueFeather      The width of the soft edge of the value range
+   */
+
+  public HSVThreshold
+  {
+    checkUnit("Hue minimum", hueMin, 1.0);
+    checkUnit("Hue maximum", hueMax, 1.0);
+    checkUnit("Saturation minimum", saturationMin, 1.0);
+    checkUnit("Saturation maximum", saturationMax, 1.0);
+    checkUnit("Value minimum", valueMin, 1.0);
+    checkUnit("Value maximum", valueMax, 1.0);
+    checkUnit("Hue feather", hueFeather, 0.5);
+    checkUnit("Saturation feather", saturationFeather, 1.0);
+    checkUnit("Value feather", valueFeather, 1.0);
+
+    if (saturationMin > saturationMax) {
+      throw new IllegalArgumentException(
+        "Saturation minimum %s must be <= saturation maximum %s"
+          .formatted(
+            Double.valueOf(saturationMin),
+            Double.valueOf(saturationMax))
+      );
+    }
+    if (valueMin > valueMax) {
+      throw new IllegalArgumentException(
+        "Value minimum %s must be <= value maximum %s"
+          .formatted(Double.valueOf(valueMin), Double.valueOf(valueMax))
+      );
+    }
+  }
+
+  private static void checkUnit(
+    final String name,
+    final double x,
+    final double max)
+  {
+    if (!(x >= 0.0 && x <= max)) {
+      throw new IllegalArgumentException(
+        "%s %s must be in the range [0, %s]"
+          .formatted(name, Double.valueOf(x), Double.valueOf(max))
+      );
+    }
+  }
+
+  /**
+   * Create a threshold with hard edges.
+   *
+   * @param hueMin        The lower bound of the hue range
+   * @param hueMax        The upper bound of the hue range
+   * @param saturationMin The lower bound of the saturation range
+   * @param saturationMax The upper bound of the saturation range
+   * @param valueMin      The lower bound of the value range
+   * @param valueMax      The upper bound of the value range
+   *
+   * @return A threshold
+   */
+
+  public static HSVThreshold of(
+    final double hueMin,
+    final double hueMax,
+    final double saturationMin,
+    final double saturationMax,
+    final double valueMin,
+    final double valueMax)
+  {
+    return new HSVThreshold(
+      hueMin,
+      hueMax,
+      saturationMin,
+      saturationMax,
+      valueMin,
+      valueMax,
+      0.0,
+      0.0,
+      0.0
+    );
+  }
+
+  /**
+   * Create a threshold that is identical to this threshold, but with the
+   * given soft edge widths.
+   *
+   * @param hue        The width of the soft edge of the hue range
+   * @param saturation The width of the soft edge of the saturation range
+   * @param value      The width of the soft edge of the value range
+   *
+   * @return A threshold
+   */
+
+  public HSVThreshold withFeather(
+    final double hue,
+    final double saturation,
+    final double value)
+  {
+    return new HSVThreshold(
+      this.hueMin,
+      this.hueMax,
+      this.saturationMin,
+      this.saturationMax,
+      this.valueMin,
+      this.valueMax,
+      hue,
+      saturation,
+      value
+    );
+  }
+
+  /**
+   * Determine whether the given HSV color is inside the threshold.
+   *
+   * @param hue        The hue
+   * @param saturation The saturation
+   * @param value      The value
+   *
+   * @return {@code true} if the color is inside all ranges
+   */
+
+  public boolean contains(
+    final double hue,
+    final double saturation,
+    final double value)
+  {
+    return value >= this.valueMin && value <= this.valueMax
+      && this.containsSaturation(saturation)
+      && this.containsHue(hue);
+  }
+
+  private boolean containsSaturation(
+    final double saturation)
+  {
+    return saturation >= this.saturationMin
+      && saturation <= this.saturationMax;
+  }
+
+  private boolean containsHue(
+    final double hue)
+  {
+    if (this.hueMin <= this.hueMax) {
+      return hue >= this.hueMin && hue <= this.hueMax;
+    }
+    return hue >= this.hueMin || hue <= this.hueMax;
+  }
+
+  /**
+   * Write a bit for each of {@code pixels} pixels to {@code bits}, set if
+   * the pixel is inside the threshold and clear otherwise.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param bits         The target bitset
+   * @param bitOffset    The index of the first target bit
+   * @param pixels       The number of pixels
+   */
+
+  public void mask(
+    final double[] source,
+    final int sourceOffset,
+    final long[] bits,
+    final int bitOffset,
+    final int pixels)
+  {
+    checkMaskBounds(source, sourceOffset, bits, bitOffset, pixels);
+    this.maskRange(source, sourceOffset, bits, bitOffset, 0, pixels);
+  }
+
+  /**
+   * Write a bit for each of {@code pixels} pixels to {@code bits}, set if
+   * the pixel is inside the threshold and clear otherwise, splitting the
+   * work across the threads of {@code pool}. The work is split on word
+   * boundaries, so no two threads write to the same word.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param bits         The target bitset
+   * @param bitOffset    The index of the first target bit
+   * @param pixels       The number of pixels
+   */
+
+  public void maskParallel(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final long[] bits,
+    final int bitOffset,
+    final int pixels)
+  {
+    checkMaskBounds(source, sourceOffset, bits, bitOffset, pixels);
+    if (pixels == 0) {
+      return;
+    }
+
+    final var firstWord = bitOffset >>> 6;
+    final var lastWord = (bitOffset + pixels - 1) >>> 6;
+    ColorBulk.parallelRanges(
+      pool,
+      lastWord - firstWord + 1,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT >>> 6,
+      (start, end) -> {
+        final var base = (long) firstWord << 6;
+        final var pixelStart =
+          (int) Math.max(0L, base + ((long) start << 6) - bitOffset);
+        final var pixelEnd =
+          (int) Math.min(pixels, base + ((long) end << 6) - bitOffset);
+        this.maskRange(
+          source, sourceOffset, bits, bitOffset, pixelStart, pixelEnd);
+      }
+    );
+  }
+
+  private static void checkMaskBounds(
+    final double[] source,
+    final int sourceOffset,
+    final long[] bits,
+    final int bitOffset,
+    final int pixels)
+  {
+    Objects.checkFromIndexSize(
+      sourceOffset, Math.multiplyExact(pixels, 4), source.length);
+    Objects.checkFromIndexSize(
+      (long) bitOffset, (long) pixels, (long) bits.length << 6);
+    Math.addExact(bitOffset, pixels);
+  }
+
+  private void maskRange(
+    final double[] source,
+    final int sourceOffset,
+    final long[] bits,
+    final int bitOffset,
+    final int pixelStart,
+    final int pixelEnd)
+  {
+    int s = sourceOffset + pixelStart * 4;
+    int bit = bitOffset + pixelStart;
+    int pixel = pixelStart;
+
+    /*
+     * Accumulate up to a word of results in a register, and then merge
+     * the word into the bitset with a single store.
+     */
+
+    while (pixel < pixelEnd) {
+      final var first = bit & 63;
+      final var count = Math.min(64 - first, pixelEnd - pixel);
+
+      long word = 0L;
+      for (int index = 0; index < count; ++index) {
+        if (this.containsRGB(
+          clamp(source[s], 0.0, 1.0),
+          clamp(source[s + 1], 0.0, 1.0),
+          clamp(source[s + 2], 0.0, 1.0))) {
+          word |= 1L << (first + index);
+        }
+        s += 4;
+      }
+
+      final long written;
+      if (count == 64) {
+        written = -1L;
+      } else {
+        written = ((1L << count) - 1L) << first;
+      }
+
+      final var wordIndex = bit >>> 6;
+      bits[wordIndex] = (bits[wordIndex] & ~written) | word;
+      pixel += count;
+      bit += count;
+    }
+  }
+
+  private boolean containsRGB(
+    final double r,
+    final double g,
+    final double b)
+  {
+    final var maxC = Math.max(Math.max(r, g), b);
+    if (maxC < this.valueMin || maxC > this.valueMax) {
+      return false;
+    }
+
+    final var minC = Math.min(Math.min(r, g), b);
+    final var delta = maxC - minC;
+    final var saturation = saturationOf(maxC, delta);
+    if (!this.containsSaturation(saturation)) {
+      return false;
+    }
+    return this.containsHue(hueOf(r, g, b, maxC, delta, saturation));
+  }
+
+  private static double saturationOf(
+    final double maxC,
+    final double delta)
+  {
+    if (maxC != 0.0) {
+      return delta / maxC;
+    }
+    return 0.0;
+  }
+
+  private static double hueOf(
+    final double r,
+    final double g,
+    final double b,
+    final double maxC,
+    final double delta,
+    final double saturation)
+  {
+    if (saturation == 0.0) {
+      return 0.0;
+    }
+    return clamp(HSV.hueOf(r, g, b, maxC, delta), 0.0, 1.0);
+  }
+
+  /**
+   * Write a matte value for each of {@code pixels} pixels to {@code target},
+   * as unsigned bytes in the range {@code [0, 255]}.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target matte
+   * @param targetOffset The offset of the first target byte
+   * @param pixels       The number of pixels
+   */
+
+  public void matte(
+    final double[] source,
+    final int sourceOffset,
+    final byte[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkMatteBounds(source, sourceOffset, target, targetOffset, pixels);
+    this.matteRange(source, sourceOffset, target, targetOffset, 0, pixels);
+  }
+
+  /**
+   * Write a matte value for each of {@code pixels} pixels to {@code target},
+   * as unsigned bytes in the range {@code [0, 255]}, splitting the work
+   * across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target matte
+   * @param targetOffset The offset of the first target byte
+   * @param pixels       The number of pixels
+   */
+
+  public void matteParallel(
+    final ForkJoinPool pool,
+    final double[] source,
+    final int sourceOffset,
+    final byte[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    checkMatteBounds(source, sourceOffset, target, targetOffset, pixels);
+    ColorBulk.parallelRanges(
+      pool,
+      pixels,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT,
+      (start, end) -> {
+        this.matteRange(source, sourceOffset, target, targetOffset, start, end);
+      }
+    );
+  }
+
+  private static void checkMatteBounds(
+    final double[] source,
+    final int sourceOffset,
+    final byte[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    Objects.checkFromIndexSize(
+      sourceOffset, Math.multiplyExact(pixels, 4), source.length);
+    Objects.checkFromIndexSize(targetOffset, pixels, target.length);
+  }
+
+  private void matteRange(
+    final double[] source,
+    final int sourceOffset,
+    final byte[] target,
+    final int targetOffset,
+    final int pixelStart,
+    final int pixelEnd)
+  {
+    int s = sourceOffset + pixelStart * 4;
+    for (int pixel = pixelStart; pixel < pixelEnd; ++pixel) {
+      final var weight = this.weightRGB(
+        clamp(source[s], 0.0, 1.0),
+        clamp(source[s + 1], 0.0, 1.0),
+        clamp(source[s + 2], 0.0, 1.0)
+      );
+      target[targetOffset + pixel] = (byte) (int) (weight * 255.0 + 0.5);
+      s += 4;
+    }
+  }
+
+  private double weightRGB(
+    final double r,
+    final double g,
+    final double b)
+  {
+    final var maxC = Math.max(Math.max(r, g), b);
+    final var valueWeight =
+      rangeWeight(maxC, this.valueMin, this.valueMax, this.valueFeather);
+    if (valueWeight == 0.0) {
+      return 0.0;
+    }
+
+    final var minC = Math.min(Math.min(r, g), b);
+    final var delta = maxC - minC;
+    final var saturation = saturationOf(maxC, delta);
+    final var saturationWeight = rangeWeight(
+      saturation,
+      this.saturationMin,
+      this.saturationMax,
+      this.saturationFeather
+    );
+    if (saturationWeight == 0.0) {
+      return 0.0;
+    }
+
+    final var hue = hueOf(r, g, b, maxC, delta, saturation);
+    return valueWeight * saturationWeight * this.hueWeight(hue);
+  }
+
+  private static double rangeWeight(
+    final double x,
+    final double min,
+    final double max,
+    final double feather)
+  {
+    final double distance;
+    if (x < min) {
+      distance = min - x;
+    } else if (x > max) {
+      distance = x - max;
+    } else {
+      return 1.0;
+    }
+
+    /*
+     * A zero feather yields an infinite quotient, and therefore a weight
+     * of zero.
+     */
+
+    return Math.max(0.0, 1.0 - distance / feather);
+  }
+
+  private double hueWeight(
+    final double hue)
+  {
+    if (this.containsHue(hue)) {
+      return 1.0;
+    }
+
+    final var distance = Math.min(
+      circularDistance(hue, this.hueMin),
+      circularDistance(hue, this.hueMax)
+    );
+    return Math.max(0.0, 1.0 - distance / this.hueFeather);
+  }
+
+  private static double circularDistance(
+    final double x,
+    final double y)
+  {
+    final var d = Math.abs(x - y);
+    return Math.min(d, 1.0 - d);
+  }
+}
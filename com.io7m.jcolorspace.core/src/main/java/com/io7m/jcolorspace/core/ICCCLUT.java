@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * Interpolation over three dimensional color lookup tables with three
+ * output channels. The first input channel varies slowest in the table.
+ */
+
+final class ICCCLUT
+{
+  private ICCCLUT()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Trilinearly interpolate the table at the given input, replacing the
+   * input values with the output values.
+   *
+   * @param grid   The number of grid points in each dimension
+   * @param data   The table data
+   * @param values The input and output values
+   */
+
+  static void interpolate(
+    final int[] grid,
+    final double[] data,
+    final double[] values)
+  {
+    final var p0 = clamp(values[0], 0.0, 1.0) * (grid[0] - 1);
+    final var p1 = clamp(values[1], 0.0, 1.0) * (grid[1] - 1);
+    final var p2 = clamp(values[2], 0.0, 1.0) * (grid[2] - 1);
+    final var i0 = Math.min((int) p0, grid[0] - 2);
+    final var i1 = Math.min((int) p1, grid[1] - 2);
+    final var i2 = Math.min((int) p2, grid[2] - 2);
+    final var f0 = p0 - i0;
+    final var f1 = p1 - i1;
+    final var f2 = p2 - i2;
+
+    final var s2 = 3;
+    final var s1 = grid[2] * s2;
+    final var s0 = grid[1] * s1;
+    final var base = i0 * s0 + i1 * s1 + i2 * s2;
+
+    for (int c = 0; c < 3; ++c) {
+      final var b = base + c;
+      final var c00 = lerp(data[b], data[b + s2], f2);
+      final var c01 = lerp(data[b + s1], data[b + s1 + s2], f2);
+      final var c10 = lerp(data[b + s0], data[b + s0 + s2], f2);
+      final var c11 = lerp(data[b + s0 + s1], data[b + s0 + s1 + s2], f2);
+      values[c] = lerp(lerp(c00, c01, f1), lerp(c10, c11, f1), f0);
+    }
+  }
+
+  private static double lerp(
+    final double x,
+    final double y,
+    final double f)
+  {
+    return x + (y - x) * f;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrix3x3D;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * The matrix/TRC model of an RGB ICC profile: Three tone reproduction
+ * curves that linearize device values, followed by a matrix to PCS XYZ.
+ */
+
+final class ICCMatrixTRC
+{
+  private static final int INVERSION_STEPS = 40;
+
+  private final DoubleUnaryOperator[] curves;
+  private final PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagXYZType> toXYZ;
+  private final PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagLinearRGBType> fromXYZ;
+
+  ICCMatrixTRC(
+    final DoubleUnaryOperator[] inCurves,
+    final PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagXYZType> inToXYZ)
+    throws ICCProfileException
+  {
+    this.curves = inCurves;
+    this.toXYZ = inToXYZ;
+    this.fromXYZ = PMatrices3x3D.invert(inToXYZ).orElseThrow(() -> {
+      return new ICCProfileException(
+        "The colorant matrix of the profile is singular");
+    });
+  }
+
+  PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagXYZType> toXYZ()
+  {
+    return this.toXYZ;
+  }
+
+  PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagLinearRGBType> fromXYZ()
+  {
+    return this.fromXYZ;
+  }
+
+  double curve(
+    final int channel,
+    final double x)
+  {
+    return this.curves[channel].applyAsDouble(clamp(x, 0.0, 1.0));
+  }
+
+  /**
+   * Invert a curve by bisection. Tone reproduction curves are required to be
+   * monotonic.
+   */
+
+  double curveInverse(
+    final int channel,
+    final double y)
+  {
+    final var curve = this.curves[channel];
+    final var increasing =
+      curve.applyAsDouble(1.0) >= curve.applyAsDouble(0.0);
+
+    double low = 0.0;
+    double high = 1.0;
+    for (int step = 0; step < INVERSION_STEPS; ++step) {
+      final var mid = (low + high) * 0.5;
+      final var below = curve.applyAsDouble(mid) < y;
+      if (below == increasing) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+    return (low + high) * 0.5;
+  }
+
+  void toPCS(
+    final double[] v)
+  {
+    final var r = this.curve(0, v[0]);
+    final var g = this.curve(1, v[1]);
+    final var b = this.curve(2, v[2]);
+    final var m = this.toXYZ;
+    v[0] = m.r0c0() * r + m.r0c1() * g + m.r0c2() * b;
+    v[1] = m.r1c0() * r + m.r1c1() * g + m.r1c2() * b;
+    v[2] = m.r2c0() * r + m.r2c1() * g + m.r2c2() * b;
+  }
+
+  void fromPCS(
+    final double[] v)
+  {
+    final var x = v[0];
+    final var y = v[1];
+    final var z = v[2];
+    final var m = this.fromXYZ;
+    final var r = m.r0c0() * x + m.r0c1() * y + m.r0c2() * z;
+    final var g = m.r1c0() * x + m.r1c1() * y + m.r1c2() * z;
+    final var b = m.r2c0() * x + m.r2c1() * y + m.r2c2() * z;
+    v[0] = this.curveInverse(0, clamp(r, 0.0, 1.0));
+    v[1] = this.curveInverse(1, clamp(g, 0.0, 1.0));
+    v[2] = this.curveInverse(2, clamp(b, 0.0, 1.0));
+  }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrix3x3D;
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * <p>A parsed ICC profile.</p>
+ *
+ * <p>Version 2 and version 4 profiles are supported for three-channel device
+ * color spaces. Device values are converted to the profile connection space
+ * using the {@code A2B0} tag if present (in {@code lutAtoBType},
+ * {@code lut16Type}, or {@code lut8Type} form), and otherwise using the
+ * matrix/TRC tags of RGB profiles. The reverse direction uses the
+ * {@code B2A0} tag or the inverted matrix/TRC model in the same manner.
+ * Other rendering intents are not currently used.</p>
+ *
+ * <p>Profiles are immutable. Use {@link ICCTransforms} to convert values
+ * between profiles.</p>
+ */
+
+public final class ICCProfile
+{
+  private static final int HEADER_SIZE = 128;
+
+  private final String id;
+  private final int versionMajor;
+  private final int versionMinor;
+  private final String deviceClass;
+  private final String colorSpace;
+  private final String connectionSpace;
+  private final Map<String, ByteBuffer> tags;
+  private final ICCMatrixTRC matrixTRC;
+  private final ICCStageType toPCS;
+  private final ICCStageType fromPCS;
+
+  private ICCProfile(
+    final byte[] data)
+    throws ICCProfileException
+  {
+    final var buffer = ByteBuffer.wrap(data);
+    ICCReader.require(buffer, 0, HEADER_SIZE + 4L);
+
+    final var size = ICCReader.u32(buffer, 0);
+    if (size < HEADER_SIZE + 4L || size > data.length) {
+      throw new ICCProfileException(
+        "Profile size %d is invalid for %d bytes of data"
+          .formatted(Long.valueOf(size), Integer.valueOf(data.length)));
+    }
+    if (!"acsp".equals(ICCReader.signature(buffer, 36))) {
+      throw new ICCProfileException("Missing 'acsp' profile file signature");
+    }
+
+    final var profile = buffer.slice(0, (int) size);
+    this.versionMajor = ICCReader.u8(profile, 8);
+    this.versionMinor = ICCReader.u8(profile, 9) >>> 4;
+    this.deviceClass = ICCReader.signature(profile, 12);
+    this.colorSpace = ICCReader.signature(profile, 16);
+    this.connectionSpace = ICCReader.signature(profile, 20);
+    this.id = identify(data, (int) size);
+    this.tags = readTags(profile);
+
+    final var lab = "Lab ".equals(this.connectionSpace);
+    if (!lab && !"XYZ ".equals(this.connectionSpace)) {
+      throw new ICCProfileException(
+        "Unsupported profile connection space '%s'"
+          .formatted(this.connectionSpace));
+    }
+
+    this.matrixTRC = this.readMatrixTRC();
+    this.toPCS = this.readToPCS(lab);
+    this.fromPCS = this.readFromPCS(lab);
+    if (this.toPCS == null && this.fromPCS == null) {
+      throw new ICCProfileException(
+        "The profile contains no supported device transforms");
+    }
+  }
+
+  /**
+   * Parse a profile.
+   *
+   * @param data The profile data
+   *
+   * @return A profile
+   *
+   * @throws ICCProfileException On malformed or unsupported profiles
+   */
+
+  public static ICCProfile parse(
+    final byte[] data)
+    throws ICCProfileException
+  {
+    Objects.requireNonNull(data, "data");
+    return new ICCProfile(data.clone());
+  }
+
+  /**
+   * Parse a profile from a file.
+   *
+   * @param file The file
+   *
+   * @return A profile
+   *
+   * @throws IOException On I/O errors, or malformed or unsupported profiles
+   */
+
+  public static ICCProfile open(
+    final Path file)
+    throws IOException
+  {
+    return new ICCProfile(Files.readAllBytes(file));
+  }
+
+  /**
+   * The profile ID is the MD5 digest defined by the ICC specification:
+   * The digest of the whole profile with the flags, rendering intent, and
+   * profile ID header fields set to zero. Profiles that declare an ID use
+   * the declared value.
+   */
+
+  private static String identify(
+    final byte[] data,
+    final int size)
+  {
+    final var declared = new byte[16];
+    System.arraycopy(data, 84, declared, 0, 16);
+    for (final var b : declared) {
+      if (b != 0) {
+        return HexFormat.of().formatHex(declared);
+      }
+    }
+
+    try {
+      final var copy = new byte[size];
+      System.arraycopy(data, 0, copy, 0, size);
+      Arrays.fill(copy, 44, 48, (byte) 0);
+      Arrays.fill(copy, 64, 68, (byte) 0);
+      Arrays.fill(copy, 84, 100, (byte) 0);
+      return HexFormat.of()
+        .formatHex(MessageDigest.getInstance("MD5").digest(copy));
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Map<String, ByteBuffer> readTags(
+    final ByteBuffer profile)
+    throws ICCProfileException
+  {
+    final var count = ICCReader.u32(profile, HEADER_SIZE);
+    ICCReader.require(profile, HEADER_SIZE + 4, count * 12L);
+
+    final var results = new TreeMap<String, ByteBuffer>();
+    for (int index = 0; index < count; ++index) {
+      final var entry = HEADER_SIZE + 4 + index * 12;
+      final var signature = ICCReader.signature(profile, entry);
+      final var offset = ICCReader.u32(profile, entry + 4);
+      final var size = ICCReader.u32(profile, entry + 8);
+      if (offset + size > profile.limit()) {
+        throw new ICCProfileException(
+          "Tag '%s' lies outside of the profile".formatted(signature));
+      }
+      results.put(signature, profile.slice((int) offset, (int) size));
+    }
+    return Collections.unmodifiableMap(results);
+  }
+
+  private ICCMatrixTRC readMatrixTRC()
+    throws ICCProfileException
+  {
+    if (!"RGB ".equals(this.colorSpace)) {
+      return null;
+    }
+    final var names = new String[]{
+      "rXYZ", "gXYZ", "bXYZ", "rTRC", "gTRC", "bTRC",
+    };
+    for (final var name : names) {
+      if (!this.tags.containsKey(name)) {
+        return null;
+      }
+    }
+
+    final var r = ICCReader.readXYZ(this.tags.get("rXYZ"));
+    final var g = ICCReader.readXYZ(this.tags.get("gXYZ"));
+    final var b = ICCReader.readXYZ(this.tags.get("bXYZ"));
+    final PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagXYZType> m =
+      PMatrices3x3D.ofColumns(
+        Vector3D.of(r[0], r[1], r[2]),
+        Vector3D.of(g[0], g[1], g[2]),
+        Vector3D.of(b[0], b[1], b[2])
+      );
+
+    return new ICCMatrixTRC(
+      new DoubleUnaryOperator[]{
+        ICCReader.readCurve(this.tags.get("rTRC"), 0).function(),
+        ICCReader.readCurve(this.tags.get("gTRC"), 0).function(),
+        ICCReader.readCurve(this.tags.get("bTRC"), 0).function(),
+      },
+      m
+    );
+  }
+
+  private ICCStageType readToPCS(
+    final boolean lab)
+    throws ICCProfileException
+  {
+    final var tag = this.tags.get("A2B0");
+    if (tag == null) {
+      if (this.matrixTRC == null) {
+        return null;
+      }
+      return this.matrixTRC::toPCS;
+    }
+
+    final var type = ICCReader.signature(tag, 0);
+    if ("mAB ".equals(type)) {
+      return ICCReader.readLutAB(tag, true)
+        .andThen(ICCReader.decodePCS(lab, false));
+    }
+    return ICCReader.readLutMFT(tag, false)
+      .andThen(ICCReader.decodePCS(lab, "mft2".equals(type)));
+  }
+
+  private ICCStageType readFromPCS(
+    final boolean lab)
+    throws ICCProfileException
+  {
+    final var tag = this.tags.get("B2A0");
+    if (tag == null) {
+      if (this.matrixTRC == null) {
+        return null;
+      }
+      return this.matrixTRC::fromPCS;
+    }
+
+    final var type = ICCReader.signature(tag, 0);
+    if ("mBA ".equals(type)) {
+      return ICCReader.encodePCS(lab, false)
+        .andThen(ICCReader.readLutAB(tag, false));
+    }
+    return ICCReader.encodePCS(lab, "mft2".equals(type))
+      .andThen(ICCReader.readLutMFT(tag, !lab));
+  }
+
+  /**
+   * @return The profile ID as a lowercase hexadecimal MD5 digest
+   */
+
+  public String id()
+  {
+    return this.id;
+  }
+
+  /**
+   * @return The major version of the profile format
+   */
+
+  public int versionMajor()
+  {
+    return this.versionMajor;
+  }
+
+  /**
+   * @return The minor version of the profile format
+   */
+
+  public int versionMinor()
+  {
+    return this.versionMinor;
+  }
+
+  /**
+   * @return The profile/device class signature, such as {@code "mntr"}
+   */
+
+  public String deviceClass()
+  {
+    return this.deviceClass;
+  }
+
+  /**
+   * @return The data color space signature, such as {@code "RGB "}
+   */
+
+  public String colorSpace()
+  {
+    return this.colorSpace;
+  }
+
+  /**
+   * @return The profile connection space signature: {@code "XYZ "} or
+   * {@code "Lab "}
+   */
+
+  public String connectionSpace()
+  {
+    return this.connectionSpace;
+  }
+
+  /**
+   * @return The signatures of the tags present in the profile
+   */
+
+  public Set<String> tags()
+  {
+    return this.tags.keySet();
+  }
+
+  /**
+   * @return {@code true} if the profile converts device values to the
+   * connection space using the matrix/TRC model
+   */
+
+  public boolean isMatrixShaper()
+  {
+    return this.matrixTRC != null && !this.tags.containsKey("A2B0");
+  }
+
+  /**
+   * @return {@code true} if the profile can be the source of a transform
+   */
+
+  public boolean canConvertFromDevice()
+  {
+    return this.toPCS != null;
+  }
+
+  /**
+   * @return {@code true} if the profile can be the target of a transform
+   */
+
+  public boolean canConvertToDevice()
+  {
+    return this.fromPCS != null;
+  }
+
+  ICCMatrixTRC matrixTRC()
+  {
+    return this.matrixTRC;
+  }
+
+  boolean isMatrixShaperTarget()
+  {
+    return this.matrixTRC != null && !this.tags.containsKey("B2A0");
+  }
+
+  /**
+   * Convert device values to PCS XYZ in place.
+   */
+
+  void toPCS(
+    final double[] values)
+  {
+    this.toPCS.apply(values);
+  }
+
+  /**
+   * Convert PCS XYZ to device values in place.
+   */
+
+  void fromPCS(
+    final double[] values)
+  {
+    this.fromPCS.apply(values);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "[ICCProfile %s %d.%d %s %s]".formatted(
+      this.id,
+      Integer.valueOf(this.versionMajor),
+      Integer.valueOf(this.versionMinor),
+      this.deviceClass,
+      this.colorSpace
+    );
+  }
+}
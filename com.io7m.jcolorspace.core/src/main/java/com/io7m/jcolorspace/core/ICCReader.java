@@ -0,0 +1,676 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.DoubleUnaryOperator;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * Functions to read the tag types of ICC profiles. All offsets are relative
+ * to the start of the given tag buffer.
+ */
+
+final class ICCReader
+{
+  /**
+   * The PCS illuminant (D50) as XYZ.
+   */
+
+  static final double PCS_WHITE_X = 0.9642;
+  static final double PCS_WHITE_Y = 1.0;
+  static final double PCS_WHITE_Z = 0.8249;
+
+  private static final double XYZ_ENCODING_SCALE = 65535.0 / 32768.0;
+  private static final double LAB_V2_SCALE = 65535.0 / 65280.0;
+
+  private ICCReader()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  static void require(
+    final ByteBuffer tag,
+    final int offset,
+    final long length)
+    throws ICCProfileException
+  {
+    if (offset < 0 || length < 0L || offset + length > tag.limit()) {
+      throw new ICCProfileException(
+        "Truncated tag data (need %d bytes at offset %d, have %d)"
+          .formatted(
+            Long.valueOf(length),
+            Integer.valueOf(offset),
+            Integer.valueOf(tag.limit()))
+      );
+    }
+  }
+
+  static String signature(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    require(tag, offset, 4L);
+    return StandardCharsets.US_ASCII.decode(tag.slice(offset, 4)).toString();
+  }
+
+  static double s15Fixed16(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    require(tag, offset, 4L);
+    return tag.getInt(offset) / 65536.0;
+  }
+
+  static int u8(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    require(tag, offset, 1L);
+    return tag.get(offset) & 0xff;
+  }
+
+  static int u16(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    require(tag, offset, 2L);
+    return tag.getShort(offset) & 0xffff;
+  }
+
+  static long u32(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    require(tag, offset, 4L);
+    return tag.getInt(offset) & 0xffff_ffffL;
+  }
+
+  private static int offset32(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    final var value = u32(tag, offset);
+    if (value > tag.limit()) {
+      throw new ICCProfileException(
+        "Offset %d lies outside of the tag".formatted(Long.valueOf(value)));
+    }
+    return (int) value;
+  }
+
+  private static void expectType(
+    final ByteBuffer tag,
+    final String expected)
+    throws ICCProfileException
+  {
+    final var type = signature(tag, 0);
+    if (!type.equals(expected)) {
+      throw new ICCProfileException(
+        "Expected tag type '%s' but found '%s'".formatted(expected, type));
+    }
+  }
+
+  /**
+   * Read an {@code XYZType} tag.
+   */
+
+  static double[] readXYZ(
+    final ByteBuffer tag)
+    throws ICCProfileException
+  {
+    expectType(tag, "XYZ ");
+    return new double[]{
+      s15Fixed16(tag, 8),
+      s15Fixed16(tag, 12),
+      s15Fixed16(tag, 16),
+    };
+  }
+
+  /**
+   * The result of reading a curve: The curve, and the number of bytes it
+   * occupied including padding.
+   */
+
+  record Curve(DoubleUnaryOperator function, int size)
+  {
+
+  }
+
+  /**
+   * Read a {@code curveType} or {@code parametricCurveType} element at the
+   * given offset.
+   */
+
+  static Curve readCurve(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    final var type = signature(tag, offset);
+    return switch (type) {
+      case "curv" -> readCurv(tag, offset);
+      case "para" -> readPara(tag, offset);
+      default -> throw new ICCProfileException(
+        "Unsupported curve type '%s'".formatted(type));
+    };
+  }
+
+  private static int padded(
+    final long size)
+  {
+    return (int) ((size + 3L) & ~3L);
+  }
+
+  private static Curve readCurv(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    final var count = u32(tag, offset + 8);
+    require(tag, offset + 12, count * 2L);
+    final var size = padded(12L + count * 2L);
+
+    if (count == 0L) {
+      return new Curve(x -> x, size);
+    }
+    if (count == 1L) {
+      final var gamma = u16(tag, offset + 12) / 256.0;
+      return new Curve(x -> Math.pow(x, gamma), size);
+    }
+
+    final var table = new double[(int) count];
+    for (int index = 0; index < table.length; ++index) {
+      table[index] = (tag.getShort(offset + 12 + index * 2) & 0xffff) / 65535.0;
+    }
+    return new Curve(x -> interpolate(table, x), size);
+  }
+
+  /**
+   * Linearly interpolate a table of samples spaced uniformly over
+   * {@code [0, 1]}.
+   */
+
+  static double interpolate(
+    final double[] table,
+    final double x)
+  {
+    final var last = table.length - 1;
+    final var p = clamp(x, 0.0, 1.0) * last;
+    final var i = Math.min((int) p, last - 1);
+    final var f = p - i;
+    return table[i] + (table[i + 1] - table[i]) * f;
+  }
+
+  private static Curve readPara(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    final var function = u16(tag, offset + 8);
+    final var counts = new int[]{1, 3, 4, 5, 7};
+    if (function >= counts.length) {
+      throw new ICCProfileException(
+        "Unsupported parametric curve function %d"
+          .formatted(Integer.valueOf(function)));
+    }
+
+    final var p = new double[7];
+    for (int index = 0; index < counts[function]; ++index) {
+      p[index] = s15Fixed16(tag, offset + 12 + index * 4);
+    }
+    final var size = 12 + counts[function] * 4;
+    return new Curve(parametric(function, p), size);
+  }
+
+  private static DoubleUnaryOperator parametric(
+    final int function,
+    final double[] p)
+  {
+    final var g = p[0];
+    final var a = p[1];
+    final var b = p[2];
+    final var c = p[3];
+    final var d = p[4];
+    final var e = p[5];
+    final var f = p[6];
+
+    return switch (function) {
+      case 0 -> x -> Math.pow(x, g);
+      case 1 -> x -> x >= -b / a ? Math.pow(a * x + b, g) : 0.0;
+      case 2 -> x -> x >= -b / a ? Math.pow(a * x + b, g) + c : c;
+      case 3 -> x -> x >= d ? Math.pow(a * x + b, g) : c * x;
+      default -> x -> x >= d ? Math.pow(a * x + b, g) + e : c * x + f;
+    };
+  }
+
+  private static DoubleUnaryOperator[] readCurves(
+    final ByteBuffer tag,
+    final int offset,
+    final int count)
+    throws ICCProfileException
+  {
+    final var curves = new DoubleUnaryOperator[count];
+    int position = offset;
+    for (int index = 0; index < count; ++index) {
+      final var curve = readCurve(tag, position);
+      curves[index] = curve.function;
+      position += curve.size;
+    }
+    return curves;
+  }
+
+  private static ICCStageType curvesStage(
+    final DoubleUnaryOperator[] curves)
+  {
+    return v -> {
+      for (int index = 0; index < 3; ++index) {
+        v[index] = clamp(
+          curves[index].applyAsDouble(clamp(v[index], 0.0, 1.0)), 0.0, 1.0);
+      }
+    };
+  }
+
+  private static ICCStageType matrixStage(
+    final double[] m)
+  {
+    return v -> {
+      final var x = v[0];
+      final var y = v[1];
+      final var z = v[2];
+      v[0] = clamp(m[0] * x + m[1] * y + m[2] * z + m[9], 0.0, 1.0);
+      v[1] = clamp(m[3] * x + m[4] * y + m[5] * z + m[10], 0.0, 1.0);
+      v[2] = clamp(m[6] * x + m[7] * y + m[8] * z + m[11], 0.0, 1.0);
+    };
+  }
+
+  private static ICCStageType clutStage(
+    final int[] grid,
+    final double[] data)
+  {
+    return v -> {
+      ICCCLUT.interpolate(grid, data, v);
+    };
+  }
+
+  private static void checkChannels(
+    final ByteBuffer tag,
+    final int inputOffset)
+    throws ICCProfileException
+  {
+    final var inputs = u8(tag, inputOffset);
+    final var outputs = u8(tag, inputOffset + 1);
+    if (inputs != 3 || outputs != 3) {
+      throw new ICCProfileException(
+        "Only three channel LUTs are supported (found %d inputs, %d outputs)"
+          .formatted(Integer.valueOf(inputs), Integer.valueOf(outputs)));
+    }
+  }
+
+  private static ICCStageType readLutABClut(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    final var grid = new int[3];
+    long entries = 3L;
+    for (int index = 0; index < 3; ++index) {
+      grid[index] = u8(tag, offset + index);
+      if (grid[index] < 2) {
+        throw new ICCProfileException(
+          "CLUT grid sizes must be >= 2 (found %d)"
+            .formatted(Integer.valueOf(grid[index])));
+      }
+      entries *= grid[index];
+    }
+
+    final var precision = u8(tag, offset + 16);
+    if (precision != 1 && precision != 2) {
+      throw new ICCProfileException(
+        "Unsupported CLUT precision %d".formatted(Integer.valueOf(precision)));
+    }
+    require(tag, offset + 20, entries * precision);
+    return clutStage(
+      grid, readSamples(tag, offset + 20, (int) entries, precision));
+  }
+
+  private static double[] readLutABMatrix(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    final var m = new double[12];
+    for (int index = 0; index < 12; ++index) {
+      m[index] = s15Fixed16(tag, offset + index * 4);
+    }
+    return m;
+  }
+
+  /**
+   * Read a {@code lutAtoBType} or {@code lutBtoAType} tag. The returned stage
+   * operates on PCS values in their normalized encoding.
+   */
+
+  static ICCStageType readLutAB(
+    final ByteBuffer tag,
+    final boolean aToB)
+    throws ICCProfileException
+  {
+    expectType(tag, aToB ? "mAB " : "mBA ");
+    checkChannels(tag, 8);
+
+    final var offsetB = offset32(tag, 12);
+    final var offsetMatrix = offset32(tag, 16);
+    final var offsetM = offset32(tag, 20);
+    final var offsetCLUT = offset32(tag, 24);
+    final var offsetA = offset32(tag, 28);
+
+    /*
+     * The B curves are required by the specification, but some profiles in
+     * the wild (including some shipped with the JDK) omit them. Treat
+     * missing curves as identities.
+     */
+
+    final var b = optionalCurves(tag, offsetB);
+    final var matrix = optionalMatrix(tag, offsetMatrix);
+    final var m = optionalCurves(tag, offsetM);
+    final var clut = offsetCLUT != 0 ? readLutABClut(tag, offsetCLUT) : null;
+    final var a = optionalCurves(tag, offsetA);
+
+    if (aToB) {
+      return chain(a, clut, m, matrix, b);
+    }
+    return chain(b, matrix, m, clut, a);
+  }
+
+  private static ICCStageType optionalCurves(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    if (offset == 0) {
+      return null;
+    }
+    return curvesStage(readCurves(tag, offset, 3));
+  }
+
+  private static ICCStageType optionalMatrix(
+    final ByteBuffer tag,
+    final int offset)
+    throws ICCProfileException
+  {
+    if (offset == 0) {
+      return null;
+    }
+    return matrixStage(readLutABMatrix(tag, offset));
+  }
+
+  private static ICCStageType chain(
+    final ICCStageType... stages)
+  {
+    ICCStageType result = v -> { };
+    for (final var stage : stages) {
+      if (stage != null) {
+        result = result.andThen(stage);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Read a {@code lut8Type} or {@code lut16Type} tag. The returned stage
+   * operates on PCS values in their normalized encoding.
+   */
+
+  static ICCStageType readLutMFT(
+    final ByteBuffer tag,
+    final boolean pcsXYZInput)
+    throws ICCProfileException
+  {
+    final var wide = isWideMFT(tag);
+    checkChannels(tag, 8);
+
+    final var grid = u8(tag, 10);
+    if (grid < 2) {
+      throw new ICCProfileException(
+        "CLUT grid sizes must be >= 2 (found %d)"
+          .formatted(Integer.valueOf(grid)));
+    }
+
+    final var bytes = wide ? 2 : 1;
+    final var inputEntries = mftEntries(tag, wide, 48);
+    final var outputEntries = mftEntries(tag, wide, 50);
+
+    int position = wide ? 52 : 48;
+    final var inputTables = readTables(tag, position, inputEntries, bytes);
+    position += 3 * inputEntries * bytes;
+
+    final var clutEntries = grid * grid * grid * 3;
+    final var clut = readSamples(tag, position, clutEntries, bytes);
+    position += clutEntries * bytes;
+
+    final var outputTables = readTables(tag, position, outputEntries, bytes);
+    return chain(
+      pcsXYZInput ? readMFTMatrix(tag) : null,
+      curvesStage(inputTables),
+      clutStage(new int[]{grid, grid, grid}, clut),
+      curvesStage(outputTables)
+    );
+  }
+
+  private static int mftEntries(
+    final ByteBuffer tag,
+    final boolean wide,
+    final int offset)
+    throws ICCProfileException
+  {
+    if (!wide) {
+      return 256;
+    }
+    final var entries = u16(tag, offset);
+    if (entries < 2) {
+      throw new ICCProfileException("LUT tables must have >= 2 entries");
+    }
+    return entries;
+  }
+
+  private static ICCStageType readMFTMatrix(
+    final ByteBuffer tag)
+    throws ICCProfileException
+  {
+    final var m = new double[12];
+    for (int index = 0; index < 9; ++index) {
+      m[index] = s15Fixed16(tag, 12 + index * 4);
+    }
+    return matrixStage(m);
+  }
+
+  private static boolean isWideMFT(
+    final ByteBuffer tag)
+    throws ICCProfileException
+  {
+    final var type = signature(tag, 0);
+    return switch (type) {
+      case "mft1" -> false;
+      case "mft2" -> true;
+      default -> throw new ICCProfileException(
+        "Unsupported LUT type '%s'".formatted(type));
+    };
+  }
+
+  private static DoubleUnaryOperator[] readTables(
+    final ByteBuffer tag,
+    final int offset,
+    final int entries,
+    final int bytes)
+    throws ICCProfileException
+  {
+    final var tables = new DoubleUnaryOperator[3];
+    for (int index = 0; index < 3; ++index) {
+      tables[index] =
+        readTable(tag, offset + index * entries * bytes, entries, bytes);
+    }
+    return tables;
+  }
+
+  private record Table(double[] samples) implements DoubleUnaryOperator
+  {
+    @Override
+    public double applyAsDouble(
+      final double x)
+    {
+      return interpolate(this.samples, x);
+    }
+  }
+
+  private static DoubleUnaryOperator readTable(
+    final ByteBuffer tag,
+    final int offset,
+    final int count,
+    final int bytes)
+    throws ICCProfileException
+  {
+    return new Table(readSamples(tag, offset, count, bytes));
+  }
+
+  private static double[] readSamples(
+    final ByteBuffer tag,
+    final int offset,
+    final int count,
+    final int bytes)
+    throws ICCProfileException
+  {
+    require(tag, offset, (long) count * bytes);
+    final var samples = new double[count];
+    for (int index = 0; index < count; ++index) {
+      if (bytes == 1) {
+        samples[index] = (tag.get(offset + index) & 0xff) / 255.0;
+      } else {
+        samples[index] = (tag.getShort(offset + index * 2) & 0xffff) / 65535.0;
+      }
+    }
+    return samples;
+  }
+
+  /**
+   * @return A stage that decodes normalized PCS values to XYZ
+   */
+
+  static ICCStageType decodePCS(
+    final boolean lab,
+    final boolean legacyLab)
+  {
+    if (!lab) {
+      return v -> {
+        v[0] *= XYZ_ENCODING_SCALE;
+        v[1] *= XYZ_ENCODING_SCALE;
+        v[2] *= XYZ_ENCODING_SCALE;
+      };
+    }
+
+    final var scale = legacyLab ? LAB_V2_SCALE : 1.0;
+    return v -> {
+      labToXYZ(
+        v[0] * scale * 100.0,
+        v[1] * scale * 255.0 - 128.0,
+        v[2] * scale * 255.0 - 128.0,
+        v
+      );
+    };
+  }
+
+  /**
+   * @return A stage that encodes XYZ values as normalized PCS values
+   */
+
+  static ICCStageType encodePCS(
+    final boolean lab,
+    final boolean legacyLab)
+  {
+    if (!lab) {
+      return v -> {
+        v[0] = clamp(v[0] / XYZ_ENCODING_SCALE, 0.0, 1.0);
+        v[1] = clamp(v[1] / XYZ_ENCODING_SCALE, 0.0, 1.0);
+        v[2] = clamp(v[2] / XYZ_ENCODING_SCALE, 0.0, 1.0);
+      };
+    }
+
+    final var scale = legacyLab ? LAB_V2_SCALE : 1.0;
+    return v -> {
+      xyzToLab(v[0], v[1], v[2], v);
+      v[0] = clamp(v[0] / 100.0 / scale, 0.0, 1.0);
+      v[1] = clamp((v[1] + 128.0) / 255.0 / scale, 0.0, 1.0);
+      v[2] = clamp((v[2] + 128.0) / 255.0 / scale, 0.0, 1.0);
+    };
+  }
+
+  private static double labF(
+    final double t)
+  {
+    final var delta = 6.0 / 29.0;
+    if (t > delta * delta * delta) {
+      return Math.cbrt(t);
+    }
+    return t / (3.0 * delta * delta) + 4.0 / 29.0;
+  }
+
+  private static double labFInverse(
+    final double t)
+  {
+    final var delta = 6.0 / 29.0;
+    if (t > delta) {
+      return t * t * t;
+    }
+    return 3.0 * delta * delta * (t - 4.0 / 29.0);
+  }
+
+  static void xyzToLab(
+    final double x,
+    final double y,
+    final double z,
+    final double[] out)
+  {
+    final var fx = labF(x / PCS_WHITE_X);
+    final var fy = labF(y / PCS_WHITE_Y);
+    final var fz = labF(z / PCS_WHITE_Z);
+    out[0] = 116.0 * fy - 16.0;
+    out[1] = 500.0 * (fx - fy);
+    out[2] = 200.0 * (fy - fz);
+  }
+
+  static void labToXYZ(
+    final double l,
+    final double a,
+    final double b,
+    final double[] out)
+  {
+    final var fy = (l + 16.0) / 116.0;
+    out[0] = PCS_WHITE_X * labFInverse(fy + a / 500.0);
+    out[1] = PCS_WHITE_Y * labFInverse(fy);
+    out[2] = PCS_WHITE_Z * labFInverse(fy - b / 200.0);
+  }
+}
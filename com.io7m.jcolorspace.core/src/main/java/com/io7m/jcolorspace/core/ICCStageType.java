@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * A stage in an ICC processing pipeline, transforming three channels in
+ * place.
+ */
+
+@FunctionalInterface
+interface ICCStageType
+{
+  /**
+   * Apply the stage.
+   *
+   * @param values The three channel values
+   */
+
+  void apply(double[] values);
+
+  /**
+   * @param next The stage to apply after this stage
+   *
+   * @return A stage that applies this stage and then {@code next}
+   */
+
+  default ICCStageType andThen(
+    final ICCStageType next)
+  {
+    return values -> {
+      this.apply(values);
+      next.apply(values);
+    };
+  }
+}
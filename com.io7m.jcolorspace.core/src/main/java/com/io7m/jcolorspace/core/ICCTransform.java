@@ -0,0 +1,315 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>A compiled transform between two ICC profiles.</p>
+ *
+ * <p>Buffers are arrays of interleaved device components with alpha, four
+ * components per pixel, with device values in the range {@code [0, 1]}.
+ * Alpha is copied unchanged. Transforms are immutable and are safe to use
+ * from multiple threads.</p>
+ *
+ * @see ICCTransforms#compile(ICCProfile, ICCProfile)
+ */
+
+public final class ICCTransform
+{
+  /**
+   * The number of entries in each input curve table.
+   */
+
+  static final int INPUT_TABLE_SIZE = 4096;
+
+  /**
+   * The number of entries in each output curve table.
+   */
+
+  static final int OUTPUT_TABLE_SIZE = 16384;
+
+  /**
+   * The number of grid points in each dimension of a compiled lookup table.
+   */
+
+  static final int LUT_GRID_SIZE = 33;
+
+  private final ICCProfile sourceProfile;
+  private final ICCProfile targetProfile;
+  private final ICCTransformKind kind;
+  private final double[][] inputTables;
+  private final double[] matrix;
+  private final double[][] outputTables;
+  private final int[] lutGrid;
+  private final double[] lut;
+
+  private ICCTransform(
+    final ICCProfile inSource,
+    final ICCProfile inTarget,
+    final ICCTransformKind inKind,
+    final double[][] inInputTables,
+    final double[] inMatrix,
+    final double[][] inOutputTables,
+    final double[] inLut)
+  {
+    this.sourceProfile = inSource;
+    this.targetProfile = inTarget;
+    this.kind = inKind;
+    this.inputTables = inInputTables;
+    this.matrix = inMatrix;
+    this.outputTables = inOutputTables;
+    this.lutGrid = new int[]{LUT_GRID_SIZE, LUT_GRID_SIZE, LUT_GRID_SIZE};
+    this.lut = inLut;
+  }
+
+  static ICCTransform compile(
+    final ICCProfile source,
+    final ICCProfile target)
+  {
+    if (source.isMatrixShaper() && target.isMatrixShaperTarget()) {
+      return compileMatrixShaper(source, target);
+    }
+    return compileLUT(source, target);
+  }
+
+  private static ICCTransform compileMatrixShaper(
+    final ICCProfile source,
+    final ICCProfile target)
+  {
+    final var s = source.matrixTRC();
+    final var t = target.matrixTRC();
+
+    final var inputs = new double[3][INPUT_TABLE_SIZE];
+    final var outputs = new double[3][OUTPUT_TABLE_SIZE];
+    for (int c = 0; c < 3; ++c) {
+      for (int index = 0; index < INPUT_TABLE_SIZE; ++index) {
+        inputs[c][index] =
+          s.curve(c, index / (double) (INPUT_TABLE_SIZE - 1));
+      }
+      for (int index = 0; index < OUTPUT_TABLE_SIZE; ++index) {
+        outputs[c][index] =
+          t.curveInverse(c, index / (double) (OUTPUT_TABLE_SIZE - 1));
+      }
+    }
+
+    final var m = PMatrices3x3D.multiply(t.fromXYZ(), s.toXYZ());
+    final var matrix = new double[]{
+      m.r0c0(), m.r0c1(), m.r0c2(),
+      m.r1c0(), m.r1c1(), m.r1c2(),
+      m.r2c0(), m.r2c1(), m.r2c2(),
+    };
+
+    return new ICCTransform(
+      source,
+      target,
+      ICCTransformKind.MATRIX_SHAPER,
+      inputs,
+      matrix,
+      outputs,
+      null
+    );
+  }
+
+  private static ICCTransform compileLUT(
+    final ICCProfile source,
+    final ICCProfile target)
+  {
+    final var n = LUT_GRID_SIZE;
+    final var scale = 1.0 / (n - 1);
+    final var lut = new double[n * n * n * 3];
+    final var v = new double[3];
+
+    int index = 0;
+    for (int i0 = 0; i0 < n; ++i0) {
+      for (int i1 = 0; i1 < n; ++i1) {
+        index = sampleRow(source, target, i0 * scale, i1 * scale, v, lut, index);
+      }
+    }
+
+    return new ICCTransform(
+      source,
+      target,
+      ICCTransformKind.LUT_3D,
+      null,
+      null,
+      null,
+      lut
+    );
+  }
+
+  private static int sampleRow(
+    final ICCProfile source,
+    final ICCProfile target,
+    final double v0,
+    final double v1,
+    final double[] v,
+    final double[] lut,
+    final int start)
+  {
+    final var n = LUT_GRID_SIZE;
+    int index = start;
+    for (int i2 = 0; i2 < n; ++i2) {
+      v[0] = v0;
+      v[1] = v1;
+      v[2] = i2 / (double) (n - 1);
+      source.toPCS(v);
+      target.fromPCS(v);
+      lut[index] = clamp(v[0], 0.0, 1.0);
+      lut[index + 1] = clamp(v[1], 0.0, 1.0);
+      lut[index + 2] = clamp(v[2], 0.0, 1.0);
+      index += 3;
+    }
+    return index;
+  }
+
+  /**
+   * @return The source profile
+   */
+
+  public ICCProfile source()
+  {
+    return this.sourceProfile;
+  }
+
+  /**
+   * @return The target profile
+   */
+
+  public ICCProfile target()
+  {
+    return this.targetProfile;
+  }
+
+  /**
+   * @return The form of the compiled transform
+   */
+
+  public ICCTransformKind kind()
+  {
+    return this.kind;
+  }
+
+  /**
+   * Convert {@code pixels} pixels from the source profile to the target
+   * profile. The source and target may be the same array, in which case
+   * conversion happens in place.
+   *
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public void convert(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    switch (this.kind) {
+      case MATRIX_SHAPER -> this.convertMatrixShaper(
+        source, sourceOffset, target, targetOffset, pixels);
+      case LUT_3D -> this.convertLUT(
+        source, sourceOffset, target, targetOffset, pixels);
+    }
+  }
+
+  /**
+   * @param <S> The source color space
+   * @param <T> The target color space
+   *
+   * @return This transform as a bulk conversion
+   */
+
+  public <S extends ColorSpaceTagType, T extends ColorSpaceTagType>
+  ColorBulkConversionType<S, T> conversion()
+  {
+    return this::convert;
+  }
+
+  private void convertMatrixShaper(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var inR = this.inputTables[0];
+    final var inG = this.inputTables[1];
+    final var inB = this.inputTables[2];
+    final var outR = this.outputTables[0];
+    final var outG = this.outputTables[1];
+    final var outB = this.outputTables[2];
+    final var m = this.matrix;
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var r = ICCReader.interpolate(inR, source[s]);
+      final var g = ICCReader.interpolate(inG, source[s + 1]);
+      final var b = ICCReader.interpolate(inB, source[s + 2]);
+      final var a = source[s + 3];
+      target[t] = ICCReader.interpolate(outR, m[0] * r + m[1] * g + m[2] * b);
+      target[t + 1] = ICCReader.interpolate(outG, m[3] * r + m[4] * g + m[5] * b);
+      target[t + 2] = ICCReader.interpolate(outB, m[6] * r + m[7] * g + m[8] * b);
+      target[t + 3] = a;
+      s += 4;
+      t += 4;
+    }
+  }
+
+  private void convertLUT(
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var v = new double[3];
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      v[0] = source[s];
+      v[1] = source[s + 1];
+      v[2] = source[s + 2];
+      final var a = source[s + 3];
+      ICCCLUT.interpolate(this.lutGrid, this.lut, v);
+      target[t] = v[0];
+      target[t + 1] = v[1];
+      target[t + 2] = v[2];
+      target[t + 3] = a;
+      s += 4;
+      t += 4;
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return "[ICCTransform %s %s -> %s]".formatted(
+      this.kind, this.sourceProfile.id(), this.targetProfile.id());
+  }
+}
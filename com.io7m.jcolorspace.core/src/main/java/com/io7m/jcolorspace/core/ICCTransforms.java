@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A cache of compiled transforms between ICC profiles.</p>
+ *
+ * <p>Transforms are keyed by the IDs of the source and target profiles, so
+ * each distinct pair of profiles is compiled at most once regardless of how
+ * many times the profiles are parsed. The cache is safe to use from multiple
+ * threads.</p>
+ */
+
+public final class ICCTransforms
+{
+  private static final ConcurrentHashMap<Key, ICCTransform> TRANSFORMS =
+    new ConcurrentHashMap<>();
+
+  private ICCTransforms()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Compile (or retrieve a previously compiled) transform from
+   * {@code source} to {@code target}.
+   *
+   * @param source The source profile
+   * @param target The target profile
+   *
+   * @return A transform
+   *
+   * @throws IllegalArgumentException If {@code source} cannot convert from
+   *                                  device values, or {@code target} cannot
+   *                                  convert to device values
+   */
+
+  public static ICCTransform compile(
+    final ICCProfile source,
+    final ICCProfile target)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(target, "target");
+
+    if (!source.canConvertFromDevice()) {
+      throw new IllegalArgumentException(
+        "Profile %s cannot convert from device values".formatted(source));
+    }
+    if (!target.canConvertToDevice()) {
+      throw new IllegalArgumentException(
+        "Profile %s cannot convert to device values".formatted(target));
+    }
+
+    return TRANSFORMS.computeIfAbsent(
+      new Key(source.id(), target.id()),
+      k -> ICCTransform.compile(source, target)
+    );
+  }
+
+  /**
+   * @return The number of transforms currently cached
+   */
+
+  public static int cachedTransforms()
+  {
+    return TRANSFORMS.size();
+  }
+
+  /**
+   * Discard all cached transforms.
+   */
+
+  public static void clear()
+  {
+    TRANSFORMS.clear();
+  }
+
+  private record Key(
+    String source,
+    String target)
+  {
+
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrix3x3D;
+
+/**
+ * Conversions between the linear RGB values of a given color space and
+ * Oklab, with the matrices flattened into fields so that the kernels
+ * allocate nothing.
+ */
+
+final class OklabTransform
+{
+  private static final PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagType>
+    XYZ_TO_LMS =
+    PMatrix3x3D.of(
+      0.8189330101, 0.3618667424, -0.1288597137,
+      0.0329845436, 0.9293118715, 0.0361456387,
+      0.0482003018, 0.2643662691, 0.6338517070
+    );
+
+  private static final PMatrix3x3D<ColorSpaceTagType, ColorSpaceTagType>
+    LMS_TO_LAB =
+    PMatrix3x3D.of(
+      0.2104542553, 0.7936177850, -0.0040720468,
+      1.9779984951, -2.4285922050, 0.4505937099,
+      0.0259040371, 0.7827717662, -0.8086757660
+    );
+
+  private final double[] rgbToLms;
+  private final double[] lmsToRgb;
+  private final double[] lmsToLab;
+  private final double[] labToLms;
+
+  OklabTransform(
+    final RGBPrimaries primaries)
+  {
+    final PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagType> toLms =
+      PMatrices3x3D.multiply(XYZ_TO_LMS, RGBConversionMatrices.toXYZ(primaries));
+
+    this.rgbToLms = flatten(toLms);
+    this.lmsToRgb = flatten(PMatrices3x3D.invert(toLms).orElseThrow());
+    this.lmsToLab = flatten(LMS_TO_LAB);
+    this.labToLms = flatten(PMatrices3x3D.invert(LMS_TO_LAB).orElseThrow());
+  }
+
+  private static double[] flatten(
+    final PMatrix3x3D<?, ?> m)
+  {
+    return new double[]{
+      m.r0c0(), m.r0c1(), m.r0c2(),
+      m.r1c0(), m.r1c1(), m.r1c2(),
+      m.r2c0(), m.r2c1(), m.r2c2(),
+    };
+  }
+
+  private static void multiply(
+    final double[] m,
+    final double x,
+    final double y,
+    final double z,
+    final double[] out)
+  {
+    out[0] = m[0] * x + m[1] * y + m[2] * z;
+    out[1] = m[3] * x + m[4] * y + m[5] * z;
+    out[2] = m[6] * x + m[7] * y + m[8] * z;
+  }
+
+  /**
+   * Convert linear RGB to Oklab.
+   *
+   * @param r   The red component
+   * @param g   The green component
+   * @param b   The blue component
+   * @param out The output L, a, b components
+   */
+
+  void toLab(
+    final double r,
+    final double g,
+    final double b,
+    final double[] out)
+  {
+    multiply(this.rgbToLms, r, g, b, out);
+    multiply(
+      this.lmsToLab,
+      Math.cbrt(out[0]),
+      Math.cbrt(out[1]),
+      Math.cbrt(out[2]),
+      out
+    );
+  }
+
+  /**
+   * Convert Oklab to linear RGB.
+   *
+   * @param l   The lightness component
+   * @param a   The a component
+   * @param b   The b component
+   * @param out The output R, G, B components
+   */
+
+  void toRGB(
+    final double l,
+    final double a,
+    final double b,
+    final double[] out)
+  {
+    multiply(this.labToLms, l, a, b, out);
+    final var lc = out[0];
+    final var mc = out[1];
+    final var sc = out[2];
+    multiply(this.lmsToRgb, lc * lc * lc, mc * mc * mc, sc * sc * sc, out);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The orders in which the four components of a pixel are stored.
+ *
+ * @see PixelLayout
+ */
+
+public enum PixelComponentOrder
+{
+  /**
+   * Red, green, blue, alpha.
+   */
+
+  RGBA(0, 1, 2, 3),
+
+  /**
+   * Blue, green, red, alpha.
+   */
+
+  BGRA(2, 1, 0, 3),
+
+  /**
+   * Alpha, red, green, blue.
+   */
+
+  ARGB(1, 2, 3, 0),
+
+  /**
+   * Alpha, blue, green, red.
+   */
+
+  ABGR(3, 2, 1, 0);
+
+  private final int[] positions;
+
+  PixelComponentOrder(
+    final int red,
+    final int green,
+    final int blue,
+    final int alpha)
+  {
+    this.positions = new int[]{red, green, blue, alpha};
+  }
+
+  /**
+   * @param channel The channel, where {@code 0} is red (or the first
+   *                component of the color space), and {@code 3} is alpha
+   *
+   * @return The storage position of the given channel within a pixel
+   */
+
+  public int position(
+    final int channel)
+  {
+    return this.positions[channel];
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.nio.ByteBuffer;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * The storage types of pixel components.
+ *
+ * @see PixelLayout
+ */
+
+public enum PixelComponentType
+{
+  /**
+   * Unsigned 8-bit integers normalized to {@code [0, 1]}.
+   */
+
+  UNORM8(1) {
+    @Override
+    double read(
+      final ByteBuffer buffer,
+      final int index)
+    {
+      return (buffer.get(index) & 0xff) / 255.0;
+    }
+
+    @Override
+    void write(
+      final ByteBuffer buffer,
+      final int index,
+      final double x)
+    {
+      buffer.put(index, (byte) (int) (clamp(x, 0.0, 1.0) * 255.0 + 0.5));
+    }
+  },
+
+  /**
+   * Unsigned 16-bit integers normalized to {@code [0, 1]}.
+   */
+
+  UNORM16(2) {
+    @Override
+    double read(
+      final ByteBuffer buffer,
+      final int index)
+    {
+      return (buffer.getShort(index) & 0xffff) / 65535.0;
+    }
+
+    @Override
+    void write(
+      final ByteBuffer buffer,
+      final int index,
+      final double x)
+    {
+      buffer.putShort(index, (short) (int) (clamp(x, 0.0, 1.0) * 65535.0 + 0.5));
+    }
+  },
+
+  /**
+   * IEEE 754 half-precision floating point.
+   */
+
+  FLOAT16(2) {
+    @Override
+    double read(
+      final ByteBuffer buffer,
+      final int index)
+    {
+      return Float.float16ToFloat(buffer.getShort(index));
+    }
+
+    @Override
+    void write(
+      final ByteBuffer buffer,
+      final int index,
+      final double x)
+    {
+      buffer.putShort(index, Float16Bulk.encode(x));
+    }
+  },
+
+  /**
+   * IEEE 754 single-precision floating point.
+   */
+
+  FLOAT32(4) {
+    @Override
+    double read(
+      final ByteBuffer buffer,
+      final int index)
+    {
+      return buffer.getFloat(index);
+    }
+
+    @Override
+    void write(
+      final ByteBuffer buffer,
+      final int index,
+      final double x)
+    {
+      buffer.putFloat(index, (float) x);
+    }
+  },
+
+  /**
+   * IEEE 754 double-precision floating point.
+   */
+
+  FLOAT64(8) {
+    @Override
+    double read(
+      final ByteBuffer buffer,
+      final int index)
+    {
+      return buffer.getDouble(index);
+    }
+
+    @Override
+    void write(
+      final ByteBuffer buffer,
+      final int index,
+      final double x)
+    {
+      buffer.putDouble(index, x);
+    }
+  };
+
+  private final int size;
+
+  PixelComponentType(
+    final int inSize)
+  {
+    this.size = inSize;
+  }
+
+  /**
+   * @return The size of a single component in bytes
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  abstract double read(
+    ByteBuffer buffer,
+    int index);
+
+  abstract void write(
+    ByteBuffer buffer,
+    int index,
+    double x);
+}
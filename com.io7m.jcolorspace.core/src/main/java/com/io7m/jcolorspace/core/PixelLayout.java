@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * <p>The layout of four-component pixels in a byte buffer.</p>
+ *
+ * <p>In an interleaved layout, the components of each pixel are stored
+ * together, and pixels follow each other directly. In a planar layout, each
+ * component is stored in its own plane, the planes are stored in component
+ * order, and the start of each plane is {@code planeStride} bytes after the
+ * start of the previous plane.</p>
+ *
+ * @param order       The component order
+ * @param type        The component type
+ * @param byteOrder   The byte order of multi-byte components
+ * @param planeStride The distance in bytes between planes, or {@code 0} for
+ *                    an interleaved layout
+ */
+
+public record PixelLayout(
+  PixelComponentOrder order,
+  PixelComponentType type,
+  ByteOrder byteOrder,
+  int planeStride)
+{
+  /**
+   * The layout of four-component pixels in a byte buffer.
+   *
+   * @param order       The component order
+   * @param type        The component type
+   * @param byteOrder   The byte order of multi-byte components
+   * @param planeStride The distance in bytes between planes, or {@code 0} for
+   *                    an interleaved layout
+   */
+
+  public PixelLayout
+  {
+    Objects.requireNonNull(order, "order");
+    Objects.requireNonNull(type, "type");
+    Objects.requireNonNull(byteOrder, "byteOrder");
+
+    if (planeStride < 0) {
+      throw new IllegalArgumentException(
+        "Plane stride %d must be non-negative"
+          .formatted(Integer.valueOf(planeStride)));
+    }
+  }
+
+  /**
+   * Create an interleaved layout.
+   *
+   * @param order     The component order
+   * @param type      The component type
+   * @param byteOrder The byte order of multi-byte components
+   *
+   * @return A layout
+   */
+
+  public static PixelLayout interleaved(
+    final PixelComponentOrder order,
+    final PixelComponentType type,
+    final ByteOrder byteOrder)
+  {
+    return new PixelLayout(order, type, byteOrder, 0);
+  }
+
+  /**
+   * Create a planar layout.
+   *
+   * @param order       The component order
+   * @param type        The component type
+   * @param byteOrder   The byte order of multi-byte components
+   * @param planeStride The distance in bytes between planes
+   *
+   * @return A layout
+   */
+
+  public static PixelLayout planar(
+    final PixelComponentOrder order,
+    final PixelComponentType type,
+    final ByteOrder byteOrder,
+    final int planeStride)
+  {
+    if (planeStride == 0) {
+      throw new IllegalArgumentException("Plane stride must be positive");
+    }
+    return new PixelLayout(order, type, byteOrder, planeStride);
+  }
+
+  /**
+   * @return {@code true} if the layout is planar
+   */
+
+  public boolean isPlanar()
+  {
+    return this.planeStride != 0;
+  }
+
+  /**
+   * @return The distance in bytes between consecutive pixels
+   */
+
+  public int pixelStride()
+  {
+    if (this.isPlanar()) {
+      return this.type.size();
+    }
+    return this.type.size() * 4;
+  }
+
+  /**
+   * @param channel The channel, where {@code 3} is alpha
+   *
+   * @return The offset in bytes of the given channel relative to the start
+   * of a pixel
+   */
+
+  public int channelOffset(
+    final int channel)
+  {
+    final var position = this.order.position(channel);
+    if (this.isPlanar()) {
+      return position * this.planeStride;
+    }
+    return position * this.type.size();
+  }
+
+  /**
+   * @param pixels The number of pixels
+   *
+   * @return The number of bytes spanned by the given number of pixels
+   */
+
+  public int extent(
+    final int pixels)
+  {
+    if (pixels == 0) {
+      return 0;
+    }
+
+    int maxOffset = 0;
+    for (int channel = 0; channel < 4; ++channel) {
+      maxOffset = Math.max(maxOffset, this.channelOffset(channel));
+    }
+    return Math.addExact(
+      Math.multiplyExact(pixels - 1, this.pixelStride()),
+      maxOffset + this.type.size()
+    );
+  }
+}
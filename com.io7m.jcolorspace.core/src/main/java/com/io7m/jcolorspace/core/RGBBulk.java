@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrix3x3D;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>Functions to convert whole buffers of linear RGB values between RGB
+ * color spaces.</p>
+ *
+ * <p>Buffers are arrays of interleaved RGBA components, four components per
+ * pixel. The matrix is applied to the RGB components and alpha is copied
+ * unchanged. No clamping is performed: Colors that lie outside of the target
+ * gamut produce components outside of {@code [0, 1]}. The source and target
+ * may be the same array, in which case conversion happens in place.</p>
+ */
+
+public final class RGBBulk
+{
+  private RGBBulk()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Transform {@code pixels} pixels by the given matrix.
+   *
+   * @param matrix       The matrix
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void transform(
+    final PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType> matrix,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    Objects.requireNonNull(matrix, "matrix");
+    ColorBulk.checkBounds(source, sourceOffset, target, targetOffset, pixels);
+
+    final var m00 = matrix.r0c0();
+    final var m01 = matrix.r0c1();
+    final var m02 = matrix.r0c2();
+    final var m10 = matrix.r1c0();
+    final var m11 = matrix.r1c1();
+    final var m12 = matrix.r1c2();
+    final var m20 = matrix.r2c0();
+    final var m21 = matrix.r2c1();
+    final var m22 = matrix.r2c2();
+
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var r = source[s];
+      final var g = source[s + 1];
+      final var b = source[s + 2];
+      final var a = source[s + 3];
+      target[t] = m00 * r + m01 * g + m02 * b;
+      target[t + 1] = m10 * r + m11 * g + m12 * b;
+      target[t + 2] = m20 * r + m21 * g + m22 * b;
+      target[t + 3] = a;
+      s += 4;
+      t += 4;
+    }
+  }
+
+  /**
+   * Convert {@code pixels} pixels from the {@code from} color space to the
+   * {@code to} color space.
+   *
+   * @param from         The source color space
+   * @param to           The target color space
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void convert(
+    final RGBPrimaries from,
+    final RGBPrimaries to,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    transform(
+      RGBConversionMatrices.matrix(from, to),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * Convert {@code pixels} pixels from the {@code from} color space to the
+   * {@code to} color space, splitting the work across the threads of
+   * {@code pool}.
+   *
+   * @param pool         The pool
+   * @param from         The source color space
+   * @param to           The target color space
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void convertParallel(
+    final ForkJoinPool pool,
+    final RGBPrimaries from,
+    final RGBPrimaries to,
+    final double[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    ColorBulk.convertParallel(
+      pool,
+      conversion(from, to),
+      source,
+      sourceOffset,
+      target,
+      targetOffset,
+      pixels
+    );
+  }
+
+  /**
+   * @param from The source color space
+   * @param to   The target color space
+   *
+   * @return A bulk conversion between the given color spaces
+   */
+
+  public static ColorBulkConversionType<
+    ColorSpaceTagLinearRGBType,
+    ColorSpaceTagLinearRGBType> conversion(
+    final RGBPrimaries from,
+    final RGBPrimaries to)
+  {
+    final var matrix = RGBConversionMatrices.matrix(from, to);
+    return (source, sourceOffset, target, targetOffset, pixels) -> {
+      transform(matrix, source, sourceOffset, target, targetOffset, pixels);
+    };
+  }
+}
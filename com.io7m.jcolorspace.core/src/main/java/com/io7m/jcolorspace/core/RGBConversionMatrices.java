@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrix3x3D;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A registry of conversion matrices between linear RGB color spaces.</p>
+ *
+ * <p>Each matrix is derived at most once per pair of spaces and is then
+ * retained for the lifetime of the registry; repeated requests return the
+ * same matrix instance. The registry is safe to use from multiple
+ * threads.</p>
+ *
+ * <p>Conversions go through XYZ and do not adapt between differing reference
+ * whites.</p>
+ */
+
+public final class RGBConversionMatrices
+{
+  private static final ConcurrentHashMap<
+    RGBPrimaries,
+    PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagXYZType>> TO_XYZ =
+    new ConcurrentHashMap<>();
+
+  private static final ConcurrentHashMap<
+    RGBPrimaries,
+    PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagLinearRGBType>> FROM_XYZ =
+    new ConcurrentHashMap<>();
+
+  private static final ConcurrentHashMap<
+    Pair,
+    PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType>> RGB_TO_RGB =
+    new ConcurrentHashMap<>();
+
+  private RGBConversionMatrices()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * @param primaries The color space
+   *
+   * @return The matrix that transforms linear RGB values in the given space
+   * to XYZ
+   */
+
+  public static PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagXYZType>
+  toXYZ(
+    final RGBPrimaries primaries)
+  {
+    Objects.requireNonNull(primaries, "primaries");
+    return TO_XYZ.computeIfAbsent(primaries, RGBPrimaries::deriveToXYZ);
+  }
+
+  /**
+   * @param primaries The color space
+   *
+   * @return The matrix that transforms XYZ values to linear RGB values in
+   * the given space
+   */
+
+  public static PMatrix3x3D<ColorSpaceTagXYZType, ColorSpaceTagLinearRGBType>
+  fromXYZ(
+    final RGBPrimaries primaries)
+  {
+    Objects.requireNonNull(primaries, "primaries");
+    return FROM_XYZ.computeIfAbsent(primaries, p -> {
+      return PMatrices3x3D.invert(toXYZ(p)).orElseThrow(() -> {
+        return new IllegalArgumentException(
+          "The RGB to XYZ matrix of %s is singular".formatted(p.name()));
+      });
+    });
+  }
+
+  /**
+   * @param source The source color space
+   * @param target The target color space
+   *
+   * @return The matrix that transforms linear RGB values in {@code source}
+   * to linear RGB values in {@code target}
+   */
+
+  public static PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType>
+  matrix(
+    final RGBPrimaries source,
+    final RGBPrimaries target)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(target, "target");
+    return RGB_TO_RGB.computeIfAbsent(new Pair(source, target), pair -> {
+      if (pair.source.equals(pair.target)) {
+        return PMatrices3x3D.identity();
+      }
+      return PMatrices3x3D.multiply(fromXYZ(pair.target), toXYZ(pair.source));
+    });
+  }
+
+  /**
+   * @return The number of RGB to RGB matrices currently cached
+   */
+
+  public static int cachedMatrices()
+  {
+    return RGB_TO_RGB.size();
+  }
+
+  private record Pair(
+    RGBPrimaries source,
+    RGBPrimaries target)
+  {
+
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrix3x3D;
+import com.io7m.jtensors.core.unparameterized.vectors.Vector3D;
+
+import java.util.Objects;
+
+/**
+ * <p>The definition of a linear RGB color space in terms of the
+ * chromaticities of its primaries and its reference white.</p>
+ *
+ * <p>The {@link ColorSpaceTagLinearRGBType} tag does not distinguish between
+ * RGB spaces; values tagged with it are in whichever space the code handling
+ * them has agreed upon. Use {@link RGBConversionMatrices} to move values
+ * between spaces.</p>
+ *
+ * @param name  The name of the color space
+ * @param red   The red primary
+ * @param green The green primary
+ * @param blue  The blue primary
+ * @param white The reference white
+ */
+
+public record RGBPrimaries(
+  String name,
+  Chromaticity red,
+  Chromaticity green,
+  Chromaticity blue,
+  Chromaticity white)
+{
+  /**
+   * The CIE D65 standard illuminant.
+   */
+
+  public static final Chromaticity WHITE_D65 =
+    Chromaticity.of(0.3127, 0.3290);
+
+  /**
+   * The primaries of sRGB and ITU-R BT.709.
+   */
+
+  public static final RGBPrimaries SRGB = new RGBPrimaries(
+    "sRGB",
+    Chromaticity.of(0.64, 0.33),
+    Chromaticity.of(0.30, 0.60),
+    Chromaticity.of(0.15, 0.06),
+    WHITE_D65
+  );
+
+  /**
+   * The primaries of Display P3.
+   */
+
+  public static final RGBPrimaries DISPLAY_P3 = new RGBPrimaries(
+    "Display P3",
+    Chromaticity.of(0.680, 0.320),
+    Chromaticity.of(0.265, 0.690),
+    Chromaticity.of(0.150, 0.060),
+    WHITE_D65
+  );
+
+  /**
+   * The primaries of ITU-R BT.2020.
+   */
+
+  public static final RGBPrimaries REC2020 = new RGBPrimaries(
+    "Rec.2020",
+    Chromaticity.of(0.708, 0.292),
+    Chromaticity.of(0.170, 0.797),
+    Chromaticity.of(0.131, 0.046),
+    WHITE_D65
+  );
+
+  /**
+   * The primaries of Adobe RGB (1998).
+   */
+
+  public static final RGBPrimaries ADOBE_RGB = new RGBPrimaries(
+    "Adobe RGB (1998)",
+    Chromaticity.of(0.64, 0.33),
+    Chromaticity.of(0.21, 0.71),
+    Chromaticity.of(0.15, 0.06),
+    WHITE_D65
+  );
+
+  /**
+   * The definition of a linear RGB color space.
+   *
+   * @param name  The name of the color space
+   * @param red   The red primary
+   * @param green The green primary
+   * @param blue  The blue primary
+   * @param white The reference white
+   */
+
+  public RGBPrimaries
+  {
+    Objects.requireNonNull(name, "name");
+    Objects.requireNonNull(red, "red");
+    Objects.requireNonNull(green, "green");
+    Objects.requireNonNull(blue, "blue");
+    Objects.requireNonNull(white, "white");
+  }
+
+  /**
+   * Derive the matrix that transforms linear RGB values in this space to
+   * XYZ. Callers should prefer {@link RGBConversionMatrices#toXYZ(RGBPrimaries)},
+   * which caches the result.
+   *
+   * @return The RGB to XYZ matrix
+   *
+   * @throws IllegalArgumentException If the primaries are collinear
+   */
+
+  public PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagXYZType>
+  deriveToXYZ()
+  {
+    final var r = this.red.toXYZ();
+    final var g = this.green.toXYZ();
+    final var b = this.blue.toXYZ();
+
+    final PMatrix3x3D<ColorSpaceTagLinearRGBType, ColorSpaceTagXYZType> p =
+      PMatrices3x3D.ofColumns(
+        Vector3D.of(r.x(), r.y(), r.z()),
+        Vector3D.of(g.x(), g.y(), g.z()),
+        Vector3D.of(b.x(), b.y(), b.z())
+      );
+
+    final var inverse =
+      PMatrices3x3D.invert(p).orElseThrow(() -> {
+        return new IllegalArgumentException(
+          "The primaries of %s are collinear".formatted(this.name));
+      });
+
+    /*
+     * Scale each primary so that RGB (1, 1, 1) maps to the reference white.
+     */
+
+    final var s = PMatrices3x3D.multiplyVectorPost(inverse, this.white.toXYZ());
+    return PMatrices3x3D.multiply(
+      p,
+      PMatrices3x3D.<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType>ofScale(
+        s.x(), s.y(), s.z())
+    );
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>Functions to decode eight bit sRGB pixels to linear RGB.</p>
+ *
+ * <p>This is the inverse of {@link SRGBQuantizer}: Color components are
+ * decoded with the sRGB transfer function, and alpha is linear. Decoding
+ * uses an exact table of the 256 possible values, built on first use.
+ * Targets are arrays of interleaved linear RGBA components, four components
+ * per pixel.</p>
+ */
+
+public final class SRGBDecoder
+{
+  private SRGBDecoder()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static double[] makeDecodeTable()
+  {
+    final var table = new double[256];
+    for (int index = 0; index < 256; ++index) {
+      table[index] = SRGBTransfer.decodeExact(index / 255.0);
+    }
+    return table;
+  }
+
+  /**
+   * Decode {@code pixels} pixels stored as four bytes in RGBA order.
+   *
+   * @param source       The source bytes
+   * @param sourceOffset The offset of the first source byte
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void decodeRGBA(
+    final byte[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    final var components = Math.multiplyExact(pixels, 4);
+    Objects.checkFromIndexSize(sourceOffset, components, source.length);
+    Objects.checkFromIndexSize(targetOffset, components, target.length);
+
+    final var table = DecodeTableHolder.DECODE;
+    int s = sourceOffset;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      target[t] = table[source[s] & 0xff];
+      target[t + 1] = table[source[s + 1] & 0xff];
+      target[t + 2] = table[source[s + 2] & 0xff];
+      target[t + 3] = (source[s + 3] & 0xff) / 255.0;
+      s += 4;
+      t += 4;
+    }
+  }
+
+  /**
+   * Decode {@code pixels} pixels packed into integers as {@code 0xAARRGGBB},
+   * as used by {@code java.awt.image.BufferedImage}.
+   *
+   * @param source       The source pixels
+   * @param sourceOffset The offset of the first source pixel
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void decodeARGB(
+    final int[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    Objects.checkFromIndexSize(sourceOffset, pixels, source.length);
+    Objects.checkFromIndexSize(
+      targetOffset, Math.multiplyExact(pixels, 4), target.length);
+
+    final var table = DecodeTableHolder.DECODE;
+    int t = targetOffset;
+    for (int index = 0; index < pixels; ++index) {
+      final var p = source[sourceOffset + index];
+      target[t] = table[(p >>> 16) & 0xff];
+      target[t + 1] = table[(p >>> 8) & 0xff];
+      target[t + 2] = table[p & 0xff];
+      target[t + 3] = (p >>> 24) / 255.0;
+      t += 4;
+    }
+  }
+
+  /**
+   * Decode {@code pixels} pixels packed into integers as {@code 0xAARRGGBB},
+   * splitting the work across the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param source       The source pixels
+   * @param sourceOffset The offset of the first source pixel
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   * @param pixels       The number of pixels
+   */
+
+  public static void decodeARGBParallel(
+    final ForkJoinPool pool,
+    final int[] source,
+    final int sourceOffset,
+    final double[] target,
+    final int targetOffset,
+    final int pixels)
+  {
+    Objects.checkFromIndexSize(sourceOffset, pixels, source.length);
+    Objects.checkFromIndexSize(
+      targetOffset, Math.multiplyExact(pixels, 4), target.length);
+
+    ColorBulk.parallelRanges(
+      pool,
+      pixels,
+      ColorBulk.PARALLEL_GRAIN_DEFAULT,
+      (start, end) -> {
+        decodeARGB(
+          source,
+          sourceOffset + start,
+          target,
+          targetOffset + start * 4,
+          end - start
+        );
+      });
+  }
+
+  private static final class DecodeTableHolder
+  {
+    private static final double[] DECODE = makeDecodeTable();
+
+    private DecodeTableHolder()
+    {
+      throw new UnreachableCodeException();
+    }
+  }
+}
@@ -0,0 +1,536 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>Functions to quantize whole images to eight bit sRGB.</p>
+ *
+ * <p>Source images are arrays of interleaved linear RGBA or HSVA components,
+ * four components per pixel, stored in row major order. Each pixel is
+ * converted to linear RGB (for HSV sources), encoded with the sRGB transfer
+ * function, dithered, and written to the target as four bytes in RGBA order
+ * in a single pass; no intermediate image is produced. Components are
+ * clamped to {@code [0, 1]} before encoding. Alpha is linear, and is rounded
+ * rather than dithered.</p>
+ *
+ * <p>The parallel functions produce output identical to the serial
+ * functions for all dither methods.</p>
+ *
+ * @see DitherMethod
+ */
+
+public final class SRGBQuantizer
+{
+  private static final int PROGRESS_INTERVAL = 16;
+  private static final int SPIN_LIMIT = 128;
+
+  private SRGBQuantizer()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Quantize an image of linear RGB pixels.
+   *
+   * @param method       The dither method
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param width        The width of the image
+   * @param height       The height of the image
+   * @param target       The target bytes
+   * @param targetOffset The offset of the first target byte
+   */
+
+  public static void quantizeRGB(
+    final DitherMethod method,
+    final double[] source,
+    final int sourceOffset,
+    final int width,
+    final int height,
+    final byte[] target,
+    final int targetOffset)
+  {
+    run(
+      null,
+      method,
+      new Image(false, source, sourceOffset, width, height, target, targetOffset)
+    );
+  }
+
+  /**
+   * Quantize an image of HSV pixels.
+   *
+   * @param method       The dither method
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param width        The width of the image
+   * @param height       The height of the image
+   * @param target       The target bytes
+   * @param targetOffset The offset of the first target byte
+   */
+
+  public static void quantizeHSV(
+    final DitherMethod method,
+    final double[] source,
+    final int sourceOffset,
+    final int width,
+    final int height,
+    final byte[] target,
+    final int targetOffset)
+  {
+    run(
+      null,
+      method,
+      new Image(true, source, sourceOffset, width, height, target, targetOffset)
+    );
+  }
+
+  /**
+   * Quantize an image of linear RGB pixels, splitting the work across the
+   * threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param method       The dither method
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param width        The width of the image
+   * @param height       The height of the image
+   * @param target       The target bytes
+   * @param targetOffset The offset of the first target byte
+   */
+
+  public static void quantizeRGBParallel(
+    final ForkJoinPool pool,
+    final DitherMethod method,
+    final double[] source,
+    final int sourceOffset,
+    final int width,
+    final int height,
+    final byte[] target,
+    final int targetOffset)
+  {
+    run(
+      Objects.requireNonNull(pool, "pool"),
+      method,
+      new Image(false, source, sourceOffset, width, height, target, targetOffset)
+    );
+  }
+
+  /**
+   * Quantize an image of HSV pixels, splitting the work across the threads
+   * of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param method       The dither method
+   * @param source       The source components
+   * @param sourceOffset The offset of the first source component
+   * @param width        The width of the image
+   * @param height       The height of the image
+   * @param target       The target bytes
+   * @param targetOffset The offset of the first target byte
+   */
+
+  public static void quantizeHSVParallel(
+    final ForkJoinPool pool,
+    final DitherMethod method,
+    final double[] source,
+    final int sourceOffset,
+    final int width,
+    final int height,
+    final byte[] target,
+    final int targetOffset)
+  {
+    run(
+      Objects.requireNonNull(pool, "pool"),
+      method,
+      new Image(true, source, sourceOffset, width, height, target, targetOffset)
+    );
+  }
+
+  private static void run(
+    final ForkJoinPool pool,
+    final DitherMethod method,
+    final Image image)
+  {
+    Objects.requireNonNull(method, "method");
+
+    if (method == DitherMethod.FLOYD_STEINBERG) {
+      final var diffusion = new Diffusion(image);
+      if (pool == null) {
+        diffusion.run();
+      } else {
+        pool.invoke(new DiffusionAction(
+          diffusion,
+          Math.max(1, Math.min(pool.getParallelism(), image.height))
+        ));
+      }
+      return;
+    }
+
+    final var matrix = DitherMatrix.forMethod(method);
+    if (pool == null) {
+      image.ordered(matrix, 0, image.height);
+    } else {
+      ColorBulk.parallelRanges(
+        pool,
+        image.height,
+        Math.max(1, ColorBulk.PARALLEL_GRAIN_DEFAULT / Math.max(1, image.width)),
+        (start, end) -> image.ordered(matrix, start, end)
+      );
+    }
+  }
+
+  /**
+   * Quantize a band of rows of linear RGB pixels with an ordered dither
+   * method. The band holds {@code rows} rows of {@code width} pixels,
+   * starting at offset zero, and the first row of the band is row
+   * {@code rowStart} of the image; the output is identical to that of
+   * {@link #quantizeRGB(DitherMethod, double[], int, int, int, byte[], int)}
+   * for the same rows of the whole image.
+   *
+   * @param method       The dither method
+   * @param band         The source components
+   * @param width        The width of the image
+   * @param rowStart     The image row of the first row of the band
+   * @param rows         The number of rows in the band
+   * @param target       The target bytes of the whole image
+   * @param targetOffset The offset of the first target byte of the image
+   */
+
+  static void quantizeBandRGB(
+    final DitherMethod method,
+    final double[] band,
+    final int width,
+    final int rowStart,
+    final int rows,
+    final byte[] target,
+    final int targetOffset)
+  {
+    final var matrix = DitherMatrix.forMethod(method);
+    for (int row = 0; row < rows; ++row) {
+      final var y = rowStart + row;
+      int s = row * width * 4;
+      int t = targetOffset + y * width * 4;
+      for (int x = 0; x < width; ++x) {
+        final var threshold = matrix.threshold(x, y);
+        target[t] = quantize(
+          SRGBTransfer.encode(band[s]) * 255.0, threshold);
+        target[t + 1] = quantize(
+          SRGBTransfer.encode(band[s + 1]) * 255.0, threshold);
+        target[t + 2] = quantize(
+          SRGBTransfer.encode(band[s + 2]) * 255.0, threshold);
+        target[t + 3] = quantizeAlpha(band[s + 3]);
+        s += 4;
+        t += 4;
+      }
+    }
+  }
+
+  private static byte quantize(
+    final double x,
+    final double threshold)
+  {
+    return (byte) Math.min((int) (x + threshold), 255);
+  }
+
+  private static byte quantizeAlpha(
+    final double a)
+  {
+    return (byte) (int) (clamp(a, 0.0, 1.0) * 255.0 + 0.5);
+  }
+
+  private static final class Image
+  {
+    private final boolean hsv;
+    private final double[] source;
+    private final int sourceOffset;
+    private final int width;
+    private final int height;
+    private final byte[] target;
+    private final int targetOffset;
+
+    Image(
+      final boolean inHSV,
+      final double[] inSource,
+      final int inSourceOffset,
+      final int inWidth,
+      final int inHeight,
+      final byte[] inTarget,
+      final int inTargetOffset)
+    {
+      this.hsv = inHSV;
+      this.source = Objects.requireNonNull(inSource, "source");
+      this.sourceOffset = inSourceOffset;
+      this.width = inWidth;
+      this.height = inHeight;
+      this.target = Objects.requireNonNull(inTarget, "target");
+      this.targetOffset = inTargetOffset;
+
+      if (inWidth < 0 || inHeight < 0) {
+        throw new IllegalArgumentException(
+          "Image size %dx%d must be non-negative"
+            .formatted(Integer.valueOf(inWidth), Integer.valueOf(inHeight))
+        );
+      }
+
+      final var components =
+        Math.multiplyExact(Math.multiplyExact(inWidth, inHeight), 4);
+      Objects.checkFromIndexSize(inSourceOffset, components, inSource.length);
+      Objects.checkFromIndexSize(inTargetOffset, components, inTarget.length);
+    }
+
+    /**
+     * Convert a pixel to encoded RGB components in the range
+     * {@code [0, 255]} and a linear alpha component.
+     */
+
+    void sample(
+      final int pixel,
+      final double[] out)
+    {
+      final var s = this.sourceOffset + pixel * 4;
+      final var data = this.source;
+      if (this.hsv) {
+        HSV.toRGBComponents(
+          clamp(data[s], 0.0, 1.0),
+          clamp(data[s + 1], 0.0, 1.0),
+          clamp(data[s + 2], 0.0, 1.0),
+          data[s + 3],
+          out,
+          0
+        );
+      } else {
+        out[0] = data[s];
+        out[1] = data[s + 1];
+        out[2] = data[s + 2];
+        out[3] = data[s + 3];
+      }
+
+      out[0] = SRGBTransfer.encode(out[0]) * 255.0;
+      out[1] = SRGBTransfer.encode(out[1]) * 255.0;
+      out[2] = SRGBTransfer.encode(out[2]) * 255.0;
+    }
+
+    void ordered(
+      final DitherMatrix matrix,
+      final int rowStart,
+      final int rowEnd)
+    {
+      final var out = new double[4];
+      final var data = this.target;
+      for (int y = rowStart; y < rowEnd; ++y) {
+        final var row = y * this.width;
+        for (int x = 0; x < this.width; ++x) {
+          this.sample(row + x, out);
+          final var threshold = matrix.threshold(x, y);
+          final var t = this.targetOffset + (row + x) * 4;
+          data[t] = quantize(out[0], threshold);
+          data[t + 1] = quantize(out[1], threshold);
+          data[t + 2] = quantize(out[2], threshold);
+          data[t + 3] = quantizeAlpha(out[3]);
+        }
+      }
+    }
+  }
+
+  /**
+   * <p>Floyd-Steinberg error diffusion, processed as a wavefront.</p>
+   *
+   * <p>The error of pixel {@code (x, y)} is distributed to {@code (x + 1, y)},
+   * {@code (x - 1, y + 1)}, {@code (x, y + 1)} and {@code (x + 1, y + 1)}.
+   * Row {@code y + 1} may therefore process pixel {@code x} as soon as row
+   * {@code y} has finished pixel {@code x + 1}. Rows are claimed in order
+   * by whichever worker is free, and each worker waits for the row above to
+   * advance far enough before processing each pixel. Because a row is only
+   * ever claimed by a running worker, and the row above was claimed earlier,
+   * every wait is eventually satisfied regardless of how the pool schedules
+   * the workers.</p>
+   *
+   * <p>Errors destined for the next row are accumulated in one of two row
+   * buffers, selected by the parity of the row. A row writes to a buffer
+   * position only after the row above it has read that position.</p>
+   */
+
+  private static final class Diffusion
+  {
+    private final Image image;
+    private final double[][] errors;
+    private final AtomicIntegerArray progress;
+    private final AtomicInteger nextRow;
+    private final AtomicBoolean failed;
+
+    Diffusion(
+      final Image inImage)
+    {
+      this.image = inImage;
+      final var rowSize = Math.multiplyExact(inImage.width, 3);
+      this.errors = new double[][]{new double[rowSize], new double[rowSize]};
+      this.progress = new AtomicIntegerArray(inImage.height);
+      this.nextRow = new AtomicInteger();
+      this.failed = new AtomicBoolean();
+    }
+
+    void run()
+    {
+      try {
+        while (true) {
+          final var y = this.nextRow.getAndIncrement();
+          if (y >= this.image.height) {
+            return;
+          }
+          this.row(y);
+        }
+      } catch (final RuntimeException e) {
+        this.failed.set(true);
+        throw e;
+      }
+    }
+
+    private int awaitAbove(
+      final int y,
+      final int required)
+    {
+      int spins = 0;
+      while (true) {
+        final var available = this.progress.getAcquire(y - 1);
+        if (available >= required) {
+          return available;
+        }
+        if (this.failed.get()) {
+          throw new CancellationException();
+        }
+
+        /*
+         * The row above is normally only a few pixels ahead, so spin
+         * briefly before giving up the processor to the thread that is
+         * processing it.
+         */
+
+        if (spins < SPIN_LIMIT) {
+          ++spins;
+          Thread.onSpinWait();
+        } else {
+          Thread.yield();
+        }
+      }
+    }
+
+    private void row(
+      final int y)
+    {
+      final var width = this.image.width;
+      final var current = this.errors[y & 1];
+      final var next = this.errors[(y + 1) & 1];
+      final var data = this.image.target;
+      final var out = new double[4];
+
+      int available = y == 0 ? width : 0;
+      double carryR = 0.0;
+      double carryG = 0.0;
+      double carryB = 0.0;
+
+      for (int x = 0; x < width; ++x) {
+        final var required = Math.min(x + 2, width);
+        if (available < required) {
+          available = this.awaitAbove(y, required);
+        }
+
+        final var pixel = y * width + x;
+        this.image.sample(pixel, out);
+
+        final var e = x * 3;
+        final var t = this.image.targetOffset + pixel * 4;
+        carryR = diffuse(out[0] + carryR + current[e], data, t, next, e);
+        carryG = diffuse(out[1] + carryG + current[e + 1], data, t + 1, next, e + 1);
+        carryB = diffuse(out[2] + carryB + current[e + 2], data, t + 2, next, e + 2);
+        data[t + 3] = quantizeAlpha(out[3]);
+
+        if ((x + 1) % PROGRESS_INTERVAL == 0) {
+          this.progress.setRelease(y, x + 1);
+        }
+      }
+      this.progress.setRelease(y, width);
+    }
+
+    /**
+     * Quantize a single component, distribute its error to the next row,
+     * and return the error carried to the next pixel in this row.
+     */
+
+    private static double diffuse(
+      final double value,
+      final byte[] data,
+      final int dataIndex,
+      final double[] next,
+      final int errorIndex)
+    {
+      final var q = (int) clamp(Math.rint(value), 0.0, 255.0);
+      data[dataIndex] = (byte) q;
+
+      final var error = value - q;
+      if (errorIndex >= 3) {
+        next[errorIndex - 3] += error * (3.0 / 16.0);
+        next[errorIndex] += error * (5.0 / 16.0);
+      } else {
+        next[errorIndex] = error * (5.0 / 16.0);
+      }
+      if (errorIndex + 3 < next.length) {
+        next[errorIndex + 3] = error * (1.0 / 16.0);
+      }
+      return error * (7.0 / 16.0);
+    }
+  }
+
+  private static final class DiffusionAction extends RecursiveAction
+  {
+    private final Diffusion diffusion;
+    private final int workers;
+
+    DiffusionAction(
+      final Diffusion inDiffusion,
+      final int inWorkers)
+    {
+      this.diffusion = inDiffusion;
+      this.workers = inWorkers;
+    }
+
+    @Override
+    protected void compute()
+    {
+      final var tasks = new ArrayList<ForkJoinTask<?>>(this.workers);
+      for (int index = 0; index < this.workers; ++index) {
+        tasks.add(ForkJoinTask.adapt(this.diffusion::run));
+      }
+      ForkJoinTask.invokeAll(tasks);
+    }
+  }
+}
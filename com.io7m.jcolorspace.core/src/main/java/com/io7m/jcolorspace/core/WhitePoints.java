@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+/**
+ * Standard white points, and white points derived from correlated color
+ * temperatures.
+ */
+
+public final class WhitePoints
+{
+  /**
+   * The lowest supported correlated color temperature.
+   */
+
+  public static final double TEMPERATURE_MINIMUM = 1667.0;
+
+  /**
+   * The highest supported correlated color temperature.
+   */
+
+  public static final double TEMPERATURE_MAXIMUM = 25000.0;
+
+  /**
+   * CIE standard illuminant A (incandescent, approximately 2856K).
+   */
+
+  public static final Chromaticity A = Chromaticity.of(0.44757, 0.40745);
+
+  /**
+   * CIE standard illuminant D50 (horizon light, used by ICC profiles).
+   */
+
+  public static final Chromaticity D50 = Chromaticity.of(0.34567, 0.35850);
+
+  /**
+   * CIE standard illuminant D55 (mid-morning daylight).
+   */
+
+  public static final Chromaticity D55 = Chromaticity.of(0.33242, 0.34743);
+
+  /**
+   * CIE standard illuminant D65 (noon daylight).
+   */
+
+  public static final Chromaticity D65 = RGBPrimaries.WHITE_D65;
+
+  /**
+   * CIE standard illuminant D75 (north sky daylight).
+   */
+
+  public static final Chromaticity D75 = Chromaticity.of(0.29902, 0.31485);
+
+  /**
+   * CIE standard illuminant E (equal energy).
+   */
+
+  public static final Chromaticity E = Chromaticity.of(1.0 / 3.0, 1.0 / 3.0);
+
+  private WhitePoints()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Derive a white point from a correlated color temperature. Temperatures
+   * of 4000K and above lie on the CIE daylight locus; lower temperatures
+   * lie on the Planckian locus.
+   *
+   * @param kelvin The temperature in the range
+   *               {@code [TEMPERATURE_MINIMUM, TEMPERATURE_MAXIMUM]}
+   *
+   * @return A white point
+   *
+   * @see #TEMPERATURE_MINIMUM
+   * @see #TEMPERATURE_MAXIMUM
+   */
+
+  public static Chromaticity ofTemperature(
+    final double kelvin)
+  {
+    if (!(kelvin >= TEMPERATURE_MINIMUM && kelvin <= TEMPERATURE_MAXIMUM)) {
+      throw new IllegalArgumentException(
+        "Temperature %sK must be in the range [%s, %s]"
+          .formatted(
+            Double.valueOf(kelvin),
+            Double.valueOf(TEMPERATURE_MINIMUM),
+            Double.valueOf(TEMPERATURE_MAXIMUM))
+      );
+    }
+
+    if (kelvin >= 4000.0) {
+      return daylight(kelvin);
+    }
+    return planckian(kelvin);
+  }
+
+  private static Chromaticity daylight(
+    final double t)
+  {
+    final var t2 = t * t;
+    final var t3 = t2 * t;
+
+    final double x;
+    if (t <= 7000.0) {
+      x = -4.6070e9 / t3 + 2.9678e6 / t2 + 0.09911e3 / t + 0.244063;
+    } else {
+      x = -2.0064e9 / t3 + 1.9018e6 / t2 + 0.24748e3 / t + 0.237040;
+    }
+    final var y = -3.0 * x * x + 2.870 * x - 0.275;
+    return Chromaticity.of(x, y);
+  }
+
+  /*
+   * The cubic spline approximation of Kim et al.
+   */
+
+  private static Chromaticity planckian(
+    final double t)
+  {
+    final var t2 = t * t;
+    final var t3 = t2 * t;
+    final var x =
+      -0.2661239e9 / t3 - 0.2343589e6 / t2 + 0.8776956e3 / t + 0.179910;
+    final var x2 = x * x;
+    final var x3 = x2 * x;
+
+    final double y;
+    if (t <= 2222.0) {
+      y = -1.1063814 * x3 - 1.34811020 * x2 + 2.18555832 * x - 0.20219683;
+    } else {
+      y = -0.9549476 * x3 - 1.37418593 * x2 + 2.09137015 * x - 0.16748867;
+    }
+    return Chromaticity.of(x, y);
+  }
+}
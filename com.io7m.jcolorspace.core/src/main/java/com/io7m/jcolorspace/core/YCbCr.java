@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+
+/**
+ * <p>Functions to convert values to and from the Y'CbCr color space.</p>
+ *
+ * <p>Y'CbCr is an encoding of a gamma-encoded R'G'B' signal; no transfer
+ * function is applied in either direction, and the RGB values consumed and
+ * produced here are exactly the signal values that were (or will be)
+ * encoded. They are therefore tagged with
+ * {@link ColorSpaceTagEncodedRGBType} rather than the linear RGB tag.</p>
+ */
+
+public final class YCbCr
+{
+  private YCbCr()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Convert an R'G'B' color to Y'CbCr using the given matrix. The alpha
+   * component is preserved, and the R'G'B' components are clamped to the
+   * range {@code [0, 1]}.
+   *
+   * @param matrix The matrix
+   * @param rgb    The R'G'B' color
+   *
+   * @return A Y'CbCr color
+   */
+
+  public static PVector4D<ColorSpaceTagYCbCrType> toYCbCr(
+    final YCbCrMatrix matrix,
+    final PVector4D<ColorSpaceTagEncodedRGBType> rgb)
+  {
+    Objects.requireNonNull(matrix, "matrix");
+
+    final var r = HSV.clamp(rgb.x(), 0.0, 1.0);
+    final var g = HSV.clamp(rgb.y(), 0.0, 1.0);
+    final var b = HSV.clamp(rgb.z(), 0.0, 1.0);
+    final var kr = matrix.kr();
+    final var kb = matrix.kb();
+    final var y = kr * r + matrix.kg() * g + kb * b;
+    final var pb = (b - y) / (2.0 * (1.0 - kb));
+    final var pr = (r - y) / (2.0 * (1.0 - kr));
+    return PVector4D.of(y, pb + 0.5, pr + 0.5, rgb.w());
+  }
+
+  /**
+   * Convert a Y'CbCr color to R'G'B' using the given matrix. The alpha
+   * component is preserved, and the resulting R'G'B' components are clamped
+   * to the range {@code [0, 1]}.
+   *
+   * @param matrix The matrix
+   * @param ycbcr  The Y'CbCr color
+   *
+   * @return An R'G'B' color
+   */
+
+  public static PVector4D<ColorSpaceTagEncodedRGBType> toRGB(
+    final YCbCrMatrix matrix,
+    final PVector4D<ColorSpaceTagYCbCrType> ycbcr)
+  {
+    Objects.requireNonNull(matrix, "matrix");
+
+    final var y = ycbcr.x();
+    final var pb = ycbcr.y() - 0.5;
+    final var pr = ycbcr.z() - 0.5;
+    final var kr = matrix.kr();
+    final var kb = matrix.kb();
+    final var kg = matrix.kg();
+
+    final var r = y + 2.0 * (1.0 - kr) * pr;
+    final var b = y + 2.0 * (1.0 - kb) * pb;
+    final var g =
+      y
+        - (2.0 * kb * (1.0 - kb) / kg) * pb
+        - (2.0 * kr * (1.0 - kr) / kg) * pr;
+
+    return PVector4D.of(
+      HSV.clamp(r, 0.0, 1.0),
+      HSV.clamp(g, 0.0, 1.0),
+      HSV.clamp(b, 0.0, 1.0),
+      ycbcr.w()
+    );
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.io7m.jcolorspace.core.HSV.clamp;
+
+/**
+ * <p>Functions to convert whole 8-bit Y'CbCr images to RGB or HSV.</p>
+ *
+ * <p>Output buffers are arrays of interleaved RGBA (or HSVA) components,
+ * four components per pixel, in row-major order, with alpha set to
+ * {@code 1.0}. Subsampled chroma is upsampled by sample replication; each
+ * chroma sample is read and decoded once per group of pixels that share
+ * it. The RGB output is the R'G'B' signal that was encoded, in the
+ * {@link ColorSpaceTagEncodedRGBType encoded RGB} color space: No transfer
+ * function is applied, and the output must not be treated as linear RGB.</p>
+ *
+ * <p>The HSV conversions decode and convert each pixel in a single pass,
+ * and produce results identical to decoding to R'G'B' followed by
+ * {@link HSVBulk#toHSV(double[], int, double[], int, int)}. That is, hue,
+ * saturation, and value are those of the encoded signal, as is
+ * conventional for video analysis.</p>
+ */
+
+public final class YCbCrBulk
+{
+  private static final int ROW_GRAIN_PIXELS = ColorBulk.PARALLEL_GRAIN_DEFAULT;
+
+  private YCbCrBulk()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static void check(
+    final YCbCrImage image,
+    final YCbCrEncoding encoding,
+    final double[] target,
+    final int targetOffset)
+  {
+    Objects.requireNonNull(image, "image");
+    Objects.requireNonNull(encoding, "encoding");
+    Objects.requireNonNull(target, "target");
+    Objects.checkFromIndexSize(
+      targetOffset,
+      Math.multiplyExact(image.pixels(), 4),
+      target.length
+    );
+  }
+
+  /**
+   * Convert {@code image} to R'G'B'.
+   *
+   * @param image        The source image
+   * @param encoding     The encoding of the source image
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   */
+
+  public static void toRGB(
+    final YCbCrImage image,
+    final YCbCrEncoding encoding,
+    final double[] target,
+    final int targetOffset)
+  {
+    check(image, encoding, target, targetOffset);
+    convertRows(image, encoding, target, targetOffset, 0, image.height(), false);
+  }
+
+  /**
+   * Convert {@code image} to HSV.
+   *
+   * @param image        The source image
+   * @param encoding     The encoding of the source image
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   */
+
+  public static void toHSV(
+    final YCbCrImage image,
+    final YCbCrEncoding encoding,
+    final double[] target,
+    final int targetOffset)
+  {
+    check(image, encoding, target, targetOffset);
+    convertRows(image, encoding, target, targetOffset, 0, image.height(), true);
+  }
+
+  /**
+   * Convert {@code image} to R'G'B', splitting the rows of the image across
+   * the threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param image        The source image
+   * @param encoding     The encoding of the source image
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   */
+
+  public static void toRGBParallel(
+    final ForkJoinPool pool,
+    final YCbCrImage image,
+    final YCbCrEncoding encoding,
+    final double[] target,
+    final int targetOffset)
+  {
+    convertParallel(pool, image, encoding, target, targetOffset, false);
+  }
+
+  /**
+   * Convert {@code image} to HSV, splitting the rows of the image across the
+   * threads of {@code pool}.
+   *
+   * @param pool         The pool
+   * @param image        The source image
+   * @param encoding     The encoding of the source image
+   * @param target       The target components
+   * @param targetOffset The offset of the first target component
+   */
+
+  public static void toHSVParallel(
+    final ForkJoinPool pool,
+    final YCbCrImage image,
+    final YCbCrEncoding encoding,
+    final double[] target,
+    final int targetOffset)
+  {
+    convertParallel(pool, image, encoding, target, targetOffset, true);
+  }
+
+  private static void convertParallel(
+    final ForkJoinPool pool,
+    final YCbCrImage image,
+    final YCbCrEncoding encoding,
+    final double[] target,
+    final int targetOffset,
+    final boolean hsv)
+  {
+    check(image, encoding, target, targetOffset);
+
+    /*
+     * Split on chroma row boundaries so that no two tasks share a row of
+     * chroma samples, and so that each task holds at least a grain's worth
+     * of pixels.
+     */
+
+    final var shiftY = image.subsampling().shiftY();
+    final var chromaRows = image.subsampling().chromaHeight(image.height());
+    final var rowPixels = Math.max(1, image.width() << shiftY);
+    final var grain = Math.max(1, ROW_GRAIN_PIXELS / rowPixels);
+
+    ColorBulk.parallelRanges(pool, chromaRows, grain, (start, end) -> {
+      convertRows(
+        image,
+        encoding,
+        target,
+        targetOffset,
+        start << shiftY,
+        Math.min(image.height(), end << shiftY),
+        hsv
+      );
+    });
+  }
+
+  private static void convertRows(
+    final YCbCrImage image,
+    final YCbCrEncoding encoding,
+    final double[] target,
+    final int targetOffset,
+    final int rowStart,
+    final int rowEnd,
+    final boolean hsv)
+  {
+    final var width = image.width();
+    for (int y = rowStart; y < rowEnd; ++y) {
+      convertRow(
+        image,
+        encoding,
+        y,
+        target,
+        targetOffset + Math.multiplyExact(y, width) * 4,
+        hsv
+      );
+    }
+  }
+
+  private static void convertRow(
+    final YCbCrImage image,
+    final YCbCrEncoding encoding,
+    final int y,
+    final double[] target,
+    final int targetOffset,
+    final boolean hsv)
+  {
+    final var sub = image.subsampling();
+    final var shiftX = sub.shiftX();
+    final var groupWidth = 1 << shiftX;
+    final var width = image.width();
+
+    final var luma = image.luma();
+    final var lumaData = luma.data();
+    final var lumaStep = luma.pixelStride();
+    int lumaIndex = luma.offset() + y * luma.rowStride();
+
+    final var cb = image.cb();
+    final var cr = image.cr();
+    final var cy = y >> sub.shiftY();
+    final var cbData = cb.data();
+    final var crData = cr.data();
+    int cbIndex = cb.offset() + cy * cb.rowStride();
+    int crIndex = cr.offset() + cy * cr.rowStride();
+
+    int t = targetOffset;
+    int x = 0;
+    while (x < width) {
+      final var cbs = cbData[cbIndex] & 0xff;
+      final var crs = crData[crIndex] & 0xff;
+      final var dr = encoding.crToR(crs);
+      final var dg = encoding.cbToG(cbs) + encoding.crToG(crs);
+      final var db = encoding.cbToB(cbs);
+
+      final var groupEnd = Math.min(width, x + groupWidth);
+      for (; x < groupEnd; ++x) {
+        final var l = encoding.luma(lumaData[lumaIndex] & 0xff);
+        final var r = clamp(l + dr, 0.0, 1.0);
+        final var g = clamp(l + dg, 0.0, 1.0);
+        final var b = clamp(l + db, 0.0, 1.0);
+        if (hsv) {
+          HSV.toHSVComponents(r, g, b, 1.0, target, t);
+        } else {
+          target[t] = r;
+          target[t + 1] = g;
+          target[t + 2] = b;
+          target[t + 3] = 1.0;
+        }
+        lumaIndex += lumaStep;
+        t += 4;
+      }
+
+      cbIndex += cb.pixelStride();
+      crIndex += cr.pixelStride();
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>A combination of a Y'CbCr matrix and a quantization range.</p>
+ *
+ * <p>Each encoding holds lookup tables that map 8-bit samples directly to
+ * their contributions to each R'G'B' component, so decoding a pixel costs
+ * five table lookups and four additions. Encodings are immutable and
+ * instances are shared. The tables of an encoding are built on the first
+ * request for that encoding, so encodings that are never used cost
+ * nothing.</p>
+ */
+
+public final class YCbCrEncoding
+{
+  private static final AtomicReferenceArray<YCbCrEncoding> ENCODINGS =
+    new AtomicReferenceArray<>(
+      YCbCrMatrix.values().length * YCbCrRange.values().length);
+
+  private final YCbCrMatrix matrix;
+  private final YCbCrRange range;
+  private final double[] lumaTable;
+  private final double[] crToR;
+  private final double[] cbToG;
+  private final double[] crToG;
+  private final double[] cbToB;
+
+  private YCbCrEncoding(
+    final YCbCrMatrix inMatrix,
+    final YCbCrRange inRange)
+  {
+    this.matrix = inMatrix;
+    this.range = inRange;
+    this.lumaTable = new double[256];
+    this.crToR = new double[256];
+    this.cbToG = new double[256];
+    this.crToG = new double[256];
+    this.cbToB = new double[256];
+
+    final var kr = inMatrix.kr();
+    final var kb = inMatrix.kb();
+    final var kg = inMatrix.kg();
+
+    for (int sample = 0; sample < 256; ++sample) {
+      final var c = inRange.chroma(sample);
+      this.lumaTable[sample] = inRange.luma(sample);
+      this.crToR[sample] = 2.0 * (1.0 - kr) * c;
+      this.cbToB[sample] = 2.0 * (1.0 - kb) * c;
+      this.cbToG[sample] = -(2.0 * kb * (1.0 - kb) / kg) * c;
+      this.crToG[sample] = -(2.0 * kr * (1.0 - kr) / kg) * c;
+    }
+  }
+
+  private static int indexOf(
+    final YCbCrMatrix m,
+    final YCbCrRange r)
+  {
+    return m.ordinal() * YCbCrRange.values().length + r.ordinal();
+  }
+
+  /**
+   * @param matrix The matrix
+   * @param range  The range
+   *
+   * @return The encoding for the given matrix and range
+   */
+
+  public static YCbCrEncoding of(
+    final YCbCrMatrix matrix,
+    final YCbCrRange range)
+  {
+    Objects.requireNonNull(matrix, "matrix");
+    Objects.requireNonNull(range, "range");
+
+    /*
+     * Threads racing to create the same encoding may each build its tables,
+     * but only the first to publish its instance wins, so every caller
+     * observes the same shared instance.
+     */
+
+    final var index = indexOf(matrix, range);
+    final var existing = ENCODINGS.get(index);
+    if (existing != null) {
+      return existing;
+    }
+
+    final var created = new YCbCrEncoding(matrix, range);
+    if (ENCODINGS.compareAndSet(index, null, created)) {
+      return created;
+    }
+    return ENCODINGS.get(index);
+  }
+
+  /**
+   * @return The matrix
+   */
+
+  public YCbCrMatrix matrix()
+  {
+    return this.matrix;
+  }
+
+  /**
+   * @return The range
+   */
+
+  public YCbCrRange range()
+  {
+    return this.range;
+  }
+
+  double luma(
+    final int sample)
+  {
+    return this.lumaTable[sample];
+  }
+
+  double crToR(
+    final int sample)
+  {
+    return this.crToR[sample];
+  }
+
+  double cbToG(
+    final int sample)
+  {
+    return this.cbToG[sample];
+  }
+
+  double crToG(
+    final int sample)
+  {
+    return this.crToG[sample];
+  }
+
+  double cbToB(
+    final int sample)
+  {
+    return this.cbToB[sample];
+  }
+
+  @Override
+  public String toString()
+  {
+    return "[YCbCrEncoding %s %s]".formatted(this.matrix, this.range);
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+
+/**
+ * An 8-bit Y'CbCr image consisting of a luma plane and two (possibly
+ * subsampled) chroma planes. The static methods of this class describe the
+ * common memory layouts.
+ *
+ * @param width       The image width
+ * @param height      The image height
+ * @param subsampling The chroma subsampling
+ * @param luma        The luma plane
+ * @param cb          The blue-difference chroma plane
+ * @param cr          The red-difference chroma plane
+ */
+
+public record YCbCrImage(
+  int width,
+  int height,
+  YCbCrSubsampling subsampling,
+  YCbCrPlane luma,
+  YCbCrPlane cb,
+  YCbCrPlane cr)
+{
+  /**
+   * An 8-bit Y'CbCr image.
+   *
+   * @param width       The image width
+   * @param height      The image height
+   * @param subsampling The chroma subsampling
+   * @param luma        The luma plane
+   * @param cb          The blue-difference chroma plane
+   * @param cr          The red-difference chroma plane
+   */
+
+  public YCbCrImage
+  {
+    Objects.requireNonNull(subsampling, "subsampling");
+    Objects.requireNonNull(luma, "luma");
+    Objects.requireNonNull(cb, "cb");
+    Objects.requireNonNull(cr, "cr");
+    ColorFrame.checkSize(width, height);
+
+    final var cw = subsampling.chromaWidth(width);
+    final var ch = subsampling.chromaHeight(height);
+    luma.checkExtent("luma", width, height);
+    cb.checkExtent("Cb", cw, ch);
+    cr.checkExtent("Cr", cw, ch);
+  }
+
+  /**
+   * @return The number of pixels in the image
+   */
+
+  public int pixels()
+  {
+    return Math.multiplyExact(this.width, this.height);
+  }
+
+  /**
+   * Describe a tightly packed I420 image: A full resolution luma plane,
+   * followed by a 4:2:0 Cb plane, followed by a 4:2:0 Cr plane.
+   *
+   * @param data   The image data
+   * @param width  The image width
+   * @param height The image height
+   *
+   * @return An image
+   */
+
+  public static YCbCrImage i420(
+    final byte[] data,
+    final int width,
+    final int height)
+  {
+    return planar(data, width, height, YCbCrSubsampling.SUBSAMPLING_420);
+  }
+
+  /**
+   * Describe a tightly packed I422 image: A full resolution luma plane,
+   * followed by a 4:2:2 Cb plane, followed by a 4:2:2 Cr plane.
+   *
+   * @param data   The image data
+   * @param width  The image width
+   * @param height The image height
+   *
+   * @return An image
+   */
+
+  public static YCbCrImage i422(
+    final byte[] data,
+    final int width,
+    final int height)
+  {
+    return planar(data, width, height, YCbCrSubsampling.SUBSAMPLING_422);
+  }
+
+  /**
+   * Describe a tightly packed I444 image: Three full resolution planes.
+   *
+   * @param data   The image data
+   * @param width  The image width
+   * @param height The image height
+   *
+   * @return An image
+   */
+
+  public static YCbCrImage i444(
+    final byte[] data,
+    final int width,
+    final int height)
+  {
+    return planar(data, width, height, YCbCrSubsampling.SUBSAMPLING_444);
+  }
+
+  /**
+   * Describe a tightly packed NV12 image: A full resolution luma plane,
+   * followed by a 4:2:0 plane of interleaved Cb, Cr pairs.
+   *
+   * @param data   The image data
+   * @param width  The image width
+   * @param height The image height
+   *
+   * @return An image
+   */
+
+  public static YCbCrImage nv12(
+    final byte[] data,
+    final int width,
+    final int height)
+  {
+    return semiPlanar(
+      data, width, height, YCbCrSubsampling.SUBSAMPLING_420, false);
+  }
+
+  /**
+   * Describe a tightly packed NV21 image: A full resolution luma plane,
+   * followed by a 4:2:0 plane of interleaved Cr, Cb pairs.
+   *
+   * @param data   The image data
+   * @param width  The image width
+   * @param height The image height
+   *
+   * @return An image
+   */
+
+  public static YCbCrImage nv21(
+    final byte[] data,
+    final int width,
+    final int height)
+  {
+    return semiPlanar(
+      data, width, height, YCbCrSubsampling.SUBSAMPLING_420, true);
+  }
+
+  /**
+   * Describe a tightly packed NV16 image: A full resolution luma plane,
+   * followed by a 4:2:2 plane of interleaved Cb, Cr pairs.
+   *
+   * @param data   The image data
+   * @param width  The image width
+   * @param height The image height
+   *
+   * @return An image
+   */
+
+  public static YCbCrImage nv16(
+    final byte[] data,
+    final int width,
+    final int height)
+  {
+    return semiPlanar(
+      data, width, height, YCbCrSubsampling.SUBSAMPLING_422, false);
+  }
+
+  private static YCbCrImage planar(
+    final byte[] data,
+    final int width,
+    final int height,
+    final YCbCrSubsampling subsampling)
+  {
+    final var cw = subsampling.chromaWidth(width);
+    final var ch = subsampling.chromaHeight(height);
+    final var lumaSize = Math.multiplyExact(width, height);
+    final var chromaSize = Math.multiplyExact(cw, ch);
+    return new YCbCrImage(
+      width,
+      height,
+      subsampling,
+      new YCbCrPlane(data, 0, Math.max(1, width), 1),
+      new YCbCrPlane(data, lumaSize, Math.max(1, cw), 1),
+      new YCbCrPlane(data, lumaSize + chromaSize, Math.max(1, cw), 1)
+    );
+  }
+
+  private static YCbCrImage semiPlanar(
+    final byte[] data,
+    final int width,
+    final int height,
+    final YCbCrSubsampling subsampling,
+    final boolean crFirst)
+  {
+    final var cw = subsampling.chromaWidth(width);
+    final var lumaSize = Math.multiplyExact(width, height);
+    final var rowStride = Math.max(1, cw * 2);
+
+    int cbOffset = lumaSize;
+    int crOffset = lumaSize + 1;
+    if (crFirst) {
+      cbOffset = lumaSize + 1;
+      crOffset = lumaSize;
+    }
+
+    return new YCbCrImage(
+      width,
+      height,
+      subsampling,
+      new YCbCrPlane(data, 0, Math.max(1, width), 1),
+      new YCbCrPlane(data, cbOffset, rowStride, 2),
+      new YCbCrPlane(data, crOffset, rowStride, 2)
+    );
+  }
+}
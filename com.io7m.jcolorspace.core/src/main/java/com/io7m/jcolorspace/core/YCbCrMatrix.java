@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The standard Y'CbCr matrices.
+ */
+
+public enum YCbCrMatrix
+{
+  /**
+   * ITU-R BT.601 (standard definition video, JPEG).
+   */
+
+  BT601(0.299, 0.114),
+
+  /**
+   * ITU-R BT.709 (high definition video).
+   */
+
+  BT709(0.2126, 0.0722),
+
+  /**
+   * ITU-R BT.2020 (ultra high definition video, non-constant luminance).
+   */
+
+  BT2020(0.2627, 0.0593);
+
+  private final double kr;
+  private final double kb;
+
+  YCbCrMatrix(
+    final double inKr,
+    final double inKb)
+  {
+    this.kr = inKr;
+    this.kb = inKb;
+  }
+
+  /**
+   * @return The red luma coefficient
+   */
+
+  public double kr()
+  {
+    return this.kr;
+  }
+
+  /**
+   * @return The blue luma coefficient
+   */
+
+  public double kb()
+  {
+    return this.kb;
+  }
+
+  /**
+   * @return The green luma coefficient
+   */
+
+  public double kg()
+  {
+    return 1.0 - this.kr - this.kb;
+  }
+}
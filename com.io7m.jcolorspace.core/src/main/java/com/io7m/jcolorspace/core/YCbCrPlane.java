@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+import java.util.Objects;
+
+/**
+ * A plane of 8-bit samples within an array. Planar formats have a pixel
+ * stride of {@code 1}; semi-planar formats interleave two planes in the
+ * same array with a pixel stride of {@code 2}.
+ *
+ * @param data        The array holding the samples
+ * @param offset      The offset of the first sample
+ * @param rowStride   The distance in bytes between the starts of rows
+ * @param pixelStride The distance in bytes between adjacent samples in a row
+ */
+
+public record YCbCrPlane(
+  byte[] data,
+  int offset,
+  int rowStride,
+  int pixelStride)
+{
+  /**
+   * A plane of 8-bit samples within an array.
+   *
+   * @param data        The array holding the samples
+   * @param offset      The offset of the first sample
+   * @param rowStride   The distance in bytes between the starts of rows
+   * @param pixelStride The distance in bytes between adjacent samples in a
+   *                    row
+   */
+
+  public YCbCrPlane
+  {
+    Objects.requireNonNull(data, "data");
+    if (offset < 0 || rowStride < 1 || pixelStride < 1) {
+      throw new IllegalArgumentException(
+        "Invalid plane layout (offset %d, row stride %d, pixel stride %d)"
+          .formatted(
+            Integer.valueOf(offset),
+            Integer.valueOf(rowStride),
+            Integer.valueOf(pixelStride))
+      );
+    }
+  }
+
+  void checkExtent(
+    final String name,
+    final int width,
+    final int height)
+  {
+    if (width == 0 || height == 0) {
+      return;
+    }
+    final var last =
+      (long) this.offset
+        + (long) (height - 1) * this.rowStride
+        + (long) (width - 1) * this.pixelStride;
+    if (last >= this.data.length) {
+      throw new IndexOutOfBoundsException(
+        "The %s plane (%d x %d) does not fit in an array of length %d"
+          .formatted(
+            name,
+            Integer.valueOf(width),
+            Integer.valueOf(height),
+            Integer.valueOf(this.data.length))
+      );
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The quantization ranges of 8-bit Y'CbCr samples.
+ */
+
+public enum YCbCrRange
+{
+  /**
+   * Full range: Luma and chroma use the whole range {@code [0, 255]}, with
+   * zero chroma at {@code 128}.
+   */
+
+  FULL(0.0, 255.0, 255.0),
+
+  /**
+   * Limited ("studio" or "video") range: Luma occupies {@code [16, 235]},
+   * and chroma occupies {@code [16, 240]} with zero chroma at {@code 128}.
+   */
+
+  LIMITED(16.0, 219.0, 224.0);
+
+  private final double lumaOffset;
+  private final double lumaScale;
+  private final double chromaScale;
+
+  YCbCrRange(
+    final double inLumaOffset,
+    final double inLumaScale,
+    final double inChromaScale)
+  {
+    this.lumaOffset = inLumaOffset;
+    this.lumaScale = inLumaScale;
+    this.chromaScale = inChromaScale;
+  }
+
+  /**
+   * @param sample An 8-bit luma sample
+   *
+   * @return The normalized luma value
+   */
+
+  public double luma(
+    final int sample)
+  {
+    return (sample - this.lumaOffset) / this.lumaScale;
+  }
+
+  /**
+   * @param sample An 8-bit chroma sample
+   *
+   * @return The chroma value in the range {@code [-0.5, 0.5]}
+   */
+
+  public double chroma(
+    final int sample)
+  {
+    return (sample - 128.0) / this.chromaScale;
+  }
+}
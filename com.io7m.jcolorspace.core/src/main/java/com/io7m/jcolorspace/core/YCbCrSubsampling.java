@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.core;
+
+/**
+ * The chroma subsampling schemes.
+ */
+
+public enum YCbCrSubsampling
+{
+  /**
+   * No subsampling.
+   */
+
+  SUBSAMPLING_444(0, 0),
+
+  /**
+   * Chroma is subsampled by two horizontally.
+   */
+
+  SUBSAMPLING_422(1, 0),
+
+  /**
+   * Chroma is subsampled by two horizontally and vertically.
+   */
+
+  SUBSAMPLING_420(1, 1);
+
+  private final int shiftX;
+  private final int shiftY;
+
+  YCbCrSubsampling(
+    final int inShiftX,
+    final int inShiftY)
+  {
+    this.shiftX = inShiftX;
+    this.shiftY = inShiftY;
+  }
+
+  /**
+   * @return The base-2 logarithm of the horizontal subsampling factor
+   */
+
+  public int shiftX()
+  {
+    return this.shiftX;
+  }
+
+  /**
+   * @return The base-2 logarithm of the vertical subsampling factor
+   */
+
+  public int shiftY()
+  {
+    return this.shiftY;
+  }
+
+  /**
+   * @param width The luma width
+   *
+   * @return The width of the chroma planes
+   */
+
+  public int chromaWidth(
+    final int width)
+  {
+    return (width + (1 << this.shiftX) - 1) >> this.shiftX;
+  }
+
+  /**
+   * @param height The luma height
+   *
+   * @return The height of the chroma planes
+   */
+
+  public int chromaHeight(
+    final int height)
+  {
+    return (height + (1 << this.shiftY) - 1) >> this.shiftY;
+  }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.demo;
+
+import com.io7m.jcolorspace.core.ColorBufferPool;
+import com.io7m.jcolorspace.core.ColorBufferPoolConfiguration;
+import com.io7m.jcolorspace.core.ColorBulk;
+import com.io7m.jcolorspace.core.ColorBulkConversionType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.GamutMapper;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.HSVStatistics;
+import com.io7m.jcolorspace.core.RGBBulk;
+import com.io7m.jcolorspace.core.SRGBDecoder;
+import com.io7m.jcolorspace.core.SRGBQuantizer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * <p>A batch conversion of a directory of images.</p>
+ *
+ * <p>Each image is handled by its own virtual thread, which performs the
+ * blocking file I/O. All color conversion is submitted to a single bounded
+ * fork/join pool, so the number of threads converting pixels never exceeds
+ * the configured thread count however many images are in progress. A
+ * semaphore bounds the number of decoded images held in memory at any one
+ * time, and linear pixel buffers are leased from a shared buffer pool so
+ * that images of similar sizes reuse the same arrays. Output images are
+ * compressed directly into the output file as they are encoded.</p>
+ */
+
+public final class ColorBatch
+{
+  private static final List<String> EXTENSIONS =
+    List.of(".png", ".jpg", ".jpeg", ".bmp", ".gif");
+
+  private final ColorBatchConfiguration configuration;
+  private final GamutMapper mapper;
+  private final ColorBufferPool buffers;
+  private final EnumMap<ColorBatchStage, LongAdder> stages;
+  private final LongAdder images;
+  private final LongAdder pixels;
+  private final ConcurrentLinkedQueue<Map.Entry<Path, String>> failures;
+  private final Object statisticsLock;
+  private HSVStatistics statistics;
+
+  private ColorBatch(
+    final ColorBatchConfiguration inConfiguration)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.mapper =
+      GamutMapper.create(inConfiguration.gamut(), inConfiguration.to());
+    this.buffers =
+      ColorBufferPool.create(ColorBufferPoolConfiguration.defaults());
+
+    this.stages = new EnumMap<>(ColorBatchStage.class);
+    for (final var stage : ColorBatchStage.values()) {
+      this.stages.put(stage, new LongAdder());
+    }
+
+    this.images = new LongAdder();
+    this.pixels = new LongAdder();
+    this.failures = new ConcurrentLinkedQueue<>();
+    this.statisticsLock = new Object();
+    this.statistics = HSVStatistics.EMPTY;
+  }
+
+  /**
+   * Create a batch conversion.
+   *
+   * @param configuration The configuration
+   *
+   * @return A batch conversion
+   */
+
+  public static ColorBatch create(
+    final ColorBatchConfiguration configuration)
+  {
+    return new ColorBatch(configuration);
+  }
+
+  private static boolean isImage(
+    final Path file)
+  {
+    final var name =
+      file.getFileName().toString().toLowerCase(Locale.ROOT);
+    return Files.isRegularFile(file)
+      && EXTENSIONS.stream().anyMatch(name::endsWith);
+  }
+
+  private static String baseName(
+    final Path file)
+  {
+    final var name = file.getFileName().toString();
+    final var dot = name.lastIndexOf('.');
+    return dot > 0 ? name.substring(0, dot) : name;
+  }
+
+  private static int[] pack(
+    final byte[] rgba,
+    final int count)
+  {
+    final var argb = new int[count];
+    for (int index = 0; index < count; ++index) {
+      final var b = index * 4;
+      int p = (rgba[b + 3] & 0xff) << 24;
+      p |= (rgba[b] & 0xff) << 16;
+      p |= (rgba[b + 1] & 0xff) << 8;
+      p |= rgba[b + 2] & 0xff;
+      argb[index] = p;
+    }
+    return argb;
+  }
+
+  /**
+   * Process every image in the input directory. Images that cannot be
+   * processed are recorded in the report, and do not stop the batch.
+   *
+   * @return A report of the run
+   *
+   * @throws IOException On errors listing the input directory or creating
+   *                     the output directory
+   */
+
+  public ColorBatchReport run()
+    throws IOException
+  {
+    final List<Path> files;
+    try (Stream<Path> list = Files.list(this.configuration.input())) {
+      files = list.filter(ColorBatch::isImage).sorted().toList();
+    }
+
+    if (this.configuration.operation() != ColorBatchOperation.STATISTICS) {
+      Files.createDirectories(this.configuration.output());
+    }
+
+    final var permits = new Semaphore(this.configuration.inFlight());
+    final var start = System.nanoTime();
+    try (var pool = new ForkJoinPool(this.configuration.threads());
+         var io = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (final var file : files) {
+        io.execute(() -> this.processFile(pool, permits, file));
+      }
+    }
+    final var elapsed = System.nanoTime() - start;
+
+    final var stageTimes = new EnumMap<ColorBatchStage, Long>(ColorBatchStage.class);
+    for (final var entry : this.stages.entrySet()) {
+      stageTimes.put(entry.getKey(), Long.valueOf(entry.getValue().sum()));
+    }
+
+    synchronized (this.statisticsLock) {
+      return new ColorBatchReport(
+        this.images.sum(),
+        this.pixels.sum(),
+        this.mapper.outOfGamutTotal(),
+        elapsed,
+        stageTimes,
+        this.statistics,
+        List.copyOf(this.failures)
+      );
+    }
+  }
+
+  private void processFile(
+    final ForkJoinPool pool,
+    final Semaphore permits,
+    final Path file)
+  {
+    try {
+      permits.acquire();
+      try {
+        this.processImage(pool, file);
+      } finally {
+        permits.release();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      this.failures.add(Map.entry(file, "Interrupted"));
+    } catch (final IOException | RuntimeException e) {
+      this.failures.add(Map.entry(file, String.valueOf(e.getMessage())));
+    }
+  }
+
+  private long stage(
+    final ColorBatchStage stage,
+    final long start)
+  {
+    final var now = System.nanoTime();
+    this.stages.get(stage).add(now - start);
+    return now;
+  }
+
+  private void processImage(
+    final ForkJoinPool pool,
+    final Path file)
+    throws IOException
+  {
+    final var timeStart = System.nanoTime();
+    final var bytes = Files.readAllBytes(file);
+    final var timeRead = this.stage(ColorBatchStage.READ, timeStart);
+
+    final var image = ImageIO.read(new ByteArrayInputStream(bytes));
+    if (image == null) {
+      throw new IOException("Unrecognized image format");
+    }
+
+    final var width = image.getWidth();
+    final var height = image.getHeight();
+    final var count = Math.multiplyExact(width, height);
+    final var argb = image.getRGB(0, 0, width, height, null, 0, width);
+
+    final BufferedImage output;
+    try (var lease = this.buffers.leaseDoubles(Math.multiplyExact(count, 4))) {
+      final var linear = lease.buffer();
+      SRGBDecoder.decodeARGBParallel(pool, argb, 0, linear, 0, count);
+      final var timeDecode = this.stage(ColorBatchStage.DECODE, timeRead);
+
+      if (this.configuration.operation() == ColorBatchOperation.STATISTICS) {
+        HSVBulk.toHSVParallel(pool, linear, 0, linear, 0, count);
+        final var imageStatistics =
+          HSVStatistics.ofParallel(pool, linear, 0, count);
+        synchronized (this.statisticsLock) {
+          this.statistics = this.statistics.combine(imageStatistics);
+        }
+        this.stage(ColorBatchStage.CONVERT, timeDecode);
+        this.finish(count);
+        return;
+      }
+
+      ColorBulk.convertParallel(pool, this.conversion(), linear, 0, linear, 0, count);
+      final var timeConvert = this.stage(ColorBatchStage.CONVERT, timeDecode);
+
+      final var rgba = new byte[Math.multiplyExact(count, 4)];
+      SRGBQuantizer.quantizeRGBParallel(
+        pool, this.configuration.dither(), linear, 0, width, height, rgba, 0);
+      output = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      output.setRGB(0, 0, width, height, pack(rgba, count), 0, width);
+      this.stage(ColorBatchStage.ENCODE, timeConvert);
+    }
+
+    final var timeWrite = System.nanoTime();
+    final var target =
+      this.configuration.output().resolve(baseName(file) + ".png");
+    try (var stream = new BufferedOutputStream(Files.newOutputStream(target))) {
+      if (!ImageIO.write(output, "png", stream)) {
+        throw new IOException("No PNG writer is available");
+      }
+    }
+    this.stage(ColorBatchStage.WRITE, timeWrite);
+    this.finish(count);
+  }
+
+  private void finish(
+    final int count)
+  {
+    this.pixels.add(count);
+    this.images.increment();
+  }
+
+  private ColorBulkConversionType<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType> conversion()
+  {
+    return switch (this.configuration.operation()) {
+      case HUE_SHIFT -> {
+        final var adjustment = this.configuration.adjustment();
+        yield (source, sourceOffset, target, targetOffset, count) -> {
+          HSVBulk.toHSV(source, sourceOffset, target, targetOffset, count);
+          adjustment.apply(target, targetOffset, target, targetOffset, count);
+          HSVBulk.toRGB(target, targetOffset, target, targetOffset, count);
+        };
+      }
+      case RETARGET -> this.mapper.fuse(
+        RGBBulk.conversion(this.configuration.from(), this.configuration.to()));
+      case STATISTICS -> throw new IllegalStateException(
+        "Statistics do not convert pixels");
+    };
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.demo;
+
+import com.io7m.jcolorspace.core.DitherMethod;
+import com.io7m.jcolorspace.core.GamutMappingStrategy;
+import com.io7m.jcolorspace.core.HSVAdjustment;
+import com.io7m.jcolorspace.core.RGBPrimaries;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The configuration of a batch run.
+ *
+ * @param input      The directory of input images
+ * @param output     The directory to which output images are written
+ * @param operation  The operation
+ * @param adjustment The adjustment applied by {@link ColorBatchOperation#HUE_SHIFT}
+ * @param from       The primaries of the input images
+ * @param to         The primaries of the output images
+ * @param gamut      The gamut mapping strategy used by
+ *                   {@link ColorBatchOperation#RETARGET}
+ * @param dither     The dithering method used to quantize output images
+ * @param threads    The number of threads used for color conversion
+ * @param inFlight   The maximum number of decoded images held in memory
+ */
+
+public record ColorBatchConfiguration(
+  Path input,
+  Path output,
+  ColorBatchOperation operation,
+  HSVAdjustment adjustment,
+  RGBPrimaries from,
+  RGBPrimaries to,
+  GamutMappingStrategy gamut,
+  DitherMethod dither,
+  int threads,
+  int inFlight)
+{
+  /**
+   * The configuration of a batch run.
+   *
+   * @param input      The directory of input images
+   * @param output     The directory to which output images are written
+   * @param operation  The operation
+   * @param adjustment The adjustment applied by {@link ColorBatchOperation#HUE_SHIFT}
+   * @param from       The primaries of the input images
+   * @param to         The primaries of the output images
+   * @param gamut      The gamut mapping strategy
+   * @param dither     The dithering method used to quantize output images
+   * @param threads    The number of threads used for color conversion
+   * @param inFlight   The maximum number of decoded images held in memory
+   */
+
+  public ColorBatchConfiguration
+  {
+    Objects.requireNonNull(input, "input");
+    Objects.requireNonNull(output, "output");
+    Objects.requireNonNull(operation, "operation");
+    Objects.requireNonNull(adjustment, "adjustment");
+    Objects.requireNonNull(from, "from");
+    Objects.requireNonNull(to, "to");
+    Objects.requireNonNull(gamut, "gamut");
+    Objects.requireNonNull(dither, "dither");
+
+    if (threads < 1) {
+      throw new IllegalArgumentException(
+        "Threads %d must be >= 1".formatted(Integer.valueOf(threads)));
+    }
+    if (inFlight < 1) {
+      throw new IllegalArgumentException(
+        "In-flight images %d must be >= 1".formatted(Integer.valueOf(inFlight)));
+    }
+  }
+}
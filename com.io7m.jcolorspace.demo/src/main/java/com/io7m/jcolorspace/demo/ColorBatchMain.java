@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.demo;
+
+import com.io7m.jcolorspace.core.DitherMethod;
+import com.io7m.jcolorspace.core.GamutMappingStrategy;
+import com.io7m.jcolorspace.core.HSVAdjustment;
+import com.io7m.jcolorspace.core.RGBPrimaries;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A command-line tool that converts directories of images.
+ */
+
+public final class ColorBatchMain
+{
+  private static final String USAGE = """
+    Usage: ColorBatchMain --input DIR --operation OP [options]
+
+      --operation   hue-shift | stats | retarget
+      --output      Output directory (default: the current directory)
+      --hue         Hue rotation in degrees (hue-shift; default 0)
+      --saturation  Saturation scale (hue-shift; default 1)
+      --value       Value scale (hue-shift; default 1)
+      --from        Input primaries (retarget; default srgb)
+      --to          Output primaries (retarget; default srgb)
+      --gamut       clip | chroma-reduction | soft-knee (default soft-knee)
+      --dither      none | bayer | blue-noise | floyd-steinberg (default bayer)
+      --threads     Conversion threads (default: available processors)
+      --in-flight   Maximum images in memory (default: 2 * threads)
+
+    Primaries: srgb | display-p3 | rec2020 | adobe-rgb
+    """;
+
+  private static final Map<String, RGBPrimaries> PRIMARIES = Map.of(
+    "srgb", RGBPrimaries.SRGB,
+    "display-p3", RGBPrimaries.DISPLAY_P3,
+    "rec2020", RGBPrimaries.REC2020,
+    "adobe-rgb", RGBPrimaries.ADOBE_RGB
+  );
+
+  private ColorBatchMain()
+  {
+
+  }
+
+  /**
+   * The main entry point.
+   *
+   * @param args The command-line arguments
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void main(
+    final String[] args)
+    throws IOException
+  {
+    final ColorBatchConfiguration configuration;
+    try {
+      configuration = parse(args);
+    } catch (final IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    final var report = ColorBatch.create(configuration).run();
+    print(configuration, report);
+    if (!report.failures().isEmpty()) {
+      System.exit(1);
+    }
+  }
+
+  private static ColorBatchConfiguration parse(
+    final String[] args)
+  {
+    final var options = new HashMap<String, String>();
+    for (int index = 0; index < args.length; index += 2) {
+      final var name = args[index];
+      if (!name.startsWith("--") || index + 1 >= args.length) {
+        throw new IllegalArgumentException(
+          "Expected an option and a value at: %s".formatted(name));
+      }
+      options.put(name.substring(2), args[index + 1]);
+    }
+
+    final var threads =
+      Integer.parseInt(options.getOrDefault(
+        "threads",
+        Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+    return new ColorBatchConfiguration(
+      Path.of(required(options, "input")),
+      Path.of(options.getOrDefault("output", ".")),
+      ColorBatchOperation.ofCommandName(required(options, "operation")),
+      new HSVAdjustment(
+        Double.parseDouble(options.getOrDefault("hue", "0")) / 360.0,
+        Double.parseDouble(options.getOrDefault("saturation", "1")),
+        Double.parseDouble(options.getOrDefault("value", "1"))
+      ),
+      primaries(options.getOrDefault("from", "srgb")),
+      primaries(options.getOrDefault("to", "srgb")),
+      GamutMappingStrategy.valueOf(
+        constantName(options.getOrDefault("gamut", "soft-knee"))),
+      DitherMethod.valueOf(
+        constantName(options.getOrDefault("dither", "bayer"))),
+      threads,
+      Integer.parseInt(options.getOrDefault(
+        "in-flight", Integer.toString(threads * 2)))
+    );
+  }
+
+  private static String required(
+    final Map<String, String> options,
+    final String name)
+  {
+    final var value = options.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException(
+        "Missing required option: --%s".formatted(name));
+    }
+    return value;
+  }
+
+  private static RGBPrimaries primaries(
+    final String name)
+  {
+    final var primaries = PRIMARIES.get(name.toLowerCase(Locale.ROOT));
+    if (primaries == null) {
+      throw new IllegalArgumentException(
+        "Unrecognized primaries: %s".formatted(name));
+    }
+    return primaries;
+  }
+
+  private static String constantName(
+    final String name)
+  {
+    return name.toUpperCase(Locale.ROOT).replace('-', '_');
+  }
+
+  private static void print(
+    final ColorBatchConfiguration configuration,
+    final ColorBatchReport report)
+  {
+    final var out = System.out;
+    out.printf("Images:       %d%n", Long.valueOf(report.images()));
+    out.printf("Pixels:       %d%n", Long.valueOf(report.pixels()));
+    out.printf("Elapsed:      %.3f s%n",
+               Double.valueOf(report.elapsed() / 1.0e9));
+    out.printf("Throughput:   %.2f Mpixels/s%n",
+               Double.valueOf(report.pixelsPerSecond() / 1.0e6));
+
+    for (final var stage : ColorBatchStage.values()) {
+      out.printf("  %-10s  %.3f s%n",
+                 stage.name().toLowerCase(Locale.ROOT),
+                 Double.valueOf(report.stageTime(stage) / 1.0e9));
+    }
+
+    switch (configuration.operation()) {
+      case RETARGET -> {
+        out.printf("Out of gamut: %d%n", Long.valueOf(report.outOfGamut()));
+      }
+      case STATISTICS -> {
+        final var s = report.statistics();
+        out.printf("Mean hue:          %.2f degrees%n",
+                   Double.valueOf(s.meanHue() * 360.0));
+        out.printf("Hue concentration: %.4f%n",
+                   Double.valueOf(s.hueConcentration()));
+        out.printf("Mean saturation:   %.4f%n",
+                   Double.valueOf(s.meanSaturation()));
+        out.printf("Mean value:        %.4f%n",
+                   Double.valueOf(s.meanValue()));
+        out.printf("Value range:       [%.4f, %.4f]%n",
+                   Double.valueOf(s.valueMin()),
+                   Double.valueOf(s.valueMax()));
+      }
+      case HUE_SHIFT -> {
+
+      }
+    }
+
+    for (final var failure : report.failures()) {
+      System.err.printf("Failed: %s: %s%n", failure.getKey(), failure.getValue());
+    }
+  }
+}
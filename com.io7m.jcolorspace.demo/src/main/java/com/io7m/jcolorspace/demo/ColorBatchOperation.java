@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.demo;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The operations supported by the batch tool.
+ */
+
+public enum ColorBatchOperation
+{
+  /**
+   * Rotate hue and scale saturation and value.
+   */
+
+  HUE_SHIFT,
+
+  /**
+   * Calculate HSV statistics without writing any images.
+   */
+
+  STATISTICS,
+
+  /**
+   * Convert images from one set of RGB primaries to another, mapping
+   * out-of-gamut colors into the target gamut.
+   */
+
+  RETARGET;
+
+  /**
+   * @return The name of the operation on the command line
+   */
+
+  public String commandName()
+  {
+    return switch (this) {
+      case HUE_SHIFT -> "hue-shift";
+      case STATISTICS -> "stats";
+      case RETARGET -> "retarget";
+    };
+  }
+
+  /**
+   * @param name The name of the operation on the command line
+   *
+   * @return The operation with the given name
+   */
+
+  public static ColorBatchOperation ofCommandName(
+    final String name)
+  {
+    Objects.requireNonNull(name, "name");
+    for (final var operation : values()) {
+      if (operation.commandName().equals(name.toLowerCase(Locale.ROOT))) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException(
+      "Unrecognized operation: %s".formatted(name));
+  }
+}
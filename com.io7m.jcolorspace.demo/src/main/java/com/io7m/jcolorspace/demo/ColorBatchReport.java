@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.demo;
+
+import com.io7m.jcolorspace.core.HSVStatistics;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The result of a batch run. Stage times are summed over all images, and
+ * so may exceed the elapsed time when images are processed concurrently.
+ *
+ * @param images     The number of images processed successfully
+ * @param pixels     The number of pixels processed
+ * @param outOfGamut The number of pixels mapped into gamut
+ * @param elapsed    The elapsed wall-clock time in nanoseconds
+ * @param stages     The total time spent in each stage in nanoseconds
+ * @param statistics The statistics of all images, for
+ *                   {@link ColorBatchOperation#STATISTICS}
+ * @param failures   The images that could not be processed, with reasons
+ */
+
+public record ColorBatchReport(
+  long images,
+  long pixels,
+  long outOfGamut,
+  long elapsed,
+  Map<ColorBatchStage, Long> stages,
+  HSVStatistics statistics,
+  List<Map.Entry<Path, String>> failures)
+{
+  /**
+   * The result of a batch run.
+   *
+   * @param images     The number of images processed successfully
+   * @param pixels     The number of pixels processed
+   * @param outOfGamut The number of pixels mapped into gamut
+   * @param elapsed    The elapsed wall-clock time in nanoseconds
+   * @param stages     The total time spent in each stage in nanoseconds
+   * @param statistics The statistics of all images
+   * @param failures   The images that could not be processed, with reasons
+   */
+
+  public ColorBatchReport
+  {
+    stages = Map.copyOf(Objects.requireNonNull(stages, "stages"));
+    Objects.requireNonNull(statistics, "statistics");
+    failures = List.copyOf(Objects.requireNonNull(failures, "failures"));
+  }
+
+  /**
+   * @return The number of pixels processed per second of elapsed time
+   */
+
+  public double pixelsPerSecond()
+  {
+    if (this.elapsed == 0L) {
+      return 0.0;
+    }
+    return this.pixels / (this.elapsed / 1.0e9);
+  }
+
+  /**
+   * @param stage The stage
+   *
+   * @return The total time spent in {@code stage} in nanoseconds
+   */
+
+  public long stageTime(
+    final ColorBatchStage stage)
+  {
+    return this.stages.getOrDefault(stage, Long.valueOf(0L)).longValue();
+  }
+}
@@ -17,13 +17,18 @@
 package com.io7m.jcolorspace.demo;
 
 import com.io7m.jcolorspace.core.HSV;
+import com.io7m.jcolorspace.core.HSVAdjustment;
 import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.control.TextField;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
+import javafx.stage.FileChooser;
 
 import java.net.URL;
 import java.util.ResourceBundle;
@@ -40,9 +45,12 @@ import static com.io7m.jcolorspace.core.RGB.red;
  * The main controller.
  */
 
-public final class ColorDemo implements Initializable
+public final class ColorDemo implements Initializable, AutoCloseable
 {
+  private static final int PREVIEW_MINIMUM = 256;
+
   private final AtomicBoolean recursion;
+  private final ColorDemoPreview preview;
 
   @FXML private Slider sliderR;
   @FXML private Slider sliderG;
@@ -57,6 +65,12 @@ public final class ColorDemo implements Initializable
   @FXML private TextField fieldS;
   @FXML private TextField fieldV;
   @FXML private Rectangle rectangle;
+  @FXML private Slider sliderHueShift;
+  @FXML private Slider sliderSaturationScale;
+  @FXML private Slider sliderValueScale;
+  @FXML private Label previewStatus;
+  @FXML private StackPane previewPane;
+  @FXML private ImageView previewImage;
 
   /**
    * The main controller.
@@ -65,6 +79,10 @@ public final class ColorDemo implements Initializable
   public ColorDemo()
   {
     this.recursion = new AtomicBoolean(false);
+    this.preview = ColorDemoPreview.create(
+      image -> this.previewImage.setImage(image),
+      text -> this.previewStatus.setText(text)
+    );
   }
 
   @Override
@@ -98,9 +116,114 @@ public final class ColorDemo implements Initializable
         this.hueChanged();
       });
 
+    this.sliderHueShift.valueProperty()
+      .addListener((observable, oldValue, newValue) -> {
+        this.adjustmentChanged();
+      });
+    this.sliderSaturationScale.valueProperty()
+      .addListener((observable, oldValue, newValue) -> {
+        this.adjustmentChanged();
+      });
+    this.sliderValueScale.valueProperty()
+      .addListener((observable, oldValue, newValue) -> {
+        this.adjustmentChanged();
+      });
+
+    this.previewImage.fitWidthProperty()
+      .bind(this.previewPane.widthProperty());
+    this.previewImage.fitHeightProperty()
+      .bind(this.previewPane.heightProperty());
+
     this.colorChanged();
   }
 
+  @FXML
+  private void onOpenImage()
+  {
+    final var chooser = new FileChooser();
+    chooser.setTitle("Open Image");
+    chooser.getExtensionFilters().add(
+      new FileChooser.ExtensionFilter(
+        "Images", "*.png", "*.jpg", "*.jpeg", "*.bmp", "*.gif"));
+
+    final var file =
+      chooser.showOpenDialog(this.previewPane.getScene().getWindow());
+    if (file != null) {
+      this.previewStatus.setText("Loading %s".formatted(file));
+
+      final var window = this.previewPane.getScene().getWindow();
+      this.preview.load(
+        file.toPath(),
+        previewExtent(this.previewPane.getWidth(), window.getOutputScaleX()),
+        previewExtent(this.previewPane.getHeight(), window.getOutputScaleY())
+      );
+    }
+  }
+
+  private static int previewExtent(
+    final double size,
+    final double scale)
+  {
+    return Math.max(PREVIEW_MINIMUM, (int) Math.ceil(size * scale));
+  }
+
+  /*
+   * Format a component in [0, 1] to two decimal places. This is called for
+   * six fields on every slider movement, so it avoids the format string
+   * parsing of String.format.
+   */
+
+  private static String formatComponent(
+    final double x)
+  {
+    final var hundredths = Math.round(x * 100.0);
+    final var fraction = hundredths % 100L;
+    final var text = new StringBuilder(4);
+    text.append(hundredths / 100L);
+    text.append('.');
+    if (fraction < 10L) {
+      text.append('0');
+    }
+    text.append(fraction);
+    return text.toString();
+  }
+
+  private void showComponents(
+    final double r,
+    final double g,
+    final double b,
+    final double hue,
+    final double saturation,
+    final double value)
+  {
+    this.fieldR.setText(formatComponent(r));
+    this.fieldG.setText(formatComponent(g));
+    this.fieldB.setText(formatComponent(b));
+
+    this.fieldH.setText(formatComponent(hue));
+    this.fieldS.setText(formatComponent(saturation));
+    this.fieldV.setText(formatComponent(value));
+
+    this.rectangle.fillProperty().set(Color.color(r, g, b));
+  }
+
+  private void adjustmentChanged()
+  {
+    this.preview.request(
+      new HSVAdjustment(
+        this.sliderHueShift.getValue() / 360.0,
+        this.sliderSaturationScale.getValue() / 100.0,
+        this.sliderValueScale.getValue() / 100.0
+      )
+    );
+  }
+
+  @Override
+  public void close()
+  {
+    this.preview.close();
+  }
+
   private void colorChanged()
   {
     if (this.recursion.compareAndSet(false, true)) {
@@ -123,15 +246,7 @@ public final class ColorDemo implements Initializable
         this.sliderS.setValue(saturation * 100.0);
         this.sliderV.setValue(value * 100.0);
 
-        this.fieldR.setText(String.format("%.2f", r));
-        this.fieldG.setText(String.format("%.2f", g));
-        this.fieldB.setText(String.format("%.2f", b));
-
-        this.fieldH.setText(String.format("%.2f", hue));
-        this.fieldS.setText(String.format("%.2f", saturation));
-        this.fieldV.setText(String.format("%.2f", value));
-
-        this.rectangle.fillProperty().set(Color.color(r, g, b));
+        this.showComponents(r, g, b, hue, saturation, value);
       } finally {
         this.recursion.set(false);
       }
@@ -160,15 +275,7 @@ public final class ColorDemo implements Initializable
         this.sliderG.setValue(g * 100.0);
         this.sliderB.setValue(b * 100.0);
 
-        this.fieldR.setText(String.format("%.2f", r));
-        this.fieldG.setText(String.format("%.2f", g));
-        this.fieldB.setText(String.format("%.2f", b));
-
-        this.fieldH.setText(String.format("%.2f", hue));
-        this.fieldS.setText(String.format("%.2f", saturation));
-        this.fieldV.setText(String.format("%.2f", value));
-
-        this.rectangle.fillProperty().set(Color.color(r, g, b));
+        this.showComponents(r, g, b, hue, saturation, value);
 
         this.colorChanged();
       } finally {
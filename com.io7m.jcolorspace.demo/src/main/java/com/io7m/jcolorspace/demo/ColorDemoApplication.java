@@ -52,10 +52,10 @@ public final class ColorDemoApplication extends Application
 
     stage.setTitle("Color Demo");
     stage.setMinWidth(600.0);
-    stage.setMaxWidth(600.0);
-    stage.setMinHeight(400.0);
-    stage.setMaxHeight(400.0);
+    stage.setMinHeight(600.0);
+    stage.setHeight(800.0);
     stage.setScene(new Scene(pane));
+    stage.setOnHidden(event -> controller.close());
     stage.show();
   }
 }
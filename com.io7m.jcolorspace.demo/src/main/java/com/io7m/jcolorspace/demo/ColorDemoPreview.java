@@ -0,0 +1,472 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.demo;
+
+import com.io7m.jcolorspace.core.ColorAlphaMode;
+import com.io7m.jcolorspace.core.ColorFrame;
+import com.io7m.jcolorspace.core.ColorResampleFilter;
+import com.io7m.jcolorspace.core.ColorResampler;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.DitherMethod;
+import com.io7m.jcolorspace.core.HSVAdjustment;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.SRGBDecoder;
+import com.io7m.jcolorspace.core.SRGBQuantizer;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * <p>A live preview of an HSV adjustment applied to a whole image.</p>
+ *
+ * <p>The image is reduced to the displayed size when it is loaded, in
+ * linear light: It is decoded a strip at a time and box filtered down to
+ * no more than twice the displayed size, so the full resolution image is
+ * never held as linear RGB, and then resampled to the displayed size with
+ * a {@link ColorResampler} that converts each band straight to HSV.</p>
+ *
+ * <p>The image is converted to HSV once when it is loaded. Each frame then
+ * adjusts the HSV pixels and quantizes them directly to eight bit sRGB on a
+ * fork/join pool, writing into a staging array entirely off the JavaFX
+ * application thread; the application thread only copies the staging array
+ * into the {@link PixelBuffer} that backs the displayed image.</p>
+ *
+ * <p>Frames are rendered by a single thread. Requests that arrive while a
+ * frame is being rendered replace one another, so when the sliders move
+ * faster than frames can be produced, only the most recent adjustment is
+ * rendered and the stale ones are dropped.</p>
+ */
+
+public final class ColorDemoPreview implements AutoCloseable
+{
+  private static final int SUPERSAMPLE = 2;
+  private static final ColorResampler RESAMPLER =
+    ColorResampler.create(ColorResampleFilter.LANCZOS3);
+
+  private final ForkJoinPool pool;
+  private final ExecutorService renderer;
+  private final Consumer<Image> onImage;
+  private final Consumer<String> onStatus;
+  private final AtomicReference<HSVAdjustment> pending;
+  private final AtomicBoolean scheduled;
+  private final AtomicLong requests;
+  private final AtomicLong frames;
+  private volatile HSVAdjustment latest;
+  private Frame frame;
+
+  private ColorDemoPreview(
+    final Consumer<Image> inOnImage,
+    final Consumer<String> inOnStatus)
+  {
+    this.onImage =
+      Objects.requireNonNull(inOnImage, "onImage");
+    this.onStatus =
+      Objects.requireNonNull(inOnStatus, "onStatus");
+
+    this.pool = new ForkJoinPool();
+    this.renderer = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform()
+        .daemon()
+        .name("com.io7m.jcolorspace.demo.preview")
+        .factory()
+    );
+
+    this.pending = new AtomicReference<>();
+    this.scheduled = new AtomicBoolean(false);
+    this.requests = new AtomicLong(0L);
+    this.frames = new AtomicLong(0L);
+    this.latest = HSVAdjustment.IDENTITY;
+  }
+
+  /**
+   * Create a preview.
+   *
+   * @param onImage  Called on the JavaFX application thread with the image
+   *                 to display when a new image has been loaded
+   * @param onStatus Called on the JavaFX application thread with a readout
+   *                 of frame times after each frame
+   *
+   * @return A preview
+   */
+
+  public static ColorDemoPreview create(
+    final Consumer<Image> onImage,
+    final Consumer<String> onStatus)
+  {
+    return new ColorDemoPreview(onImage, onStatus);
+  }
+
+  private static void packRow(
+    final byte[] rgba,
+    final int[] argb,
+    final int width,
+    final int row)
+  {
+    final var start = row * width;
+    for (int index = start; index < start + width; ++index) {
+      final var b = index * 4;
+      final var a = rgba[b + 3] & 0xff;
+      int r = rgba[b] & 0xff;
+      int g = rgba[b + 1] & 0xff;
+      int bl = rgba[b + 2] & 0xff;
+
+      /*
+       * The pixel buffer is in premultiplied ARGB format.
+       */
+
+      if (a != 255) {
+        r = (r * a + 127) / 255;
+        g = (g * a + 127) / 255;
+        bl = (bl * a + 127) / 255;
+      }
+
+      int p = a << 24;
+      p |= r << 16;
+      p |= g << 8;
+      p |= bl;
+      argb[index] = p;
+    }
+  }
+
+  /**
+   * Load an image asynchronously. The image is reduced, if necessary, to fit
+   * within the given size. The current adjustment is applied to the image as
+   * soon as it has been loaded.
+   *
+   * @param file          The image file
+   * @param maximumWidth  The maximum width of the preview, in pixels
+   * @param maximumHeight The maximum height of the preview, in pixels
+   */
+
+  public void load(
+    final Path file,
+    final int maximumWidth,
+    final int maximumHeight)
+  {
+    Objects.requireNonNull(file, "file");
+    if (maximumWidth < 1 || maximumHeight < 1) {
+      throw new IllegalArgumentException(
+        "Preview size %d x %d must be positive"
+          .formatted(
+            Integer.valueOf(maximumWidth),
+            Integer.valueOf(maximumHeight))
+      );
+    }
+
+    this.renderer.execute(() -> {
+      try {
+        this.loadNow(file, maximumWidth, maximumHeight);
+      } catch (final Exception e) {
+        final var message = "Failed to load %s: %s".formatted(file, e.getMessage());
+        Platform.runLater(() -> this.onStatus.accept(message));
+      }
+    });
+  }
+
+  private void loadNow(
+    final Path file,
+    final int maximumWidth,
+    final int maximumHeight)
+    throws Exception
+  {
+    final var image = new Image(file.toUri().toString());
+    if (image.isError()) {
+      throw image.getException();
+    }
+
+    /*
+     * Fit the image within the preview without enlarging it.
+     */
+
+    final var sourceWidth = (int) image.getWidth();
+    final var sourceHeight = (int) image.getHeight();
+    final var scale = Math.min(
+      1.0,
+      Math.min(
+        (double) maximumWidth / (double) sourceWidth,
+        (double) maximumHeight / (double) sourceHeight
+      )
+    );
+
+    final var width = Math.max(1, (int) Math.round(sourceWidth * scale));
+    final var height = Math.max(1, (int) Math.round(sourceHeight * scale));
+    final var count = Math.multiplyExact(width, height);
+
+    final var factor = Math.max(1, Math.min(
+      sourceWidth / (width * SUPERSAMPLE),
+      sourceHeight / (height * SUPERSAMPLE)
+    ));
+    final var reduced =
+      reduce(image.getPixelReader(), sourceWidth, sourceHeight, factor);
+
+    final var hsv = new double[Math.multiplyExact(count, 4)];
+    RESAMPLER.resampleParallel(
+      this.pool,
+      reduced,
+      HSVBulk.toHSVConversion(ColorAlphaMode.PREMULTIPLIED),
+      ColorFrame.wrap(width, height, hsv)
+    );
+
+    final var buffer = new PixelBuffer<>(
+      width,
+      height,
+      ByteBuffer.allocateDirect(Math.multiplyExact(count, 4))
+        .order(ByteOrder.nativeOrder())
+        .asIntBuffer(),
+      PixelFormat.getIntArgbPreInstance()
+    );
+
+    final var newFrame = new Frame(width, height, hsv, buffer);
+    this.frame = newFrame;
+    this.render(this.latest);
+
+    final var displayed = new WritableImage(buffer);
+    Platform.runLater(() -> this.onImage.accept(displayed));
+  }
+
+  /**
+   * Decode an image a strip of {@code factor} rows at a time, averaging each
+   * block of {@code factor * factor} pixels in premultiplied linear RGB.
+   *
+   * @param reader       The image pixels
+   * @param sourceWidth  The image width
+   * @param sourceHeight The image height
+   * @param factor       The reduction factor
+   *
+   * @return The reduced image
+   */
+
+  private static ColorFrame<ColorSpaceTagLinearRGBType> reduce(
+    final PixelReader reader,
+    final int sourceWidth,
+    final int sourceHeight,
+    final int factor)
+  {
+    final var width = (sourceWidth + factor - 1) / factor;
+    final var height = (sourceHeight + factor - 1) / factor;
+    final var data =
+      new double[Math.multiplyExact(Math.multiplyExact(width, height), 4)];
+    final var stripPixels = Math.multiplyExact(sourceWidth, factor);
+    final var argb = new int[stripPixels];
+    final var linear = new double[Math.multiplyExact(stripPixels, 4)];
+
+    for (int row = 0; row < height; ++row) {
+      final var y = row * factor;
+      final var rows = Math.min(factor, sourceHeight - y);
+      reader.getPixels(
+        0, y, sourceWidth, rows, PixelFormat.getIntArgbInstance(), argb, 0, sourceWidth);
+      SRGBDecoder.decodeARGB(argb, 0, linear, 0, sourceWidth * rows);
+
+      for (int column = 0; column < width; ++column) {
+        final var x = column * factor;
+        averageBlock(
+          linear,
+          sourceWidth,
+          x,
+          Math.min(factor, sourceWidth - x),
+          rows,
+          data,
+          (row * width + column) * 4
+        );
+      }
+    }
+    return ColorFrame.wrap(width, height, data);
+  }
+
+  private static void averageBlock(
+    final double[] strip,
+    final int stripWidth,
+    final int x,
+    final int columns,
+    final int rows,
+    final double[] target,
+    final int targetOffset)
+  {
+    double r = 0.0;
+    double g = 0.0;
+    double b = 0.0;
+    double a = 0.0;
+    for (int y = 0; y < rows; ++y) {
+      int s = (y * stripWidth + x) * 4;
+      for (int index = 0; index < columns; ++index) {
+        final var alpha = strip[s + 3];
+        r += strip[s] * alpha;
+        g += strip[s + 1] * alpha;
+        b += strip[s + 2] * alpha;
+        a += alpha;
+        s += 4;
+      }
+    }
+
+    final var n = (double) (rows * columns);
+    target[targetOffset] = r / n;
+    target[targetOffset + 1] = g / n;
+    target[targetOffset + 2] = b / n;
+    target[targetOffset + 3] = a / n;
+  }
+
+  /**
+   * Request that the preview be rendered with the given adjustment. If a
+   * frame is already being rendered, the request replaces any other request
+   * that has not yet been started.
+   *
+   * @param adjustment The adjustment
+   */
+
+  public void request(
+    final HSVAdjustment adjustment)
+  {
+    Objects.requireNonNull(adjustment, "adjustment");
+    this.latest = adjustment;
+    this.pending.set(adjustment);
+    this.requests.incrementAndGet();
+
+    if (this.scheduled.compareAndSet(false, true)) {
+      this.renderer.execute(this::drain);
+    }
+  }
+
+  private void drain()
+  {
+    HSVAdjustment adjustment;
+    while ((adjustment = this.pending.getAndSet(null)) != null) {
+      this.render(adjustment);
+    }
+
+    this.scheduled.set(false);
+    if (this.pending.get() != null && this.scheduled.compareAndSet(false, true)) {
+      this.renderer.execute(this::drain);
+    }
+  }
+
+  private void render(
+    final HSVAdjustment adjustment)
+  {
+    final var f = this.frame;
+    if (f == null) {
+      return;
+    }
+
+    final var timeStart = System.nanoTime();
+    adjustment.applyParallel(this.pool, f.hsv, 0, f.work, 0, f.count);
+    SRGBQuantizer.quantizeHSVParallel(
+      this.pool, DitherMethod.BAYER, f.work, 0, f.width, f.height, f.bytes, 0);
+    this.pool.submit(() -> {
+      IntStream.range(0, f.height)
+        .parallel()
+        .forEach(row -> packRow(f.bytes, f.staging, f.width, row));
+    }).join();
+    final var timeConvert = System.nanoTime() - timeStart;
+
+    final var done = new CompletableFuture<Void>();
+    Platform.runLater(() -> {
+      try {
+        f.buffer.updateBuffer(b -> {
+          b.getBuffer().put(0, f.staging);
+          return null;
+        });
+      } finally {
+        done.complete(null);
+      }
+    });
+
+    /*
+     * Wait for the application thread to copy the staging array before
+     * rendering over it again. Requests that arrive in the meantime
+     * coalesce in the pending slot.
+     */
+
+    try {
+      done.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException(e);
+    }
+
+    final var timeFrame = System.nanoTime() - timeStart;
+    final var frameCount = this.frames.incrementAndGet();
+    final var dropped = Math.max(0L, this.requests.get() - frameCount);
+    final var status =
+      "%dx%d  convert %.2f ms  frame %.2f ms  %.1f Mpixels/s  %d dropped"
+        .formatted(
+          Integer.valueOf(f.width),
+          Integer.valueOf(f.height),
+          Double.valueOf(timeConvert / 1.0e6),
+          Double.valueOf(timeFrame / 1.0e6),
+          Double.valueOf(f.count / (timeConvert / 1.0e3)),
+          Long.valueOf(dropped));
+
+    Platform.runLater(() -> this.onStatus.accept(status));
+  }
+
+  @Override
+  public void close()
+  {
+    this.renderer.shutdownNow();
+    this.pool.shutdownNow();
+  }
+
+  private static final class Frame
+  {
+    private final int width;
+    private final int height;
+    private final int count;
+    private final double[] hsv;
+    private final double[] work;
+    private final byte[] bytes;
+    private final int[] staging;
+    private final PixelBuffer<IntBuffer> buffer;
+
+    Frame(
+      final int inWidth,
+      final int inHeight,
+      final double[] inHsv,
+      final PixelBuffer<IntBuffer> inBuffer)
+    {
+      this.width = inWidth;
+      this.height = inHeight;
+      this.count = Math.multiplyExact(inWidth, inHeight);
+      this.hsv = inHsv;
+      this.work = new double[inHsv.length];
+      this.bytes = new byte[Math.multiplyExact(this.count, 4)];
+      this.staging = new int[this.count];
+      this.buffer = inBuffer;
+    }
+  }
+}
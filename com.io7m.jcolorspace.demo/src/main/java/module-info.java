@@ -25,6 +25,7 @@ open module com.io7m.jcolorspace.demo
 
   requires com.io7m.jcolorspace.core;
   requires com.io7m.jtensors.core;
+  requires java.desktop;
   requires javafx.controls;
   requires javafx.fxml;
   requires javafx.graphics;
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ChromaticAdaptation;
+import com.io7m.jcolorspace.core.ChromaticAdaptationMethod;
+import com.io7m.jcolorspace.core.ColorBulk;
+import com.io7m.jcolorspace.core.RGBConversionMatrices;
+import com.io7m.jcolorspace.core.RGBPrimaries;
+import com.io7m.jcolorspace.core.WhitePoints;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ChromaticAdaptationTest
+{
+  @Test
+  public void testBradfordD65ToD50()
+  {
+    /*
+     * The reference values were derived from tabulated XYZ white points
+     * rather than from chromaticities, and so differ in the fourth place.
+     */
+
+    final var m = ChromaticAdaptation.matrix(
+      WhitePoints.D65, WhitePoints.D50, ChromaticAdaptationMethod.BRADFORD);
+
+    assertEquals(1.0478, m.r0c0(), 5.0e-4);
+    assertEquals(0.0229, m.r0c1(), 5.0e-4);
+    assertEquals(-0.0501, m.r0c2(), 5.0e-4);
+    assertEquals(0.0295, m.r1c0(), 5.0e-4);
+    assertEquals(0.9905, m.r1c1(), 5.0e-4);
+    assertEquals(-0.0170, m.r1c2(), 5.0e-4);
+    assertEquals(-0.0092, m.r2c0(), 5.0e-4);
+    assertEquals(0.0150, m.r2c1(), 5.0e-4);
+    assertEquals(0.7521, m.r2c2(), 5.0e-4);
+  }
+
+  @ParameterizedTest
+  @EnumSource(ChromaticAdaptationMethod.class)
+  public void testWhiteMapsToWhite(
+    final ChromaticAdaptationMethod method)
+  {
+    final var m = ChromaticAdaptation.matrix(WhitePoints.A, WhitePoints.D65, method);
+    final var w = PMatrices3x3D.multiplyVectorPost(m, WhitePoints.A.toXYZ());
+    final var e = WhitePoints.D65.toXYZ();
+    assertEquals(e.x(), w.x(), 1.0e-9);
+    assertEquals(e.y(), w.y(), 1.0e-9);
+    assertEquals(e.z(), w.z(), 1.0e-9);
+  }
+
+  @Test
+  public void testWhiteBalanceRGB()
+  {
+    /*
+     * The RGB color of a neutral surface lit by illuminant A becomes
+     * neutral when adapted from A to D65.
+     */
+
+    final var toRGB = RGBConversionMatrices.fromXYZ(RGBPrimaries.SRGB);
+    final var lit =
+      PMatrices3x3D.multiplyVectorPost(toRGB, WhitePoints.A.toXYZ());
+    final var pixels = new double[]{lit.x(), lit.y(), lit.z(), 0.25};
+
+    ChromaticAdaptation.adapt(
+      RGBPrimaries.SRGB,
+      WhitePoints.A,
+      WhitePoints.D65,
+      ChromaticAdaptationMethod.CAT02,
+      pixels,
+      0,
+      pixels,
+      0,
+      1
+    );
+    assertArrayEquals(new double[]{1.0, 1.0, 1.0, 0.25}, pixels, 1.0e-9);
+  }
+
+  @Test
+  public void testMatricesCached()
+  {
+    final var m0 = ChromaticAdaptation.rgbMatrix(
+      RGBPrimaries.DISPLAY_P3,
+      WhitePoints.ofTemperature(3200.0),
+      WhitePoints.D65,
+      ChromaticAdaptationMethod.VON_KRIES);
+    final var m1 = ChromaticAdaptation.rgbMatrix(
+      RGBPrimaries.DISPLAY_P3,
+      WhitePoints.ofTemperature(3200.0),
+      WhitePoints.D65,
+      ChromaticAdaptationMethod.VON_KRIES);
+    assertSame(m0, m1);
+  }
+
+  @Test
+  public void testTemperature()
+  {
+    final var d65 = WhitePoints.ofTemperature(6504.0);
+    assertEquals(WhitePoints.D65.x(), d65.x(), 1.0e-3);
+    assertEquals(WhitePoints.D65.y(), d65.y(), 1.0e-3);
+
+    final var a = WhitePoints.ofTemperature(2856.0);
+    assertEquals(WhitePoints.A.x(), a.x(), 2.0e-3);
+    assertEquals(WhitePoints.A.y(), a.y(), 2.0e-3);
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      WhitePoints.ofTemperature(1000.0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      WhitePoints.ofTemperature(Double.NaN);
+    });
+  }
+
+  @Test
+  public void testParallelMatchesSequential()
+  {
+    final var pixels = 100_000;
+    final var source = HSVBulkTest.randomPixels(0x34L, pixels);
+    final var sequential = new double[source.length];
+    final var parallel = new double[source.length];
+
+    ChromaticAdaptation.adapt(
+      RGBPrimaries.SRGB,
+      WhitePoints.D50,
+      WhitePoints.D75,
+      ChromaticAdaptationMethod.BRADFORD,
+      source,
+      0,
+      sequential,
+      0,
+      pixels
+    );
+    ColorBulk.convertParallel(
+      ForkJoinPool.commonPool(),
+      ChromaticAdaptation.conversion(
+        RGBPrimaries.SRGB,
+        WhitePoints.D50,
+        WhitePoints.D75,
+        ChromaticAdaptationMethod.BRADFORD),
+      source,
+      0,
+      parallel,
+      0,
+      pixels
+    );
+    assertArrayEquals(sequential, parallel);
+  }
+}
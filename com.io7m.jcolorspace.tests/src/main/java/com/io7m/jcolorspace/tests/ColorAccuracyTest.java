@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorAccuracy;
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.HSV;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColorAccuracyTest
+{
+  private static final System.Logger LOG =
+    System.getLogger(ColorAccuracyTest.class.getCanonicalName());
+
+  private static final int STEPS = 128;
+
+  /**
+   * A grid over the unit cube, with the edges of the cube included.
+   */
+
+  private static double[] grid()
+  {
+    final var n = STEPS + 1;
+    final var pixels = new double[n * n * n * 4];
+    int i = 0;
+    for (int x = 0; x < n; ++x) {
+      for (int y = 0; y < n; ++y) {
+        for (int z = 0; z < n; ++z) {
+          pixels[i] = (double) x / STEPS;
+          pixels[i + 1] = (double) y / STEPS;
+          pixels[i + 2] = (double) z / STEPS;
+          pixels[i + 3] = 1.0;
+          i += 4;
+        }
+      }
+    }
+    return pixels;
+  }
+
+  private static double[] gridAndRandom()
+  {
+    final var grid = grid();
+    final var random = HSVBulkTest.randomPixels(0x43L, 100000);
+    final var all = new double[grid.length + random.length];
+    System.arraycopy(grid, 0, all, 0, grid.length);
+    System.arraycopy(random, 0, all, grid.length, random.length);
+    return all;
+  }
+
+  private static double maxError(
+    final double[] expected,
+    final double[] received,
+    final boolean hue)
+  {
+    double max = 0.0;
+    for (int index = 0; index < expected.length; ++index) {
+      double e = Math.abs(expected[index] - received[index]);
+      if (hue && index % 4 == 0) {
+        e = Math.min(e, 1.0 - e);
+      }
+      max = Math.max(max, e);
+    }
+    return max;
+  }
+
+  @Test
+  public void testExactIsReference()
+  {
+    final var source = gridAndRandom();
+    final var pixels = source.length / 4;
+    final var expected = new double[source.length];
+    final var received = new double[source.length];
+
+    HSVBulk.toHSV(source, 0, expected, 0, pixels);
+    HSVBulk.toHSV(ColorAccuracy.EXACT, source, 0, received, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toRGB(source, 0, expected, 0, pixels);
+    HSVBulk.toRGB(ColorAccuracy.EXACT, source, 0, received, 0, pixels);
+    assertArrayEquals(expected, received);
+    assertEquals(0.0, ColorAccuracy.EXACT.maximumError());
+  }
+
+  @Test
+  public void testFastToHSVError()
+  {
+    final var source = gridAndRandom();
+    final var pixels = source.length / 4;
+    final var expected = new double[source.length];
+    final var received = new double[source.length];
+
+    HSVBulk.toHSV(ColorAccuracy.EXACT, source, 0, expected, 0, pixels);
+    HSVBulk.toHSV(ColorAccuracy.FAST, source, 0, received, 0, pixels);
+
+    final var error = maxError(expected, received, true);
+    LOG.log(
+      System.Logger.Level.INFO,
+      "toHSV FAST maximum error: %s".formatted(Double.valueOf(error)));
+    assertTrue(
+      error <= ColorAccuracy.FAST.maximumError(),
+      "Error %s exceeds %s".formatted(
+        Double.valueOf(error),
+        Double.valueOf(ColorAccuracy.FAST.maximumError())));
+
+    for (int index = 0; index < received.length; index += 4) {
+      assertTrue(received[index] >= 0.0 && received[index] <= 1.0);
+      assertTrue(received[index + 1] >= 0.0 && received[index + 1] <= 1.0);
+      assertTrue(received[index + 2] >= 0.0 && received[index + 2] <= 1.0);
+      assertEquals(source[index + 3], received[index + 3]);
+    }
+  }
+
+  @Test
+  public void testFastToRGBError()
+  {
+    final var source = gridAndRandom();
+    final var pixels = source.length / 4;
+    final var expected = new double[source.length];
+    final var received = new double[source.length];
+
+    HSVBulk.toRGB(ColorAccuracy.EXACT, source, 0, expected, 0, pixels);
+    HSVBulk.toRGB(ColorAccuracy.FAST, source, 0, received, 0, pixels);
+
+    final var error = maxError(expected, received, false);
+    LOG.log(
+      System.Logger.Level.INFO,
+      "toRGB FAST maximum error: %s".formatted(Double.valueOf(error)));
+    assertTrue(
+      error <= ColorAccuracy.FAST.maximumError(),
+      "Error %s exceeds %s".formatted(
+        Double.valueOf(error),
+        Double.valueOf(ColorAccuracy.FAST.maximumError())));
+  }
+
+  @Test
+  public void testFastScalarMatchesBulk()
+  {
+    final var source = HSVBulkTest.randomPixels(0x44L, 1000);
+    final var pixels = source.length / 4;
+    final var bulk = new double[source.length];
+    HSVBulk.toHSV(ColorAccuracy.FAST, source, 0, bulk, 0, pixels);
+
+    for (int index = 0; index < pixels; ++index) {
+      final var i = index * 4;
+      final var hsv = HSV.toHSV(
+        PVector4D.<ColorSpaceTagLinearRGBType>of(
+          source[i], source[i + 1], source[i + 2], source[i + 3]),
+        ColorAccuracy.FAST);
+      assertEquals(bulk[i], hsv.x());
+      assertEquals(bulk[i + 1], hsv.y());
+      assertEquals(bulk[i + 2], hsv.z());
+      assertEquals(bulk[i + 3], hsv.w());
+
+      final var rgb = HSV.toRGB(
+        PVector4D.<ColorSpaceTagHSVType>of(
+          source[i], source[i + 1], source[i + 2], source[i + 3]),
+        ColorAccuracy.FAST);
+      final var exact = HSV.toRGB(
+        PVector4D.<ColorSpaceTagHSVType>of(
+          source[i], source[i + 1], source[i + 2], source[i + 3]));
+      assertEquals(exact.x(), rgb.x(), ColorAccuracy.FAST.maximumError());
+      assertEquals(exact.y(), rgb.y(), ColorAccuracy.FAST.maximumError());
+      assertEquals(exact.z(), rgb.z(), ColorAccuracy.FAST.maximumError());
+    }
+  }
+
+  /**
+   * The scalar and bulk conversions produce bit-identical results in both
+   * directions, over random values (including values outside of the range
+   * {@code [0, 1]}) and over a grid that includes the sector boundaries.
+   */
+
+  @ParameterizedTest
+  @EnumSource(ColorAccuracy.class)
+  public void testScalarMatchesBulk(
+    final ColorAccuracy accuracy)
+  {
+    final var random = HSVBulkTest.randomPixels(0x46L, 4096);
+    final var grid = grid();
+    final var source = new double[random.length + grid.length];
+    System.arraycopy(random, 0, source, 0, random.length);
+    System.arraycopy(grid, 0, source, random.length, grid.length);
+
+    final var pixels = source.length / 4;
+    final var hsvBulk = new double[source.length];
+    final var rgbBulk = new double[source.length];
+    HSVBulk.toHSV(accuracy, source, 0, hsvBulk, 0, pixels);
+    HSVBulk.toRGB(accuracy, source, 0, rgbBulk, 0, pixels);
+
+    for (int index = 0; index < pixels; ++index) {
+      final var i = index * 4;
+      final var hsv = HSV.toHSV(
+        PVector4D.<ColorSpaceTagLinearRGBType>of(
+          source[i], source[i + 1], source[i + 2], source[i + 3]),
+        accuracy);
+      assertEquals(hsvBulk[i], hsv.x());
+      assertEquals(hsvBulk[i + 1], hsv.y());
+      assertEquals(hsvBulk[i + 2], hsv.z());
+      assertEquals(hsvBulk[i + 3], hsv.w());
+
+      final var rgb = HSV.toRGB(
+        PVector4D.<ColorSpaceTagHSVType>of(
+          source[i], source[i + 1], source[i + 2], source[i + 3]),
+        accuracy);
+      assertEquals(rgbBulk[i], rgb.x());
+      assertEquals(rgbBulk[i + 1], rgb.y());
+      assertEquals(rgbBulk[i + 2], rgb.z());
+      assertEquals(rgbBulk[i + 3], rgb.w());
+    }
+  }
+
+  @Test
+  public void testFastParallelMatchesSerial()
+  {
+    final var pixels = 100000;
+    final var source = HSVBulkTest.randomPixels(0x45L, pixels);
+    final var serial = new double[source.length];
+    final var parallel = new double[source.length];
+
+    try (var pool = new ForkJoinPool(4)) {
+      HSVBulk.toHSV(ColorAccuracy.FAST, source, 0, serial, 0, pixels);
+      HSVBulk.toHSVParallel(
+        pool, ColorAccuracy.FAST, source, 0, parallel, 0, pixels);
+      assertArrayEquals(serial, parallel);
+
+      HSVBulk.toRGB(ColorAccuracy.FAST, serial, 0, serial, 0, pixels);
+      HSVBulk.toRGBParallel(
+        pool, ColorAccuracy.FAST, parallel, 0, parallel, 0, pixels);
+      assertArrayEquals(serial, parallel);
+    }
+  }
+}
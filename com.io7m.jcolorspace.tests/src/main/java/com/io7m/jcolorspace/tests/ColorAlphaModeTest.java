@@ -0,0 +1,307 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorAccuracy;
+import com.io7m.jcolorspace.core.ColorAlphaMode;
+import com.io7m.jcolorspace.core.HSVBulk;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ColorAlphaModeTest
+{
+  private static double[] premultipliedPixels(
+    final long seed,
+    final int pixels)
+  {
+    final var random = new Random(seed);
+    final var data = new double[pixels * 4];
+    for (int index = 0; index < pixels; ++index) {
+      final var a = random.nextDouble();
+      data[index * 4] = random.nextDouble() * a;
+      data[index * 4 + 1] = random.nextDouble() * a;
+      data[index * 4 + 2] = random.nextDouble() * a;
+      data[index * 4 + 3] = a;
+    }
+
+    /*
+     * Include a fully transparent pixel and a fully opaque pixel.
+     */
+
+    data[0] = 0.0;
+    data[1] = 0.0;
+    data[2] = 0.0;
+    data[3] = 0.0;
+    data[7] = 1.0;
+    return data;
+  }
+
+  @Test
+  public void testStraightIsDefault()
+  {
+    final var pixels = 1000;
+    final var source = HSVBulkTest.randomPixels(0x47L, pixels);
+    final var expected = new double[source.length];
+    final var received = new double[source.length];
+
+    HSVBulk.toHSV(source, 0, expected, 0, pixels);
+    HSVBulk.toHSV(ColorAlphaMode.STRAIGHT, source, 0, received, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toRGB(expected, 0, expected, 0, pixels);
+    HSVBulk.toRGB(ColorAlphaMode.STRAIGHT, received, 0, received, 0, pixels);
+    assertArrayEquals(expected, received);
+  }
+
+  @Test
+  public void testPremultipliedMatchesSeparatePasses()
+  {
+    final var pixels = 10000;
+    final var source = premultipliedPixels(0x48L, pixels);
+
+    final var expected = source.clone();
+    for (int index = 0; index < pixels; ++index) {
+      final var a = expected[index * 4 + 3];
+      if (a > 0.0) {
+        final var r = 1.0 / a;
+        expected[index * 4] *= r;
+        expected[index * 4 + 1] *= r;
+        expected[index * 4 + 2] *= r;
+      }
+    }
+    HSVBulk.toHSV(expected, 0, expected, 0, pixels);
+    expected[0] = 0.0;
+    expected[1] = 0.0;
+    expected[2] = 0.0;
+
+    final var received = new double[source.length];
+    HSVBulk.toHSV(
+      ColorAlphaMode.PREMULTIPLIED, source, 0, received, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toRGB(expected, 0, expected, 0, pixels);
+    for (int index = 0; index < pixels; ++index) {
+      final var a = expected[index * 4 + 3];
+      expected[index * 4] *= a;
+      expected[index * 4 + 1] *= a;
+      expected[index * 4 + 2] *= a;
+    }
+    HSVBulk.toRGB(
+      ColorAlphaMode.PREMULTIPLIED, received, 0, received, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    for (int index = 0; index < source.length; ++index) {
+      assertEquals(source[index], received[index], 1.0e-12, "Index " + index);
+    }
+  }
+
+  @Test
+  public void testPremultipliedFastMatchesSeparatePasses()
+  {
+    final var pixels = 10000;
+    final var source = premultipliedPixels(0x4aL, pixels);
+
+    final var expected = source.clone();
+    for (int index = 0; index < pixels; ++index) {
+      final var a = expected[index * 4 + 3];
+      if (a > 0.0) {
+        final var r = 1.0 / a;
+        expected[index * 4] *= r;
+        expected[index * 4 + 1] *= r;
+        expected[index * 4 + 2] *= r;
+      }
+    }
+    HSVBulk.toHSV(ColorAccuracy.FAST, expected, 0, expected, 0, pixels);
+    expected[0] = 0.0;
+    expected[1] = 0.0;
+    expected[2] = 0.0;
+
+    final var received = new double[source.length];
+    HSVBulk.toHSV(
+      ColorAccuracy.FAST,
+      ColorAlphaMode.PREMULTIPLIED,
+      source,
+      0,
+      received,
+      0,
+      pixels
+    );
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toRGB(ColorAccuracy.FAST, expected, 0, expected, 0, pixels);
+    for (int index = 0; index < pixels; ++index) {
+      final var a = expected[index * 4 + 3];
+      expected[index * 4] *= a;
+      expected[index * 4 + 1] *= a;
+      expected[index * 4 + 2] *= a;
+    }
+    HSVBulk.toRGB(
+      ColorAccuracy.FAST,
+      ColorAlphaMode.PREMULTIPLIED,
+      received,
+      0,
+      received,
+      0,
+      pixels
+    );
+    assertArrayEquals(expected, received);
+
+    for (int index = 0; index < source.length; ++index) {
+      assertEquals(source[index], received[index], 1.0e-9, "Index " + index);
+    }
+  }
+
+  @Test
+  public void testCombinedOverloadsMatchSingleOverloads()
+  {
+    final var pixels = 1000;
+    final var source = premultipliedPixels(0x4bL, pixels);
+    final var expected = new double[source.length];
+    final var received = new double[source.length];
+
+    HSVBulk.toHSV(
+      ColorAccuracy.EXACT, ColorAlphaMode.STRAIGHT, source, 0, received, 0, pixels);
+    HSVBulk.toHSV(source, 0, expected, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toHSV(
+      ColorAccuracy.FAST, ColorAlphaMode.STRAIGHT, source, 0, received, 0, pixels);
+    HSVBulk.toHSV(ColorAccuracy.FAST, source, 0, expected, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toHSV(
+      ColorAccuracy.EXACT, ColorAlphaMode.PREMULTIPLIED, source, 0, received, 0, pixels);
+    HSVBulk.toHSV(ColorAlphaMode.PREMULTIPLIED, source, 0, expected, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toRGB(
+      ColorAccuracy.FAST, ColorAlphaMode.STRAIGHT, source, 0, received, 0, pixels);
+    HSVBulk.toRGB(ColorAccuracy.FAST, source, 0, expected, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toRGB(
+      ColorAccuracy.EXACT, ColorAlphaMode.PREMULTIPLIED, source, 0, received, 0, pixels);
+    HSVBulk.toRGB(ColorAlphaMode.PREMULTIPLIED, source, 0, expected, 0, pixels);
+    assertArrayEquals(expected, received);
+  }
+
+  @Test
+  public void testZeroAlpha()
+  {
+    final var pixels = new double[]{
+      0.5, 0.25, 0.125, 0.0,
+      0.5, 0.25, 0.125, Double.NaN,
+      0.5, 0.25, 0.125, -1.0,
+    };
+    final var hsv = new double[pixels.length];
+    HSVBulk.toHSV(ColorAlphaMode.PREMULTIPLIED, pixels, 0, hsv, 0, 3);
+    assertArrayEquals(
+      new double[]{
+        0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, Double.NaN,
+        0.0, 0.0, 0.0, -1.0,
+      },
+      hsv
+    );
+
+    final var colored = new double[]{
+      0.5, 1.0, 1.0, 0.0,
+      0.5, 1.0, 1.0, Double.NaN,
+      0.5, 1.0, 1.0, -1.0,
+    };
+    HSVBulk.toRGB(ColorAlphaMode.PREMULTIPLIED, colored, 0, colored, 0, 3);
+    assertArrayEquals(
+      new double[]{
+        0.0, 0.0, 0.0, 0.0,
+        0.0, 0.0, 0.0, Double.NaN,
+        0.0, 0.0, 0.0, -1.0,
+      },
+      colored
+    );
+  }
+
+  @Test
+  public void testParallelMatchesSerial()
+  {
+    final var pixels = 100000;
+    final var source = premultipliedPixels(0x49L, pixels);
+    final var serial = new double[source.length];
+    final var parallel = new double[source.length];
+
+    try (var pool = new ForkJoinPool(4)) {
+      HSVBulk.toHSV(
+        ColorAlphaMode.PREMULTIPLIED, source, 0, serial, 0, pixels);
+      HSVBulk.toHSVParallel(
+        pool, ColorAlphaMode.PREMULTIPLIED, source, 0, parallel, 0, pixels);
+      assertArrayEquals(serial, parallel);
+
+      HSVBulk.toRGB(
+        ColorAlphaMode.PREMULTIPLIED, serial, 0, serial, 0, pixels);
+      HSVBulk.toRGBParallel(
+        pool, ColorAlphaMode.PREMULTIPLIED, parallel, 0, parallel, 0, pixels);
+      assertArrayEquals(serial, parallel);
+
+      HSVBulk.toHSV(
+        ColorAccuracy.FAST,
+        ColorAlphaMode.PREMULTIPLIED,
+        source,
+        0,
+        serial,
+        0,
+        pixels
+      );
+      HSVBulk.toHSVParallel(
+        pool,
+        ColorAccuracy.FAST,
+        ColorAlphaMode.PREMULTIPLIED,
+        source,
+        0,
+        parallel,
+        0,
+        pixels
+      );
+      assertArrayEquals(serial, parallel);
+
+      HSVBulk.toRGB(
+        ColorAccuracy.FAST,
+        ColorAlphaMode.PREMULTIPLIED,
+        serial,
+        0,
+        serial,
+        0,
+        pixels
+      );
+      HSVBulk.toRGBParallel(
+        pool,
+        ColorAccuracy.FAST,
+        ColorAlphaMode.PREMULTIPLIED,
+        parallel,
+        0,
+        parallel,
+        0,
+        pixels
+      );
+      assertArrayEquals(serial, parallel);
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.DitherMethod;
+import com.io7m.jcolorspace.core.GamutMappingStrategy;
+import com.io7m.jcolorspace.core.HSVAdjustment;
+import com.io7m.jcolorspace.core.RGBPrimaries;
+import com.io7m.jcolorspace.demo.ColorBatch;
+import com.io7m.jcolorspace.demo.ColorBatchConfiguration;
+import com.io7m.jcolorspace.demo.ColorBatchOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public final class ColorBatchTest
+{
+  @TempDir
+  private Path directory;
+  private Path input;
+  private Path output;
+
+  private static BufferedImage gradient(
+    final int width,
+    final int height)
+  {
+    final var image =
+      new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        final var r = x * 255 / (width - 1);
+        final var g = y * 255 / (height - 1);
+        final var b = 255 - r;
+        image.setRGB(x, y, 0xff000000 | r << 16 | g << 8 | b);
+      }
+    }
+    return image;
+  }
+
+  private ColorBatchConfiguration configuration(
+    final ColorBatchOperation operation,
+    final HSVAdjustment adjustment)
+  {
+    return new ColorBatchConfiguration(
+      this.input,
+      this.output,
+      operation,
+      adjustment,
+      RGBPrimaries.SRGB,
+      RGBPrimaries.SRGB,
+      GamutMappingStrategy.CLIP,
+      DitherMethod.NONE,
+      2,
+      2
+    );
+  }
+
+  @BeforeEach
+  public void setup()
+    throws IOException
+  {
+    this.input = Files.createDirectories(this.directory.resolve("in"));
+    this.output = this.directory.resolve("out");
+
+    ImageIO.write(gradient(16, 8), "png", this.input.resolve("a.png").toFile());
+    ImageIO.write(gradient(5, 7), "png", this.input.resolve("b.png").toFile());
+    Files.writeString(this.input.resolve("broken.png"), "Not an image.");
+    Files.writeString(this.input.resolve("notes.txt"), "Not an image either.");
+  }
+
+  /**
+   * An identity hue shift reproduces each image, and an undecodable image
+   * is reported without stopping the batch.
+   */
+
+  @Test
+  public void testHueShiftIdentity()
+    throws IOException
+  {
+    final var report =
+      ColorBatch.create(
+        this.configuration(
+          ColorBatchOperation.HUE_SHIFT, new HSVAdjustment(0.0, 1.0, 1.0)))
+        .run();
+
+    assertEquals(2L, report.images());
+    assertEquals(16L * 8L + 5L * 7L, report.pixels());
+    assertEquals(1, report.failures().size());
+    assertEquals(
+      this.input.resolve("broken.png"),
+      report.failures().get(0).getKey());
+
+    for (final var name : new String[]{"a", "b"}) {
+      final var expected =
+        ImageIO.read(this.input.resolve(name + ".png").toFile());
+      final var received =
+        ImageIO.read(this.output.resolve(name + ".png").toFile());
+
+      assertEquals(expected.getWidth(), received.getWidth());
+      assertEquals(expected.getHeight(), received.getHeight());
+      for (int y = 0; y < expected.getHeight(); ++y) {
+        for (int x = 0; x < expected.getWidth(); ++x) {
+          final var e = expected.getRGB(x, y);
+          final var r = received.getRGB(x, y);
+          for (int shift = 0; shift < 32; shift += 8) {
+            assertEquals(
+              (e >>> shift) & 0xff,
+              (r >>> shift) & 0xff,
+              1.0,
+              "%s (%d, %d)".formatted(
+                name, Integer.valueOf(x), Integer.valueOf(y)));
+          }
+        }
+      }
+    }
+
+    assertFalse(Files.exists(this.output.resolve("broken.png")));
+    assertFalse(Files.exists(this.output.resolve("notes.png")));
+  }
+
+  /**
+   * Statistics are gathered over every image, and nothing is written.
+   */
+
+  @Test
+  public void testStatistics()
+    throws IOException
+  {
+    final var report =
+      ColorBatch.create(
+        this.configuration(
+          ColorBatchOperation.STATISTICS, new HSVAdjustment(0.0, 1.0, 1.0)))
+        .run();
+
+    assertEquals(2L, report.images());
+    assertEquals(16L * 8L + 5L * 7L, report.statistics().pixels());
+    assertEquals(1, report.failures().size());
+
+    /*
+     * Red and blue are complementary in the gradients, so the smallest value
+     * is that of the level 128 (in the five pixel wide image).
+     */
+
+    assertEquals(
+      Math.pow((128.0 / 255.0 + 0.055) / 1.055, 2.4),
+      report.statistics().valueMin(),
+      1.0e-6);
+    assertEquals(1.0, report.statistics().valueMax(), 1.0e-12);
+    assertFalse(Files.exists(this.output));
+  }
+}
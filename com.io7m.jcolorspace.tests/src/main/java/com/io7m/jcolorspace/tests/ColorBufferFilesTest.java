@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorBufferFileException;
+import com.io7m.jcolorspace.core.ColorBufferFileHeader;
+import com.io7m.jcolorspace.core.ColorBufferFiles;
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagId;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.ConversionKernels;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.PixelComponentOrder;
+import com.io7m.jcolorspace.core.PixelComponentType;
+import com.io7m.jcolorspace.core.PixelLayout;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColorBufferFilesTest
+{
+  private static final PixelLayout RGBA_F64 =
+    PixelLayout.interleaved(
+      PixelComponentOrder.RGBA,
+      PixelComponentType.FLOAT64,
+      ByteOrder.nativeOrder()
+    );
+
+  @TempDir
+  private Path directory;
+
+  @Test
+  public void testRoundTripInPlace()
+    throws IOException
+  {
+    final var width = 17;
+    final var height = 9;
+    final var pixels = width * height;
+    final var source = HSVBulkTest.randomPixels(0x45L, pixels);
+    HSVBulk.toHSV(source, 0, source, 0, pixels);
+
+    final var file = this.directory.resolve("palette.jcsb");
+    final var header =
+      new ColorBufferFileHeader(ColorSpaceTagId.HSV, RGBA_F64, width, height);
+    ColorBufferFiles.write(file, header, source, 0);
+
+    assertEquals(
+      ColorBufferFiles.HEADER_SIZE + pixels * 32L,
+      Files.size(file));
+    assertEquals(header, ColorBufferFiles.readHeader(file));
+
+    final var mapped = ColorBufferFiles.map(file, ColorSpaceTagHSVType.class);
+    assertEquals(header, mapped.header());
+    assertTrue(mapped.payload().isReadOnly());
+
+    /*
+     * The payload is used directly, without copying.
+     */
+
+    final var values = new double[source.length];
+    mapped.payload().asDoubleBuffer().get(values);
+    assertArrayEquals(source, values);
+
+    final var copied = new double[source.length + 4];
+    mapped.toDoubles(copied, 4);
+    for (int index = 0; index < source.length; ++index) {
+      assertEquals(source[index], copied[index + 4]);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(PixelComponentType.class)
+  public void testLayouts(
+    final PixelComponentType type)
+    throws IOException
+  {
+    final var pixels = 100;
+    final var source = HSVBulkTest.randomPixels(0x46L, pixels);
+    for (int index = 0; index < source.length; ++index) {
+      source[index] = Math.min(Math.max(source[index], 0.0), 1.0);
+    }
+
+    final var tolerance = switch (type) {
+      case UNORM8 -> 0.5 / 255.0 + 1.0e-12;
+      case FLOAT16 -> 1.0e-3;
+      case UNORM16 -> 0.5 / 65535.0 + 1.0e-12;
+      case FLOAT32 -> 1.0e-7;
+      case FLOAT64 -> 0.0;
+    };
+
+    final var layouts = List.of(
+      PixelLayout.interleaved(PixelComponentOrder.BGRA, type, ByteOrder.BIG_ENDIAN),
+      PixelLayout.planar(
+        PixelComponentOrder.ARGB, type, ByteOrder.LITTLE_ENDIAN, pixels * type.size())
+    );
+
+    for (final var layout : layouts) {
+      final var file = this.directory.resolve("buffer.jcsb");
+      final var header =
+        new ColorBufferFileHeader(ColorSpaceTagId.LINEAR_RGB, layout, pixels, 1);
+      ColorBufferFiles.write(file, header, source, 0);
+
+      final var mapped =
+        ColorBufferFiles.map(file, ColorSpaceTagLinearRGBType.class);
+      assertEquals(header, mapped.header());
+
+      final var expected =
+        ByteBuffer.allocate(header.payloadSize()).order(layout.byteOrder());
+      final var input =
+        ByteBuffer.allocate(pixels * 32).order(ByteOrder.nativeOrder());
+      input.asDoubleBuffer().put(source);
+      ConversionKernels.kernel(RGBA_F64, layout).convert(input, 0, expected, 0, pixels);
+      assertEquals(expected, mapped.payload());
+
+      final var target = ByteBuffer.allocate(pixels * 32).order(ByteOrder.nativeOrder());
+      mapped.convert(ConversionKernels.kernel(layout, RGBA_F64), target, 0);
+      final var back = new double[source.length];
+      target.asDoubleBuffer().get(back);
+      for (int index = 0; index < source.length; ++index) {
+        assertEquals(source[index], back[index], tolerance);
+      }
+    }
+  }
+
+  @Test
+  public void testRejectsTagMismatch()
+    throws IOException
+  {
+    final var file = this.directory.resolve("rgb.jcsb");
+    ColorBufferFiles.write(
+      file,
+      new ColorBufferFileHeader(ColorSpaceTagId.LINEAR_RGB, RGBA_F64, 2, 1),
+      new double[8],
+      0);
+
+    final var ex = assertThrows(ColorBufferFileException.class, () -> {
+      ColorBufferFiles.map(file, ColorSpaceTagHSVType.class);
+    });
+    assertTrue(ex.getMessage().contains("HSV"), ex.getMessage());
+  }
+
+  @Test
+  public void testRejectsCorruption()
+    throws IOException
+  {
+    final var file = this.directory.resolve("corrupt.jcsb");
+    ColorBufferFiles.write(
+      file,
+      new ColorBufferFileHeader(ColorSpaceTagId.HSV, RGBA_F64, 4, 1),
+      new double[16],
+      0);
+    final var original = Files.readAllBytes(file);
+
+    /*
+     * Altering any header byte is detected.
+     */
+
+    for (int index = 0; index < ColorBufferFiles.HEADER_SIZE; ++index) {
+      final var bytes = original.clone();
+      bytes[index] ^= 0x10;
+      Files.write(file, bytes);
+      assertThrows(ColorBufferFileException.class, () -> {
+        ColorBufferFiles.readHeader(file);
+      });
+    }
+
+    final var truncated = new byte[original.length - 1];
+    System.arraycopy(original, 0, truncated, 0, truncated.length);
+    Files.write(file, truncated);
+    assertThrows(ColorBufferFileException.class, () -> {
+      ColorBufferFiles.map(file, ColorSpaceTagHSVType.class);
+    });
+
+    Files.write(file, new byte[3]);
+    assertThrows(ColorBufferFileException.class, () -> {
+      ColorBufferFiles.readHeader(file);
+    });
+  }
+
+  @Test
+  public void testTagIds()
+  {
+    for (final var tag : ColorSpaceTagId.values()) {
+      assertEquals(tag, ColorSpaceTagId.ofId(tag.id()));
+      assertEquals(tag, ColorSpaceTagId.ofTag(tag.tag()));
+    }
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorSpaceTagId.ofId(0);
+    });
+  }
+
+  @Test
+  public void testInvalidHeaders()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ColorBufferFileHeader(ColorSpaceTagId.HSV, RGBA_F64, -1, 1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ColorBufferFileHeader(
+        ColorSpaceTagId.HSV,
+        PixelLayout.planar(
+          PixelComponentOrder.RGBA,
+          PixelComponentType.FLOAT32,
+          ByteOrder.BIG_ENDIAN,
+          15),
+        4,
+        1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorBufferFiles.write(
+        this.directory.resolve("x"),
+        new ColorBufferFileHeader(ColorSpaceTagId.HSV, RGBA_F64, 4, 1),
+        ByteBuffer.allocate(127));
+    });
+  }
+}
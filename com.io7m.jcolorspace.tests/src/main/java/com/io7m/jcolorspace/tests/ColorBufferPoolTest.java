@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorBufferPool;
+import com.io7m.jcolorspace.core.ColorBufferPoolConfiguration;
+import com.io7m.jcolorspace.core.HSVBulk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColorBufferPoolTest
+{
+  private static ColorBufferPool pool()
+  {
+    return ColorBufferPool.create(
+      new ColorBufferPoolConfiguration(1, 2, 1024L * 1024L, false)
+    );
+  }
+
+  @Test
+  public void testReuse()
+  {
+    final var pool = pool();
+
+    final var lease0 = pool.leaseDoubles(1000);
+    final var array = lease0.buffer();
+    assertEquals(1024, array.length);
+    lease0.close();
+    lease0.close();
+    assertTrue(lease0.isClosed());
+
+    final var lease1 = pool.leaseDoubles(600);
+    assertSame(array, lease1.buffer());
+    lease1.close();
+
+    final var stats = pool.statistics();
+    assertEquals(1L, stats.hits());
+    assertEquals(1L, stats.misses());
+    assertEquals(2L, stats.releases());
+    assertEquals(0L, stats.leased());
+    assertEquals(1024L * 8L, stats.bytesRetained());
+    assertEquals(0.5, stats.hitRate());
+  }
+
+  @Test
+  public void testKindsAreSeparate()
+  {
+    final var pool = pool();
+
+    try (var doubles = pool.leaseDoubles(64)) {
+      assertEquals(64, doubles.buffer().length);
+    }
+    try (var floats = pool.leaseFloats(64)) {
+      assertEquals(64, floats.buffer().length);
+    }
+    try (var direct = pool.leaseDirect(100)) {
+      final var buffer = direct.buffer();
+      assertTrue(buffer.isDirect());
+      assertEquals(ByteOrder.nativeOrder(), buffer.order());
+      assertEquals(0, buffer.position());
+      assertEquals(100, buffer.limit());
+      assertEquals(128, buffer.capacity());
+    }
+
+    final var stats = pool.statistics();
+    assertEquals(0L, stats.hits());
+    assertEquals(3L, stats.misses());
+    assertEquals(64L * 8L + 64L * 4L + 128L, stats.bytesRetained());
+
+    pool.clear();
+    assertEquals(0L, pool.statistics().bytesRetained());
+  }
+
+  @Test
+  public void testRetentionLimits()
+  {
+    final var pool = ColorBufferPool.create(
+      new ColorBufferPoolConfiguration(1, 1, 1024L, false)
+    );
+
+    final var lease0 = pool.leaseFloats(128);
+    final var lease1 = pool.leaseFloats(128);
+    final var lease2 = pool.leaseFloats(1024);
+    lease0.close();
+    lease1.close();
+    lease2.close();
+
+    final var stats = pool.statistics();
+    assertEquals(512L, stats.bytesRetained());
+    assertEquals(2L, stats.discards());
+  }
+
+  @Test
+  public void testNegative()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      pool().leaseDoubles(-1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ColorBufferPoolConfiguration(0, 1, 1L, false);
+    });
+  }
+
+  @Test
+  public void testPooledConversion()
+  {
+    final var pool = pool();
+    final var pixels = 1000;
+    final var source = HSVBulkTest.randomPixels(0x50L, pixels);
+    final var expected = new double[pixels * 4];
+    HSVBulk.toHSV(source, 0, expected, 0, pixels);
+
+    for (int index = 0; index < 3; ++index) {
+      try (var lease = HSVBulk.toHSVPooled(pool, source, 0, pixels)) {
+        assertArrayEquals(
+          expected, Arrays.copyOf(lease.buffer(), pixels * 4));
+      }
+    }
+
+    final var stats = pool.statistics();
+    assertEquals(1L, stats.misses());
+    assertEquals(2L, stats.hits());
+  }
+
+  @Test
+  @Timeout(value = 30L, unit = TimeUnit.SECONDS)
+  public void testLeakDetection()
+    throws Exception
+  {
+    final var pool = ColorBufferPool.create(
+      ColorBufferPoolConfiguration.defaults().withDebug(true)
+    );
+
+    this.leak(pool);
+    while (pool.statistics().leaks() == 0L) {
+      System.gc();
+      Thread.sleep(10L);
+    }
+
+    final var stats = pool.statistics();
+    assertEquals(1L, stats.leaks());
+    assertEquals(0L, stats.leased());
+
+    try (var lease = pool.leaseDoubles(10)) {
+      assertFalse(lease.isClosed());
+    }
+    assertEquals(1L, pool.statistics().leaks());
+  }
+
+  private void leak(
+    final ColorBufferPool pool)
+  {
+    pool.leaseDoubles(100);
+  }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorConversionProcessor;
+import com.io7m.jcolorspace.core.ColorConversionProcessorConfiguration;
+import com.io7m.jcolorspace.core.ColorFrame;
+import com.io7m.jcolorspace.core.ColorFramePool;
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.HSVBulk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(value = 30L, unit = TimeUnit.SECONDS)
+public final class ColorConversionProcessorTest
+{
+  /**
+   * A publisher of a fixed list of frames that honours demand and records
+   * how many frames have been requested.
+   */
+
+  private static final class ListPublisher
+    implements Flow.Publisher<ColorFrame<ColorSpaceTagLinearRGBType>>
+  {
+    private final List<ColorFrame<ColorSpaceTagLinearRGBType>> frames;
+    private final AtomicLong requested;
+    private int next;
+
+    ListPublisher(
+      final List<ColorFrame<ColorSpaceTagLinearRGBType>> inFrames)
+    {
+      this.frames = inFrames;
+      this.requested = new AtomicLong();
+    }
+
+    @Override
+    public void subscribe(
+      final Flow.Subscriber<? super ColorFrame<ColorSpaceTagLinearRGBType>> s)
+    {
+      s.onSubscribe(new Flow.Subscription()
+      {
+        @Override
+        public synchronized void request(final long n)
+        {
+          ListPublisher.this.requested.addAndGet(n);
+          for (long i = 0L; i < n; ++i) {
+            if (ListPublisher.this.next == ListPublisher.this.frames.size()) {
+              s.onComplete();
+              return;
+            }
+            s.onNext(ListPublisher.this.frames.get(ListPublisher.this.next));
+            ++ListPublisher.this.next;
+          }
+        }
+
+        @Override
+        public void cancel()
+        {
+
+        }
+      });
+    }
+  }
+
+  private static final class CollectingSubscriber
+    implements Flow.Subscriber<ColorFrame<ColorSpaceTagHSVType>>
+  {
+    private final List<double[]> received;
+    private final CompletableFuture<Void> done;
+    private final boolean releaseFrames;
+    private Flow.Subscription subscription;
+
+    CollectingSubscriber(
+      final boolean inReleaseFrames)
+    {
+      this.received = new CopyOnWriteArrayList<>();
+      this.done = new CompletableFuture<>();
+      this.releaseFrames = inReleaseFrames;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription s)
+    {
+      this.subscription = s;
+      s.request(1L);
+    }
+
+    @Override
+    public void onNext(final ColorFrame<ColorSpaceTagHSVType> item)
+    {
+      this.received.add(
+        Arrays.copyOf(item.data(), item.pixels() * 4));
+      if (this.releaseFrames) {
+        item.release();
+      }
+      this.subscription.request(1L);
+    }
+
+    @Override
+    public void onError(final Throwable throwable)
+    {
+      this.done.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete()
+    {
+      this.done.complete(null);
+    }
+  }
+
+  private static List<ColorFrame<ColorSpaceTagLinearRGBType>> frames(
+    final int count,
+    final int width,
+    final int height)
+  {
+    final var pool =
+      ColorFramePool.<ColorSpaceTagLinearRGBType>create(count);
+    final var results =
+      new ArrayList<ColorFrame<ColorSpaceTagLinearRGBType>>();
+
+    for (int index = 0; index < count; ++index) {
+      final var frame = pool.tryAcquire(width, height).orElseThrow();
+      final var data = HSVBulkTest.randomPixels(index, width * height);
+      System.arraycopy(data, 0, frame.data(), 0, data.length);
+      results.add(frame);
+    }
+    return results;
+  }
+
+  @Test
+  public void testConvertsInOrder()
+    throws Exception
+  {
+    final var inputs = frames(32, 37, 23);
+    final var expected = new ArrayList<double[]>();
+    for (final var input : inputs) {
+      final var out = new double[input.pixels() * 4];
+      HSVBulk.toHSV(input.data(), 0, out, 0, input.pixels());
+      expected.add(out);
+    }
+
+    final var processor = ColorConversionProcessor.create(
+      new ColorConversionProcessorConfiguration<>(
+        HSVBulk.toHSVConversion(),
+        ForkJoinPool.commonPool(),
+        4,
+        3
+      )
+    );
+
+    final var subscriber = new CollectingSubscriber(true);
+    processor.subscribe(subscriber);
+    new ListPublisher(inputs).subscribe(processor);
+    subscriber.done.get(10L, TimeUnit.SECONDS);
+
+    assertEquals(expected.size(), subscriber.received.size());
+    for (int index = 0; index < expected.size(); ++index) {
+      assertArrayEquals(expected.get(index), subscriber.received.get(index));
+    }
+  }
+
+  @Test
+  public void testBoundedInFlight()
+    throws Exception
+  {
+    final var inputs = frames(32, 8, 8);
+    final var processor = ColorConversionProcessor.create(
+      new ColorConversionProcessorConfiguration<>(
+        HSVBulk.toHSVConversion(),
+        ForkJoinPool.commonPool(),
+        1,
+        3
+      )
+    );
+
+    /*
+     * The subscriber never releases frames, so the processor must stop
+     * requesting frames from upstream once its pool is exhausted.
+     */
+
+    final var subscriber = new CollectingSubscriber(false);
+    final var publisher = new ListPublisher(inputs);
+    processor.subscribe(subscriber);
+    publisher.subscribe(processor);
+
+    while (subscriber.received.size() < 3) {
+      Thread.sleep(1L);
+    }
+    Thread.sleep(100L);
+
+    assertEquals(3, subscriber.received.size());
+    assertEquals(3L, publisher.requested.get());
+    assertFalse(subscriber.done.isDone());
+  }
+
+  @Test
+  public void testSecondSubscriberRejected()
+    throws Exception
+  {
+    final var processor = ColorConversionProcessor.create(
+      ColorConversionProcessorConfiguration.of(HSVBulk.toHSVConversion())
+    );
+
+    processor.subscribe(new CollectingSubscriber(true));
+    final var second = new CollectingSubscriber(true);
+    processor.subscribe(second);
+
+    final var ex = assertThrows(Exception.class, () -> {
+      second.done.get(1L, TimeUnit.SECONDS);
+    });
+    assertInstanceOf(IllegalStateException.class, ex.getCause());
+  }
+
+  @Test
+  public void testConversionErrorPropagates()
+    throws Exception
+  {
+    final var processor = ColorConversionProcessor.create(
+      new ColorConversionProcessorConfiguration<
+        ColorSpaceTagLinearRGBType, ColorSpaceTagHSVType>(
+        (source, sourceOffset, target, targetOffset, pixels) -> {
+          throw new IllegalArgumentException("Failed!");
+        },
+        ForkJoinPool.commonPool(),
+        1,
+        2
+      )
+    );
+
+    final var subscriber = new CollectingSubscriber(true);
+    processor.subscribe(subscriber);
+    new ListPublisher(frames(4, 2, 2))
+      .subscribe(processor);
+
+    final var ex = assertThrows(Exception.class, () -> {
+      subscriber.done.get(5L, TimeUnit.SECONDS);
+    });
+    assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+  }
+
+  @Test
+  public void testFramePoolReuse()
+  {
+    final var pool = ColorFramePool.<ColorSpaceTagHSVType>create(2);
+    final var f0 = pool.tryAcquire(4, 4).orElseThrow();
+    final var f1 = pool.tryAcquire(4, 4).orElseThrow();
+    assertTrue(pool.tryAcquire(4, 4).isEmpty());
+    assertEquals(0, pool.available());
+
+    final var data = f0.data();
+    f0.release();
+    assertThrows(IllegalStateException.class, f0::release);
+    assertEquals(1, pool.available());
+
+    final var f2 = pool.tryAcquire(2, 2).orElseThrow();
+    assertTrue(data == f2.data());
+    assertEquals(4, f2.pixels());
+    f1.release();
+    f2.release();
+    assertEquals(2, pool.available());
+  }
+
+  @Test
+  public void testInvalidConfiguration()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ColorConversionProcessorConfiguration<>(
+        HSVBulk.toHSVConversion(), ForkJoinPool.commonPool(), 0, 1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ColorConversionProcessorConfiguration<>(
+        HSVBulk.toHSVConversion(), ForkJoinPool.commonPool(), 1, 0);
+    });
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorDifference;
+import com.io7m.jcolorspace.core.ColorDifferenceMetric;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColorDifferenceTest
+{
+  /*
+   * A selection of the supplementary test data published by Sharma, Wu and
+   * Dalal: L1, a1, b1, L2, a2, b2, and the CIEDE2000 difference.
+   */
+
+  private static final double[][] SHARMA = {
+    {50.0000, 2.6772, -79.7751, 50.0000, 0.0000, -82.7485, 2.0425},
+    {50.0000, 3.1571, -77.2803, 50.0000, 0.0000, -82.7485, 2.8615},
+    {50.0000, 2.8361, -74.0200, 50.0000, 0.0000, -82.7485, 3.4412},
+    {50.0000, 0.0000, 0.0000, 50.0000, -1.0000, 2.0000, 2.3669},
+    {50.0000, -1.0000, 2.0000, 50.0000, 0.0000, 0.0000, 2.3669},
+    {50.0000, 2.4900, -0.0010, 50.0000, -2.4900, 0.0009, 7.1792},
+    {50.0000, 2.5000, 0.0000, 73.0000, 25.0000, -18.0000, 27.1492},
+    {50.0000, 2.5000, 0.0000, 61.0000, -5.0000, 29.0000, 22.8977},
+    {50.0000, 2.5000, 0.0000, 56.0000, -27.0000, -3.0000, 31.9030},
+    {50.0000, 2.5000, 0.0000, 58.0000, 24.0000, 15.0000, 19.4535},
+    {60.2574, -34.0099, 36.2677, 60.4626, -34.1751, 39.4387, 1.2644},
+    {63.0109, -31.0961, -5.8663, 62.8187, -29.7946, -4.0864, 1.2630},
+    {90.8027, -2.0831, 1.4410, 91.1528, -1.6435, 0.0447, 1.4441},
+    {2.0776, 0.0795, -1.1350, 0.9033, -0.0636, -0.5514, 0.9082},
+  };
+
+  private static double[] pixelsWithNoise(
+    final double[] base,
+    final long seed)
+  {
+    final var noisy = HSVBulkTest.randomPixels(seed, base.length / 4);
+    for (int index = 0; index < base.length; ++index) {
+      noisy[index] = base[index] + (noisy[index] - 0.5) * 0.02;
+    }
+    return noisy;
+  }
+
+  @Test
+  public void testSharmaData()
+  {
+    for (final var row : SHARMA) {
+      final var d =
+        ColorDifference.deltaE2000(row[0], row[1], row[2], row[3], row[4], row[5]);
+      assertEquals(row[6], d, 1.0e-4, Arrays.toString(row));
+      final var r =
+        ColorDifference.deltaE2000(row[3], row[4], row[5], row[0], row[1], row[2]);
+      assertEquals(d, r, 1.0e-9);
+    }
+  }
+
+  @Test
+  public void testLightnessOnly()
+  {
+    assertEquals(5.0, ColorDifference.deltaE76(50.0, 10.0, 10.0, 55.0, 10.0, 10.0));
+    assertEquals(5.0, ColorDifference.deltaE94(50.0, 10.0, 10.0, 55.0, 10.0, 10.0));
+    assertEquals(5.0, ColorDifference.deltaE76(50.0, 0.0, 0.0, 50.0, 3.0, 4.0));
+
+    /*
+     * A pure chroma difference from a neutral reference is unweighted.
+     */
+
+    assertEquals(5.0, ColorDifference.deltaE94(50.0, 0.0, 0.0, 50.0, 3.0, 4.0), 1.0e-12);
+    assertTrue(ColorDifference.deltaE94(50.0, 30.0, 40.0, 50.0, 33.0, 44.0) < 5.0);
+  }
+
+  @Test
+  public void testBlackWhite()
+  {
+    final var d76 = ColorDifference.create(ColorDifferenceMetric.CIE76);
+    assertEquals(100.0, d76.difference(0.0, 0.0, 0.0, 1.0, 1.0, 1.0), 1.0e-6);
+    assertEquals(0.0, d76.difference(0.2, 0.3, 0.4, 0.2, 0.3, 0.4));
+
+    final var ok = ColorDifference.create(ColorDifferenceMetric.OKLAB);
+    assertEquals(1.0, ok.difference(0.0, 0.0, 0.0, 1.0, 1.0, 1.0), 1.0e-3);
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorDifferenceMetric.class)
+  public void testMapParallelMatchesSerial(
+    final ColorDifferenceMetric metric)
+  {
+    final var pixels = 50000;
+    final var reference = HSVBulkTest.randomPixels(0x40L, pixels);
+    final var sample = pixelsWithNoise(reference, 0x41L);
+    final var diff = ColorDifference.create(metric);
+
+    final var serial = new double[pixels + 3];
+    diff.map(reference, 0, sample, 0, serial, 3, pixels);
+
+    for (int index = 0; index < 100; ++index) {
+      final var o = index * 4;
+      assertEquals(
+        diff.difference(
+          reference[o], reference[o + 1], reference[o + 2],
+          sample[o], sample[o + 1], sample[o + 2]),
+        serial[index + 3]
+      );
+    }
+
+    final var parallel = new double[pixels + 3];
+    try (var pool = new ForkJoinPool(4)) {
+      diff.mapParallel(pool, reference, 0, sample, 0, parallel, 3, pixels);
+    }
+    assertArrayEquals(serial, parallel);
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorDifferenceMetric.class)
+  public void testStatistics(
+    final ColorDifferenceMetric metric)
+  {
+    final var pixels = 50000;
+    final var reference = HSVBulkTest.randomPixels(0x42L, pixels);
+    final var sample = pixelsWithNoise(reference, 0x43L);
+    final var diff = ColorDifference.create(metric);
+
+    final var map = new double[pixels];
+    diff.map(reference, 0, sample, 0, map, 0, pixels);
+    final var sorted = map.clone();
+    Arrays.sort(sorted);
+
+    final var stats = diff.statistics(reference, 0, sample, 0, pixels);
+    assertEquals(metric, stats.metric());
+    assertEquals(pixels, stats.pixels());
+    assertEquals(sorted[pixels - 1], stats.max());
+    assertEquals(sorted[pixels - 1], map[stats.maxIndex()]);
+    assertEquals(Arrays.stream(map).average().orElseThrow(), stats.mean(), 1.0e-9);
+
+    final var range = switch (metric) {
+      case CIE76 -> 256.0;
+      case CIE94, CIEDE2000 -> 128.0;
+      case OKLAB -> 1.0;
+    };
+    final var binWidth = range / ColorDifference.HISTOGRAM_BINS;
+
+    checkPercentile(sorted, 0.50, stats.percentile50(), binWidth);
+    checkPercentile(sorted, 0.95, stats.percentile95(), binWidth);
+    checkPercentile(sorted, 0.99, stats.percentile99(), binWidth);
+
+    try (var pool = new ForkJoinPool(4)) {
+      final var pstats =
+        diff.statisticsParallel(pool, reference, 0, sample, 0, pixels);
+      assertEquals(stats.max(), pstats.max());
+      assertEquals(stats.maxIndex(), pstats.maxIndex());
+      assertEquals(stats.mean(), pstats.mean(), 1.0e-9);
+      assertEquals(stats.percentile50(), pstats.percentile50());
+      assertEquals(stats.percentile95(), pstats.percentile95());
+      assertEquals(stats.percentile99(), pstats.percentile99());
+    }
+  }
+
+  private static void checkPercentile(
+    final double[] sorted,
+    final double p,
+    final double received,
+    final double binWidth)
+  {
+    final var exact = sorted[(int) Math.ceil(p * sorted.length) - 1];
+    assertTrue(received >= exact, "%s >= %s".formatted(received, exact));
+    assertTrue(received <= exact + binWidth, "%s <= %s".formatted(received, exact));
+  }
+
+  @Test
+  public void testEmptyStatistics()
+  {
+    final var stats = ColorDifference.create(ColorDifferenceMetric.CIEDE2000)
+      .statistics(new double[0], 0, new double[0], 0, 0);
+    assertEquals(0L, stats.pixels());
+    assertEquals(-1, stats.maxIndex());
+    assertEquals(0.0, stats.mean());
+  }
+
+  @Test
+  public void testExceeds()
+  {
+    final var pixels = 100000;
+    final var reference = HSVBulkTest.randomPixels(0x44L, pixels);
+    final var sample = reference.clone();
+    final var diff = ColorDifference.create(ColorDifferenceMetric.CIEDE2000);
+
+    assertEquals(-1, diff.firstExceeding(reference, 0, sample, 0, pixels, 0.0));
+    assertFalse(diff.exceeds(reference, 0, sample, 0, pixels, 0.0));
+
+    sample[77777 * 4] = 0.0;
+    sample[77777 * 4 + 1] = 1.0;
+    sample[77777 * 4 + 2] = 0.0;
+    sample[90000 * 4] = 0.0;
+
+    assertEquals(77777, diff.firstExceeding(reference, 0, sample, 0, pixels, 1.0));
+    assertTrue(diff.exceeds(reference, 0, sample, 0, pixels, 1.0));
+    assertFalse(diff.exceeds(reference, 0, sample, 0, pixels, 1000.0));
+
+    try (var pool = new ForkJoinPool(4)) {
+      assertTrue(diff.exceedsParallel(pool, reference, 0, sample, 0, pixels, 1.0));
+      assertFalse(diff.exceedsParallel(pool, reference, 0, sample, 0, pixels, 1000.0));
+    }
+  }
+
+  @Test
+  public void testBounds()
+  {
+    final var diff = ColorDifference.create(ColorDifferenceMetric.CIE76);
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      diff.map(new double[8], 0, new double[8], 0, new double[1], 0, 2);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      diff.statistics(new double[8], 0, new double[7], 0, 2);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      diff.exceeds(new double[8], 1, new double[8], 0, 2, 1.0);
+    });
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorGradient;
+import com.io7m.jcolorspace.core.ColorGradientStop;
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.HSV;
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.DoubleRange;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColorGradientTest
+{
+  private static final double EPSILON = 1.0e-3;
+
+  private static ColorGradient blackToWhite()
+  {
+    return ColorGradient.linearRGB(
+      List.of(
+        ColorGradientStop.of(
+          0.0, PVector4D.<ColorSpaceTagLinearRGBType>of(0.0, 0.0, 0.0, 1.0)),
+        ColorGradientStop.of(
+          1.0, PVector4D.<ColorSpaceTagLinearRGBType>of(1.0, 1.0, 1.0, 1.0))
+      ),
+      ColorGradient.RESOLUTION_DEFAULT
+    );
+  }
+
+  @Test
+  public void testLinearEndpoints()
+  {
+    final var g = blackToWhite();
+    assertEquals(PVector4D.of(0.0, 0.0, 0.0, 1.0), g.sample(0.0));
+    assertEquals(PVector4D.of(1.0, 1.0, 1.0, 1.0), g.sample(1.0));
+    assertEquals(PVector4D.of(0.0, 0.0, 0.0, 1.0), g.sample(-10.0));
+    assertEquals(PVector4D.of(1.0, 1.0, 1.0, 1.0), g.sample(10.0));
+  }
+
+  @Property
+  public void testLinearMidpoints(
+    @ForAll @DoubleRange(min = 0.0, max = 1.0) final double t)
+  {
+    final var c = blackToWhite().sample(t);
+    assertEquals(t, c.x(), EPSILON);
+    assertEquals(t, c.y(), EPSILON);
+    assertEquals(t, c.z(), EPSILON);
+    assertEquals(1.0, c.w());
+  }
+
+  @Test
+  public void testHSVShortestArc()
+  {
+    final var g = ColorGradient.hsv(
+      List.of(
+        ColorGradientStop.of(
+          0.0, PVector4D.<ColorSpaceTagHSVType>of(0.9, 1.0, 1.0, 1.0)),
+        ColorGradientStop.of(
+          1.0, PVector4D.<ColorSpaceTagHSVType>of(0.1, 1.0, 1.0, 1.0))
+      ),
+      1001
+    );
+
+    /*
+     * The midpoint of the shortest arc between 0.9 and 0.1 is pure red.
+     */
+
+    final var mid = HSV.toHSV(g.sample(0.5));
+    final var hue = HSV.hue(mid);
+    assertTrue(hue < EPSILON || hue > 1.0 - EPSILON, "Hue " + hue);
+  }
+
+  @Test
+  public void testHSVDesaturatedStopUsesOtherHue()
+  {
+    final var g = ColorGradient.hsv(
+      List.of(
+        ColorGradientStop.of(
+          0.0, PVector4D.<ColorSpaceTagHSVType>of(0.0, 0.0, 1.0, 1.0)),
+        ColorGradientStop.of(
+          1.0, PVector4D.<ColorSpaceTagHSVType>of(0.5, 1.0, 1.0, 1.0))
+      ),
+      1001
+    );
+
+    final var mid = HSV.toHSV(g.sample(0.5));
+    assertEquals(0.5, HSV.hue(mid), EPSILON);
+    assertEquals(0.5, HSV.saturation(mid), EPSILON);
+  }
+
+  @Test
+  public void testUnsortedStops()
+  {
+    final var g = ColorGradient.linearRGB(
+      List.of(
+        ColorGradientStop.of(
+          1.0, PVector4D.<ColorSpaceTagLinearRGBType>of(0.0, 0.0, 1.0, 1.0)),
+        ColorGradientStop.of(
+          0.0, PVector4D.<ColorSpaceTagLinearRGBType>of(1.0, 0.0, 0.0, 1.0)),
+        ColorGradientStop.of(
+          0.5, PVector4D.<ColorSpaceTagLinearRGBType>of(0.0, 1.0, 0.0, 1.0))
+      ),
+      3
+    );
+
+    assertEquals(PVector4D.of(1.0, 0.0, 0.0, 1.0), g.sample(0.0));
+    assertEquals(PVector4D.of(0.0, 1.0, 0.0, 1.0), g.sample(0.5));
+    assertEquals(PVector4D.of(0.0, 0.0, 1.0, 1.0), g.sample(1.0));
+  }
+
+  @Test
+  public void testSingleStop()
+  {
+    final var g = ColorGradient.linearRGB(
+      List.of(
+        ColorGradientStop.of(
+          0.5, PVector4D.<ColorSpaceTagLinearRGBType>of(0.2, 0.4, 0.6, 1.0))
+      ),
+      16
+    );
+
+    assertEquals(PVector4D.of(0.2, 0.4, 0.6, 1.0), g.sample(0.0));
+    assertEquals(PVector4D.of(0.2, 0.4, 0.6, 1.0), g.sample(1.0));
+  }
+
+  @Test
+  public void testFillMatchesSample()
+  {
+    final var g = blackToWhite();
+    final var input = new double[]{0.0, 0.25, 0.5, 0.75, 1.0};
+    final var output = new double[4 + input.length * 4];
+    g.fill(input, 0, output, 4, input.length);
+
+    for (int index = 0; index < input.length; ++index) {
+      final var expected = new double[4];
+      g.sampleInto(input[index], expected, 0);
+      final var received = new double[4];
+      System.arraycopy(output, 4 + index * 4, received, 0, 4);
+      assertArrayEquals(expected, received);
+    }
+
+    final var inputF = new float[]{0.0f, 0.25f, 0.5f, 0.75f, 1.0f};
+    final var outputF = new float[inputF.length * 4];
+    g.fill(inputF, 0, outputF, 0, inputF.length);
+    for (int index = 0; index < output.length - 4; ++index) {
+      assertEquals((float) output[index + 4], outputF[index]);
+    }
+  }
+
+  @Test
+  public void testFillBounds()
+  {
+    final var g = blackToWhite();
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      g.fill(new double[4], 0, new double[15], 0, 4);
+    });
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorGradient.linearRGB(List.of(), 16);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorGradient.linearRGB(
+        List.of(
+          ColorGradientStop.of(
+            0.0, PVector4D.<ColorSpaceTagLinearRGBType>of(0.0, 0.0, 0.0, 1.0))
+        ),
+        1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorGradientStop.of(
+        1.5, PVector4D.<ColorSpaceTagLinearRGBType>of(0.0, 0.0, 0.0, 1.0));
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorGradientStop.of(
+        Double.NaN, PVector4D.<ColorSpaceTagLinearRGBType>of(0.0, 0.0, 0.0, 1.0));
+    });
+  }
+}
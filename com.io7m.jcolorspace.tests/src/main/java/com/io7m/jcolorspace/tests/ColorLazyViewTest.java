@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorFrame;
+import com.io7m.jcolorspace.core.ColorLazyView;
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.HSV;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColorLazyViewTest
+{
+  private static final int WIDTH = 100;
+  private static final int HEIGHT = 70;
+
+  private static ColorFrame<ColorSpaceTagLinearRGBType> frame()
+  {
+    return ColorFrame.wrap(
+      WIDTH, HEIGHT, HSVBulkTest.randomPixels(0x60L, WIDTH * HEIGHT));
+  }
+
+  private static double[] expected(
+    final ColorFrame<ColorSpaceTagLinearRGBType> frame)
+  {
+    final var out = new double[frame.pixels() * 4];
+    HSVBulk.toHSV(frame.data(), 0, out, 0, frame.pixels());
+    return out;
+  }
+
+  @Test
+  public void testUnmemoizedSinglePixels()
+  {
+    final var frame = frame();
+    final var view = ColorLazyView.ofHSV(frame, 0);
+    assertFalse(view.isMemoized());
+
+    final var o = (13 * WIDTH + 17) * 4;
+    final var expected = HSV.toHSV(PVector4D.<ColorSpaceTagLinearRGBType>of(
+      frame.data()[o],
+      frame.data()[o + 1],
+      frame.data()[o + 2],
+      frame.data()[o + 3]));
+    assertEquals(expected, view.get(17, 13));
+    assertEquals(expected, view.get(17, 13));
+    assertEquals(2L, view.pixelsConverted());
+  }
+
+  @Test
+  public void testMemoizedConvertsTilesOnce()
+  {
+    final var frame = frame();
+    final var expected = expected(frame);
+    final var view = ColorLazyView.ofHSV(frame, 16);
+    assertTrue(view.isMemoized());
+
+    final var out = new double[4];
+    view.getInto(0, 0, out, 0);
+    view.getInto(15, 15, out, 0);
+    assertArrayEquals(
+      Arrays.copyOfRange(expected, (15 * WIDTH + 15) * 4, (15 * WIDTH + 16) * 4),
+      out);
+    assertEquals(256L, view.pixelsConverted());
+
+    /*
+     * The last tile on each axis is partial.
+     */
+
+    view.getInto(99, 69, out, 0);
+    assertEquals(256L + 4L * 6L, view.pixelsConverted());
+    assertArrayEquals(
+      Arrays.copyOfRange(expected, (69 * WIDTH + 99) * 4, (69 * WIDTH + 100) * 4),
+      out);
+  }
+
+  @Test
+  public void testRegionsMatchBulk()
+  {
+    final var frame = frame();
+    final var expected = expected(frame);
+
+    for (final var tileSize : new int[]{0, 1, 7, 16, 200}) {
+      final var view = ColorLazyView.ofHSV(frame, tileSize);
+      final var region = new double[30 * 20 * 4];
+      view.getRegion(5, 40, 30, 20, region, 0);
+
+      for (int row = 0; row < 20; ++row) {
+        final var start = ((40 + row) * WIDTH + 5) * 4;
+        assertArrayEquals(
+          Arrays.copyOfRange(expected, start, start + 30 * 4),
+          Arrays.copyOfRange(region, row * 30 * 4, (row + 1) * 30 * 4),
+          "Tile size " + tileSize);
+      }
+
+      final var all = new double[expected.length];
+      view.materialize(all, 0);
+      assertArrayEquals(expected, all);
+    }
+  }
+
+  @Test
+  public void testMaterializeUntouchedIsSinglePass()
+  {
+    final var frame = frame();
+    final var view = ColorLazyView.ofHSV(frame, 16);
+    final var all = new double[WIDTH * HEIGHT * 4];
+    view.materialize(all, 0);
+    assertArrayEquals(expected(frame), all);
+    assertEquals((long) WIDTH * HEIGHT, view.pixelsConverted());
+  }
+
+  @Test
+  public void testInvalidate()
+  {
+    final var frame = frame();
+    final var view = ColorLazyView.ofHSV(frame, 8);
+    final var before = view.get(3, 3);
+
+    frame.data()[(3 * WIDTH + 3) * 4] = 0.0;
+    frame.data()[(3 * WIDTH + 3) * 4 + 1] = 0.0;
+    frame.data()[(3 * WIDTH + 3) * 4 + 2] = 0.0;
+    assertEquals(before, view.get(3, 3));
+
+    view.invalidate();
+    assertEquals(0.0, HSV.value(view.get(3, 3)));
+  }
+
+  @Test
+  public void testReverse()
+  {
+    final var hsv = ColorFrame.<ColorSpaceTagHSVType>wrap(
+      WIDTH, HEIGHT, expected(frame()));
+    final var view = ColorLazyView.ofRGB(hsv, 32);
+    final var all = new double[WIDTH * HEIGHT * 4];
+    view.getRegion(0, 0, WIDTH, HEIGHT, all, 0);
+
+    final var expected = new double[all.length];
+    HSVBulk.toRGB(hsv.data(), 0, expected, 0, WIDTH * HEIGHT);
+    assertArrayEquals(expected, all);
+  }
+
+  @Test
+  public void testBounds()
+  {
+    final var view = ColorLazyView.ofHSV(frame(), 16);
+    assertThrows(IndexOutOfBoundsException.class, () -> view.get(WIDTH, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.get(0, -1));
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorLazyView.memoized(HSVBulk.toHSVConversion(), frame(), 0);
+    });
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorPaletteConfiguration;
+import com.io7m.jcolorspace.core.ColorPaletteExtractor;
+import com.io7m.jcolorspace.core.ColorPaletteMethod;
+import com.io7m.jcolorspace.core.ColorPaletteSpace;
+import com.io7m.jcolorspace.core.RGBPrimaries;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColorPaletteExtractorTest
+{
+  private static final double[][] COLORS = {
+    {0.8, 0.1, 0.1},
+    {0.1, 0.6, 0.2},
+    {0.2, 0.2, 0.9},
+    {0.9, 0.9, 0.8},
+  };
+
+  private static final int[] PROPORTIONS = {4, 3, 2, 1};
+
+  /**
+   * An image of four colors in the proportions 4:3:2:1, with a little noise.
+   */
+
+  private static double[] fourColorImage(
+    final int pixels,
+    final double noise)
+  {
+    final var random = new Random(0x48L);
+    final var data = new double[pixels * 4];
+    for (int index = 0; index < pixels; ++index) {
+      final var slot = index % 10;
+      final int color;
+      if (slot < 4) {
+        color = 0;
+      } else if (slot < 7) {
+        color = 1;
+      } else if (slot < 9) {
+        color = 2;
+      } else {
+        color = 3;
+      }
+      for (int c = 0; c < 3; ++c) {
+        data[index * 4 + c] =
+          COLORS[color][c] + (random.nextDouble() - 0.5) * noise;
+      }
+      data[index * 4 + 3] = 1.0;
+    }
+    return data;
+  }
+
+  private static ColorPaletteConfiguration configuration(
+    final ColorPaletteMethod method,
+    final ColorPaletteSpace space,
+    final int colors)
+  {
+    return ColorPaletteConfiguration.of(method, colors).withSpace(space);
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorPaletteMethod.class)
+  public void testRecoversColors(
+    final ColorPaletteMethod method)
+  {
+    for (final var space : ColorPaletteSpace.values()) {
+      final var pixels = 10000;
+      final var image = fourColorImage(pixels, 0.0);
+      final var palette =
+        ColorPaletteExtractor.create(configuration(method, space, 4))
+          .extract(image, 0, pixels);
+
+      assertEquals(4, palette.entries().size(), space.toString());
+      assertEquals(pixels, palette.samples());
+      for (int index = 0; index < 4; ++index) {
+        final var entry = palette.entries().get(index);
+        assertEquals(PROPORTIONS[index] / 10.0, entry.weight(), 1.0e-12);
+        assertEquals(COLORS[index][0], entry.color().x(), 1.0e-9);
+        assertEquals(COLORS[index][1], entry.color().y(), 1.0e-9);
+        assertEquals(COLORS[index][2], entry.color().z(), 1.0e-9);
+        assertEquals(1.0, entry.color().w());
+      }
+    }
+  }
+
+  @Test
+  public void testNoisyColors()
+  {
+    final var pixels = 50000;
+    final var image = fourColorImage(pixels, 0.05);
+    final var palette =
+      ColorPaletteExtractor.create(
+          ColorPaletteConfiguration.of(ColorPaletteMethod.K_MEANS, 4))
+        .extract(image, 0, pixels);
+
+    assertEquals(4, palette.entries().size());
+    for (int index = 0; index < 4; ++index) {
+      final var entry = palette.entries().get(index);
+      assertEquals(PROPORTIONS[index] / 10.0, entry.weight(), 1.0e-3);
+      assertEquals(COLORS[index][0], entry.color().x(), 0.01);
+      assertEquals(COLORS[index][1], entry.color().y(), 0.01);
+      assertEquals(COLORS[index][2], entry.color().z(), 0.01);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorPaletteMethod.class)
+  public void testParallelMatchesSerial(
+    final ColorPaletteMethod method)
+  {
+    final var pixels = 200000;
+    final var image = HSVBulkTest.randomPixels(0x49L, pixels);
+
+    for (final var space : ColorPaletteSpace.values()) {
+      final var extractor =
+        ColorPaletteExtractor.create(configuration(method, space, 16));
+
+      try (var pool = new ForkJoinPool(4)) {
+        final var serial = extractor.extract(image, 0, pixels);
+        final var parallel = extractor.extractParallel(pool, image, 0, pixels);
+        assertEquals(serial, parallel);
+        assertEquals(16, serial.entries().size());
+
+        double total = 0.0;
+        for (final var entry : serial.entries()) {
+          total += entry.weight();
+        }
+        assertEquals(1.0, total, 1.0e-9);
+      }
+    }
+  }
+
+  @Test
+  public void testConverges()
+  {
+    final var pixels = 10000;
+    final var image = fourColorImage(pixels, 0.0);
+    final var palette =
+      ColorPaletteExtractor.create(
+          ColorPaletteConfiguration.of(ColorPaletteMethod.K_MEANS, 4))
+        .extract(image, 0, pixels);
+
+    assertTrue(palette.iterations() >= 1);
+    assertTrue(
+      palette.iterations() < ColorPaletteConfiguration.ITERATIONS_DEFAULT);
+  }
+
+  @Test
+  public void testSubsampling()
+  {
+    final var pixels = 10001;
+    final var image = fourColorImage(pixels, 0.0);
+    final var palette =
+      ColorPaletteExtractor.create(
+          ColorPaletteConfiguration.of(ColorPaletteMethod.K_MEANS, 4)
+            .withMaximumSamples(1000))
+        .extract(image, 0, pixels);
+
+    /*
+     * A stride of 11 samples pixels 0, 11, ..., 9999.
+     */
+
+    assertEquals(910, palette.samples());
+    assertEquals(4, palette.entries().size());
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorPaletteMethod.class)
+  public void testFewerColorsThanRequested(
+    final ColorPaletteMethod method)
+  {
+    final var pixels = 1000;
+    final var image = fourColorImage(pixels, 0.0);
+    final var palette =
+      ColorPaletteExtractor.create(ColorPaletteConfiguration.of(method, 16))
+        .extract(image, 0, pixels);
+    assertEquals(4, palette.entries().size());
+    assertEquals(4, palette.colors().size());
+  }
+
+  @Test
+  public void testEmpty()
+  {
+    final var palette =
+      ColorPaletteExtractor.create(
+          ColorPaletteConfiguration.of(ColorPaletteMethod.K_MEANS, 4))
+        .extract(new double[0], 0, 0);
+    assertEquals(0, palette.entries().size());
+    assertEquals(0, palette.samples());
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    final var extractor =
+      ColorPaletteExtractor.create(
+        ColorPaletteConfiguration.of(ColorPaletteMethod.MEDIAN_CUT, 4));
+
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      extractor.extract(new double[7], 0, 2);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorPaletteConfiguration.of(ColorPaletteMethod.K_MEANS, 0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorPaletteConfiguration.of(ColorPaletteMethod.K_MEANS, 257);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ColorPaletteConfiguration(
+        ColorPaletteMethod.K_MEANS,
+        ColorPaletteSpace.OKLAB,
+        4,
+        0,
+        0.0,
+        1,
+        0L,
+        RGBPrimaries.SRGB
+      );
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      ColorPaletteConfiguration.of(ColorPaletteMethod.K_MEANS, 4)
+        .withMaximumSamples(0);
+    });
+  }
+}
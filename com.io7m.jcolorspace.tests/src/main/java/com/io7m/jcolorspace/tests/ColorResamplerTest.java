@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorFrame;
+import com.io7m.jcolorspace.core.ColorResampleFilter;
+import com.io7m.jcolorspace.core.ColorResampler;
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.ColorSpaceTagType;
+import com.io7m.jcolorspace.core.DitherMethod;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.SRGBQuantizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ColorResamplerTest
+{
+  private static ColorFrame<ColorSpaceTagLinearRGBType> randomFrame(
+    final long seed,
+    final int width,
+    final int height)
+  {
+    return ColorFrame.wrap(
+      width, height, HSVBulkTest.randomPixels(seed, width * height));
+  }
+
+  private static <T extends ColorSpaceTagType> ColorFrame<T> frame(
+    final int width,
+    final int height)
+  {
+    return ColorFrame.wrap(width, height, new double[width * height * 4]);
+  }
+
+  @Test
+  public void testBoxHalvesExactly()
+  {
+    final var source = randomFrame(0x49L, 64, 40);
+    final ColorFrame<ColorSpaceTagLinearRGBType> target = frame(32, 20);
+    ColorResampler.create(ColorResampleFilter.BOX).resample(source, target);
+
+    final var s = source.data();
+    for (int y = 0; y < 20; ++y) {
+      for (int x = 0; x < 32; ++x) {
+        for (int c = 0; c < 4; ++c) {
+          final var i0 = ((y * 2) * 64 + x * 2) * 4 + c;
+          final var i1 = ((y * 2 + 1) * 64 + x * 2) * 4 + c;
+          final var expected = (s[i0] + s[i0 + 4] + s[i1] + s[i1 + 4]) / 4.0;
+          assertEquals(expected, target.data()[(y * 32 + x) * 4 + c], 1.0e-12);
+        }
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorResampleFilter.class)
+  public void testSameSizeIsIdentity(
+    final ColorResampleFilter filter)
+  {
+    final var source = randomFrame(0x4aL, 33, 21);
+    final ColorFrame<ColorSpaceTagLinearRGBType> target = frame(33, 21);
+    ColorResampler.create(filter).resample(source, target);
+    assertArrayEquals(source.data(), target.data(), 1.0e-12);
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorResampleFilter.class)
+  public void testFlatIsPreserved(
+    final ColorResampleFilter filter)
+  {
+    final var data = new double[50 * 30 * 4];
+    for (int index = 0; index < data.length; index += 4) {
+      data[index] = 0.25;
+      data[index + 1] = 0.5;
+      data[index + 2] = 0.75;
+      data[index + 3] = 1.0;
+    }
+    final ColorFrame<ColorSpaceTagLinearRGBType> source =
+      ColorFrame.wrap(50, 30, data);
+
+    final var resampler = ColorResampler.create(filter);
+    for (final var size : new int[][]{{7, 3}, {50, 30}, {123, 77}}) {
+      final ColorFrame<ColorSpaceTagLinearRGBType> target =
+        frame(size[0], size[1]);
+      resampler.resample(source, target);
+      for (int index = 0; index < target.pixels() * 4; index += 4) {
+        assertEquals(0.25, target.data()[index], 1.0e-12);
+        assertEquals(0.5, target.data()[index + 1], 1.0e-12);
+        assertEquals(0.75, target.data()[index + 2], 1.0e-12);
+        assertEquals(1.0, target.data()[index + 3], 1.0e-12);
+      }
+    }
+  }
+
+  /**
+   * Downscaling a black and white checkerboard in linear light produces a
+   * linear grey of 0.5, which encodes to 188 rather than 128.
+   */
+
+  @Test
+  public void testLinearLight()
+  {
+    final var data = new double[4 * 4 * 4];
+    for (int y = 0; y < 4; ++y) {
+      for (int x = 0; x < 4; ++x) {
+        final var v = (x + y) % 2;
+        final var i = (y * 4 + x) * 4;
+        data[i] = v;
+        data[i + 1] = v;
+        data[i + 2] = v;
+        data[i + 3] = 1.0;
+      }
+    }
+
+    final var bytes = new byte[2 * 2 * 4];
+    ColorResampler.create(ColorResampleFilter.BOX)
+      .resampleQuantized(
+        ColorFrame.wrap(4, 4, data), DitherMethod.NONE, 2, 2, bytes, 0);
+    for (int index = 0; index < bytes.length; index += 4) {
+      assertEquals(188, Byte.toUnsignedInt(bytes[index]));
+      assertEquals(255, Byte.toUnsignedInt(bytes[index + 3]));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorResampleFilter.class)
+  public void testFusedConversionMatchesSeparate(
+    final ColorResampleFilter filter)
+  {
+    final var source = randomFrame(0x4bL, 97, 71);
+    final var resampler = ColorResampler.create(filter);
+
+    final ColorFrame<ColorSpaceTagLinearRGBType> linear = frame(40, 37);
+    resampler.resample(source, linear);
+    final var expected = new double[linear.pixels() * 4];
+    HSVBulk.toHSV(linear.data(), 0, expected, 0, linear.pixels());
+
+    final ColorFrame<ColorSpaceTagHSVType> hsv = frame(40, 37);
+    resampler.resample(source, HSVBulk.toHSVConversion(), hsv);
+    assertArrayEquals(expected, hsv.data());
+
+    for (final var method : new DitherMethod[]{
+      DitherMethod.NONE, DitherMethod.BAYER, DitherMethod.BLUE_NOISE,
+    }) {
+      final var quantizedExpected = new byte[linear.pixels() * 4];
+      SRGBQuantizer.quantizeRGB(
+        method, linear.data(), 0, 40, 37, quantizedExpected, 0);
+      final var quantized = new byte[linear.pixels() * 4];
+      resampler.resampleQuantized(source, method, 40, 37, quantized, 0);
+      assertArrayEquals(quantizedExpected, quantized, method.toString());
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ColorResampleFilter.class)
+  public void testParallelMatchesSerial(
+    final ColorResampleFilter filter)
+  {
+    final var source = randomFrame(0x4cL, 640, 480);
+    final var resampler = ColorResampler.create(filter);
+
+    try (var pool = new ForkJoinPool(4)) {
+      for (final var size : new int[][]{{160, 120}, {1000, 700}}) {
+        final ColorFrame<ColorSpaceTagHSVType> serial = frame(size[0], size[1]);
+        final ColorFrame<ColorSpaceTagHSVType> parallel =
+          frame(size[0], size[1]);
+        resampler.resample(source, HSVBulk.toHSVConversion(), serial);
+        resampler.resampleParallel(
+          pool, source, HSVBulk.toHSVConversion(), parallel);
+        assertArrayEquals(serial.data(), parallel.data());
+      }
+
+      final var serialBytes = new byte[160 * 120 * 4];
+      final var parallelBytes = new byte[serialBytes.length];
+      resampler.resampleQuantized(
+        source, DitherMethod.BAYER, 160, 120, serialBytes, 0);
+      resampler.resampleQuantizedParallel(
+        pool, source, DitherMethod.BAYER, 160, 120, parallelBytes, 0);
+      assertArrayEquals(serialBytes, parallelBytes);
+    }
+  }
+
+  @Test
+  public void testMipChain()
+  {
+    final var resampler = ColorResampler.create(ColorResampleFilter.BOX);
+    final var source = randomFrame(0x4dL, 37, 20);
+    final var levels =
+      resampler.mipChain(source, HSVBulk.toHSVConversion());
+
+    final var sizes = new int[][]{{18, 10}, {9, 5}, {4, 2}, {2, 1}, {1, 1}};
+    assertEquals(sizes.length, levels.size());
+    for (int index = 0; index < sizes.length; ++index) {
+      assertEquals(sizes[index][0], levels.get(index).width());
+      assertEquals(sizes[index][1], levels.get(index).height());
+    }
+
+    try (var pool = new ForkJoinPool(4)) {
+      final var parallel =
+        resampler.mipChainParallel(pool, source, HSVBulk.toHSVConversion());
+      for (int index = 0; index < sizes.length; ++index) {
+        assertArrayEquals(
+          levels.get(index).data(), parallel.get(index).data());
+      }
+    }
+  }
+
+  @Test
+  public void testMipChainMean()
+  {
+    final var source = randomFrame(0x4eL, 16, 16);
+    final var levels =
+      ColorResampler.create(ColorResampleFilter.BOX)
+        .mipChain(source, (s, so, t, to, pixels) -> {
+          System.arraycopy(s, so, t, to, pixels * 4);
+        });
+
+    assertEquals(4, levels.size());
+    final var last = levels.get(3).data();
+    for (int c = 0; c < 4; ++c) {
+      double sum = 0.0;
+      for (int index = c; index < 16 * 16 * 4; index += 4) {
+        sum += source.data()[index];
+      }
+      assertEquals(sum / 256.0, last[c], 1.0e-12);
+    }
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    final var resampler = ColorResampler.create(ColorResampleFilter.BOX);
+    final var source = randomFrame(0x4fL, 4, 4);
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      resampler.resampleQuantized(
+        source, DitherMethod.FLOYD_STEINBERG, 2, 2, new byte[16], 0);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      resampler.resampleQuantized(
+        source, DitherMethod.NONE, 2, 2, new byte[15], 0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      resampler.resample(ColorFrame.wrap(0, 0, new double[0]), frame(2, 2));
+    });
+  }
+}
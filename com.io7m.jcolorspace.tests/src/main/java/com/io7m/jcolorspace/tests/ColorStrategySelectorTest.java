@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorAccuracy;
+import com.io7m.jcolorspace.core.ColorHostCapabilities;
+import com.io7m.jcolorspace.core.ColorStrategy;
+import com.io7m.jcolorspace.core.ColorStrategyOperation;
+import com.io7m.jcolorspace.core.ColorStrategyOrigin;
+import com.io7m.jcolorspace.core.ColorStrategySelector;
+import com.io7m.jcolorspace.core.HSVBulk;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ColorStrategySelectorTest
+{
+  private static final ColorHostCapabilities SINGLE =
+    new ColorHostCapabilities(1, false);
+  private static final ColorHostCapabilities QUAD =
+    new ColorHostCapabilities(4, false);
+
+  @Test
+  public void testProbe()
+  {
+    final var capabilities = ColorHostCapabilities.probe();
+    assertEquals(
+      Runtime.getRuntime().availableProcessors(),
+      capabilities.processors()
+    );
+  }
+
+  @Test
+  public void testDefaults()
+  {
+    try (var pool = new ForkJoinPool(4)) {
+      final var single = ColorStrategySelector.create(pool, SINGLE);
+      final var quad = ColorStrategySelector.create(pool, QUAD);
+
+      assertEquals(2, single.strategies().size());
+      for (final var operation : ColorStrategyOperation.values()) {
+        final var s = single.strategy(operation);
+        assertEquals(ColorAccuracy.EXACT, s.accuracy());
+        assertEquals(ColorStrategyOrigin.DEFAULT, s.origin());
+        assertEquals(ColorStrategy.PARALLEL_NEVER, s.parallelThreshold());
+        assertFalse(s.isParallel(Integer.MAX_VALUE - 1));
+
+        final var q = quad.strategy(operation);
+        assertTrue(q.isParallel(1 << 20));
+        assertFalse(q.isParallel(1024));
+      }
+    }
+  }
+
+  @Test
+  public void testCalibrateExact()
+  {
+    try (var pool = new ForkJoinPool(1)) {
+      final var selector =
+        ColorStrategySelector.calibrate(pool, QUAD, ColorAccuracy.EXACT);
+
+      for (final var operation : ColorStrategyOperation.values()) {
+        final var s = selector.strategy(operation);
+        assertEquals(operation, s.operation());
+        assertEquals(ColorAccuracy.EXACT, s.accuracy());
+        assertEquals(ColorStrategyOrigin.CALIBRATED, s.origin());
+        assertEquals(ColorStrategy.PARALLEL_NEVER, s.parallelThreshold());
+        assertTrue(s.nanosPerPixel() > 0.0);
+        assertTrue(Double.isFinite(s.nanosPerPixel()));
+      }
+    }
+  }
+
+  @Test
+  public void testCalibratedResultsMatch()
+  {
+    final var pixels = 10000;
+    final var source = HSVBulkTest.randomPixels(0x50L, pixels);
+
+    try (var pool = new ForkJoinPool(4)) {
+      final var selector =
+        ColorStrategySelector.calibrate(pool, QUAD, ColorAccuracy.FAST);
+
+      final var accuracy =
+        selector.strategy(ColorStrategyOperation.TO_HSV).accuracy();
+      final var expected = new double[source.length];
+      HSVBulk.toHSV(accuracy, source, 0, expected, 0, pixels);
+      final var received = new double[source.length];
+      selector.toHSVConversion().convert(source, 0, received, 0, pixels);
+      assertArrayEquals(expected, received);
+
+      final var rgbAccuracy =
+        selector.strategy(ColorStrategyOperation.TO_RGB).accuracy();
+      HSVBulk.toRGB(rgbAccuracy, expected, 0, expected, 0, pixels);
+      selector.toRGBConversion().convert(received, 0, received, 0, pixels);
+      assertArrayEquals(expected, received);
+    }
+  }
+
+  @Test
+  public void testOverride()
+  {
+    final var pixels = 100000;
+    final var source = HSVBulkTest.randomPixels(0x51L, pixels);
+
+    try (var pool = new ForkJoinPool(4)) {
+      final var serial = ColorStrategySelector.create(pool, SINGLE);
+      final var parallel =
+        serial.withStrategy(ColorStrategyOperation.TO_HSV, ColorAccuracy.FAST, 1)
+          .withStrategy(ColorStrategyOperation.TO_RGB, ColorAccuracy.FAST, 1);
+
+      final var strategy = parallel.strategy(ColorStrategyOperation.TO_HSV);
+      assertEquals(ColorStrategyOrigin.OVERRIDDEN, strategy.origin());
+      assertEquals(ColorAccuracy.FAST, strategy.accuracy());
+      assertTrue(strategy.isParallel(1));
+      assertEquals(
+        ColorStrategyOrigin.DEFAULT,
+        serial.strategy(ColorStrategyOperation.TO_HSV).origin()
+      );
+
+      final var expected = new double[source.length];
+      HSVBulk.toHSV(ColorAccuracy.FAST, source, 0, expected, 0, pixels);
+      final var received = new double[source.length];
+      parallel.toHSV(source, 0, received, 0, pixels);
+      assertArrayEquals(expected, received);
+
+      HSVBulk.toRGB(ColorAccuracy.FAST, expected, 0, expected, 0, pixels);
+      parallel.toRGB(received, 0, received, 0, pixels);
+      assertArrayEquals(expected, received);
+    }
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ColorHostCapabilities(0, false);
+    });
+    try (var pool = new ForkJoinPool(1)) {
+      final var selector = ColorStrategySelector.create(pool, SINGLE);
+      assertThrows(IllegalArgumentException.class, () -> {
+        selector.withStrategy(
+          ColorStrategyOperation.TO_HSV, ColorAccuracy.EXACT, 0);
+      });
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.DitherMethod;
+import com.io7m.jcolorspace.core.SRGBQuantizer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public final class ColorTablesTest
+{
+  private static final int TILE = 64;
+  private static final int TABLE_SIZE = 4096;
+
+  private static double encodeExact(
+    final double x)
+  {
+    if (x <= 0.0031308) {
+      return x * 12.92;
+    }
+    return 1.055 * Math.pow(x, 1.0 / 2.4) - 0.055;
+  }
+
+  private static byte[] quantizeGreys(
+    final DitherMethod method,
+    final double[] levels,
+    final int width,
+    final int rowsPerLevel)
+  {
+    final var height = levels.length * rowsPerLevel;
+    final var source = new double[width * height * 4];
+    for (int y = 0; y < height; ++y) {
+      final var level = levels[y / rowsPerLevel];
+      for (int x = 0; x < width; ++x) {
+        final var s = (y * width + x) * 4;
+        source[s] = level;
+        source[s + 1] = level;
+        source[s + 2] = level;
+        source[s + 3] = 1.0;
+      }
+    }
+
+    final var target = new byte[width * height * 4];
+    SRGBQuantizer.quantizeRGB(method, source, 0, width, height, target, 0);
+    return target;
+  }
+
+  @Test
+  public void testSRGBEncodeTable()
+  {
+    /*
+     * Linear values that fall exactly on the entries of the sRGB encoding
+     * table are encoded without interpolation error, so rounding them must
+     * agree with the exact transfer function.
+     */
+
+    final var levels = new double[TABLE_SIZE + 1];
+    for (int index = 0; index <= TABLE_SIZE; ++index) {
+      levels[index] = (double) index / (double) TABLE_SIZE;
+    }
+
+    final var target = quantizeGreys(DitherMethod.NONE, levels, 1, 1);
+    for (int index = 0; index <= TABLE_SIZE; ++index) {
+      final var encoded = encodeExact(levels[index]) * 255.0;
+      if (Math.abs(encoded - Math.floor(encoded) - 0.5) < 1.0e-9) {
+        continue;
+      }
+      assertEquals(
+        (int) (encoded + 0.5),
+        target[index * 4] & 0xff,
+        "Level %d".formatted(Integer.valueOf(index))
+      );
+    }
+  }
+
+  @Test
+  public void testBlueNoiseRanksArePermutation()
+  {
+    /*
+     * The blue noise thresholds are (rank + 0.5) / 4096 for a permutation of
+     * the ranks [0, 4096). For a grey level whose encoded value has the
+     * fractional part f, a tile therefore contains exactly as many rounded
+     * up pixels as there are ranks r with r + 0.5 >= 4096 * (1 - f).
+     */
+
+    final var levels = new double[41];
+    for (int index = 0; index < levels.length; ++index) {
+      levels[index] = (double) (index * 97 + 13) / (double) TABLE_SIZE;
+    }
+
+    final var target =
+      quantizeGreys(DitherMethod.BLUE_NOISE, levels, TILE, TILE);
+
+    for (int level = 0; level < levels.length; ++level) {
+      final var encoded = encodeExact(levels[level]) * 255.0;
+      final var low = (int) encoded;
+      final var fraction = encoded - low;
+      final var expected =
+        TABLE_SIZE - (int) Math.ceil(TABLE_SIZE * (1.0 - fraction) - 0.5);
+
+      int raised = 0;
+      for (int y = 0; y < TILE; ++y) {
+        for (int x = 0; x < TILE; ++x) {
+          final var t = ((level * TILE + y) * TILE + x) * 4;
+          final var value = target[t] & 0xff;
+          if (value == low + 1) {
+            ++raised;
+          } else {
+            assertEquals(low, value);
+          }
+        }
+      }
+
+      assertEquals(
+        expected,
+        raised,
+        1.0,
+        "Level %d".formatted(Integer.valueOf(level))
+      );
+    }
+  }
+
+  @Test
+  public void testBlueNoiseTiles()
+  {
+    final var levels = new double[]{0.2};
+    final var width = TILE * 2;
+    final var target =
+      quantizeGreys(DitherMethod.BLUE_NOISE, levels, width, TILE * 2);
+
+    boolean periodic8 = true;
+    for (int y = 0; y < TILE; ++y) {
+      for (int x = 0; x < TILE; ++x) {
+        final var t = (y * width + x) * 4;
+        final var value = target[t];
+        assertEquals(value, target[t + TILE * 4]);
+        assertEquals(value, target[t + TILE * width * 4]);
+        if (x >= 8 && value != target[t - 8 * 4]) {
+          periodic8 = false;
+        }
+      }
+    }
+
+    assertFalse(periodic8, "Blue noise must not repeat every 8 pixels");
+  }
+}
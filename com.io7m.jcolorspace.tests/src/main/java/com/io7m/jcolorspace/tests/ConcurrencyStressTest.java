@@ -0,0 +1,375 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorBufferPool;
+import com.io7m.jcolorspace.core.ColorBufferPoolConfiguration;
+import com.io7m.jcolorspace.core.ColorConversionProcessor;
+import com.io7m.jcolorspace.core.ColorConversionProcessorConfiguration;
+import com.io7m.jcolorspace.core.ColorFrame;
+import com.io7m.jcolorspace.core.ColorFramePool;
+import com.io7m.jcolorspace.core.ColorGradient;
+import com.io7m.jcolorspace.core.ColorGradientStop;
+import com.io7m.jcolorspace.core.ColorLazyView;
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.HSV;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * High-contention tests that check that the concurrent conversion paths
+ * produce results identical to the scalar {@link HSV} reference.
+ */
+
+@Timeout(value = 120L, unit = TimeUnit.SECONDS)
+public final class ConcurrencyStressTest
+{
+  private static final int WIDTH = 256;
+  private static final int HEIGHT = 192;
+  private static final int PIXELS = WIDTH * HEIGHT;
+
+  private static double[] SOURCE;
+  private static double[] REFERENCE_HSV;
+  private static double[] REFERENCE_RGB;
+  private static ForkJoinPool POOL;
+
+  /**
+   * The kinds of threads used to drive each scenario.
+   */
+
+  public enum ThreadKind
+  {
+    PLATFORM,
+    VIRTUAL
+  }
+
+  @BeforeAll
+  public static void setup()
+  {
+    SOURCE = HSVBulkTest.randomPixels(0x70L, PIXELS);
+    REFERENCE_HSV = new double[PIXELS * 4];
+    REFERENCE_RGB = new double[PIXELS * 4];
+
+    for (int index = 0; index < PIXELS; ++index) {
+      final var o = index * 4;
+      final var hsv = HSV.toHSV(PVector4D.<ColorSpaceTagLinearRGBType>of(
+        SOURCE[o], SOURCE[o + 1], SOURCE[o + 2], SOURCE[o + 3]));
+      REFERENCE_HSV[o] = hsv.x();
+      REFERENCE_HSV[o + 1] = hsv.y();
+      REFERENCE_HSV[o + 2] = hsv.z();
+      REFERENCE_HSV[o + 3] = hsv.w();
+
+      final var rgb = HSV.toRGB(hsv);
+      REFERENCE_RGB[o] = rgb.x();
+      REFERENCE_RGB[o + 1] = rgb.y();
+      REFERENCE_RGB[o + 2] = rgb.z();
+      REFERENCE_RGB[o + 3] = rgb.w();
+    }
+
+    POOL = new ForkJoinPool(8);
+  }
+
+  @AfterAll
+  public static void tearDown()
+  {
+    POOL.shutdownNow();
+  }
+
+  private interface TaskType
+  {
+    void run(int thread)
+      throws Exception;
+  }
+
+  /**
+   * Run {@code task} on {@code threads} threads of the given kind, releasing
+   * all of them at the same moment to maximize contention.
+   */
+
+  private static void contend(
+    final ThreadKind kind,
+    final int threads,
+    final TaskType task)
+    throws Exception
+  {
+    final ExecutorService executor = switch (kind) {
+      case PLATFORM -> Executors.newFixedThreadPool(threads);
+      case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+    };
+
+    try (executor) {
+      final var ready = new CountDownLatch(threads);
+      final var go = new CountDownLatch(1);
+      final var futures = new ArrayList<Future<?>>();
+
+      for (int index = 0; index < threads; ++index) {
+        final var thread = index;
+        futures.add(executor.submit(() -> {
+          ready.countDown();
+          go.await();
+          task.run(thread);
+          return null;
+        }));
+      }
+
+      ready.await();
+      go.countDown();
+      for (final var future : futures) {
+        future.get();
+      }
+    }
+  }
+
+  private static int threadsFor(
+    final ThreadKind kind)
+  {
+    return switch (kind) {
+      case PLATFORM -> 32;
+      case VIRTUAL -> 512;
+    };
+  }
+
+  @ParameterizedTest
+  @EnumSource(ThreadKind.class)
+  public void testSequentialBulkDeterministic(
+    final ThreadKind kind)
+    throws Exception
+  {
+    contend(kind, threadsFor(kind), thread -> {
+      final var hsv = new double[PIXELS * 4];
+      final var rgb = new double[PIXELS * 4];
+      HSVBulk.toHSV(SOURCE, 0, hsv, 0, PIXELS);
+      HSVBulk.toRGB(hsv, 0, rgb, 0, PIXELS);
+      assertArrayEquals(REFERENCE_HSV, hsv);
+      assertArrayEquals(REFERENCE_RGB, rgb);
+    });
+  }
+
+  @ParameterizedTest
+  @EnumSource(ThreadKind.class)
+  public void testParallelBulkDeterministic(
+    final ThreadKind kind)
+    throws Exception
+  {
+    contend(kind, threadsFor(kind) / 4, thread -> {
+      final var hsv = new double[PIXELS * 4];
+      final var rgb = new double[PIXELS * 4];
+      HSVBulk.toHSVParallel(POOL, SOURCE, 0, hsv, 0, PIXELS);
+      HSVBulk.toRGBParallel(POOL, hsv, 0, rgb, 0, PIXELS);
+      assertArrayEquals(REFERENCE_HSV, hsv);
+      assertArrayEquals(REFERENCE_RGB, rgb);
+    });
+  }
+
+  @ParameterizedTest
+  @EnumSource(ThreadKind.class)
+  public void testSharedLazyViewDeterministic(
+    final ThreadKind kind)
+    throws Exception
+  {
+    final var frame =
+      ColorFrame.<ColorSpaceTagLinearRGBType>wrap(WIDTH, HEIGHT, SOURCE);
+
+    for (int round = 0; round < 4; ++round) {
+      final var view = ColorLazyView.ofHSV(frame, 16);
+
+      contend(kind, threadsFor(kind), thread -> {
+        final var random = new SplittableRandom(thread);
+        final var out = new double[4];
+        for (int index = 0; index < 512; ++index) {
+          final var x = random.nextInt(WIDTH);
+          final var y = random.nextInt(HEIGHT);
+          view.getInto(x, y, out, 0);
+          final var o = (y * WIDTH + x) * 4;
+          assertArrayEquals(
+            Arrays.copyOfRange(REFERENCE_HSV, o, o + 4), out);
+        }
+      });
+
+      final var all = new double[PIXELS * 4];
+      view.materialize(all, 0);
+      assertArrayEquals(REFERENCE_HSV, all);
+      assertTrue(view.pixelsConverted() >= PIXELS);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ThreadKind.class)
+  public void testBufferPoolNoAliasing(
+    final ThreadKind kind)
+    throws Exception
+  {
+    final var pool = ColorBufferPool.create(
+      new ColorBufferPoolConfiguration(4, 2, 64L * 1024L * 1024L, false)
+    );
+
+    contend(kind, threadsFor(kind), thread -> {
+      final var random = new SplittableRandom(thread);
+      for (int index = 0; index < 64; ++index) {
+        final var pixels = 1 + random.nextInt(2048);
+        try (var lease = HSVBulk.toHSVPooled(pool, SOURCE, 0, pixels)) {
+          final var buffer = lease.buffer();
+
+          /*
+           * If any other thread held the same buffer at the same time, the
+           * contents would not match the reference.
+           */
+
+          Thread.yield();
+          assertArrayEquals(
+            Arrays.copyOf(REFERENCE_HSV, pixels * 4),
+            Arrays.copyOf(buffer, pixels * 4));
+        }
+      }
+    });
+
+    final var stats = pool.statistics();
+    assertEquals(0L, stats.leased());
+    assertEquals(stats.hits() + stats.misses(), stats.releases());
+    assertTrue(stats.hits() > 0L);
+  }
+
+  @ParameterizedTest
+  @EnumSource(ThreadKind.class)
+  public void testSharedGradientDeterministic(
+    final ThreadKind kind)
+    throws Exception
+  {
+    final var gradient = ColorGradient.hsv(
+      List.of(
+        ColorGradientStop.of(
+          0.0, PVector4D.<ColorSpaceTagHSVType>of(0.0, 1.0, 1.0, 1.0)),
+        ColorGradientStop.of(
+          1.0, PVector4D.<ColorSpaceTagHSVType>of(0.7, 1.0, 0.5, 1.0))
+      ),
+      ColorGradient.RESOLUTION_DEFAULT
+    );
+
+    final var input = new double[PIXELS];
+    for (int index = 0; index < PIXELS; ++index) {
+      input[index] = index / (double) PIXELS;
+    }
+    final var expected = new double[PIXELS * 4];
+    gradient.fill(input, 0, expected, 0, PIXELS);
+
+    contend(kind, threadsFor(kind), thread -> {
+      final var output = new double[PIXELS * 4];
+      gradient.fill(input, 0, output, 0, PIXELS);
+      assertArrayEquals(expected, output);
+    });
+  }
+
+  @ParameterizedTest
+  @EnumSource(ThreadKind.class)
+  public void testProcessorsDeterministic(
+    final ThreadKind kind)
+    throws Exception
+  {
+    contend(kind, threadsFor(kind) / 8, thread -> {
+      final var processor = ColorConversionProcessor.create(
+        new ColorConversionProcessorConfiguration<>(
+          HSVBulk.toHSVConversion(), POOL, 4, 2)
+      );
+
+      final var frames =
+        ColorFramePool.<ColorSpaceTagLinearRGBType>create(2);
+      final var done = new CompletableFuture<Void>();
+      processor.subscribe(new Flow.Subscriber<>()
+      {
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription s)
+        {
+          this.subscription = s;
+          s.request(1L);
+        }
+
+        @Override
+        public void onNext(final ColorFrame<ColorSpaceTagHSVType> item)
+        {
+          try {
+            assertArrayEquals(
+              REFERENCE_HSV,
+              Arrays.copyOf(item.data(), PIXELS * 4));
+          } catch (final Throwable e) {
+            done.completeExceptionally(e);
+          }
+          item.release();
+          this.subscription.request(1L);
+        }
+
+        @Override
+        public void onError(final Throwable throwable)
+        {
+          done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete()
+        {
+          done.complete(null);
+        }
+      });
+
+      try (var publisher = new SubmissionPublisher<
+        ColorFrame<ColorSpaceTagLinearRGBType>>(POOL, 2)) {
+        publisher.subscribe(processor);
+        for (int index = 0; index < 8; ++index) {
+          ColorFrame<ColorSpaceTagLinearRGBType> frame;
+          while (true) {
+            final var f = frames.tryAcquire(WIDTH, HEIGHT);
+            if (f.isPresent()) {
+              frame = f.get();
+              break;
+            }
+            Thread.onSpinWait();
+            Thread.yield();
+          }
+          System.arraycopy(SOURCE, 0, frame.data(), 0, SOURCE.length);
+          publisher.submit(frame);
+        }
+      }
+      done.get(60L, TimeUnit.SECONDS);
+    });
+  }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorBulkConversionType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.ConversionKernels;
+import com.io7m.jcolorspace.core.Float16Bulk;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.PixelComponentOrder;
+import com.io7m.jcolorspace.core.PixelComponentType;
+import com.io7m.jcolorspace.core.PixelLayout;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ConversionKernelsTest
+{
+  private static final PixelLayout RGBA_F64 =
+    PixelLayout.interleaved(
+      PixelComponentOrder.RGBA,
+      PixelComponentType.FLOAT64,
+      ByteOrder.nativeOrder()
+    );
+
+  private static ByteBuffer doubles(
+    final double[] values)
+  {
+    final var buffer =
+      ByteBuffer.allocate(values.length * 8).order(ByteOrder.nativeOrder());
+    buffer.asDoubleBuffer().put(values);
+    return buffer;
+  }
+
+  private static double[] doublesOf(
+    final ByteBuffer buffer)
+  {
+    final var values = new double[buffer.limit() / 8];
+    buffer.duplicate().order(ByteOrder.nativeOrder()).asDoubleBuffer().get(values);
+    return values;
+  }
+
+  @Test
+  public void testSwizzle8()
+  {
+    final var source = ByteBuffer.wrap(new byte[]{
+      1, 2, 3, 4,
+      5, 6, 7, (byte) 255,
+    });
+
+    final var kernel = ConversionKernels.kernel(
+      PixelLayout.interleaved(
+        PixelComponentOrder.RGBA, PixelComponentType.UNORM8, BIG_ENDIAN),
+      PixelLayout.interleaved(
+        PixelComponentOrder.ARGB, PixelComponentType.UNORM8, BIG_ENDIAN)
+    );
+
+    final var target = ByteBuffer.allocate(10);
+    kernel.convert(source, 0, target, 2, 2);
+    assertEquals(
+      ByteBuffer.wrap(new byte[]{0, 0, 4, 1, 2, 3, (byte) 255, 5, 6, 7}),
+      target
+    );
+  }
+
+  @Test
+  public void testEncodingsLittleEndianBGRA()
+  {
+    final var source = doubles(new double[]{0.25, 0.5, 0.75, 1.0});
+    final var kernel = ConversionKernels.kernel(
+      RGBA_F64,
+      PixelLayout.interleaved(
+        PixelComponentOrder.BGRA, PixelComponentType.FLOAT32, LITTLE_ENDIAN)
+    );
+
+    final var target = ByteBuffer.allocate(16);
+    kernel.convert(source, 0, target, 0, 1);
+    target.order(LITTLE_ENDIAN);
+    assertEquals(0.75f, target.getFloat(0));
+    assertEquals(0.5f, target.getFloat(4));
+    assertEquals(0.25f, target.getFloat(8));
+    assertEquals(1.0f, target.getFloat(12));
+  }
+
+  @Test
+  public void testUnorm16BigEndian()
+  {
+    final var source = doubles(new double[]{0.0, 1.0, 2.0, -1.0});
+    final var kernel = ConversionKernels.kernel(
+      RGBA_F64,
+      PixelLayout.interleaved(
+        PixelComponentOrder.RGBA, PixelComponentType.UNORM16, BIG_ENDIAN)
+    );
+
+    final var target = ByteBuffer.allocate(8);
+    kernel.convert(source, 0, target, 0, 1);
+    assertEquals(
+      ByteBuffer.wrap(new byte[]{0, 0, -1, -1, -1, -1, 0, 0}),
+      target
+    );
+  }
+
+  @ParameterizedTest
+  @EnumSource(PixelComponentType.class)
+  public void testPlanarRoundTrip(
+    final PixelComponentType type)
+  {
+    final var pixels = 1000;
+    final var values = HSVBulkTest.randomPixels(0x50L, pixels);
+    for (int index = 0; index < values.length; ++index) {
+      values[index] = Math.min(Math.max(values[index], 0.0), 1.0);
+    }
+
+    final var planeStride = pixels * type.size() + 3;
+    final var planar = PixelLayout.planar(
+      PixelComponentOrder.ABGR, type, BIG_ENDIAN, planeStride);
+
+    final var toPlanar = ConversionKernels.kernel(RGBA_F64, planar);
+    final var fromPlanar = ConversionKernels.kernel(planar, RGBA_F64);
+
+    final var planes = ByteBuffer.allocate(planar.extent(pixels));
+    toPlanar.convert(doubles(values), 0, planes, 0, pixels);
+
+    final var back = ByteBuffer.allocate(values.length * 8);
+    fromPlanar.convert(planes, 0, back, 0, pixels);
+
+    final var tolerance = switch (type) {
+      case UNORM8 -> 0.5 / 255.0;
+      case UNORM16 -> 0.5 / 65535.0;
+      case FLOAT16 -> 1.0e-3;
+      case FLOAT32 -> 1.0e-7;
+      case FLOAT64 -> 0.0;
+    };
+
+    final var received = doublesOf(back);
+    for (int index = 0; index < values.length; ++index) {
+      assertEquals(values[index], received[index], tolerance);
+    }
+
+    /*
+     * Alpha is stored in the first plane, and red in the last.
+     */
+
+    if (type == PixelComponentType.FLOAT64) {
+      assertEquals(values[3], planes.getDouble(0));
+      assertEquals(values[0], planes.getDouble(planeStride * 3));
+    }
+  }
+
+  @Test
+  public void testFloat16MatchesBulk()
+  {
+    final var pixels = 500;
+    final var values = HSVBulkTest.randomPixels(0x51L, pixels);
+    final var expected = new short[values.length];
+    Float16Bulk.narrow(values, 0, expected, 0, pixels);
+
+    final var kernel = ConversionKernels.kernel(
+      RGBA_F64,
+      PixelLayout.interleaved(
+        PixelComponentOrder.RGBA, PixelComponentType.FLOAT16, LITTLE_ENDIAN)
+    );
+    final var target = ByteBuffer.allocate(values.length * 2);
+    kernel.convert(doubles(values), 0, target, 0, pixels);
+
+    final var received = new short[values.length];
+    target.order(LITTLE_ENDIAN).asShortBuffer().get(received);
+    for (int index = 0; index < values.length; ++index) {
+      assertEquals(expected[index], received[index]);
+    }
+  }
+
+  @Test
+  public void testFloat16NearTiesMatchBulk()
+  {
+    final var ulp = Math.scalb(1.0, -11);
+    final var tiny = Math.scalb(1.0, -40);
+
+    /*
+     * Values just either side of half-precision ties. Narrowing these
+     * through float would round them onto the tie first.
+     */
+
+    final var values = new double[]{
+      0.5 + ulp / 2.0 + tiny,
+      0.5 + 3.0 * ulp / 2.0 - tiny,
+      0.75 + ulp / 2.0 + tiny,
+      0.75 + 3.0 * ulp / 2.0 - tiny,
+      Math.scalb(1.0, -25) + Math.scalb(1.0, -60),
+      Math.scalb(3.0, -25) - Math.scalb(1.0, -60),
+      Math.scalb(1.0, -14) - tiny,
+      0.5 + ulp / 2.0,
+    };
+    final var pixels = values.length / 4;
+    final var expected = new short[values.length];
+    Float16Bulk.narrow(values, 0, expected, 0, pixels);
+
+    final var kernel = ConversionKernels.kernel(
+      RGBA_F64,
+      PixelLayout.interleaved(
+        PixelComponentOrder.RGBA, PixelComponentType.FLOAT16, LITTLE_ENDIAN)
+    );
+    final var target = ByteBuffer.allocate(values.length * 2);
+    kernel.convert(doubles(values), 0, target, 0, pixels);
+
+    final var received = new short[values.length];
+    target.order(LITTLE_ENDIAN).asShortBuffer().get(received);
+    int viaFloat = 0;
+    for (int index = 0; index < values.length; ++index) {
+      assertEquals(expected[index], received[index]);
+      if (Float.floatToFloat16((float) values[index]) != received[index]) {
+        ++viaFloat;
+      }
+    }
+
+    /*
+     * The values must actually distinguish single from double rounding.
+     */
+
+    assertTrue(viaFloat > 0);
+  }
+
+  @Test
+  public void testConversionChain()
+  {
+    final var pixels = 3000;
+    final var values = HSVBulkTest.randomPixels(0x52L, pixels);
+    final var expected = new double[values.length];
+    HSVBulk.toHSV(values, 0, expected, 0, pixels);
+
+    final var hsvF32 = PixelLayout.interleaved(
+      PixelComponentOrder.RGBA, PixelComponentType.FLOAT32, BIG_ENDIAN);
+    final var toHSV =
+      ConversionKernels.kernel(RGBA_F64, List.of(HSVBulk.toHSVConversion()), hsvF32);
+
+    final var target = ByteBuffer.allocate(values.length * 4);
+    toHSV.convert(doubles(values), 0, target, 0, pixels);
+    for (int index = 0; index < values.length; ++index) {
+      assertEquals((float) expected[index], target.getFloat(index * 4));
+    }
+
+    final List<ColorBulkConversionType<?, ?>> roundTrip =
+      List.of(HSVBulk.toHSVConversion(), HSVBulk.toRGBConversion());
+    final var identity = ConversionKernels.kernel(RGBA_F64, roundTrip, RGBA_F64);
+    final var back = ByteBuffer.allocate(values.length * 8);
+    identity.convert(doubles(values), 0, back, 0, pixels);
+
+    final var received = doublesOf(back);
+    for (int index = 0; index < values.length; ++index) {
+      final var x = index % 4 == 3
+        ? values[index]
+        : Math.min(Math.max(values[index], 0.0), 1.0);
+      assertEquals(x, received[index], 1.0e-9);
+    }
+  }
+
+  @Test
+  public void testCache()
+  {
+    final var layout = PixelLayout.interleaved(
+      PixelComponentOrder.BGRA, PixelComponentType.UNORM16, LITTLE_ENDIAN);
+    final var conversion = HSVBulk.toHSVConversion();
+
+    final var k0 = ConversionKernels.kernel(RGBA_F64, List.of(conversion), layout);
+    final var k1 = ConversionKernels.kernel(RGBA_F64, List.of(conversion), layout);
+    final var k2 = ConversionKernels.kernel(RGBA_F64, layout);
+    assertSame(k0.getClass(), k1.getClass());
+    assertNotSame(k0, k2);
+    assertTrue(ConversionKernels.cachedKernels() >= 2);
+
+    assertTrue(k0.getClass().isHidden());
+    assertTrue(k2.getClass().isHidden());
+    assertNotEquals(k0.getClass(), k2.getClass());
+    assertEquals(RGBA_F64, k0.sourceLayout());
+    assertEquals(layout, k0.targetLayout());
+
+    ConversionKernels.clear();
+    assertEquals(0, ConversionKernels.cachedKernels());
+    assertNotSame(
+      k0.getClass(),
+      ConversionKernels.kernel(RGBA_F64, List.of(conversion), layout).getClass()
+    );
+  }
+
+  private static ColorBulkConversionType<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType>
+  scale(
+    final double factor)
+  {
+    return (source, sourceOffset, target, targetOffset, pixels) -> {
+      for (int index = 0; index < pixels * 4; ++index) {
+        target[targetOffset + index] = source[sourceOffset + index] * factor;
+      }
+    };
+  }
+
+  @Test
+  public void testCacheDoesNotGrowWithNewConversions()
+  {
+    final var layout = PixelLayout.interleaved(
+      PixelComponentOrder.RGBA, PixelComponentType.FLOAT32, BIG_ENDIAN);
+
+    ConversionKernels.kernel(RGBA_F64, List.of(scale(1.0)), layout);
+    final var cached = ConversionKernels.cachedKernels();
+
+    final var source = doubles(new double[]{0.25, 0.5, 0.75, 1.0});
+    for (int index = 0; index < 1000; ++index) {
+      final var factor = index / 1000.0;
+      final var kernel =
+        ConversionKernels.kernel(RGBA_F64, List.of(scale(factor)), layout);
+
+      final var target = ByteBuffer.allocate(16);
+      kernel.convert(source, 0, target, 0, 1);
+      assertEquals(
+        (float) (0.25 * factor), target.order(BIG_ENDIAN).getFloat(0));
+    }
+
+    assertEquals(cached, ConversionKernels.cachedKernels());
+  }
+
+  @Test
+  public void testParallelMatchesSerial()
+  {
+    final var pixels = 100000;
+    final var values = HSVBulkTest.randomPixels(0x53L, pixels);
+    final var planar = PixelLayout.planar(
+      PixelComponentOrder.RGBA, PixelComponentType.UNORM8, BIG_ENDIAN, pixels);
+    final var kernel = ConversionKernels.kernel(
+      RGBA_F64, List.of(HSVBulk.toHSVConversion()), planar);
+
+    final var source = doubles(values);
+    final var serial = ByteBuffer.allocateDirect(pixels * 4);
+    final var parallel = ByteBuffer.allocateDirect(pixels * 4);
+    kernel.convert(source, 0, serial, 0, pixels);
+    try (var pool = new ForkJoinPool(4)) {
+      ConversionKernels.convertParallel(pool, kernel, source, 0, parallel, 0, pixels);
+    }
+    assertEquals(serial, parallel);
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    final var kernel = ConversionKernels.kernel(RGBA_F64, RGBA_F64);
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      kernel.convert(ByteBuffer.allocate(64), 0, ByteBuffer.allocate(63), 0, 2);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      final var source = ByteBuffer.allocate(64);
+      source.limit(40);
+      kernel.convert(source, 0, ByteBuffer.allocate(64), 0, 2);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      PixelLayout.planar(
+        PixelComponentOrder.RGBA, PixelComponentType.UNORM8, BIG_ENDIAN, 0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new PixelLayout(
+        PixelComponentOrder.RGBA, PixelComponentType.UNORM8, BIG_ENDIAN, -1);
+    });
+  }
+}
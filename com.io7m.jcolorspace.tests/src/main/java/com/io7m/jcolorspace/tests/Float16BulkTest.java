@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.Float16Bulk;
+import com.io7m.jcolorspace.core.HSVBulk;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class Float16BulkTest
+{
+  private static short[] halfPixels(
+    final long seed,
+    final int pixels)
+  {
+    final var doubles = HSVBulkTest.randomPixels(seed, pixels);
+    final var halves = new short[doubles.length];
+    Float16Bulk.narrow(doubles, 0, halves, 0, pixels);
+    return halves;
+  }
+
+  @Test
+  public void testWidenExhaustive()
+  {
+    final var source = new short[65536];
+    for (int index = 0; index < source.length; ++index) {
+      source[index] = (short) index;
+    }
+
+    final var target = new double[source.length];
+    Float16Bulk.widen(source, 0, target, 0, source.length / 4);
+
+    for (int index = 0; index < source.length; ++index) {
+      final var expected = Float.float16ToFloat(source[index]);
+      if (Float.isNaN(expected)) {
+        assertTrue(Double.isNaN(target[index]));
+      } else {
+        assertEquals(expected, target[index]);
+      }
+    }
+  }
+
+  @Test
+  public void testNarrowRoundTrip()
+  {
+    final var source = new double[]{
+      0.0, 0.5, 1.0, 65504.0,
+      -2.0, 0.0009765625, Double.POSITIVE_INFINITY, 100000.0,
+    };
+    final var halves = new short[source.length];
+    Float16Bulk.narrow(source, 0, halves, 0, 2);
+
+    final var back = new double[source.length];
+    Float16Bulk.widen(halves, 0, back, 0, 2);
+    assertArrayEquals(
+      new double[]{
+        0.0, 0.5, 1.0, 65504.0,
+        -2.0, 0.0009765625, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+      },
+      back
+    );
+  }
+
+  private static short narrowOne(
+    final double x)
+  {
+    final var source = new double[]{x, 0.0, 0.0, 0.0};
+    final var target = new short[4];
+    Float16Bulk.narrow(source, 0, target, 0, 1);
+    return target[0];
+  }
+
+  @Test
+  public void testNarrowTies()
+  {
+    final var ulp = Math.scalb(1.0, -10);
+    final var tiny = Math.scalb(1.0, -40);
+
+    /*
+     * Exact ties round to even.
+     */
+
+    assertEquals((short) 0x3c00, narrowOne(1.0 + ulp / 2.0));
+    assertEquals((short) 0x3c02, narrowOne(1.0 + 3.0 * ulp / 2.0));
+    assertEquals((short) 0x0000, narrowOne(Math.scalb(1.0, -25)));
+    assertEquals((short) 0x0002, narrowOne(Math.scalb(3.0, -25)));
+    assertEquals((short) 0x8000, narrowOne(-Math.scalb(1.0, -25)));
+
+    /*
+     * Values just either side of a tie round away from it. Rounding through
+     * float would first round these onto the tie itself.
+     */
+
+    assertEquals((short) 0x3c01, narrowOne(1.0 + ulp / 2.0 + tiny));
+    assertEquals((short) 0x3c01, narrowOne(1.0 + 3.0 * ulp / 2.0 - tiny));
+    assertEquals((short) 0x0001, narrowOne(Math.scalb(1.0, -25) + Math.scalb(1.0, -60)));
+    assertEquals((short) 0xbc01, narrowOne(-(1.0 + ulp / 2.0 + tiny)));
+
+    /*
+     * Rounding carries into the exponent, and overflows to infinity.
+     */
+
+    assertEquals((short) 0x0400, narrowOne(Math.scalb(1.0, -14) - Math.scalb(1.0, -40)));
+    assertEquals((short) 0x7bff, narrowOne(65519.0));
+    assertEquals((short) 0x7bff, narrowOne(65520.0 - Math.scalb(1.0, -30)));
+    assertEquals((short) 0x7c00, narrowOne(65520.0));
+    assertEquals((short) 0xfc00, narrowOne(Double.NEGATIVE_INFINITY));
+    assertEquals((short) 0x0000, narrowOne(Double.MIN_VALUE));
+    assertTrue(Float.isNaN(Float.float16ToFloat(narrowOne(Double.NaN))));
+  }
+
+  @Test
+  public void testNarrowMatchesFloatExactly()
+  {
+    final var random = new Random(0x24L);
+    for (int index = 0; index < 100000; ++index) {
+      final var bits = random.nextInt();
+      final var f = Float.intBitsToFloat(bits);
+      if (Float.isNaN(f)) {
+        continue;
+      }
+      assertEquals(
+        Float.floatToFloat16(f),
+        narrowOne(f),
+        () -> "0x%08x".formatted(Integer.valueOf(bits))
+      );
+    }
+  }
+
+  @Test
+  public void testToHSVMatchesWidened()
+  {
+    final var pixels = 4096;
+    final var source = halfPixels(0x20L, pixels);
+
+    final var widened = new double[source.length];
+    Float16Bulk.widen(source, 0, widened, 0, pixels);
+    HSVBulk.toHSV(widened, 0, widened, 0, pixels);
+    final var expected = new short[source.length];
+    Float16Bulk.narrow(widened, 0, expected, 0, pixels);
+
+    final var target = new short[source.length];
+    Float16Bulk.toHSV(source, 0, target, 0, pixels);
+    assertArrayEquals(expected, target);
+
+    Float16Bulk.widen(target, 0, widened, 0, pixels);
+    HSVBulk.toRGB(widened, 0, widened, 0, pixels);
+    Float16Bulk.narrow(widened, 0, expected, 0, pixels);
+    Float16Bulk.toRGB(target, 0, target, 0, pixels);
+    assertArrayEquals(expected, target);
+  }
+
+  @Test
+  public void testRoundTripError()
+  {
+    final var pixels = 4096;
+    final var doubles = HSVBulkTest.randomPixels(0x21L, pixels);
+    for (int index = 0; index < doubles.length; ++index) {
+      doubles[index] = Math.min(Math.max(doubles[index], 0.0), 1.0);
+    }
+
+    final var halves = new short[doubles.length];
+    Float16Bulk.narrow(doubles, 0, halves, 0, pixels);
+    Float16Bulk.toHSV(halves, 0, halves, 0, pixels);
+    Float16Bulk.toRGB(halves, 0, halves, 0, pixels);
+
+    final var back = new double[doubles.length];
+    Float16Bulk.widen(halves, 0, back, 0, pixels);
+    for (int index = 0; index < doubles.length; ++index) {
+      assertEquals(doubles[index], back[index], 2.0e-3);
+    }
+  }
+
+  @Test
+  public void testBuffersMatchArrays()
+  {
+    final var pixels = 1000;
+    final var source = halfPixels(0x22L, pixels);
+    final var expected = new short[source.length];
+    Float16Bulk.toHSV(source, 0, expected, 0, pixels);
+
+    final var bytes =
+      ByteBuffer.allocateDirect(source.length * 2 * 2)
+        .order(ByteOrder.nativeOrder());
+    final var buffer = bytes.asShortBuffer();
+    buffer.put(source);
+    buffer.position(7);
+
+    Float16Bulk.toHSV(buffer, 0, buffer, source.length, pixels);
+    assertEquals(7, buffer.position());
+
+    final var received = new short[source.length];
+    buffer.get(source.length, received);
+    assertArrayEquals(expected, received);
+
+    final var widened = new double[source.length];
+    Float16Bulk.widen(buffer, source.length, widened, 0, pixels);
+    final var narrowed = new short[source.length];
+    Float16Bulk.narrow(widened, 0, narrowed, 0, pixels);
+    assertArrayEquals(expected, narrowed);
+
+    Float16Bulk.narrow(widened, 0, buffer, 0, pixels);
+    Float16Bulk.toRGB(buffer, 0, buffer, 0, pixels);
+    Float16Bulk.toRGB(expected, 0, expected, 0, pixels);
+    buffer.get(0, received);
+    assertArrayEquals(expected, received);
+  }
+
+  @Test
+  public void testParallelMatchesSerial()
+  {
+    final var pixels = 100000;
+    final var source = halfPixels(0x23L, pixels);
+    final var serial = new short[source.length];
+    final var parallel = new short[source.length];
+
+    try (var pool = new ForkJoinPool(4)) {
+      Float16Bulk.toHSV(source, 0, serial, 0, pixels);
+      Float16Bulk.toHSVParallel(pool, source, 0, parallel, 0, pixels);
+      assertArrayEquals(serial, parallel);
+
+      Float16Bulk.toRGB(serial, 0, serial, 0, pixels);
+      Float16Bulk.toRGBParallel(pool, parallel, 0, parallel, 0, pixels);
+      assertArrayEquals(serial, parallel);
+    }
+  }
+
+  @Test
+  public void testBounds()
+  {
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      Float16Bulk.toHSV(new short[8], 0, new short[7], 0, 2);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      Float16Bulk.widen(new short[8], 1, new double[8], 0, 2);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      final var buffer = ByteBuffer.allocate(16).asShortBuffer();
+      buffer.limit(7);
+      Float16Bulk.toRGB(buffer, 0, buffer, 0, 2);
+    });
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorBulk;
+import com.io7m.jcolorspace.core.GamutMapper;
+import com.io7m.jcolorspace.core.GamutMappingStrategy;
+import com.io7m.jcolorspace.core.RGBBulk;
+import com.io7m.jcolorspace.core.RGBPrimaries;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class GamutMapperTest
+{
+  /**
+   * Random Rec.2020 colors expressed in sRGB: Many lie outside the sRGB
+   * gamut.
+   */
+
+  private static double[] wideGamutPixels(
+    final long seed,
+    final int pixels)
+  {
+    final var data = HSVBulkTest.randomPixels(seed, pixels);
+    RGBBulk.convert(
+      RGBPrimaries.REC2020, RGBPrimaries.SRGB, data, 0, data, 0, pixels);
+    return data;
+  }
+
+  private static int countOutOfGamut(
+    final double[] data)
+  {
+    int count = 0;
+    for (int index = 0; index < data.length; index += 4) {
+      for (int c = 0; c < 3; ++c) {
+        final var x = data[index + c];
+        if (x < -1.0e-9 || x > 1.0 + 1.0e-9) {
+          ++count;
+          break;
+        }
+      }
+    }
+    return count;
+  }
+
+  private static void assertInGamut(
+    final double[] data)
+  {
+    for (int index = 0; index < data.length; index += 4) {
+      for (int c = 0; c < 3; ++c) {
+        final var x = data[index + c];
+        assertTrue(x >= 0.0 && x <= 1.0, "Component " + x);
+      }
+    }
+  }
+
+  private static double hue(
+    final double r,
+    final double g,
+    final double b)
+  {
+    final var max = Math.max(r, Math.max(g, b));
+    final var min = Math.min(r, Math.min(g, b));
+    final var d = max - min;
+    final double h;
+    if (max == r) {
+      h = ((g - b) / d) / 6.0;
+    } else if (max == g) {
+      h = ((b - r) / d + 2.0) / 6.0;
+    } else {
+      h = ((r - g) / d + 4.0) / 6.0;
+    }
+    return h < 0.0 ? h + 1.0 : h;
+  }
+
+  @ParameterizedTest
+  @EnumSource(GamutMappingStrategy.class)
+  public void testResultsInGamut(
+    final GamutMappingStrategy strategy)
+  {
+    final var pixels = 10_000;
+    final var source = wideGamutPixels(0x33L, pixels);
+    final var expected = countOutOfGamut(source);
+    assertTrue(expected > 0);
+
+    final var mapper = GamutMapper.create(strategy);
+    final var target = new double[source.length];
+    assertEquals(expected, mapper.map(source, 0, target, 0, pixels));
+    assertEquals(expected, mapper.outOfGamutTotal());
+    assertInGamut(target);
+
+    for (int index = 3; index < source.length; index += 4) {
+      assertEquals(source[index], target[index]);
+    }
+
+    mapper.resetTotal();
+    assertEquals(0L, mapper.outOfGamutTotal());
+  }
+
+  @ParameterizedTest
+  @EnumSource(
+    value = GamutMappingStrategy.class,
+    names = {"CLIP", "CHROMA_REDUCTION"})
+  public void testInGamutUnchanged(
+    final GamutMappingStrategy strategy)
+  {
+    final var pixels = 1000;
+    final var source = HSVBulkTest.randomPixels(0x34L, pixels);
+    for (int index = 0; index < source.length; ++index) {
+      source[index] = Math.min(Math.max(source[index], 0.0), 1.0);
+    }
+    final var target = new double[source.length];
+    assertEquals(
+      0L, GamutMapper.create(strategy).map(source, 0, target, 0, pixels));
+    assertArrayEquals(source, target);
+  }
+
+  @Test
+  public void testSoftKneeLowChromaUnchanged()
+  {
+    final var source = new double[]{
+      0.5, 0.5, 0.5, 1.0,
+      0.5, 0.45, 0.5, 1.0,
+      0.2, 0.25, 0.22, 1.0,
+    };
+    final var target = new double[source.length];
+    GamutMapper.create(GamutMappingStrategy.SOFT_KNEE)
+      .map(source, 0, target, 0, 3);
+    assertArrayEquals(source, target);
+  }
+
+  @Test
+  public void testChromaReductionPreservesHue()
+  {
+    final var pixels = 10_000;
+    final var source = wideGamutPixels(0x35L, pixels);
+    final var target = new double[source.length];
+    GamutMapper.create(GamutMappingStrategy.CHROMA_REDUCTION)
+      .map(source, 0, target, 0, pixels);
+
+    for (int index = 0; index < source.length; index += 4) {
+      final var r = source[index];
+      final var g = source[index + 1];
+      final var b = source[index + 2];
+      final var y = 0.2126 * r + 0.7152 * g + 0.0722 * b;
+      final var chromatic =
+        Math.max(r, Math.max(g, b)) - Math.min(r, Math.min(g, b)) > 1.0e-3;
+      final var mappedChromatic =
+        Math.max(target[index], Math.max(target[index + 1], target[index + 2]))
+          - Math.min(target[index], Math.min(target[index + 1], target[index + 2]))
+          > 1.0e-3;
+      if (y > 0.0 && y < 1.0 && chromatic && mappedChromatic) {
+        final var h0 = hue(r, g, b);
+        final var h1 = hue(target[index], target[index + 1], target[index + 2]);
+        final var d = Math.abs(h0 - h1);
+        assertTrue(Math.min(d, 1.0 - d) < 1.0e-6, "Hue " + h0 + " " + h1);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(GamutMappingStrategy.class)
+  public void testParallelMatchesSequential(
+    final GamutMappingStrategy strategy)
+  {
+    final var pixels = 100_000;
+    final var source = wideGamutPixels(0x36L, pixels);
+    final var mapper = GamutMapper.create(strategy);
+
+    final var sequential = new double[source.length];
+    final var parallel = new double[source.length];
+    final var countS = mapper.map(source, 0, sequential, 0, pixels);
+    final var countP = mapper.mapParallel(
+      ForkJoinPool.commonPool(), source, 0, parallel, 0, pixels);
+    assertEquals(countS, countP);
+    assertArrayEquals(sequential, parallel);
+    assertEquals(countS * 2L, mapper.outOfGamutTotal());
+  }
+
+  @ParameterizedTest
+  @EnumSource(GamutMappingStrategy.class)
+  public void testFusedMatchesTwoPass(
+    final GamutMappingStrategy strategy)
+  {
+    final var pixels = 100_000;
+    final var source = HSVBulkTest.randomPixels(0x37L, pixels);
+    final var conversion =
+      RGBBulk.conversion(RGBPrimaries.REC2020, RGBPrimaries.SRGB);
+
+    final var expected = new double[source.length];
+    conversion.convert(source, 0, expected, 0, pixels);
+    final var twoPass = GamutMapper.create(strategy);
+    final var count = twoPass.map(expected, 0, expected, 0, pixels);
+
+    final var fusedMapper = GamutMapper.create(strategy);
+    final var received = new double[source.length];
+    ColorBulk.convertParallel(
+      ForkJoinPool.commonPool(),
+      fusedMapper.fuse(conversion),
+      source,
+      0,
+      received,
+      0,
+      pixels
+    );
+    assertArrayEquals(expected, received);
+    assertEquals(count, fusedMapper.outOfGamutTotal());
+  }
+}
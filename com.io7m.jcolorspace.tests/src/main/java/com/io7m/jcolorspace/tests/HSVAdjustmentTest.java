@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.HSVAdjustment;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class HSVAdjustmentTest
+{
+  @Test
+  public void testHueWraps()
+  {
+    final var pixels = new double[]{
+      0.75, 0.5, 0.5, 1.0,
+      0.1, 0.5, 0.5, 0.25,
+    };
+    HSVAdjustment.ofHueDegrees(-450.0).apply(pixels, 0, pixels, 0, 2);
+    assertEquals(0.5, pixels[0], 1.0e-12);
+    assertEquals(0.85, pixels[4], 1.0e-12);
+    assertEquals(0.25, pixels[7]);
+  }
+
+  @Test
+  public void testScalesClamp()
+  {
+    final var source = new double[]{0.5, 0.8, 0.6, 1.0};
+    final var target = new double[4];
+    new HSVAdjustment(0.0, 2.0, 0.5).apply(source, 0, target, 0, 1);
+    assertArrayEquals(new double[]{0.5, 1.0, 0.3, 1.0}, target);
+  }
+
+  @Test
+  public void testRandomInRange()
+  {
+    final var pixels = 10000;
+    final var source = HSVBulkTest.randomPixels(0x41L, pixels);
+    final var target = new double[source.length];
+    new HSVAdjustment(0.37, 1.5, 1.25).apply(source, 0, target, 0, pixels);
+
+    for (int index = 0; index < pixels; ++index) {
+      final var h = target[index * 4];
+      assertTrue(h >= 0.0 && h < 1.0, "Hue " + h);
+      assertTrue(target[index * 4 + 1] >= 0.0 && target[index * 4 + 1] <= 1.0);
+      assertTrue(target[index * 4 + 2] >= 0.0 && target[index * 4 + 2] <= 1.0);
+      assertEquals(source[index * 4 + 3], target[index * 4 + 3]);
+    }
+  }
+
+  @Test
+  public void testParallelMatchesSerial()
+  {
+    final var pixels = 100000;
+    final var source = HSVBulkTest.randomPixels(0x42L, pixels);
+    final var serial = new double[source.length];
+    final var parallel = new double[source.length];
+    final var adjustment = new HSVAdjustment(0.2, 0.5, 1.1);
+
+    adjustment.apply(source, 0, serial, 0, pixels);
+    try (var pool = new ForkJoinPool(4)) {
+      adjustment.applyParallel(pool, source, 0, parallel, 0, pixels);
+    }
+    assertArrayEquals(serial, parallel);
+
+    final var converted = new double[source.length];
+    adjustment.conversion().convert(source, 0, converted, 0, pixels);
+    assertArrayEquals(serial, converted);
+  }
+
+  @Test
+  public void testAndThen()
+  {
+    final var a = new HSVAdjustment(0.25, 0.5, 2.0);
+    final var b = new HSVAdjustment(0.5, 0.5, 0.25);
+    assertEquals(new HSVAdjustment(0.75, 0.25, 0.5), a.andThen(b));
+    assertEquals(a, HSVAdjustment.IDENTITY.andThen(a));
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new HSVAdjustment(Double.NaN, 1.0, 1.0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new HSVAdjustment(0.0, -1.0, 1.0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new HSVAdjustment(0.0, 1.0, Double.POSITIVE_INFINITY);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      HSVAdjustment.IDENTITY.apply(new double[8], 0, new double[7], 0, 2);
+    });
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.HSV;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import com.io7m.junreachable.UnreachableCodeException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HSVBulkTest
+{
+  static double[] randomPixels(
+    final long seed,
+    final int pixels)
+  {
+    final var random = new Random(seed);
+    final var data = new double[pixels * 4];
+    for (int index = 0; index < data.length; ++index) {
+      data[index] = random.nextDouble() * 1.2 - 0.1;
+    }
+
+    /*
+     * Include some greys and some pure primaries.
+     */
+
+    for (int index = 0; index < Math.min(pixels, 64); ++index) {
+      final var v = index / 63.0;
+      final var o = index * 4;
+      if (index % 2 == 0) {
+        data[o] = v;
+        data[o + 1] = v;
+        data[o + 2] = v;
+      } else {
+        data[o] = v;
+        data[o + 1] = 0.0;
+        data[o + 2] = 1.0 - v;
+      }
+    }
+    return data;
+  }
+
+  @Test
+  public void testToHSVMatchesScalar()
+  {
+    final var pixels = 10000;
+    final var source = randomPixels(0x10L, pixels);
+    final var target = new double[pixels * 4];
+    HSVBulk.toHSV(source, 0, target, 0, pixels);
+
+    for (int index = 0; index < pixels; ++index) {
+      final var o = index * 4;
+      final var expected = HSV.toHSV(PVector4D.<ColorSpaceTagLinearRGBType>of(
+        source[o], source[o + 1], source[o + 2], source[o + 3]));
+      assertEquals(expected.x(), target[o]);
+      assertEquals(expected.y(), target[o + 1]);
+      assertEquals(expected.z(), target[o + 2]);
+      assertEquals(expected.w(), target[o + 3]);
+    }
+  }
+
+  @Test
+  public void testToRGBMatchesScalar()
+  {
+    final var pixels = 10000;
+    final var source = randomPixels(0x20L, pixels);
+    final var target = new double[pixels * 4];
+    HSVBulk.toRGB(source, 0, target, 0, pixels);
+
+    for (int index = 0; index < pixels; ++index) {
+      final var o = index * 4;
+      final var expected = HSV.toRGB(PVector4D.<ColorSpaceTagHSVType>of(
+        source[o], source[o + 1], source[o + 2], source[o + 3]));
+      assertEquals(expected.x(), target[o]);
+      assertEquals(expected.y(), target[o + 1]);
+      assertEquals(expected.z(), target[o + 2]);
+      assertEquals(expected.w(), target[o + 3]);
+    }
+  }
+
+  @Test
+  public void testInPlaceAndOffsets()
+  {
+    final var pixels = 100;
+    final var source = randomPixels(0x30L, pixels);
+    final var expected = new double[pixels * 4];
+    HSVBulk.toHSV(source, 0, expected, 0, pixels);
+
+    final var data = new double[(pixels + 2) * 4];
+    System.arraycopy(source, 0, data, 8, source.length);
+    HSVBulk.toHSV(data, 8, data, 8, pixels);
+
+    final var received = new double[pixels * 4];
+    System.arraycopy(data, 8, received, 0, received.length);
+    assertArrayEquals(expected, received);
+  }
+
+  @Test
+  public void testParallelMatchesSequential()
+  {
+    final var pixels = 300000;
+    final var source = randomPixels(0x40L, pixels);
+    final var expected = new double[pixels * 4];
+    final var received = new double[pixels * 4];
+
+    HSVBulk.toHSV(source, 0, expected, 0, pixels);
+    HSVBulk.toHSVParallel(
+      ForkJoinPool.commonPool(), source, 0, received, 0, pixels);
+    assertArrayEquals(expected, received);
+
+    HSVBulk.toRGB(expected, 0, source, 0, pixels);
+    HSVBulk.toRGBParallel(
+      ForkJoinPool.commonPool(), expected, 0, received, 0, pixels);
+    assertArrayEquals(source, received);
+  }
+
+  @Test
+  public void testBounds()
+  {
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      HSVBulk.toHSV(new double[8], 0, new double[7], 0, 2);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      HSVBulk.toRGB(new double[8], 1, new double[8], 0, 2);
+    });
+  }
+
+  @Test
+  public void testUnreachable()
+  {
+    assertThrows(UnreachableCodeException.class, () -> {
+      try {
+        final var c = HSVBulk.class.getDeclaredConstructor();
+        c.setAccessible(true);
+        c.newInstance();
+      } catch (final InvocationTargetException e) {
+        throw e.getCause();
+      }
+    });
+  }
+}
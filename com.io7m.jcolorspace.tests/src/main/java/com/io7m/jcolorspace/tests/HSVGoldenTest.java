@@ -0,0 +1,606 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorAccuracy;
+import com.io7m.jcolorspace.core.ColorSpaceTagHSVType;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.ConversionKernelType;
+import com.io7m.jcolorspace.core.ConversionKernels;
+import com.io7m.jcolorspace.core.Float16Bulk;
+import com.io7m.jcolorspace.core.HSV;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.PixelComponentOrder;
+import com.io7m.jcolorspace.core.PixelComponentType;
+import com.io7m.jcolorspace.core.PixelLayout;
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A golden reference harness: Every HSV conversion strategy is compared
+ * against the scalar {@link HSV} reference over the eight bit RGB cube and
+ * over large random samples, and the build fails if any strategy exceeds
+ * its configured error bounds. The default build samples the cube with a
+ * stride; the exhaustive sweep is tagged {@code exhaustive} and runs in the
+ * {@code exhaustive-tests} profile.
+ */
+
+public final class HSVGoldenTest
+{
+  private static final System.Logger LOG =
+    System.getLogger(HSVGoldenTest.class.getCanonicalName());
+
+  private static final PixelLayout RGBA_F32 =
+    PixelLayout.interleaved(
+      PixelComponentOrder.RGBA,
+      PixelComponentType.FLOAT32,
+      ByteOrder.nativeOrder()
+    );
+
+  private static final double EXACT_ROUND_TRIP = 1.0e-15;
+
+  private static ForkJoinPool POOL;
+
+  private static List<Strategy> strategies()
+  {
+    final var f32ToHSV =
+      ConversionKernels.kernel(
+        RGBA_F32, List.of(HSVBulk.toHSVConversion()), RGBA_F32);
+    final var f32ToRGB =
+      ConversionKernels.kernel(
+        RGBA_F32, List.of(HSVBulk.toRGBConversion()), RGBA_F32);
+
+    return List.of(
+      new Strategy(
+        "bulk-exact",
+        new Bounds(0.0, 0.0, EXACT_ROUND_TRIP),
+        (s, t, n) -> HSVBulk.toHSV(ColorAccuracy.EXACT, s, 0, t, 0, n),
+        (s, t, n) -> HSVBulk.toRGB(ColorAccuracy.EXACT, s, 0, t, 0, n)
+      ),
+      new Strategy(
+        "parallel-exact",
+        new Bounds(0.0, 0.0, EXACT_ROUND_TRIP),
+        (s, t, n) -> HSVBulk.toHSVParallel(POOL, s, 0, t, 0, n),
+        (s, t, n) -> HSVBulk.toRGBParallel(POOL, s, 0, t, 0, n)
+      ),
+      new Strategy(
+        "bulk-fast",
+        new Bounds(ColorAccuracy.FAST.maximumError(), 4.0, 2.0e-15),
+        (s, t, n) -> HSVBulk.toHSV(ColorAccuracy.FAST, s, 0, t, 0, n),
+        (s, t, n) -> HSVBulk.toRGB(ColorAccuracy.FAST, s, 0, t, 0, n)
+      ),
+      new Strategy(
+        "kernel-float32",
+        new Bounds(5.0e-7, Double.POSITIVE_INFINITY, 5.0e-7),
+        (s, t, n) -> viaKernel(f32ToHSV, s, t, n),
+        (s, t, n) -> viaKernel(f32ToRGB, s, t, n)
+      ),
+      new Strategy(
+        "float16",
+        new Bounds(4.0e-3, Double.POSITIVE_INFINITY, 4.0e-3),
+        HSVGoldenTest::viaFloat16ToHSV,
+        HSVGoldenTest::viaFloat16ToRGB
+      )
+    );
+  }
+
+  @BeforeAll
+  public static void setup()
+  {
+    POOL = new ForkJoinPool(4);
+  }
+
+  @AfterAll
+  public static void tearDown()
+  {
+    POOL.close();
+  }
+
+  private static void viaKernel(
+    final ConversionKernelType kernel,
+    final double[] source,
+    final double[] target,
+    final int pixels)
+  {
+    final var bytes = pixels * 16;
+    final var input =
+      ByteBuffer.allocate(bytes).order(ByteOrder.nativeOrder());
+    final var floats = input.asFloatBuffer();
+    for (int index = 0; index < pixels * 4; ++index) {
+      floats.put(index, (float) source[index]);
+    }
+
+    final var output =
+      ByteBuffer.allocate(bytes).order(ByteOrder.nativeOrder());
+    kernel.convert(input, 0, output, 0, pixels);
+
+    final var result = output.asFloatBuffer();
+    for (int index = 0; index < pixels * 4; ++index) {
+      target[index] = result.get(index);
+    }
+  }
+
+  private static void viaFloat16ToHSV(
+    final double[] source,
+    final double[] target,
+    final int pixels)
+  {
+    final var halves = new short[pixels * 4];
+    Float16Bulk.narrow(source, 0, halves, 0, pixels);
+    Float16Bulk.toHSV(halves, 0, halves, 0, pixels);
+    Float16Bulk.widen(halves, 0, target, 0, pixels);
+  }
+
+  private static void viaFloat16ToRGB(
+    final double[] source,
+    final double[] target,
+    final int pixels)
+  {
+    final var halves = new short[pixels * 4];
+    Float16Bulk.narrow(source, 0, halves, 0, pixels);
+    Float16Bulk.toRGB(halves, 0, halves, 0, pixels);
+    Float16Bulk.widen(halves, 0, target, 0, pixels);
+  }
+
+  private static double clamp(
+    final double x)
+  {
+    return Math.min(Math.max(x, 0.0), 1.0);
+  }
+
+  /**
+   * Errors are expressed in units in the last place of {@code 1.0}, the
+   * largest value of any component. Measuring relative to the ULP of the
+   * reference value itself would be misleading for components near zero,
+   * where the reference loses precision to cancellation.
+   */
+
+  private static double ulps(
+    final double difference)
+  {
+    return difference / Math.ulp(1.0);
+  }
+
+  /**
+   * Evaluate every strategy over the given RGB pixels, and return one set
+   * of errors per strategy.
+   */
+
+  private static Errors[] evaluate(
+    final List<Strategy> strategies,
+    final double[] rgb,
+    final int pixels)
+  {
+    final var size = pixels * 4;
+    final var refHSV = new double[size];
+    final var refRGB = new double[size];
+
+    for (int index = 0; index < size; index += 4) {
+      final var hsv = HSV.toHSV(
+        PVector4D.<ColorSpaceTagLinearRGBType>of(
+          rgb[index], rgb[index + 1], rgb[index + 2], rgb[index + 3]));
+      refHSV[index] = hsv.x();
+      refHSV[index + 1] = hsv.y();
+      refHSV[index + 2] = hsv.z();
+      refHSV[index + 3] = hsv.w();
+
+      final var back = HSV.toRGB(
+        PVector4D.<ColorSpaceTagHSVType>of(
+          hsv.x(), hsv.y(), hsv.z(), hsv.w()));
+      refRGB[index] = back.x();
+      refRGB[index + 1] = back.y();
+      refRGB[index + 2] = back.z();
+      refRGB[index + 3] = back.w();
+    }
+
+    final var results = new Errors[strategies.size()];
+    final var hsv = new double[size];
+    final var back = new double[size];
+    final var trip = new double[size];
+
+    for (int s = 0; s < strategies.size(); ++s) {
+      final var strategy = strategies.get(s);
+      final var errors = new Errors();
+      strategy.toHSV.convert(rgb, hsv, pixels);
+      strategy.toRGB.convert(refHSV, back, pixels);
+      strategy.toRGB.convert(hsv, trip, pixels);
+
+      for (int index = 0; index < size; index += 4) {
+        errors.hsv(refHSV, hsv, index);
+        errors.rgb(refRGB, back, index);
+        errors.roundTrip(rgb, trip, index);
+      }
+      errors.pixels = pixels;
+      results[s] = errors;
+    }
+    return results;
+  }
+
+  private static Errors[] merge(
+    final Errors[] a,
+    final Errors[] b)
+  {
+    final var out = new Errors[a.length];
+    for (int index = 0; index < a.length; ++index) {
+      out[index] = a[index].combine(b[index]);
+    }
+    return out;
+  }
+
+  private static void check(
+    final String name,
+    final List<Strategy> strategies,
+    final Errors[] errors)
+  {
+    final var assertions = new ArrayList<Executable>();
+    for (int index = 0; index < strategies.size(); ++index) {
+      final var strategy = strategies.get(index);
+      final var e = errors[index];
+      final var bounds = strategy.bounds;
+
+      LOG.log(
+        System.Logger.Level.INFO,
+        "%s %-15s pixels %d | toHSV max %.3e mean %.3e max %.1f ulp mean %.3f ulp | toRGB max %.3e mean %.3e max %.1f ulp | round trip max %.3e mean %.3e | wraps %d max %.3e greys %d"
+          .formatted(
+            name,
+            strategy.name,
+            Long.valueOf(e.pixels),
+            Double.valueOf(e.hsvMax),
+            Double.valueOf(e.hsvSum / (e.pixels * 3.0)),
+            Double.valueOf(e.hsvMaxUlp),
+            Double.valueOf(e.hsvSumUlp / (e.pixels * 3.0)),
+            Double.valueOf(e.rgbMax),
+            Double.valueOf(e.rgbSum / (e.pixels * 3.0)),
+            Double.valueOf(e.rgbMaxUlp),
+            Double.valueOf(e.tripMax),
+            Double.valueOf(e.tripSum / (e.pixels * 3.0)),
+            Long.valueOf(e.wraps),
+            Double.valueOf(e.wrapMax),
+            Long.valueOf(e.greyViolations)));
+
+      final var prefix = "%s %s ".formatted(name, strategy.name);
+      assertions.add(() -> {
+        assertTrue(
+          e.hsvMax <= bounds.maxAbsolute && e.rgbMax <= bounds.maxAbsolute,
+          prefix + "absolute error %s / %s exceeds %s; worst toHSV %s"
+            .formatted(
+              Double.valueOf(e.hsvMax),
+              Double.valueOf(e.rgbMax),
+              Double.valueOf(bounds.maxAbsolute),
+              e.worst));
+      });
+      assertions.add(() -> {
+        assertTrue(
+          e.hsvMaxUlp <= bounds.maxUlps && e.rgbMaxUlp <= bounds.maxUlps,
+          prefix + "ULP error %s / %s exceeds %s"
+            .formatted(
+              Double.valueOf(e.hsvMaxUlp),
+              Double.valueOf(e.rgbMaxUlp),
+              Double.valueOf(bounds.maxUlps)));
+      });
+      assertions.add(() -> {
+        assertTrue(
+          e.tripMax <= bounds.maxRoundTrip,
+          prefix + "round trip error %s exceeds %s"
+            .formatted(
+              Double.valueOf(e.tripMax),
+              Double.valueOf(bounds.maxRoundTrip)));
+      });
+      assertions.add(() -> {
+        assertTrue(
+          e.wrapMax <= bounds.maxAbsolute,
+          prefix + "%d hues wrapped around, by up to %s, exceeding %s"
+            .formatted(
+              Long.valueOf(e.wraps),
+              Double.valueOf(e.wrapMax),
+              Double.valueOf(bounds.maxAbsolute)));
+      });
+      assertions.add(() -> {
+        assertEquals(
+          0L,
+          e.greyViolations,
+          prefix + "produced saturation or hue for achromatic inputs");
+      });
+    }
+    assertAll(assertions);
+  }
+
+  /**
+   * The eight bit levels {@code 0, stride, 2 * stride, ...}, always
+   * including {@code 255}.
+   */
+
+  private static int[] levels(
+    final int stride)
+  {
+    return IntStream.concat(
+      IntStream.iterate(0, x -> x < 255, x -> x + stride),
+      IntStream.of(255)
+    ).toArray();
+  }
+
+  /**
+   * Evaluate every strategy over the colors of the eight bit RGB cube whose
+   * channels all take one of the given levels.
+   */
+
+  private static Errors[] cube(
+    final List<Strategy> strategies,
+    final int[] levels)
+  {
+    final var plane = levels.length * levels.length;
+    return POOL.submit(() -> {
+      return IntStream.of(levels)
+        .parallel()
+        .mapToObj(red -> {
+          final var rgb = new double[plane * 4];
+          int i = 0;
+          for (final var green : levels) {
+            for (final var blue : levels) {
+              rgb[i] = red / 255.0;
+              rgb[i + 1] = green / 255.0;
+              rgb[i + 2] = blue / 255.0;
+              rgb[i + 3] = 1.0;
+              i += 4;
+            }
+          }
+          return evaluate(strategies, rgb, plane);
+        })
+        .reduce(HSVGoldenTest::merge)
+        .orElseThrow();
+    }).join();
+  }
+
+  /**
+   * Every strategy over every fourth level of each channel of the eight bit
+   * RGB cube, plus the maximum level.
+   */
+
+  @Test
+  public void testCube8Strided()
+  {
+    final var strategies = strategies();
+    final var levels = levels(4);
+    final var errors = cube(strategies, levels);
+
+    assertEquals(65, levels.length);
+    assertEquals(65L * 65L * 65L, errors[0].pixels);
+    check("cube8/4", strategies, errors);
+  }
+
+  /**
+   * Every strategy over all 16777216 colors of the eight bit RGB cube.
+   */
+
+  @Test
+  @Tag("exhaustive")
+  public void testCube8()
+  {
+    final var strategies = strategies();
+    final var errors = cube(strategies, levels(1));
+
+    assertEquals(16777216L, errors[0].pixels);
+    check("cube8", strategies, errors);
+  }
+
+  /**
+   * Every strategy over random doubles, including values outside of the
+   * range {@code [0, 1]}, and colors near the hue wrap-around.
+   */
+
+  @Test
+  public void testRandom()
+  {
+    final var strategies = strategies();
+    final var chunks = 64;
+    final var chunkPixels = 16384;
+
+    final var errors =
+      POOL.submit(() -> {
+        return IntStream.range(0, chunks)
+          .parallel()
+          .mapToObj(chunk -> {
+            final var rgb = HSVBulkTest.randomPixels(0x50L + chunk, chunkPixels);
+            final var random = new Random(0x90L + chunk);
+
+            /*
+             * Make a quarter of the pixels reds with a trace of blue, whose
+             * hues lie just below 1.0 and wrap around to 0.0.
+             */
+
+            for (int index = 0; index < chunkPixels / 4; ++index) {
+              final var o = (index * 4 + 1) * 4;
+              final var r = 0.5 + random.nextDouble() * 0.5;
+              rgb[o] = r;
+              rgb[o + 1] = 0.0;
+              rgb[o + 2] = r * random.nextDouble() * 1.0e-6;
+              rgb[o + 3] = 1.0;
+            }
+            return evaluate(strategies, rgb, chunkPixels);
+          })
+          .reduce(HSVGoldenTest::merge)
+          .orElseThrow();
+      }).join();
+
+    check("random", strategies, errors);
+  }
+
+  private interface ConversionType
+  {
+    void convert(
+      double[] source,
+      double[] target,
+      int pixels);
+  }
+
+  private record Bounds(
+    double maxAbsolute,
+    double maxUlps,
+    double maxRoundTrip)
+  {
+
+  }
+
+  private record Strategy(
+    String name,
+    Bounds bounds,
+    ConversionType toHSV,
+    ConversionType toRGB)
+  {
+
+  }
+
+  private static final class Errors
+  {
+    private long pixels;
+    private double hsvMax;
+    private double hsvSum;
+    private double hsvMaxUlp;
+    private double hsvSumUlp;
+    private double rgbMax;
+    private double rgbSum;
+    private double rgbMaxUlp;
+    private double tripMax;
+    private double tripSum;
+    private long wraps;
+    private double wrapMax;
+    private long greyViolations;
+    private String worst = "";
+
+    Errors()
+    {
+
+    }
+
+    void hsv(
+      final double[] expected,
+      final double[] received,
+      final int index)
+    {
+      /*
+       * Hue is compared around the hue circle, and the hue error is scaled
+       * by the chroma of the reference color: The hue of a nearly grey
+       * color is ill-conditioned, and a large hue error there corresponds
+       * to a tiny change in the color itself. A hue that has wrapped around
+       * to the other side of the circle is legitimate only if it is close
+       * to the reference around the circle, and so the largest (scaled)
+       * distance of a wrapped hue is recorded separately and checked.
+       */
+
+      final var h0 = expected[index];
+      final var h1 = received[index];
+      final var hd = Math.abs(h0 - h1);
+      if (hd > 0.5) {
+        ++this.wraps;
+        this.wrapMax = Math.max(
+          this.wrapMax,
+          (1.0 - hd) * expected[index + 1] * expected[index + 2]);
+      }
+
+      final var expectedGrey = expected[index + 1] == 0.0;
+      if (expectedGrey && (received[index] != 0.0 || received[index + 1] != 0.0)) {
+        ++this.greyViolations;
+      }
+
+      double worstHere = 0.0;
+      for (int c = 0; c < 3; ++c) {
+        double d = Math.abs(expected[index + c] - received[index + c]);
+        if (c == 0) {
+          d = Math.min(d, 1.0 - d) * expected[index + 1] * expected[index + 2];
+        }
+        worstHere = Math.max(worstHere, d);
+        this.hsvSum += d;
+        final var u = ulps(d);
+        this.hsvSumUlp += u;
+        this.hsvMaxUlp = Math.max(this.hsvMaxUlp, u);
+      }
+      if (worstHere > this.hsvMax) {
+        this.hsvMax = worstHere;
+        this.worst = "expected %s %s %s received %s %s %s".formatted(
+          Double.valueOf(expected[index]),
+          Double.valueOf(expected[index + 1]),
+          Double.valueOf(expected[index + 2]),
+          Double.valueOf(received[index]),
+          Double.valueOf(received[index + 1]),
+          Double.valueOf(received[index + 2]));
+      }
+    }
+
+    void rgb(
+      final double[] expected,
+      final double[] received,
+      final int index)
+    {
+      for (int c = 0; c < 3; ++c) {
+        final var d = Math.abs(expected[index + c] - received[index + c]);
+        this.rgbSum += d;
+        this.rgbMax = Math.max(this.rgbMax, d);
+        this.rgbMaxUlp = Math.max(this.rgbMaxUlp, ulps(d));
+      }
+    }
+
+    void roundTrip(
+      final double[] original,
+      final double[] received,
+      final int index)
+    {
+      for (int c = 0; c < 3; ++c) {
+        final var d = Math.abs(clamp(original[index + c]) - received[index + c]);
+        this.tripSum += d;
+        this.tripMax = Math.max(this.tripMax, d);
+      }
+    }
+
+    Errors combine(
+      final Errors other)
+    {
+      final var r = new Errors();
+      r.pixels = this.pixels + other.pixels;
+      r.hsvMax = Math.max(this.hsvMax, other.hsvMax);
+      r.worst = this.hsvMax >= other.hsvMax ? this.worst : other.worst;
+      r.hsvSum = this.hsvSum + other.hsvSum;
+      r.hsvMaxUlp = Math.max(this.hsvMaxUlp, other.hsvMaxUlp);
+      r.hsvSumUlp = this.hsvSumUlp + other.hsvSumUlp;
+      r.rgbMax = Math.max(this.rgbMax, other.rgbMax);
+      r.rgbSum = this.rgbSum + other.rgbSum;
+      r.rgbMaxUlp = Math.max(this.rgbMaxUlp, other.rgbMaxUlp);
+      r.tripMax = Math.max(this.tripMax, other.tripMax);
+      r.tripSum = this.tripSum + other.tripSum;
+      r.wraps = this.wraps + other.wraps;
+      r.wrapMax = Math.max(this.wrapMax, other.wrapMax);
+      r.greyViolations = this.greyViolations + other.greyViolations;
+      return r;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.HSVStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HSVStatisticsTest
+{
+  private static final double EPSILON = 1.0e-9;
+
+  @Test
+  public void testEmpty()
+  {
+    final var s = HSVStatistics.of(new double[0], 0, 0);
+    assertEquals(HSVStatistics.EMPTY, s);
+    assertEquals(0.0, s.meanHue());
+    assertEquals(0.0, s.meanSaturation());
+    assertEquals(0.0, s.meanValue());
+    assertEquals(0.0, s.hueConcentration());
+  }
+
+  @Test
+  public void testCircularMean()
+  {
+    /*
+     * The circular mean of hues either side of red is red, not cyan.
+     */
+
+    final var s = HSVStatistics.of(
+      new double[]{
+        0.95, 1.0, 0.2, 1.0,
+        0.05, 1.0, 0.8, 1.0,
+        0.5, 0.0, 0.5, 1.0,
+      },
+      0,
+      3
+    );
+
+    final var hue = s.meanHue();
+    assertEquals(0.0, Math.min(hue, 1.0 - hue), EPSILON);
+    assertEquals(2.0 / 3.0, s.meanSaturation(), EPSILON);
+    assertEquals(0.5, s.meanValue(), EPSILON);
+    assertEquals(0.2, s.valueMin());
+    assertEquals(0.8, s.valueMax());
+    assertEquals(Math.cos(0.1 * Math.PI), s.hueConcentration(), EPSILON);
+  }
+
+  @Test
+  public void testCombineMatchesWhole()
+  {
+    final var pixels = 10000;
+    final var source = HSVBulkTest.randomPixels(0x43L, pixels);
+    final var whole = HSVStatistics.of(source, 0, pixels);
+    final var parts =
+      HSVStatistics.of(source, 0, 1234)
+        .combine(HSVStatistics.of(source, 1234 * 4, pixels - 1234));
+
+    assertEquals(whole.pixels(), parts.pixels());
+    assertEquals(whole.meanHue(), parts.meanHue(), EPSILON);
+    assertEquals(whole.meanSaturation(), parts.meanSaturation(), EPSILON);
+    assertEquals(whole.meanValue(), parts.meanValue(), EPSILON);
+    assertEquals(whole.valueMin(), parts.valueMin());
+    assertEquals(whole.valueMax(), parts.valueMax());
+  }
+
+  @Test
+  public void testParallelMatchesSerial()
+  {
+    final var pixels = 100000;
+    final var source = HSVBulkTest.randomPixels(0x44L, pixels);
+    final var serial = HSVStatistics.of(source, 0, pixels);
+
+    final HSVStatistics parallel;
+    try (var pool = new ForkJoinPool(4)) {
+      parallel = HSVStatistics.ofParallel(pool, source, 0, pixels);
+    }
+
+    assertEquals(serial.pixels(), parallel.pixels());
+    assertEquals(serial.meanHue(), parallel.meanHue(), EPSILON);
+    assertEquals(serial.meanSaturation(), parallel.meanSaturation(), EPSILON);
+    assertEquals(serial.meanValue(), parallel.meanValue(), EPSILON);
+    assertEquals(serial.valueMin(), parallel.valueMin());
+    assertEquals(serial.valueMax(), parallel.valueMax());
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      HSVStatistics.of(new double[7], 0, 2);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new HSVStatistics(-1L, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+    });
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.HSVThreshold;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class HSVThresholdTest
+{
+  private static final HSVThreshold REDS =
+    HSVThreshold.of(0.9, 0.1, 0.25, 1.0, 0.2, 1.0);
+
+  @Test
+  public void testMaskMatchesHSV()
+  {
+    final var pixels = 10000;
+    final var source = HSVBulkTest.randomPixels(0x46L, pixels);
+    final var hsv = new double[source.length];
+    HSVBulk.toHSV(source, 0, hsv, 0, pixels);
+
+    final var bits = new long[(pixels + 63) / 64];
+    REDS.mask(source, 0, bits, 0, pixels);
+    final var set = BitSet.valueOf(bits);
+
+    int inside = 0;
+    for (int index = 0; index < pixels; ++index) {
+      final var expected = REDS.contains(
+        hsv[index * 4],
+        hsv[index * 4 + 1],
+        hsv[index * 4 + 2]
+      );
+      assertEquals(expected, set.get(index), "Pixel " + index);
+      if (expected) {
+        ++inside;
+      }
+    }
+    assertTrue(inside > 0);
+    assertTrue(inside < pixels);
+  }
+
+  @Test
+  public void testHueWraps()
+  {
+    final var source = new double[]{
+      1.0, 0.0, 0.0, 1.0,
+      1.0, 0.0, 0.2, 1.0,
+      1.0, 0.2, 0.0, 1.0,
+      0.0, 1.0, 0.0, 1.0,
+      0.5, 0.5, 0.5, 1.0,
+    };
+    final var bits = new long[1];
+    REDS.mask(source, 0, bits, 0, 5);
+    assertEquals(0b00111L, bits[0]);
+
+    final var matte = new byte[5];
+    REDS.matte(source, 0, matte, 0, 5);
+    assertArrayEquals(new byte[]{-1, -1, -1, 0, 0}, matte);
+
+    assertTrue(REDS.contains(0.95, 0.5, 0.5));
+    assertTrue(REDS.contains(0.05, 0.5, 0.5));
+    assertFalse(REDS.contains(0.5, 0.5, 0.5));
+  }
+
+  @Test
+  public void testMaskPreservesOtherBits()
+  {
+    final var pixels = 100;
+    final var source = new double[pixels * 4];
+    final var bits = new long[]{-1L, -1L, -1L, -1L};
+    REDS.mask(source, 0, bits, 37, pixels);
+
+    final var set = BitSet.valueOf(bits);
+    for (int index = 0; index < 256; ++index) {
+      assertEquals(index < 37 || index >= 137, set.get(index), "Bit " + index);
+    }
+  }
+
+  @Test
+  public void testMatteFeather()
+  {
+    final var threshold =
+      HSVThreshold.of(0.0, 1.0, 0.0, 1.0, 0.5, 1.0)
+        .withFeather(0.0, 0.0, 0.25);
+    final var source = new double[]{
+      0.5, 0.5, 0.5, 1.0,
+      0.375, 0.375, 0.375, 1.0,
+      0.25, 0.25, 0.25, 1.0,
+      0.1, 0.1, 0.1, 1.0,
+    };
+    final var matte = new byte[4];
+    threshold.matte(source, 0, matte, 0, 4);
+    assertEquals(255, Byte.toUnsignedInt(matte[0]));
+    assertEquals(128, Byte.toUnsignedInt(matte[1]));
+    assertEquals(0, Byte.toUnsignedInt(matte[2]));
+    assertEquals(0, Byte.toUnsignedInt(matte[3]));
+
+    final var bits = new long[1];
+    threshold.mask(source, 0, bits, 0, 4);
+    assertEquals(0b0001L, bits[0]);
+  }
+
+  @Test
+  public void testHueFeatherWraps()
+  {
+    final var threshold =
+      HSVThreshold.of(0.95, 0.05, 0.0, 1.0, 0.0, 1.0)
+        .withFeather(0.1, 0.0, 0.0);
+
+    /*
+     * Hue 0.1 (36 degrees) lies 0.05 outside of the range.
+     */
+
+    final var source = new double[]{
+      1.0, 0.6, 0.0, 1.0,
+      0.0, 1.0, 0.0, 1.0,
+    };
+    final var matte = new byte[2];
+    threshold.matte(source, 0, matte, 0, 2);
+    assertEquals(128, Byte.toUnsignedInt(matte[0]), 1);
+    assertEquals(0, Byte.toUnsignedInt(matte[1]));
+  }
+
+  @Test
+  public void testParallelMatchesSerial()
+  {
+    final var pixels = 100003;
+    final var source = HSVBulkTest.randomPixels(0x47L, pixels);
+    final var threshold = REDS.withFeather(0.05, 0.1, 0.1);
+
+    final var serialBits = new long[(pixels + 64 + 63) / 64];
+    final var parallelBits = new long[serialBits.length];
+    final var serialMatte = new byte[pixels];
+    final var parallelMatte = new byte[pixels];
+
+    try (var pool = new ForkJoinPool(4)) {
+      threshold.mask(source, 0, serialBits, 29, pixels);
+      threshold.maskParallel(pool, source, 0, parallelBits, 29, pixels);
+      assertArrayEquals(serialBits, parallelBits);
+
+      threshold.matte(source, 0, serialMatte, 0, pixels);
+      threshold.matteParallel(pool, source, 0, parallelMatte, 0, pixels);
+      assertArrayEquals(serialMatte, parallelMatte);
+    }
+  }
+
+  @Test
+  public void testBounds()
+  {
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      REDS.mask(new double[400], 0, new long[1], 1, 64);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      REDS.mask(new double[7], 0, new long[1], 0, 2);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      REDS.matte(new double[8], 0, new byte[1], 0, 2);
+    });
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      HSVThreshold.of(1.5, 0.0, 0.0, 1.0, 0.0, 1.0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      HSVThreshold.of(0.0, 1.0, 0.6, 0.5, 0.0, 1.0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      HSVThreshold.of(0.0, 1.0, 0.0, 1.0, 0.6, 0.5);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      REDS.withFeather(0.6, 0.0, 0.0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      REDS.withFeather(0.0, Double.NaN, 0.0);
+    });
+  }
+}
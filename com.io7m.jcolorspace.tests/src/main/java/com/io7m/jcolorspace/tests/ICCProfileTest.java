@@ -0,0 +1,456 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorBulk;
+import com.io7m.jcolorspace.core.ColorSpaceTagLinearRGBType;
+import com.io7m.jcolorspace.core.ICCProfile;
+import com.io7m.jcolorspace.core.ICCProfileException;
+import com.io7m.jcolorspace.core.ICCTransformKind;
+import com.io7m.jcolorspace.core.ICCTransforms;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.color.ColorSpace;
+import java.awt.color.ICC_ColorSpace;
+import java.awt.color.ICC_Profile;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ICCProfileTest
+{
+  /**
+   * The sRGB colorants adapted to the D50 profile connection space.
+   */
+
+  private static final double[][] SRGB_COLORANTS = {
+    {0.4361, 0.2225, 0.0139},
+    {0.3851, 0.7169, 0.0971},
+    {0.1431, 0.0606, 0.7141},
+  };
+
+  /**
+   * Load one of the profiles shipped with the JDK. The files are read
+   * directly, because {@link ICC_Profile#getData()} re-serializes profiles
+   * and may fail once a profile has been used for conversions.
+   */
+
+  private static ICCProfile jdkProfile(
+    final String name)
+    throws IOException
+  {
+    final var jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+    return ICCProfile.open(
+      jrt.getPath("modules", "java.desktop", "sun/java2d/cmm/profiles", name));
+  }
+
+  private static double[] randomInRange(
+    final long seed,
+    final int pixels)
+  {
+    final var random = new Random(seed);
+    final var data = new double[pixels * 4];
+    for (int index = 0; index < data.length; ++index) {
+      data[index] = random.nextDouble();
+    }
+    return data;
+  }
+
+  private static double srgbDecode(
+    final double x)
+  {
+    if (x <= 0.04045) {
+      return x / 12.92;
+    }
+    return Math.pow((x + 0.055) / 1.055, 2.4);
+  }
+
+  @Test
+  public void testParseSRGB()
+    throws Exception
+  {
+    final var p = jdkProfile("sRGB.pf");
+    assertEquals(2, p.versionMajor());
+    assertEquals("mntr", p.deviceClass());
+    assertEquals("RGB ", p.colorSpace());
+    assertEquals("XYZ ", p.connectionSpace());
+    assertTrue(p.isMatrixShaper());
+    assertTrue(p.canConvertFromDevice());
+    assertTrue(p.canConvertToDevice());
+    assertTrue(p.tags().contains("rTRC"));
+    assertEquals(32, p.id().length());
+    assertEquals(p.id(), jdkProfile("sRGB.pf").id());
+  }
+
+  @Test
+  public void testSRGBIdentity()
+    throws Exception
+  {
+    final var p = jdkProfile("sRGB.pf");
+    final var t = ICCTransforms.compile(p, p);
+    assertEquals(ICCTransformKind.MATRIX_SHAPER, t.kind());
+
+    final var pixels = 10_000;
+    final var source = randomInRange(0x35L, pixels);
+    final var target = new double[source.length];
+    t.convert(source, 0, target, 0, pixels);
+    assertArrayEquals(source, target, 1.0e-3);
+  }
+
+  @Test
+  public void testSRGBToLinear()
+    throws Exception
+  {
+    final var t = ICCTransforms.compile(
+      jdkProfile("sRGB.pf"),
+      jdkProfile("LINEAR_RGB.pf")
+    );
+    assertEquals(ICCTransformKind.MATRIX_SHAPER, t.kind());
+
+    final var pixels = 10_000;
+    final var source = randomInRange(0x36L, pixels);
+    final var target = new double[source.length];
+    t.convert(source, 0, target, 0, pixels);
+
+    for (int index = 0; index < source.length; ++index) {
+      if (index % 4 == 3) {
+        assertEquals(source[index], target[index]);
+      } else {
+        assertEquals(srgbDecode(source[index]), target[index], 2.0e-3);
+      }
+    }
+  }
+
+  @Test
+  public void testTransformsCached()
+    throws Exception
+  {
+    final var a = ICCTransforms.compile(
+      jdkProfile("LINEAR_RGB.pf"), jdkProfile("sRGB.pf"));
+    final var b = ICCTransforms.compile(
+      jdkProfile("LINEAR_RGB.pf"), jdkProfile("sRGB.pf"));
+    assertSame(a, b);
+  }
+
+  @Test
+  public void testLUTProfileMatchesJDK()
+    throws Exception
+  {
+    final var pycc = jdkProfile("PYCC.pf");
+    final var srgb = jdkProfile("sRGB.pf");
+    assertFalse(pycc.isMatrixShaper());
+
+    final var t = ICCTransforms.compile(pycc, srgb);
+    assertEquals(ICCTransformKind.LUT_3D, t.kind());
+
+    final var jdk = new ICC_ColorSpace(ICC_Profile.getInstance(ColorSpace.CS_PYCC));
+    final var pixels = 1000;
+    final var source = randomInRange(0x37L, pixels);
+    final var target = new double[source.length];
+    t.convert(source, 0, target, 0, pixels);
+
+    double errorMax = 0.0;
+    double errorSum = 0.0;
+    for (int index = 0; index < pixels; ++index) {
+      final var p = index * 4;
+      final var expected = jdk.toRGB(new float[]{
+        (float) source[p], (float) source[p + 1], (float) source[p + 2],
+      });
+      for (int c = 0; c < 3; ++c) {
+        final var error = Math.abs(expected[c] - target[p + c]);
+        errorMax = Math.max(errorMax, error);
+        errorSum += error;
+      }
+    }
+
+    /*
+     * The compiled lookup table is interpolated linearly across the points
+     * at which the JDK clips colors, so individual pixels near those points
+     * may differ noticeably (as does the JDK, which also uses interpolated
+     * tables); the average error must remain small.
+     */
+
+    assertTrue(errorSum / (pixels * 3) < 5.0e-3, "Mean " + errorSum / (pixels * 3));
+    assertTrue(errorMax < 0.1, "Max " + errorMax);
+  }
+
+  @Test
+  public void testLegacyLUTTargetMatchesJDK()
+    throws Exception
+  {
+    final var pycc = jdkProfile("PYCC.pf");
+    final var srgb = jdkProfile("sRGB.pf");
+    final var t = ICCTransforms.compile(srgb, pycc);
+    assertEquals(ICCTransformKind.LUT_3D, t.kind());
+
+    final var jdk = new ICC_ColorSpace(ICC_Profile.getInstance(ColorSpace.CS_PYCC));
+    final var pixels = 1000;
+    final var source = randomInRange(0x38L, pixels);
+    final var target = new double[source.length];
+    t.convert(source, 0, target, 0, pixels);
+
+    double errorMax = 0.0;
+    double errorSum = 0.0;
+    for (int index = 0; index < pixels; ++index) {
+      final var p = index * 4;
+      final var expected = jdk.fromRGB(new float[]{
+        (float) source[p], (float) source[p + 1], (float) source[p + 2],
+      });
+      for (int c = 0; c < 3; ++c) {
+        final var error = Math.abs(expected[c] - target[p + c]);
+        errorMax = Math.max(errorMax, error);
+        errorSum += error;
+      }
+    }
+
+    /*
+     * The compiled lookup table is interpolated linearly across the points
+     * at which the JDK clips colors, so individual pixels near those points
+     * may differ noticeably (as does the JDK, which also uses interpolated
+     * tables); the average error must remain small.
+     */
+
+    assertTrue(errorSum / (pixels * 3) < 5.0e-3, "Mean " + errorSum / (pixels * 3));
+    assertTrue(errorMax < 0.1, "Max " + errorMax);
+  }
+
+  @Test
+  public void testSyntheticLUTMatchesMatrixTRC(
+    @TempDir final Path directory)
+    throws Exception
+  {
+    final var lutFile = directory.resolve("lut.icc");
+    Files.write(lutFile, lutProfile());
+    final var lut = ICCProfile.open(lutFile);
+    final var matrix = ICCProfile.parse(matrixProfile());
+    final var srgb = jdkProfile("sRGB.pf");
+
+    assertEquals(4, lut.versionMajor());
+    assertFalse(lut.isMatrixShaper());
+    assertFalse(lut.canConvertToDevice());
+    assertTrue(matrix.isMatrixShaper());
+
+    final var tLut = ICCTransforms.compile(lut, srgb);
+    final var tMatrix = ICCTransforms.compile(matrix, srgb);
+    assertEquals(ICCTransformKind.LUT_3D, tLut.kind());
+    assertEquals(ICCTransformKind.MATRIX_SHAPER, tMatrix.kind());
+
+    final var pixels = 100_000;
+    final var source = randomInRange(0x39L, pixels);
+    final var viaLut = new double[source.length];
+    final var viaMatrix = new double[source.length];
+    ColorBulk.convertParallel(
+      ForkJoinPool.commonPool(),
+      tLut.<ColorSpaceTagLinearRGBType, ColorSpaceTagLinearRGBType>conversion(),
+      source,
+      0,
+      viaLut,
+      0,
+      pixels
+    );
+    tMatrix.convert(source, 0, viaMatrix, 0, pixels);
+    assertArrayEquals(viaMatrix, viaLut, 5.0e-3);
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      ICCTransforms.compile(srgb, lut);
+    });
+  }
+
+  @Test
+  public void testMalformed()
+    throws Exception
+  {
+    final var data = ICC_Profile.getInstance(ColorSpace.CS_LINEAR_RGB).getData();
+    assertThrows(ICCProfileException.class, () -> {
+      ICCProfile.parse(Arrays.copyOf(data, 100));
+    });
+    assertThrows(ICCProfileException.class, () -> {
+      ICCProfile.parse(Arrays.copyOf(data, 400));
+    });
+
+    final var noSignature = data.clone();
+    noSignature[36] = 'x';
+    assertThrows(ICCProfileException.class, () -> {
+      ICCProfile.parse(noSignature);
+    });
+  }
+
+  /*
+   * Functions to build minimal profiles.
+   */
+
+  private static byte[] profile(
+    final int version,
+    final List<String> signatures,
+    final List<byte[]> tags)
+  {
+    final var table = 4 + signatures.size() * 12;
+    int offset = 128 + table;
+    final var offsets = new ArrayList<Integer>();
+    for (final var tag : tags) {
+      offsets.add(Integer.valueOf(offset));
+      offset += (tag.length + 3) & ~3;
+    }
+
+    final var buffer = ByteBuffer.allocate(offset);
+    buffer.putInt(0, offset);
+    buffer.putInt(8, version);
+    buffer.put(12, "mntr".getBytes(StandardCharsets.US_ASCII));
+    buffer.put(16, "RGB ".getBytes(StandardCharsets.US_ASCII));
+    buffer.put(20, "XYZ ".getBytes(StandardCharsets.US_ASCII));
+    buffer.put(36, "acsp".getBytes(StandardCharsets.US_ASCII));
+    buffer.putInt(128, signatures.size());
+    for (int index = 0; index < signatures.size(); ++index) {
+      final var entry = 132 + index * 12;
+      buffer.put(entry, signatures.get(index).getBytes(StandardCharsets.US_ASCII));
+      buffer.putInt(entry + 4, offsets.get(index).intValue());
+      buffer.putInt(entry + 8, tags.get(index).length);
+      buffer.put(offsets.get(index).intValue(), tags.get(index));
+    }
+    return buffer.array();
+  }
+
+  private static int fixed(
+    final double x)
+  {
+    return (int) Math.round(x * 65536.0);
+  }
+
+  private static byte[] xyzTag(
+    final double[] xyz)
+  {
+    final var buffer = ByteBuffer.allocate(20);
+    buffer.put("XYZ ".getBytes(StandardCharsets.US_ASCII));
+    buffer.putInt(0);
+    for (final var x : xyz) {
+      buffer.putInt(fixed(x));
+    }
+    return buffer.array();
+  }
+
+  private static byte[] gammaPara(
+    final double gamma)
+  {
+    final var buffer = ByteBuffer.allocate(16);
+    buffer.put("para".getBytes(StandardCharsets.US_ASCII));
+    buffer.putInt(0);
+    buffer.putShort((short) 0);
+    buffer.putShort((short) 0);
+    buffer.putInt(fixed(gamma));
+    return buffer.array();
+  }
+
+  private static byte[] identityCurv()
+  {
+    final var buffer = ByteBuffer.allocate(12);
+    buffer.put("curv".getBytes(StandardCharsets.US_ASCII));
+    buffer.putInt(0);
+    buffer.putInt(0);
+    return buffer.array();
+  }
+
+  private static byte[] matrixProfile()
+  {
+    final var curve = gammaPara(2.2);
+    return profile(
+      0x04300000,
+      List.of("rXYZ", "gXYZ", "bXYZ", "rTRC", "gTRC", "bTRC"),
+      List.of(
+        xyzTag(SRGB_COLORANTS[0]),
+        xyzTag(SRGB_COLORANTS[1]),
+        xyzTag(SRGB_COLORANTS[2]),
+        curve,
+        curve,
+        curve
+      )
+    );
+  }
+
+  /**
+   * A profile whose A2B0 tag applies gamma 2.2 curves followed by a 2x2x2
+   * CLUT holding the colorant matrix: Equivalent to {@link #matrixProfile()}.
+   */
+
+  private static byte[] lutProfile()
+    throws Exception
+  {
+    final var bytes = new ByteArrayOutputStream();
+    final var header = ByteBuffer.allocate(32);
+    header.put("mAB ".getBytes(StandardCharsets.US_ASCII));
+    header.putInt(0);
+    header.put((byte) 3);
+    header.put((byte) 3);
+    header.putShort((short) 0);
+    header.putInt(32);
+    header.putInt(0);
+    header.putInt(0);
+    header.putInt(32 + 36 + 48);
+    header.putInt(32 + 36);
+    bytes.write(header.array());
+
+    for (int index = 0; index < 3; ++index) {
+      bytes.write(identityCurv());
+    }
+    for (int index = 0; index < 3; ++index) {
+      bytes.write(gammaPara(2.2));
+    }
+
+    final var clut = ByteBuffer.allocate(20 + 8 * 3 * 2);
+    clut.put(0, (byte) 2);
+    clut.put(1, (byte) 2);
+    clut.put(2, (byte) 2);
+    clut.put(16, (byte) 2);
+    int position = 20;
+    for (int r = 0; r < 2; ++r) {
+      for (int g = 0; g < 2; ++g) {
+        for (int b = 0; b < 2; ++b) {
+          for (int c = 0; c < 3; ++c) {
+            final var xyz =
+              SRGB_COLORANTS[0][c] * r
+                + SRGB_COLORANTS[1][c] * g
+                + SRGB_COLORANTS[2][c] * b;
+            final var encoded = xyz / (65535.0 / 32768.0);
+            clut.putShort(position, (short) Math.round(encoded * 65535.0));
+            position += 2;
+          }
+        }
+      }
+    }
+    bytes.write(clut.array());
+
+    return profile(0x04300000, List.of("A2B0"), List.of(bytes.toByteArray()));
+  }
+}
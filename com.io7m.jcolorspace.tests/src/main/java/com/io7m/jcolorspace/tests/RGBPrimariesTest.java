@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.Chromaticity;
+import com.io7m.jcolorspace.core.RGBBulk;
+import com.io7m.jcolorspace.core.RGBConversionMatrices;
+import com.io7m.jcolorspace.core.RGBPrimaries;
+import com.io7m.jtensors.core.parameterized.matrices.PMatrices3x3D;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class RGBPrimariesTest
+{
+  private static final double EPSILON = 1.0e-4;
+
+  private static final List<RGBPrimaries> SPACES = List.of(
+    RGBPrimaries.SRGB,
+    RGBPrimaries.DISPLAY_P3,
+    RGBPrimaries.REC2020,
+    RGBPrimaries.ADOBE_RGB
+  );
+
+  @Test
+  public void testSRGBToXYZ()
+  {
+    final var m = RGBConversionMatrices.toXYZ(RGBPrimaries.SRGB);
+    assertEquals(0.4124, m.r0c0(), EPSILON);
+    assertEquals(0.3576, m.r0c1(), EPSILON);
+    assertEquals(0.1805, m.r0c2(), EPSILON);
+    assertEquals(0.2126, m.r1c0(), EPSILON);
+    assertEquals(0.7152, m.r1c1(), EPSILON);
+    assertEquals(0.0722, m.r1c2(), EPSILON);
+    assertEquals(0.0193, m.r2c0(), EPSILON);
+    assertEquals(0.1192, m.r2c1(), EPSILON);
+    assertEquals(0.9505, m.r2c2(), EPSILON);
+  }
+
+  @Test
+  public void testSRGBToDisplayP3()
+  {
+    final var m =
+      RGBConversionMatrices.matrix(RGBPrimaries.SRGB, RGBPrimaries.DISPLAY_P3);
+    assertEquals(0.8225, m.r0c0(), 1.0e-3);
+    assertEquals(0.1774, m.r0c1(), 1.0e-3);
+    assertEquals(0.0000, m.r0c2(), 1.0e-3);
+    assertEquals(0.0332, m.r1c0(), 1.0e-3);
+    assertEquals(0.9669, m.r1c1(), 1.0e-3);
+    assertEquals(0.0000, m.r1c2(), 1.0e-3);
+    assertEquals(0.0171, m.r2c0(), 1.0e-3);
+    assertEquals(0.0724, m.r2c1(), 1.0e-3);
+    assertEquals(0.9108, m.r2c2(), 1.0e-3);
+  }
+
+  @Test
+  public void testWhitePreserved()
+  {
+    for (final var source : SPACES) {
+      for (final var target : SPACES) {
+        final var white = new double[]{1.0, 1.0, 1.0, 0.5};
+        RGBBulk.convert(source, target, white, 0, white, 0, 1);
+        assertArrayEquals(new double[]{1.0, 1.0, 1.0, 0.5}, white, 1.0e-9);
+      }
+    }
+  }
+
+  @Test
+  public void testRoundTripIsIdentity()
+  {
+    for (final var source : SPACES) {
+      for (final var target : SPACES) {
+        final var m = PMatrices3x3D.multiply(
+          RGBConversionMatrices.matrix(target, source),
+          RGBConversionMatrices.matrix(source, target)
+        );
+        assertEquals(1.0, m.r0c0(), 1.0e-9);
+        assertEquals(1.0, m.r1c1(), 1.0e-9);
+        assertEquals(1.0, m.r2c2(), 1.0e-9);
+        assertEquals(0.0, m.r0c1(), 1.0e-9);
+        assertEquals(0.0, m.r1c2(), 1.0e-9);
+        assertEquals(0.0, m.r2c0(), 1.0e-9);
+      }
+    }
+  }
+
+  @Test
+  public void testMatricesCached()
+  {
+    final var m0 =
+      RGBConversionMatrices.matrix(RGBPrimaries.REC2020, RGBPrimaries.SRGB);
+    final var m1 =
+      RGBConversionMatrices.matrix(RGBPrimaries.REC2020, RGBPrimaries.SRGB);
+    assertSame(m0, m1);
+    assertSame(
+      RGBConversionMatrices.toXYZ(RGBPrimaries.ADOBE_RGB),
+      RGBConversionMatrices.toXYZ(RGBPrimaries.ADOBE_RGB)
+    );
+  }
+
+  @Test
+  public void testParallelMatchesSequential()
+  {
+    final var pixels = 100_000;
+    final var source = HSVBulkTest.randomPixels(0x32L, pixels);
+    final var sequential = new double[source.length];
+    final var parallel = new double[source.length];
+    RGBBulk.convert(
+      RGBPrimaries.DISPLAY_P3, RGBPrimaries.REC2020,
+      source, 0, sequential, 0, pixels);
+    RGBBulk.convertParallel(
+      ForkJoinPool.commonPool(),
+      RGBPrimaries.DISPLAY_P3, RGBPrimaries.REC2020,
+      source, 0, parallel, 0, pixels);
+    assertArrayEquals(sequential, parallel);
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      Chromaticity.of(0.5, 0.0);
+    });
+
+    final var collinear = new RGBPrimaries(
+      "Collinear",
+      Chromaticity.of(0.1, 0.1),
+      Chromaticity.of(0.2, 0.2),
+      Chromaticity.of(0.3, 0.3),
+      RGBPrimaries.WHITE_D65
+    );
+    assertThrows(IllegalArgumentException.class, () -> {
+      RGBConversionMatrices.matrix(collinear, RGBPrimaries.SRGB);
+    });
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.DitherMethod;
+import com.io7m.jcolorspace.core.SRGBDecoder;
+import com.io7m.jcolorspace.core.SRGBQuantizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SRGBDecoderTest
+{
+  @Test
+  public void testRoundTripExhaustive()
+  {
+    final var bytes = new byte[256 * 4];
+    for (int index = 0; index < 256; ++index) {
+      bytes[index * 4] = (byte) index;
+      bytes[index * 4 + 1] = (byte) (255 - index);
+      bytes[index * 4 + 2] = (byte) (index ^ 0x55);
+      bytes[index * 4 + 3] = (byte) index;
+    }
+
+    final var linear = new double[bytes.length];
+    SRGBDecoder.decodeRGBA(bytes, 0, linear, 0, 256);
+
+    final var back = new byte[bytes.length];
+    SRGBQuantizer.quantizeRGB(DitherMethod.NONE, linear, 0, 256, 1, back, 0);
+    assertArrayEquals(bytes, back);
+  }
+
+  @Test
+  public void testARGBMatchesRGBA()
+  {
+    final var pixels = 5000;
+    final var packed = new int[pixels];
+    final var bytes = new byte[pixels * 4];
+    for (int index = 0; index < pixels; ++index) {
+      final var p = index * 0x9e3779b9;
+      packed[index] = p;
+      bytes[index * 4] = (byte) (p >>> 16);
+      bytes[index * 4 + 1] = (byte) (p >>> 8);
+      bytes[index * 4 + 2] = (byte) p;
+      bytes[index * 4 + 3] = (byte) (p >>> 24);
+    }
+
+    final var expected = new double[pixels * 4];
+    SRGBDecoder.decodeRGBA(bytes, 0, expected, 0, pixels);
+    final var received = new double[pixels * 4 + 4];
+    SRGBDecoder.decodeARGB(packed, 0, received, 4, pixels);
+    for (int index = 0; index < expected.length; ++index) {
+      assertEquals(expected[index], received[index + 4]);
+    }
+
+    final var parallel = new double[pixels * 4];
+    try (var pool = new ForkJoinPool(4)) {
+      SRGBDecoder.decodeARGBParallel(pool, packed, 0, parallel, 0, pixels);
+    }
+    assertArrayEquals(expected, parallel);
+  }
+
+  @Test
+  public void testEndpoints()
+  {
+    final var linear = new double[8];
+    SRGBDecoder.decodeARGB(new int[]{0x00000000, 0xffffffff}, 0, linear, 0, 2);
+    assertArrayEquals(
+      new double[]{0.0, 0.0, 0.0, 0.0, 1.0, 1.0, 1.0, 1.0},
+      linear
+    );
+  }
+
+  @Test
+  public void testBounds()
+  {
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      SRGBDecoder.decodeARGB(new int[2], 0, new double[7], 0, 2);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      SRGBDecoder.decodeRGBA(new byte[7], 0, new double[8], 0, 2);
+    });
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.DitherMethod;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.SRGBQuantizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SRGBQuantizerTest
+{
+  private static double decode(
+    final double x)
+  {
+    if (x <= 0.04045) {
+      return x / 12.92;
+    }
+    return Math.pow((x + 0.055) / 1.055, 2.4);
+  }
+
+  private static double encode(
+    final double x)
+  {
+    if (x <= 0.0031308) {
+      return x * 12.92;
+    }
+    return 1.055 * Math.pow(x, 1.0 / 2.4) - 0.055;
+  }
+
+  private static double[] flat(
+    final int width,
+    final int height,
+    final double encoded)
+  {
+    final var linear = decode(encoded / 255.0);
+    final var data = new double[width * height * 4];
+    for (int index = 0; index < data.length; index += 4) {
+      data[index] = linear;
+      data[index + 1] = linear;
+      data[index + 2] = linear;
+      data[index + 3] = 1.0;
+    }
+    return data;
+  }
+
+  private static double meanRed(
+    final byte[] data)
+  {
+    double sum = 0.0;
+    for (int index = 0; index < data.length; index += 4) {
+      sum += data[index] & 0xff;
+    }
+    return sum / (data.length / 4);
+  }
+
+  @Test
+  public void testNoneRounds()
+  {
+    final var pixels = 4096;
+    final var source = HSVBulkTest.randomPixels(0x30L, pixels);
+    final var target = new byte[pixels * 4];
+    SRGBQuantizer.quantizeRGB(
+      DitherMethod.NONE, source, 0, 64, 64, target, 0);
+
+    int exact = 0;
+    for (int index = 0; index < source.length; ++index) {
+      final var x = Math.min(Math.max(source[index], 0.0), 1.0);
+      final long expected;
+      if (index % 4 == 3) {
+        expected = Math.round(x * 255.0);
+      } else {
+        expected = Math.round(encode(x) * 255.0);
+      }
+      final var received = target[index] & 0xff;
+      assertTrue(Math.abs(expected - received) <= 1);
+      if (expected == received) {
+        ++exact;
+      }
+    }
+    assertTrue(exact > source.length - 16, "Exact " + exact);
+  }
+
+  @ParameterizedTest
+  @EnumSource(DitherMethod.class)
+  public void testMeanPreserved(
+    final DitherMethod method)
+  {
+    for (final var value : new double[]{20.25, 100.375, 180.125, 254.75}) {
+      final var width = 64;
+      final var height = 64;
+      final var source = flat(width, height, value);
+      final var target = new byte[width * height * 4];
+      SRGBQuantizer.quantizeRGB(method, source, 0, width, height, target, 0);
+
+      for (int index = 0; index < target.length; index += 4) {
+        final var r = target[index] & 0xff;
+        assertTrue(Math.abs(r - value) < 1.0, "Component " + r);
+        assertEquals(target[index], target[index + 1]);
+        assertEquals(target[index], target[index + 2]);
+        assertEquals(-1, target[index + 3]);
+      }
+
+      if (method == DitherMethod.NONE) {
+        assertEquals(Math.round(value), meanRed(target), 0.01);
+      } else {
+        assertEquals(value, meanRed(target), 0.02);
+      }
+    }
+  }
+
+  @Test
+  public void testBayerPattern()
+  {
+    final var source = flat(8, 8, 10.5);
+    final var target = new byte[8 * 8 * 4];
+    SRGBQuantizer.quantizeRGB(
+      DitherMethod.BAYER, source, 0, 8, 8, target, 0);
+
+    /*
+     * Exactly half of the thresholds lie above 0.5.
+     */
+
+    int high = 0;
+    for (int index = 0; index < target.length; index += 4) {
+      if (target[index] == 11) {
+        ++high;
+      }
+    }
+    assertEquals(32, high);
+    assertEquals(10, target[0]);
+    assertEquals(11, target[4]);
+  }
+
+  @ParameterizedTest
+  @EnumSource(DitherMethod.class)
+  public void testParallelMatchesSerial(
+    final DitherMethod method)
+  {
+    final var width = 317;
+    final var height = 211;
+    final var source = HSVBulkTest.randomPixels(0x31L, width * height);
+
+    final var serial = new byte[width * height * 4 + 8];
+    final var parallel = new byte[width * height * 4 + 8];
+    SRGBQuantizer.quantizeHSV(
+      method, source, 0, width, height, serial, 8);
+
+    try (var pool = new ForkJoinPool(4)) {
+      for (int attempt = 0; attempt < 4; ++attempt) {
+        SRGBQuantizer.quantizeHSVParallel(
+          pool, method, source, 0, width, height, parallel, 8);
+        assertArrayEquals(serial, parallel);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(DitherMethod.class)
+  public void testHSVMatchesRGB(
+    final DitherMethod method)
+  {
+    final var width = 100;
+    final var height = 50;
+    final var source = HSVBulkTest.randomPixels(0x32L, width * height);
+    final var rgb = new double[source.length];
+    HSVBulk.toRGB(source, 0, rgb, 0, width * height);
+
+    final var fromHSV = new byte[source.length];
+    final var fromRGB = new byte[source.length];
+    SRGBQuantizer.quantizeHSV(method, source, 0, width, height, fromHSV, 0);
+    SRGBQuantizer.quantizeRGB(method, rgb, 0, width, height, fromRGB, 0);
+    assertArrayEquals(fromRGB, fromHSV);
+  }
+
+  @Test
+  public void testFloydSteinbergGradient()
+  {
+    /*
+     * A shallow horizontal gradient spanning two codes: Rounding produces
+     * a single hard edge, whereas error diffusion preserves the mean of
+     * every group of columns.
+     */
+
+    final var width = 256;
+    final var height = 128;
+    final var source = new double[width * height * 4];
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        final var o = (y * width + x) * 4;
+        final var linear = decode((100.0 + x / 256.0) / 255.0);
+        source[o] = linear;
+        source[o + 1] = linear;
+        source[o + 2] = linear;
+        source[o + 3] = 1.0;
+      }
+    }
+
+    final var target = new byte[source.length];
+    SRGBQuantizer.quantizeRGB(
+      DitherMethod.FLOYD_STEINBERG, source, 0, width, height, target, 0);
+
+    for (int x = 0; x < width; x += 16) {
+      double sum = 0.0;
+      double expected = 0.0;
+      for (int column = x; column < x + 16; ++column) {
+        expected += 100.0 + column / 256.0;
+        for (int y = 0; y < height; ++y) {
+          sum += target[(y * width + column) * 4] & 0xff;
+        }
+      }
+      assertEquals(expected / 16.0, sum / (16.0 * height), 0.02, "Columns " + x);
+    }
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      SRGBQuantizer.quantizeRGB(
+        DitherMethod.BAYER, new double[16], 0, 2, 2, new byte[15], 0);
+    });
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      SRGBQuantizer.quantizeRGB(
+        DitherMethod.BAYER, new double[15], 0, 2, 2, new byte[16], 0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      SRGBQuantizer.quantizeRGB(
+        DitherMethod.BAYER, new double[16], 0, -2, 2, new byte[16], 0);
+    });
+
+    SRGBQuantizer.quantizeRGB(
+      DitherMethod.FLOYD_STEINBERG, new double[0], 0, 0, 0, new byte[0], 0);
+  }
+}
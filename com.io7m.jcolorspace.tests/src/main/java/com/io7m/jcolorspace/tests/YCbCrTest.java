@@ -0,0 +1,262 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jcolorspace.tests;
+
+import com.io7m.jcolorspace.core.ColorSpaceTagEncodedRGBType;
+import com.io7m.jcolorspace.core.HSVBulk;
+import com.io7m.jcolorspace.core.YCbCr;
+import com.io7m.jcolorspace.core.YCbCrBulk;
+import com.io7m.jcolorspace.core.YCbCrEncoding;
+import com.io7m.jcolorspace.core.YCbCrImage;
+import com.io7m.jcolorspace.core.YCbCrMatrix;
+import com.io7m.jcolorspace.core.YCbCrRange;
+import com.io7m.jtensors.core.parameterized.vectors.PVector4D;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.DoubleRange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class YCbCrTest
+{
+  private static final double EPSILON = 1.0e-9;
+
+  private static byte[] randomI420(
+    final long seed,
+    final int width,
+    final int height)
+  {
+    final var chroma = ((width + 1) / 2) * ((height + 1) / 2);
+    final var data = new byte[width * height + chroma * 2];
+    new Random(seed).nextBytes(data);
+    return data;
+  }
+
+  /**
+   * Repack an I420 buffer as NV12 (or NV21 if {@code swap} is set).
+   */
+
+  private static byte[] toSemiPlanar(
+    final byte[] i420,
+    final int width,
+    final int height,
+    final boolean swap)
+  {
+    final var luma = width * height;
+    final var chroma = ((width + 1) / 2) * ((height + 1) / 2);
+    final var out = new byte[i420.length];
+    System.arraycopy(i420, 0, out, 0, luma);
+    for (int index = 0; index < chroma; ++index) {
+      final var cb = i420[luma + index];
+      final var cr = i420[luma + chroma + index];
+      out[luma + index * 2] = swap ? cr : cb;
+      out[luma + index * 2 + 1] = swap ? cb : cr;
+    }
+    return out;
+  }
+
+  @ParameterizedTest
+  @EnumSource(YCbCrMatrix.class)
+  public void testFullRangeKnownValues(
+    final YCbCrMatrix matrix)
+  {
+    final var encoding = YCbCrEncoding.of(matrix, YCbCrRange.FULL);
+    final var data = new byte[]{
+      (byte) 0, (byte) 255, (byte) 128, (byte) 128, (byte) 128, (byte) 128,
+    };
+    final var image = YCbCrImage.i444(data, 2, 1);
+    final var out = new double[8];
+    YCbCrBulk.toRGB(image, encoding, out, 0);
+    assertArrayEquals(
+      new double[]{0.0, 0.0, 0.0, 1.0, 1.0, 1.0, 1.0, 1.0}, out, EPSILON);
+  }
+
+  @Test
+  public void testLimitedRangeKnownValues()
+  {
+    final var encoding =
+      YCbCrEncoding.of(YCbCrMatrix.BT709, YCbCrRange.LIMITED);
+
+    /*
+     * Black, white, and BT.709 limited range red (63, 102, 240).
+     */
+
+    final var data = new byte[]{
+      (byte) 16, (byte) 235, (byte) 63,
+      (byte) 128, (byte) 128, (byte) 102,
+      (byte) 128, (byte) 128, (byte) 240,
+    };
+    final var image = YCbCrImage.i444(data, 3, 1);
+    final var out = new double[12];
+    YCbCrBulk.toRGB(image, encoding, out, 0);
+    assertArrayEquals(new double[]{0.0, 0.0, 0.0, 1.0}, slice(out, 0), EPSILON);
+    assertArrayEquals(new double[]{1.0, 1.0, 1.0, 1.0}, slice(out, 1), EPSILON);
+    assertArrayEquals(new double[]{1.0, 0.0, 0.0, 1.0}, slice(out, 2), 0.01);
+  }
+
+  private static double[] slice(
+    final double[] data,
+    final int pixel)
+  {
+    final var out = new double[4];
+    System.arraycopy(data, pixel * 4, out, 0, 4);
+    return out;
+  }
+
+  @Property
+  public void testScalarRoundTrip(
+    @ForAll @DoubleRange(min = 0.0, max = 1.0) final double r,
+    @ForAll @DoubleRange(min = 0.0, max = 1.0) final double g,
+    @ForAll @DoubleRange(min = 0.0, max = 1.0) final double b)
+  {
+    for (final var matrix : YCbCrMatrix.values()) {
+      final var rgb = PVector4D.<ColorSpaceTagEncodedRGBType>of(r, g, b, 0.5);
+      final var back = YCbCr.toRGB(matrix, YCbCr.toYCbCr(matrix, rgb));
+      assertEquals(r, back.x(), EPSILON);
+      assertEquals(g, back.y(), EPSILON);
+      assertEquals(b, back.z(), EPSILON);
+      assertEquals(0.5, back.w());
+    }
+  }
+
+  @Test
+  public void testBulkMatchesScalar()
+  {
+    final var width = 7;
+    final var height = 5;
+    final var data = randomI420(0x1234L, width, height);
+    final var image = YCbCrImage.i420(data, width, height);
+    final var encoding = YCbCrEncoding.of(YCbCrMatrix.BT601, YCbCrRange.FULL);
+    final var out = new double[width * height * 4];
+    YCbCrBulk.toRGB(image, encoding, out, 0);
+
+    final var chromaWidth = (width + 1) / 2;
+    final var chromaSize = chromaWidth * ((height + 1) / 2);
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        final var ci = (y / 2) * chromaWidth + x / 2;
+        final var luma = (data[y * width + x] & 0xff) / 255.0;
+        final var cb = ((data[width * height + ci] & 0xff) - 128.0) / 255.0;
+        final var cr =
+          ((data[width * height + chromaSize + ci] & 0xff) - 128.0) / 255.0;
+        final var expected = YCbCr.toRGB(
+          YCbCrMatrix.BT601, PVector4D.of(luma, cb + 0.5, cr + 0.5, 1.0));
+        final var p = (y * width + x) * 4;
+        assertEquals(expected.x(), out[p], EPSILON);
+        assertEquals(expected.y(), out[p + 1], EPSILON);
+        assertEquals(expected.z(), out[p + 2], EPSILON);
+        assertEquals(1.0, out[p + 3]);
+      }
+    }
+  }
+
+  @Test
+  public void testSemiPlanarLayoutsAgree()
+  {
+    final var width = 33;
+    final var height = 17;
+    final var i420 = randomI420(0x5678L, width, height);
+    final var encoding =
+      YCbCrEncoding.of(YCbCrMatrix.BT2020, YCbCrRange.LIMITED);
+
+    final var expected = new double[width * height * 4];
+    YCbCrBulk.toRGB(YCbCrImage.i420(i420, width, height), encoding, expected, 0);
+
+    final var nv12 = new double[expected.length];
+    YCbCrBulk.toRGB(
+      YCbCrImage.nv12(toSemiPlanar(i420, width, height, false), width, height),
+      encoding,
+      nv12,
+      0);
+    assertArrayEquals(expected, nv12);
+
+    final var nv21 = new double[expected.length];
+    YCbCrBulk.toRGB(
+      YCbCrImage.nv21(toSemiPlanar(i420, width, height, true), width, height),
+      encoding,
+      nv21,
+      0);
+    assertArrayEquals(expected, nv21);
+  }
+
+  @Test
+  public void testParallelMatchesSequential()
+  {
+    final var width = 641;
+    final var height = 479;
+    final var image =
+      YCbCrImage.i420(randomI420(0x9abcL, width, height), width, height);
+    final var encoding = YCbCrEncoding.of(YCbCrMatrix.BT709, YCbCrRange.FULL);
+
+    final var sequential = new double[width * height * 4];
+    final var parallel = new double[width * height * 4];
+    YCbCrBulk.toRGB(image, encoding, sequential, 0);
+    YCbCrBulk.toRGBParallel(
+      ForkJoinPool.commonPool(), image, encoding, parallel, 0);
+    assertArrayEquals(sequential, parallel);
+
+    final var hsvSequential = new double[width * height * 4];
+    final var hsvParallel = new double[width * height * 4];
+    YCbCrBulk.toHSV(image, encoding, hsvSequential, 0);
+    YCbCrBulk.toHSVParallel(
+      ForkJoinPool.commonPool(), image, encoding, hsvParallel, 0);
+    assertArrayEquals(hsvSequential, hsvParallel);
+  }
+
+  @Test
+  public void testFusedHSVMatchesTwoPass()
+  {
+    final var width = 64;
+    final var height = 48;
+    final var image =
+      YCbCrImage.nv12(randomI420(0xdef0L, width, height), width, height);
+    final var encoding =
+      YCbCrEncoding.of(YCbCrMatrix.BT601, YCbCrRange.LIMITED);
+
+    final var rgb = new double[width * height * 4];
+    YCbCrBulk.toRGB(image, encoding, rgb, 0);
+    final var expected = new double[rgb.length];
+    HSVBulk.toHSV(rgb, 0, expected, 0, width * height);
+
+    final var fused = new double[rgb.length];
+    YCbCrBulk.toHSV(image, encoding, fused, 0);
+    assertArrayEquals(expected, fused);
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      YCbCrImage.i420(new byte[10], 4, 4);
+    });
+
+    final var image = YCbCrImage.i420(new byte[24], 4, 4);
+    final var encoding = YCbCrEncoding.of(YCbCrMatrix.BT601, YCbCrRange.FULL);
+    assertThrows(IndexOutOfBoundsException.class, () -> {
+      YCbCrBulk.toRGB(image, encoding, new double[63], 0);
+    });
+  }
+}